@@ -4,11 +4,13 @@ package com.goosebumpdesigns.scaler;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * This class starts Spring Boot.
  */
 @SpringBootApplication
+@EnableScheduling
 public class Scaler {
 
   /**
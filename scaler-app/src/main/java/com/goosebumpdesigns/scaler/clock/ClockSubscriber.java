@@ -0,0 +1,18 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.clock;
+
+/**
+ * This interface is implemented by the clients of the {@link FastClock}. Every subscriber is sent
+ * the same encoded frame on each tick.
+ */
+public interface ClockSubscriber {
+  /**
+   * Send a frame. This is called by the clock's single tick thread, so it must not block. A
+   * subscriber that can't keep up should drop older frames and send the latest when it can.
+   *
+   * @param frame The encoded frame. It is shared by all subscribers and must not be changed.
+   * @return false if the subscriber has gone away and should be dropped.
+   */
+  boolean offer(byte[] frame);
+}
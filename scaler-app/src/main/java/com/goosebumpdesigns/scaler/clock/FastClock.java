@@ -0,0 +1,260 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.clock;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.FastClockSettings;
+import com.goosebumpdesigns.scaler.model.FastClockTime;
+import com.goosebumpdesigns.scaler.model.Scale;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class is the fast clock for operating sessions. Scaled time passes {@code ratio} times
+ * faster than real time. Unless a ratio is configured, it is the square root of the scale factor
+ * (about 9:1 in HO and 13:1 in N), a common rule of thumb: distances on a layout are compressed
+ * far more than the running times between towns should be.
+ * <p>
+ * Subscribers are pushed the time on every tick. There is one tick thread for all of them, and
+ * each tick is encoded once as a server-sent event frame that every subscriber is handed as the
+ * same byte array. A tick with thousands of subscribers costs one encoding and one non-blocking
+ * write per subscriber. Nothing is encoded while nobody is subscribed. The number of subscribers
+ * is published as the scaler.clock.subscribers gauge.
+ */
+@Component
+@Slf4j
+public class FastClock {
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+  private static final double MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+  private static final byte[] FRAME_START = "event: time\ndata: ".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] FRAME_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+  /**
+   * The clock is anchored at a scaled time and the real time it was set. Each change replaces the
+   * whole state, so the tick thread always reads a consistent one.
+   */
+  private record State(double anchorMillis, long anchorNanos, double ratio, boolean running) {
+    double millisOfDay(long nanos) {
+      double millis = running ? anchorMillis + (nanos - anchorNanos) / 1e6 * ratio : anchorMillis;
+      return ((millis % MILLIS_PER_DAY) + MILLIS_PER_DAY) % MILLIS_PER_DAY;
+    }
+  }
+
+  private final Set<ClockSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ObjectMapper objectMapper;
+  private final long tickMillis;
+  private final int maxSubscribers;
+  private final ScheduledExecutorService ticker;
+
+  private volatile State state;
+
+  /**
+   * @param scale The scale whose ratio is used if ratio is 0.
+   * @param ratio The number of scaled seconds that pass in each real second, or 0 to derive it
+   *        from the scale.
+   * @param startTime The scaled time of day the clock starts at.
+   * @param running Whether the clock runs from the start.
+   * @param tickMillis How often, in real milliseconds, the time is pushed to subscribers.
+   * @param maxSubscribers The most subscribers at once. More are rejected.
+   * @param objectMapper The mapper supplied by Spring Boot.
+   * @param meterRegistry The registry supplied by Spring Boot.
+   */
+  public FastClock(@Value("${scaler.clock.scale:HO}") String scale,
+      @Value("${scaler.clock.ratio:0}") double ratio,
+      @Value("${scaler.clock.start-time:06:00}") String startTime,
+      @Value("${scaler.clock.running:true}") boolean running,
+      @Value("${scaler.clock.tick-millis:1000}") long tickMillis,
+      @Value("${scaler.clock.max-subscribers:10000}") int maxSubscribers,
+      ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.tickMillis = tickMillis;
+    this.maxSubscribers = maxSubscribers;
+    this.state = new State(parseTime(startTime), System.nanoTime(),
+        ratio > 0 ? ratio : ratioOf(Scale.value(scale)), running);
+    this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "fast-clock");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    Gauge.builder("scaler.clock.subscribers", subscribers, Set::size)
+        .description("The number of fast clock subscribers").register(meterRegistry);
+  }
+
+  /**
+   * Start ticking.
+   */
+  @PostConstruct
+  void start() {
+    ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stop ticking.
+   */
+  @PreDestroy
+  void stop() {
+    ticker.shutdownNow();
+  }
+
+  /**
+   * @param scale The scale.
+   * @return The default ratio for the scale: the square root of its factor.
+   */
+  public static double ratioOf(Scale scale) {
+    return Math.sqrt(scale.getFactor().doubleValue());
+  }
+
+  /**
+   * @return The current time.
+   */
+  public FastClockTime now() {
+    State current = state;
+    return new FastClockTime(format(current.millisOfDay(System.nanoTime())), current.ratio(),
+        current.running());
+  }
+
+  /**
+   * Change the clock. The new time is pushed to the subscribers right away.
+   *
+   * @param settings The changes. Fields that are null are left as they are.
+   * @return The time after the change.
+   * @throws IllegalArgumentException Thrown if the time, ratio or scale is not valid.
+   */
+  public FastClockTime update(FastClockSettings settings) {
+    synchronized(this) {
+      long nanos = System.nanoTime();
+      State current = state;
+      double ratio = current.ratio();
+
+      if(Objects.nonNull(settings.ratio())) {
+        if(!(settings.ratio() > 0)) {
+          throw new IllegalArgumentException("The ratio must be greater than zero.");
+        }
+        ratio = settings.ratio();
+      }
+      else if(Objects.nonNull(settings.scale())) {
+        ratio = ratioOf(Scale.value(settings.scale()));
+      }
+
+      double millis = Objects.nonNull(settings.time()) ? parseTime(settings.time())
+          : current.millisOfDay(nanos);
+      boolean running =
+          Objects.nonNull(settings.running()) ? settings.running() : current.running();
+
+      state = new State(millis, nanos, ratio, running);
+    }
+
+    ticker.execute(this::tick);
+    return now();
+  }
+
+  /**
+   * Add a subscriber. It is sent the current time right away and then on every tick until its
+   * {@link ClockSubscriber#offer(byte[]) offer} method returns false.
+   *
+   * @param subscriber The subscriber.
+   * @throws RejectedExecutionException Thrown if the maximum number of subscribers is reached.
+   */
+  public void subscribe(ClockSubscriber subscriber) {
+    if(subscribers.size() >= maxSubscribers) {
+      throw new RejectedExecutionException("The fast clock has too many subscribers.");
+    }
+
+    subscribers.add(subscriber);
+
+    if(!subscriber.offer(encode(now()))) {
+      subscribers.remove(subscriber);
+    }
+  }
+
+  /**
+   * Remove a subscriber before it is dropped by a failed {@link ClockSubscriber#offer(byte[])
+   * offer}.
+   *
+   * @param subscriber The subscriber.
+   */
+  public void unsubscribe(ClockSubscriber subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+  /**
+   * @return The number of subscribers.
+   */
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  /**
+   * Push the current time to every subscriber. This runs on the tick thread.
+   */
+  void tick() {
+    if(subscribers.isEmpty()) {
+      return;
+    }
+
+    try {
+      byte[] frame = encode(now());
+
+      for(ClockSubscriber subscriber : subscribers) {
+        if(!subscriber.offer(frame)) {
+          subscribers.remove(subscriber);
+        }
+      }
+    }
+    catch(RuntimeException e) {
+      /* An exception would cancel the schedule and stop the clock for everyone */
+      log.warn("Fast clock tick failed: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Encode a time as a server-sent event frame.
+   */
+  private byte[] encode(FastClockTime time) {
+    try {
+      byte[] data = objectMapper.writeValueAsBytes(time);
+      byte[] frame = new byte[FRAME_START.length + data.length + FRAME_END.length];
+
+      System.arraycopy(FRAME_START, 0, frame, 0, FRAME_START.length);
+      System.arraycopy(data, 0, frame, FRAME_START.length, data.length);
+      System.arraycopy(FRAME_END, 0, frame, FRAME_START.length + data.length, FRAME_END.length);
+
+      return frame;
+    }
+    catch(JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static double parseTime(String time) {
+    try {
+      return LocalTime.parse(time).toNanoOfDay() / 1e6;
+    }
+    catch(DateTimeParseException e) {
+      throw new IllegalArgumentException(time + " is not a valid time of day (i.e., 06:00).");
+    }
+  }
+
+  private static String format(double millisOfDay) {
+    return LocalTime.ofNanoOfDay((long)millisOfDay * 1_000_000).format(TIME_FORMAT);
+  }
+}
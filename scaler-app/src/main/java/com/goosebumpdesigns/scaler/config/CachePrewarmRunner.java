@@ -0,0 +1,66 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.HotConversion;
+import com.goosebumpdesigns.scaler.service.HeavyHitterService;
+import com.goosebumpdesigns.scaler.service.ScalerCacheService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This runner fills the result cache with the most frequent requests that were saved by the
+ * {@link HeavyHitterService} before the last shutdown. Like the {@link WarmupRunner}, it runs
+ * before the application reports that it is ready, so the first requests after a restart are
+ * answered from the cache. The results are calculated locally rather than fetched from peer
+ * instances, which may be starting at the same time.
+ */
+@Component
+@Slf4j
+public class CachePrewarmRunner implements ApplicationRunner {
+  @Value("${scaler.hot.prewarm:true}")
+  private boolean enabled;
+
+  @Autowired
+  private HeavyHitterService heavyHitterService;
+
+  @Autowired
+  private ScalerCacheService scalerCacheService;
+
+  private volatile int prewarmed;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if(!enabled) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    int count = 0;
+
+    for(HotConversion conversion : heavyHitterService.top()) {
+      try {
+        scalerCacheService.supplyMissingFieldsLocally(conversion.request());
+        count++;
+      }
+      catch(IllegalArgumentException e) {
+        log.warn("Skipping saved conversion {}: {}", conversion.key(), e.getMessage());
+      }
+    }
+
+    prewarmed = count;
+    log.info("Prewarmed the result cache with {} frequent conversions in {} ms", count,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * @return The number of results added to the cache at startup.
+   */
+  public int getPrewarmed() {
+    return prewarmed;
+  }
+}
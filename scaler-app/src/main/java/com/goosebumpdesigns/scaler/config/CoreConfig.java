@@ -0,0 +1,23 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * This class makes the scaler-core conversion engine available to the application. The core
+ * library doesn't know about Spring, so its service is declared here rather than annotated.
+ */
+@Configuration
+public class CoreConfig {
+
+  /**
+   * @return The conversion engine shared by the controllers and services.
+   */
+  @Bean
+  ScalerService scalerService() {
+    return new ScalerService();
+  }
+}
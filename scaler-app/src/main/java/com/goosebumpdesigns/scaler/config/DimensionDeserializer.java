@@ -0,0 +1,71 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jackson.JsonComponent;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.service.UnitService;
+
+/**
+ * This deserializer lets a {@link Dimension} be given as a typed length as well as an object:
+ * 
+ * <pre>
+ * "length": {"value": 12.54, "measurement": "FOOT"}
+ * "length": "12' 6 1/2\""
+ * </pre>
+ * 
+ * A string is read by the {@link UnitService}. Scale units (i.e., scale feet) can't be used here
+ * because the scale isn't known while a dimension is read. Use GET /units/parse for those.
+ */
+@JsonComponent
+public class DimensionDeserializer extends JsonDeserializer<Dimension> {
+  @Autowired
+  private UnitService unitService;
+
+  @Override
+  public Dimension deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if(p.currentToken() == JsonToken.VALUE_STRING) {
+      try {
+        return unitService.parse(p.getText(), null);
+      }
+      catch(IllegalArgumentException e) {
+        return ctxt.reportInputMismatch(Dimension.class, e.getMessage());
+      }
+    }
+
+    if(p.currentToken() != JsonToken.START_OBJECT) {
+      return ctxt.reportInputMismatch(Dimension.class,
+          "A dimension must be an object with a value and measurement or a length like 12' 6\".");
+    }
+
+    /* The fields are read from the token stream so that the value keeps every digit */
+    BigDecimal value = null;
+    Measurement measurement = null;
+
+    for(String field = p.nextFieldName(); Objects.nonNull(field); field = p.nextFieldName()) {
+      p.nextToken();
+
+      switch(field) {
+        case "value" -> value = ctxt.readValue(p, BigDecimal.class);
+        case "measurement" -> measurement = ctxt.readValue(p, Measurement.class);
+        default -> p.skipChildren();
+      }
+    }
+
+    if(Objects.isNull(value) || Objects.isNull(measurement)) {
+      return ctxt.reportInputMismatch(Dimension.class,
+          "A dimension must have a value and a measurement.");
+    }
+
+    return new Dimension(value, measurement);
+  }
+}
@@ -0,0 +1,38 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.goosebumpdesigns.scaler.client.CoreModelModule;
+import com.goosebumpdesigns.scaler.controller.projection.FieldProjection;
+
+/**
+ * This class adds the scaler's settings to the application's ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Let responses be projected with the {@code fields} parameter. Without it, every field is
+   * written as before.
+   *
+   * @return The customizer.
+   */
+  @Bean
+  Jackson2ObjectMapperBuilderCustomizer fieldProjectionCustomizer() {
+    return builder -> builder.postConfigurer(FieldProjection::register);
+  }
+
+  /**
+   * Leave {@code null} fields of the core model out of the JSON. Spring Boot registers every
+   * Jackson module bean with the application's ObjectMapper.
+   *
+   * @return The module shared with the Java client.
+   */
+  @Bean
+  CoreModelModule coreModelModule() {
+    return new CoreModelModule();
+  }
+}
@@ -0,0 +1,175 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.controller.ScalerController;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This runner warms up the JIT compiler before the application reports that it is ready. Right
+ * after startup the scaling code runs in the interpreter, which makes the first few thousand
+ * requests slow. The runner sends a mix of conversions covering every {@link Scale},
+ * {@link Measurement} and direction through the same path as a real request: the JSON is
+ * deserialized with the application's {@link ObjectMapper}, converted and the result is
+ * serialized. The {@link ScalerService} is called directly rather than through the
+ * {@link ScalerController}. Otherwise the result cache would answer all but the first pass and the
+ * synthetic results would be pushed to peer instances.
+ * <p>
+ * Spring Boot doesn't change the readiness state to ACCEPTING_TRAFFIC until all application runners
+ * have finished, so /actuator/health/readiness reports OUT_OF_SERVICE until the warm-up finishes
+ * or its time budget runs out.
+ */
+@Component
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+  @Value("${scaler.warmup.enabled:true}")
+  private boolean enabled;
+
+  @Value("${scaler.warmup.iterations:20000}")
+  private int iterations;
+
+  @Value("${scaler.warmup.time-budget-millis:15000}")
+  private long timeBudgetMillis;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  private volatile int completedIterations;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if(!enabled) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+    List<byte[]> scalerPayloads = buildScalerPayloads();
+    List<byte[]> crossScalePayloads = buildCrossScalePayloads();
+    int count = 0;
+
+    try {
+      while(count < iterations && System.nanoTime() < deadline) {
+        byte[] scalerJson = scalerPayloads.get(count % scalerPayloads.size());
+        ScalerData data = objectMapper.readValue(scalerJson, ScalerData.class);
+        objectMapper.writeValueAsBytes(scalerService.supplyMissingFields(data));
+
+        byte[] crossJson = crossScalePayloads.get(count % crossScalePayloads.size());
+        CrossScaleData cross = objectMapper.readValue(crossJson, CrossScaleData.class);
+        objectMapper.writeValueAsBytes(scalerService.convertBetweenScales(cross));
+
+        count++;
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    completedIterations = count;
+
+    log.info("Warm-up ran {} of {} iterations in {} ms", count, iterations,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * @return The number of warm-up iterations that ran.
+   */
+  public int getCompletedIterations() {
+    return completedIterations;
+  }
+
+  /**
+   * Build a request for every scale, output measurement and direction. The input measurement is
+   * rotated so that every conversion to and from millimeters is used.
+   */
+  private List<byte[]> buildScalerPayloads() {
+    List<byte[]> payloads = new ArrayList<>();
+    Measurement[] measurements = Measurement.values();
+    int n = 0;
+
+    for(Scale scale : Scale.values()) {
+      for(Measurement output : measurements) {
+        Dimensions dimensions = dimensions(measurements, n++);
+
+        // @formatter:off
+        payloads.add(toJson(ScalerData.builder()
+            .scale(scale)
+            .outputMeasurement(output)
+            .fullsizeDimensions(dimensions)
+            .build()));
+
+        payloads.add(toJson(ScalerData.builder()
+            .scale(scale)
+            .outputMeasurement(output)
+            .modelDimensions(dimensions)
+            .build()));
+        // @formatter:on
+      }
+    }
+
+    return payloads;
+  }
+
+  /**
+   * Build a cross scale request for every pair of scales.
+   */
+  private List<byte[]> buildCrossScalePayloads() {
+    List<byte[]> payloads = new ArrayList<>();
+    Measurement[] measurements = Measurement.values();
+    int n = 0;
+
+    for(Scale source : Scale.values()) {
+      for(Scale target : Scale.values()) {
+        // @formatter:off
+        payloads.add(toJson(CrossScaleData.builder()
+            .sourceScale(source)
+            .targetScale(target)
+            .outputMeasurement(measurements[n % measurements.length])
+            .sourceDimensions(dimensions(measurements, n++))
+            .build()));
+        // @formatter:on
+      }
+    }
+
+    return payloads;
+  }
+
+  private Dimensions dimensions(Measurement[] measurements, int n) {
+    BigDecimal value = BigDecimal.valueOf(10 + n % 90, 1);
+
+    return new Dimensions(new Dimension(value, measurements[n % measurements.length]),
+        new Dimension(value, measurements[(n + 1) % measurements.length]),
+        new Dimension(value, measurements[(n + 2) % measurements.length]));
+  }
+
+  private byte[] toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import com.goosebumpdesigns.scaler.controller.admission.AdmissionInterceptor;
+import com.goosebumpdesigns.scaler.controller.sampler.SlowRequestInterceptor;
+import com.goosebumpdesigns.scaler.service.ScalerCacheService;
+
+/**
+ * This class configures Spring MVC for the scaler endpoints and the web UI's fingerprinted files.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+  /** The content of a fingerprinted file never changes, so it can be cached for a year. */
+  private static final Duration ASSET_MAX_AGE = Duration.ofDays(365);
+
+  /** The directory the AssetPipeline in scaler-build writes the fingerprinted files to. */
+  private static final String ASSETS = "assets";
+
+  @Autowired
+  private AdmissionInterceptor admissionInterceptor;
+
+  @Autowired
+  private SlowRequestInterceptor slowRequestInterceptor;
+
+  /**
+   * Put admission control in front of the scaling endpoints, including the one called by peers.
+   * Single conversions that are admitted are then timed for the slow request sampler.
+   */
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(admissionInterceptor).addPathPatterns("/scale", "/scale/**",
+        ScalerCacheService.PEER_PATH);
+    registry.addInterceptor(slowRequestInterceptor).addPathPatterns("/scale");
+  }
+
+  /**
+   * Serve the files written by the AssetPipeline with immutable caching. If the browser
+   * accepts brotli or gzip, the precompressed version is returned with a Content-Encoding header.
+   */
+  @Override
+  public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    // @formatter:off
+    registry.addResourceHandler("/" + ASSETS + "/**")
+        .addResourceLocations("classpath:/public/" + ASSETS + "/")
+        .setCacheControl(CacheControl.maxAge(ASSET_MAX_AGE).cachePublic().immutable())
+        .resourceChain(true)
+        .addResolver(new EncodedResourceResolver());
+    // @formatter:on
+  }
+}
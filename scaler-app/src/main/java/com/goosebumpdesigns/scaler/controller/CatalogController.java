@@ -0,0 +1,64 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.model.CatalogEntry;
+import com.goosebumpdesigns.scaler.model.CatalogFit;
+import com.goosebumpdesigns.scaler.model.FitQuery;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.service.CatalogService;
+
+/**
+ * This controller looks up named prototype objects (i.e., "40 ft boxcar") for autocomplete and
+ * finds the objects that fit in a model space.
+ */
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+  @Autowired
+  private CatalogService catalogService;
+
+  private static final int DEFAULT_LIMIT = 10;
+
+  /**
+   * Return the catalog entries whose names start with the given prefix. If a scale and output
+   * measurement are given, each entry includes its model dimensions.
+   * 
+   * @param prefix The start of the name (case insensitive).
+   * @param scale The scale name (i.e., HO), or {@code null}.
+   * @param outputMeasurement The output measurement name (i.e., INCH), or {@code null}.
+   * @param limit The maximum number of entries to return.
+   * @return The matching entries in name order.
+   */
+  @GetMapping
+  public List<CatalogEntry> findByPrefix(@RequestParam(defaultValue = "") String prefix,
+      @RequestParam(required = false) String scale,
+      @RequestParam(required = false) String outputMeasurement,
+      @RequestParam(defaultValue = "10") int limit) {
+    return catalogService.findByPrefix(prefix,
+        Objects.isNull(scale) ? null : Scale.value(scale),
+        Objects.isNull(outputMeasurement) ? null : Measurement.value(outputMeasurement), limit);
+  }
+
+  /**
+   * Return the catalog entries that fit in the given model space, tightest fit first.
+   * 
+   * @param query The scale, output measurement and size of the space.
+   * @return The entries that fit.
+   */
+  @PostMapping("/fit")
+  public List<CatalogFit> findFits(@RequestBody FitQuery query) {
+    return catalogService.findFits(query.scale(), query.outputMeasurement(),
+        query.modelDimensions(), Objects.isNull(query.limit()) ? DEFAULT_LIMIT : query.limit());
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.clock.FastClock;
+import com.goosebumpdesigns.scaler.controller.clock.SseClockSubscriber;
+import com.goosebumpdesigns.scaler.model.FastClockSettings;
+import com.goosebumpdesigns.scaler.model.FastClockTime;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller serves the fast clock for operating sessions:
+ *
+ * <pre>
+ * GET /clock          the current time
+ * GET /clock/stream   the time as server-sent events, pushed on every tick
+ * PUT /clock          set the time, ratio or scale, or start and stop the clock
+ * </pre>
+ *
+ * See {@link FastClock} for how the time is kept and pushed.
+ */
+@RestController
+@RequestMapping("/clock")
+@Slf4j
+public class FastClockController {
+  @Autowired
+  private FastClock fastClock;
+
+  /**
+   * @return The current time.
+   */
+  @GetMapping
+  public FastClockTime now() {
+    return fastClock.now();
+  }
+
+  /**
+   * Change the clock.
+   *
+   * @param settings The changes. Fields that are left out keep their current values.
+   * @return The time after the change.
+   */
+  @PutMapping
+  public FastClockTime update(@RequestBody FastClockSettings settings) {
+    log.debug("settings={}", settings);
+    return fastClock.update(settings);
+  }
+
+  /**
+   * Stream the time as server-sent events. Each event is named "time" and its data is a
+   * {@link FastClockTime}. The stream stays open until the client disconnects.
+   *
+   * @param request This object is supplied by Spring Boot.
+   * @param response This object is supplied by Spring Boot. The events are written to it.
+   * @throws IOException Thrown if the stream can't be opened.
+   */
+  @GetMapping("/stream")
+  public void stream(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    SseClockSubscriber subscriber = new SseClockSubscriber(request, response);
+
+    fastClock.subscribe(subscriber);
+
+    try {
+      subscriber.start();
+    }
+    catch(IOException | RuntimeException e) {
+      fastClock.unsubscribe(subscriber);
+      throw e;
+    }
+  }
+}
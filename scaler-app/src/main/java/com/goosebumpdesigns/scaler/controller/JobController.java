@@ -0,0 +1,142 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import com.goosebumpdesigns.scaler.model.JobStatus;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.JobService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller manages conversion jobs. A job converts a list of {@link ScalerData} entries in
+ * the background, so a large list doesn't have to fit in one request:
+ *
+ * <pre>
+ * POST   /jobs              submit a JSON array or NDJSON body, or a multipart "file"
+ * GET    /jobs/{id}         poll the state and progress
+ * GET    /jobs/{id}/result  download the result as NDJSON once the job has completed
+ * DELETE /jobs/{id}         cancel the job, or remove it once it has finished
+ * </pre>
+ *
+ * A submitted job is answered with 202 (Accepted) and a Location header pointing at its status.
+ */
+@RestController
+@RequestMapping("/jobs")
+@Slf4j
+public class JobController {
+  /** The media type of a JSON object per line. */
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  @Autowired
+  private JobService jobService;
+
+  /**
+   * Submit a job whose entries are the request body.
+   *
+   * @param body The entries, as a JSON array or as one JSON object per line.
+   * @return The status of the queued job.
+   */
+  @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON})
+  public ResponseEntity<JobStatus> submitJob(InputStream body) {
+    return accepted(jobService.submit(body));
+  }
+
+  /**
+   * Submit a job whose entries are an uploaded file.
+   *
+   * @param file The entries, as a JSON array or as one JSON object per line.
+   * @return The status of the queued job.
+   */
+  @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<JobStatus> submitJob(@RequestParam("file") MultipartFile file) {
+    log.debug("Submitting {} with {} bytes", file.getOriginalFilename(), file.getSize());
+
+    try(InputStream in = file.getInputStream()) {
+      return accepted(jobService.submit(in));
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return The status of every job, oldest first.
+   */
+  @GetMapping
+  public List<JobStatus> retrieveJobs() {
+    return jobService.retrieveJobs();
+  }
+
+  /**
+   * @param id The job ID.
+   * @return The status of the job.
+   */
+  @GetMapping("/{id}")
+  public JobStatus retrieveJob(@PathVariable String id) {
+    return jobService.retrieveJob(id);
+  }
+
+  /**
+   * Download the result of a completed job. Line N of the result is the converted entry N of the
+   * input, or an error object with the item number and the reason it couldn't be converted.
+   *
+   * @param id The job ID.
+   * @return The result file.
+   */
+  @GetMapping("/{id}/result")
+  public ResponseEntity<Resource> retrieveResult(@PathVariable String id) {
+    FileSystemResource result = new FileSystemResource(jobService.retrieveResult(id));
+
+    // @formatter:off
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(id + ".ndjson").build().toString())
+        .body(result);
+    // @formatter:on
+  }
+
+  /**
+   * Cancel a queued or running job, or remove a finished job and its result.
+   *
+   * @param id The job ID.
+   */
+  @DeleteMapping("/{id}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void cancelJob(@PathVariable String id) {
+    jobService.cancelJob(id);
+  }
+
+  /**
+   * @return A 202 response with the location of the job's status.
+   */
+  private ResponseEntity<JobStatus> accepted(JobStatus status) {
+    URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}")
+        .buildAndExpand(status.getId()).toUri();
+
+    return ResponseEntity.accepted().location(location).body(status);
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.mesh.StlRescaler;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.service.MeshService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller rescales binary STL meshes for 3D printing. POST the mesh as the request body:
+ *
+ * <pre>
+ * POST /mesh/rescale?targetScale=HO                      a full size mesh in millimeters to HO
+ * POST /mesh/rescale?sourceScale=HO&amp;targetScale=O       an HO print to O
+ * POST /mesh/rescale?targetScale=N&amp;sourceMeasurement=FOOT  a full size mesh in feet to N
+ * </pre>
+ *
+ * A missing scale means full size. The measurements default to millimeters. The response is the
+ * rescaled mesh. See {@link StlRescaler} for how the mesh is processed.
+ */
+@RestController
+@RequestMapping("/mesh")
+@Slf4j
+public class MeshController {
+  /** The media type of an STL mesh. */
+  public static final String MODEL_STL = "model/stl";
+
+  @Autowired
+  private MeshService meshService;
+
+  /**
+   * Rescale a binary STL mesh.
+   *
+   * @param body The mesh.
+   * @param sourceScale The scale of the mesh. Omit it for a full size mesh.
+   * @param targetScale The scale to convert to. Omit it for full size.
+   * @param sourceMeasurement The unit of the mesh's coordinates.
+   * @param outputMeasurement The unit of the rescaled coordinates.
+   * @param response This object is supplied by Spring Boot. The mesh is written to it.
+   */
+  @PostMapping(path = "/rescale",
+      consumes = {MODEL_STL, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+  public void rescale(InputStream body, @RequestParam(required = false) String sourceScale,
+      @RequestParam(required = false) String targetScale,
+      @RequestParam(defaultValue = "MM") String sourceMeasurement,
+      @RequestParam(defaultValue = "MM") String outputMeasurement,
+      HttpServletResponse response) {
+    log.debug("sourceScale={}, targetScale={}, sourceMeasurement={}, outputMeasurement={}",
+        sourceScale, targetScale, sourceMeasurement, outputMeasurement);
+
+    Path mesh = meshService.rescale(body,
+        Objects.isNull(sourceScale) ? null : Scale.value(sourceScale),
+        Objects.isNull(targetScale) ? null : Scale.value(targetScale),
+        Measurement.value(sourceMeasurement), Measurement.value(outputMeasurement));
+
+    try {
+      response.setContentType(MODEL_STL);
+      response.setContentLengthLong(Files.size(mesh));
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+          ContentDisposition.attachment().filename("rescaled.stl").build().toString());
+
+      meshService.transfer(mesh, Channels.newChannel(response.getOutputStream()));
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.lane.Lane;
+import com.goosebumpdesigns.scaler.lane.LaneScheduler;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerCacheService;
+
+/**
+ * This controller is called by other scaler instances that share the result cache. It returns the
+ * cached result for a key owned by this instance, calculating it if necessary. It never forwards
+ * the request to another instance. Browsers and other clients should use /scale instead.
+ * <p>
+ * Requests without the shared peer secret are answered with 404 as if the endpoint didn't exist.
+ * Peer requests go through admission control and run in the interactive lane like /scale.
+ */
+@RestController
+public class PeerCacheController {
+  @Autowired
+  private ScalerCacheService scalerCacheService;
+
+  @Autowired
+  private LaneScheduler laneScheduler;
+
+  /**
+   * @param secret The shared peer secret.
+   * @param scalerData The input data to convert.
+   * @return The input data with missing fields filled in.
+   * @throws NoSuchElementException Thrown if the secret is missing or wrong.
+   */
+  @PostMapping(ScalerCacheService.PEER_PATH)
+  @ResponseStatus(code = HttpStatus.OK)
+  public CompletableFuture<ScalerData> processPeerRequest(
+      @RequestHeader(name = ScalerCacheService.PEER_SECRET_HEADER, required = false) String secret,
+      @RequestBody ScalerData scalerData) {
+    if(!scalerCacheService.isPeer(secret)) {
+      throw new NoSuchElementException("No endpoint " + ScalerCacheService.PEER_PATH + ".");
+    }
+
+    return laneScheduler.submit(Lane.INTERACTIVE,
+        () -> scalerCacheService.supplyMissingFieldsLocally(scalerData));
+  }
+}
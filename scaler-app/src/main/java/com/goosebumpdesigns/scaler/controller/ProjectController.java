@@ -0,0 +1,101 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.model.Project;
+import com.goosebumpdesigns.scaler.model.ProjectDelta;
+import com.goosebumpdesigns.scaler.model.ProjectItem;
+import com.goosebumpdesigns.scaler.model.ProjectSettings;
+import com.goosebumpdesigns.scaler.service.ProjectService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller manages layout projects. A project holds a named collection of items that share
+ * a scale and output measurement. Every change returns a {@link ProjectDelta} that contains only
+ * the items that changed along with the updated project totals.
+ */
+@RestController
+@RequestMapping("/projects")
+@Slf4j
+public class ProjectController {
+  @Autowired
+  private ProjectService projectService;
+
+  /**
+   * @return The names of all projects.
+   */
+  @GetMapping
+  public List<String> retrieveProjectNames() {
+    return projectService.retrieveProjectNames();
+  }
+
+  /**
+   * @param name The project name.
+   * @return The project with all items and totals.
+   */
+  @GetMapping("/{name}")
+  public Project retrieveProject(@PathVariable String name) {
+    return projectService.retrieveProject(name);
+  }
+
+  /**
+   * Create a project or change the scale and output measurement of an existing project.
+   * 
+   * @param name The project name.
+   * @param settings The project settings.
+   * @return The items that changed as a result of the new settings.
+   */
+  @PutMapping("/{name}")
+  @ResponseStatus(code = HttpStatus.OK)
+  public ProjectDelta saveSettings(@PathVariable String name,
+      @RequestBody ProjectSettings settings) {
+    log.debug("name={}, settings={}", name, settings);
+    return projectService.saveSettings(name, settings);
+  }
+
+  /**
+   * @param name The project name.
+   */
+  @DeleteMapping("/{name}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void deleteProject(@PathVariable String name) {
+    projectService.deleteProject(name);
+  }
+
+  /**
+   * Add or replace a project item.
+   * 
+   * @param name The project name.
+   * @param itemId The item ID.
+   * @param item The item with either full size or model dimensions.
+   * @return The changed item and the updated totals.
+   */
+  @PutMapping("/{name}/items/{itemId}")
+  @ResponseStatus(code = HttpStatus.OK)
+  public ProjectDelta saveItem(@PathVariable String name, @PathVariable String itemId,
+      @RequestBody ProjectItem item) {
+    log.debug("name={}, itemId={}, item={}", name, itemId, item);
+    return projectService.saveItem(name, itemId, item);
+  }
+
+  /**
+   * @param name The project name.
+   * @param itemId The ID of the item to remove.
+   * @return The removed item ID and the updated totals.
+   */
+  @DeleteMapping("/{name}/items/{itemId}")
+  public ProjectDelta deleteItem(@PathVariable String name, @PathVariable String itemId) {
+    return projectService.deleteItem(name, itemId);
+  }
+}
@@ -0,0 +1,174 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.controller.sampler.SlowRequestInterceptor;
+import com.goosebumpdesigns.scaler.controller.sampler.SlowRequestSampler;
+import com.goosebumpdesigns.scaler.controller.sampler.SlowRequestSampler.InFlight;
+import com.goosebumpdesigns.scaler.lane.Lane;
+import com.goosebumpdesigns.scaler.lane.LaneScheduler;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ReferenceTableService;
+import com.goosebumpdesigns.scaler.service.ScalerCacheService;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+import com.goosebumpdesigns.scaler.service.StockService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller manages the scale operation. Either full size or model measurements are passed to
+ * the service. The service fills in the other fields. For example, if full size measurements are
+ * passed to the service, it will fill in the model measurement fields.
+ * <p>
+ * The work is done in the execution lanes of the {@link LaneScheduler}: single conversions in the
+ * interactive lane and lists in the bulk lane, which yields to interactive work. The request thread
+ * is released while the work waits and runs.
+ * <p>
+ * With the {@code snap} parameter, /scale and /scale/bulk also return the stock size of the given
+ * material nearest to each model dimension (see {@link StockService}).
+ * <p>
+ * Single conversions that take longer than the slow request threshold are captured by the
+ * {@link SlowRequestSampler} so that they can be replayed. The {@link SlowRequestInterceptor} times
+ * the whole request; this controller adds when the request was queued and converted.
+ */
+@RestController
+@RequestMapping("/scale")
+@Slf4j
+public class ScalerController {
+  @Autowired
+  private ScalerService scalerService;
+
+  @Autowired
+  private ScalerCacheService scalerCacheService;
+
+  @Autowired
+  private ReferenceTableService referenceTableService;
+
+  @Autowired
+  private LaneScheduler laneScheduler;
+
+  @Autowired
+  private StockService stockService;
+
+  @Autowired
+  private SlowRequestSampler slowRequestSampler;
+
+  /**
+   * Fill in either the full size or model fields based on the values that are passed. If full size
+   * fields are passed in the model fields are populated and vice versa. Round full size numbers are
+   * looked up in the reference tables built with the application. Other results are cached and
+   * shared with peer instances.
+   * 
+   * @param scalerData The input data to convert.
+   * @param snap The stock material to snap the model dimensions to, if any.
+   * @param inFlight The timing started by the {@link SlowRequestInterceptor}.
+   * @return The input data with missing fields filled in.
+   * @throws IllegalArgumentException Thrown if the stock material is unknown.
+   */
+  @PostMapping
+  @ResponseStatus(code = HttpStatus.OK)
+  public CompletableFuture<ScalerData> processScalerData(@RequestBody ScalerData scalerData,
+      @RequestParam(required = false) String snap,
+      @RequestAttribute(name = SlowRequestInterceptor.IN_FLIGHT,
+          required = false) InFlight inFlight) {
+    log.debug("scalerData={}, snap={}", scalerData, snap);
+
+    /* The timing is only missing if the controller is called without the interceptor. */
+    InFlight timing = Objects.isNull(inFlight) ? slowRequestSampler.begin() : inFlight;
+    timing.submitted(scalerData, snap);
+    validateMaterial(snap);
+
+    return laneScheduler.submit(Lane.INTERACTIVE, () -> {
+      timing.started();
+
+      try {
+        return scale(scalerData, snap);
+      }
+      finally {
+        timing.finished();
+      }
+    });
+  }
+
+  /**
+   * Fill in the missing fields of a list of inputs (i.e., a parts list) in one request. Each entry
+   * is converted as in {@link #processScalerData(ScalerData, String, InFlight)}.
+   * 
+   * @param scalerData The entries to convert.
+   * @param snap The stock material to snap the model dimensions to, if any.
+   * @return The entries with missing fields filled in, in the same order as the input.
+   * @throws IllegalArgumentException Thrown if the stock material is unknown.
+   */
+  @PostMapping("/bulk")
+  @ResponseStatus(code = HttpStatus.OK)
+  public CompletableFuture<List<ScalerData>> processScalerData(
+      @RequestBody List<ScalerData> scalerData, @RequestParam(required = false) String snap) {
+    log.debug("Scaling {} entries, snap={}", scalerData.size(), snap);
+    validateMaterial(snap);
+    return laneScheduler.submitBulk(scalerData, data -> scale(data, snap));
+  }
+
+  /**
+   * Convert model dimensions in one scale directly to model dimensions in another scale.
+   * 
+   * @param crossScaleData The source dimensions and scales.
+   * @return The input data with the target dimensions filled in.
+   */
+  @PostMapping("/cross")
+  @ResponseStatus(code = HttpStatus.OK)
+  public CompletableFuture<CrossScaleData> processCrossScaleData(
+      @RequestBody CrossScaleData crossScaleData) {
+    log.debug("crossScaleData={}", crossScaleData);
+    return laneScheduler.submit(Lane.INTERACTIVE,
+        () -> scalerService.convertBetweenScales(crossScaleData));
+  }
+
+  /**
+   * Convert a list of model dimensions (i.e., a parts list) between scales in one request.
+   * 
+   * @param crossScaleData The entries to convert.
+   * @return The entries with the target dimensions filled in, in the same order as the input.
+   */
+  @PostMapping("/cross/bulk")
+  @ResponseStatus(code = HttpStatus.OK)
+  public CompletableFuture<List<CrossScaleData>> processCrossScaleData(
+      @RequestBody List<CrossScaleData> crossScaleData) {
+    log.debug("Converting {} entries between scales", crossScaleData.size());
+    return laneScheduler.submitBulk(crossScaleData, scalerService::convertBetweenScales);
+  }
+
+  /**
+   * @return The result from the reference tables if it is there, otherwise from the cache, with the
+   *         stock sizes if a material is given.
+   */
+  private ScalerData scale(ScalerData scalerData, String snap) {
+    ScalerData result = referenceTableService.lookup(scalerData);
+
+    if(Objects.isNull(result)) {
+      result = scalerCacheService.supplyMissingFields(scalerData);
+    }
+
+    return Objects.isNull(snap) ? result : stockService.snap(scalerData, result, snap);
+  }
+
+  /**
+   * Check the material before any work is queued, so a bad parameter fails the whole request.
+   */
+  private void validateMaterial(String snap) {
+    if(Objects.nonNull(snap)) {
+      stockService.validateMaterial(snap);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.service.StockService;
+
+/**
+ * This controller lists the stock materials that model dimensions can be snapped to with the
+ * {@code snap} parameter of /scale and /scale/bulk.
+ */
+@RestController
+@RequestMapping("/stock")
+public class StockController {
+  @Autowired
+  private StockService stockService;
+
+  /**
+   * @return The material names, sorted.
+   */
+  @GetMapping
+  public List<String> materials() {
+    return stockService.retrieveMaterials();
+  }
+}
@@ -0,0 +1,124 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.model.LocoSpeedStats;
+import com.goosebumpdesigns.scaler.model.SpeedUnit;
+import com.goosebumpdesigns.scaler.model.TelemetryResult;
+import com.goosebumpdesigns.scaler.model.TimingBlock;
+import com.goosebumpdesigns.scaler.service.TelemetryService;
+import com.goosebumpdesigns.scaler.telemetry.DetectorLines;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller takes track detector events and reports the scale speeds calculated from them:
+ *
+ * <pre>
+ * GET    /telemetry/blocks          the timing blocks
+ * PUT    /telemetry/blocks/{id}     add or replace a timing block
+ * DELETE /telemetry/blocks/{id}     remove a timing block
+ * POST   /telemetry/events          send events, one per line (see {@link DetectorLines})
+ * GET    /telemetry/locos           the recent speeds of every locomotive
+ * GET    /telemetry/locos/{loco}    the recent speeds of one locomotive
+ * </pre>
+ *
+ * See {@link TelemetryService} for how events are paired into speeds.
+ */
+@RestController
+@RequestMapping("/telemetry")
+@Slf4j
+public class TelemetryController {
+  /** The media type of events in CSV. */
+  public static final String TEXT_CSV = "text/csv";
+
+  @Autowired
+  private TelemetryService telemetryService;
+
+  /**
+   * @return The timing blocks, sorted by ID.
+   */
+  @GetMapping("/blocks")
+  public List<TimingBlock> retrieveBlocks() {
+    return telemetryService.retrieveBlocks();
+  }
+
+  /**
+   * Add or replace a timing block.
+   *
+   * @param id The block ID.
+   * @param block The distance between the detectors and the scale. The ID in the body is ignored.
+   * @return The block.
+   */
+  @PutMapping("/blocks/{id}")
+  public TimingBlock saveBlock(@PathVariable String id, @RequestBody TimingBlock block) {
+    log.debug("id={}, block={}", id, block);
+    return telemetryService.saveBlock(new TimingBlock(id, block.distance(), block.scale()));
+  }
+
+  /**
+   * @param id The block ID.
+   */
+  @DeleteMapping("/blocks/{id}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void deleteBlock(@PathVariable String id) {
+    telemetryService.deleteBlock(id);
+  }
+
+  /**
+   * Record detector events. The body is read as it arrives, so a large recording can be replayed
+   * in one request.
+   *
+   * @param body The events, one per line.
+   * @return The number of events read and rejected and the number of speeds calculated.
+   */
+  @PostMapping(path = "/events", consumes = {MediaType.TEXT_PLAIN_VALUE, TEXT_CSV})
+  public TelemetryResult ingest(InputStream body) {
+    try(BufferedReader reader =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      return telemetryService.ingest(reader);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param unit The unit of the speeds (MPH or KMH).
+   * @return The recent speeds of every locomotive that has been timed.
+   */
+  @GetMapping("/locos")
+  public List<LocoSpeedStats> retrieveStats(@RequestParam(defaultValue = "MPH") String unit) {
+    return telemetryService.retrieveStats(SpeedUnit.value(unit));
+  }
+
+  /**
+   * @param loco The locomotive.
+   * @param unit The unit of the speeds (MPH or KMH).
+   * @return The recent speeds of the locomotive.
+   */
+  @GetMapping("/locos/{loco}")
+  public LocoSpeedStats retrieveStats(@PathVariable String loco,
+      @RequestParam(defaultValue = "MPH") String unit) {
+    return telemetryService.retrieveStats(loco, SpeedUnit.value(unit));
+  }
+}
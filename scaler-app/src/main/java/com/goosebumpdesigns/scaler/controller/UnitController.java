@@ -0,0 +1,46 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.Unit;
+import com.goosebumpdesigns.scaler.service.UnitService;
+
+/**
+ * This controller lists the units of length that can be typed and reads typed lengths.
+ */
+@RestController
+@RequestMapping("/units")
+public class UnitController {
+  @Autowired
+  private UnitService unitService;
+
+  /**
+   * @return The units that can be typed.
+   */
+  @GetMapping
+  public List<Unit> units() {
+    return unitService.units();
+  }
+
+  /**
+   * Read a typed length.
+   * 
+   * @param text The length (i.e., 12' 6 1/2", 3-5/8 in or 1.2 m).
+   * @param scale The scale name (i.e., HO). This is only needed for scale units like scale feet.
+   * @return The length in the measurement of the smallest unit used.
+   */
+  @GetMapping("/parse")
+  public Dimension parse(@RequestParam String text,
+      @RequestParam(required = false) String scale) {
+    return unitService.parse(text, Objects.isNull(scale) ? null : Scale.value(scale));
+  }
+}
@@ -0,0 +1,169 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import com.goosebumpdesigns.scaler.model.Car;
+import com.goosebumpdesigns.scaler.model.Consist;
+import com.goosebumpdesigns.scaler.model.ConsistFit;
+import com.goosebumpdesigns.scaler.model.Siding;
+import com.goosebumpdesigns.scaler.model.SidingFit;
+import com.goosebumpdesigns.scaler.model.Yard;
+import com.goosebumpdesigns.scaler.model.YardFits;
+import com.goosebumpdesigns.scaler.model.YardSettings;
+import com.goosebumpdesigns.scaler.service.YardService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This controller manages staging yards. A yard holds a named set of sidings and the consists that
+ * a planner wants to put in them. Changing a siding, consist or car returns the fit for just that
+ * siding or consist. {@code GET /yards/{name}/fits} returns the fits for the whole yard.
+ */
+@RestController
+@RequestMapping("/yards")
+@Slf4j
+public class YardController {
+  @Autowired
+  private YardService yardService;
+
+  /**
+   * @return The names of all yards.
+   */
+  @GetMapping
+  public List<String> retrieveYardNames() {
+    return yardService.retrieveYardNames();
+  }
+
+  /**
+   * @param name The yard name.
+   * @return The yard with the model length of every car and consist.
+   */
+  @GetMapping("/{name}")
+  public Yard retrieveYard(@PathVariable String name) {
+    return yardService.retrieveYard(name);
+  }
+
+  /**
+   * Create a yard or change the scale and output measurement of an existing yard.
+   * 
+   * @param name The yard name.
+   * @param settings The yard settings.
+   * @return The yard with the model length of every car and consist.
+   */
+  @PutMapping("/{name}")
+  @ResponseStatus(code = HttpStatus.OK)
+  public Yard saveSettings(@PathVariable String name, @RequestBody YardSettings settings) {
+    log.debug("name={}, settings={}", name, settings);
+    return yardService.saveSettings(name, settings);
+  }
+
+  /**
+   * @param name The yard name.
+   */
+  @DeleteMapping("/{name}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void deleteYard(@PathVariable String name) {
+    yardService.deleteYard(name);
+  }
+
+  /**
+   * @param name The yard name.
+   * @return Each siding with the consists it can hold and each consist with the sidings that can
+   *         hold it.
+   */
+  @GetMapping("/{name}/fits")
+  public YardFits retrieveFits(@PathVariable String name) {
+    return yardService.retrieveFits(name);
+  }
+
+  /**
+   * Add or replace a siding.
+   * 
+   * @param name The yard name.
+   * @param sidingId The siding ID.
+   * @param siding The siding with its model length.
+   * @return The consists that fit in the siding.
+   */
+  @PutMapping("/{name}/sidings/{sidingId}")
+  @ResponseStatus(code = HttpStatus.OK)
+  public SidingFit saveSiding(@PathVariable String name, @PathVariable String sidingId,
+      @RequestBody Siding siding) {
+    log.debug("name={}, sidingId={}, siding={}", name, sidingId, siding);
+    return yardService.saveSiding(name, sidingId, siding);
+  }
+
+  /**
+   * @param name The yard name.
+   * @param sidingId The ID of the siding to remove.
+   */
+  @DeleteMapping("/{name}/sidings/{sidingId}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void deleteSiding(@PathVariable String name, @PathVariable String sidingId) {
+    yardService.deleteSiding(name, sidingId);
+  }
+
+  /**
+   * Add or replace a whole consist.
+   * 
+   * @param name The yard name.
+   * @param consistId The consist ID.
+   * @param consist The consist with the full size length of each car.
+   * @return The sidings that can hold the consist.
+   */
+  @PutMapping("/{name}/consists/{consistId}")
+  @ResponseStatus(code = HttpStatus.OK)
+  public ConsistFit saveConsist(@PathVariable String name, @PathVariable String consistId,
+      @RequestBody Consist consist) {
+    log.debug("name={}, consistId={}, consist={}", name, consistId, consist);
+    return yardService.saveConsist(name, consistId, consist);
+  }
+
+  /**
+   * @param name The yard name.
+   * @param consistId The ID of the consist to remove.
+   */
+  @DeleteMapping("/{name}/consists/{consistId}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void deleteConsist(@PathVariable String name, @PathVariable String consistId) {
+    yardService.deleteConsist(name, consistId);
+  }
+
+  /**
+   * Add a car to the end of a consist or replace a car in place.
+   * 
+   * @param name The yard name.
+   * @param consistId The consist ID.
+   * @param carId The car ID.
+   * @param car The car with its full size length.
+   * @return The sidings that can hold the consist.
+   */
+  @PutMapping("/{name}/consists/{consistId}/cars/{carId}")
+  @ResponseStatus(code = HttpStatus.OK)
+  public ConsistFit saveCar(@PathVariable String name, @PathVariable String consistId,
+      @PathVariable String carId, @RequestBody Car car) {
+    log.debug("name={}, consistId={}, carId={}, car={}", name, consistId, carId, car);
+    return yardService.saveCar(name, consistId, carId, car);
+  }
+
+  /**
+   * @param name The yard name.
+   * @param consistId The consist ID.
+   * @param carId The ID of the car to remove.
+   * @return The sidings that can hold the consist.
+   */
+  @DeleteMapping("/{name}/consists/{consistId}/cars/{carId}")
+  public ConsistFit deleteCar(@PathVariable String name, @PathVariable String consistId,
+      @PathVariable String carId) {
+    return yardService.deleteCar(name, consistId, carId);
+  }
+}
@@ -0,0 +1,132 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.admission;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import com.goosebumpdesigns.scaler.controller.ScalerController;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * This interceptor sits in front of the {@link ScalerController} and the peer cache endpoint and
+ * decides whether to admit each request. A request is turned away with 429 (Too Many Requests) if
+ * its client has used up its rate limit, or with 503 (Service Unavailable) if the maximum number
+ * of requests are already in progress. Either way a Retry-After header tells the client when to
+ * try again. The client is identified by the API key header if the key is one of
+ * {@code scaler.admission.api-keys}, otherwise by its IP address. Unknown keys are ignored so that
+ * a client can't get a fresh rate limit by sending a new key with each request.
+ */
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+  private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".ADMITTED";
+
+  @Value("${scaler.admission.enabled:true}")
+  private boolean enabled;
+
+  @Value("${scaler.admission.api-key-header:X-API-Key}")
+  private String apiKeyHeader;
+
+  @Value("${scaler.admission.api-keys:}")
+  private Set<String> apiKeys = Set.of();
+
+  @Value("${scaler.admission.retry-after-seconds:1}")
+  private long retryAfterSeconds;
+
+  private final Semaphore inProgress;
+  private final ClientRateLimiter rateLimiter;
+
+  /**
+   * @param maxConcurrent The maximum number of requests in progress at once.
+   * @param ratePerSecond The sustained requests per second allowed for each client.
+   * @param burst The number of requests a client can make at once.
+   * @param maxClients The maximum number of clients tracked individually.
+   * @param clientIdleMillis How long a client is remembered after its last request.
+   */
+  public AdmissionInterceptor(@Value("${scaler.admission.max-concurrent:150}") int maxConcurrent,
+      @Value("${scaler.admission.client-rate:100}") double ratePerSecond,
+      @Value("${scaler.admission.client-burst:200}") int burst,
+      @Value("${scaler.admission.max-clients:10000}") int maxClients,
+      @Value("${scaler.admission.client-idle-millis:600000}") long clientIdleMillis) {
+    this.inProgress = new Semaphore(maxConcurrent);
+    this.rateLimiter = new ClientRateLimiter(ratePerSecond, burst, maxClients, clientIdleMillis);
+  }
+
+  /**
+   * Admit or reject the request. A request that was handed to an execution lane comes back
+   * through here in an async dispatch to write its result. It was admitted the first time, so it
+   * isn't counted again.
+   * 
+   * @throws AdmissionRejectedException Thrown if the request is rejected.
+   */
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    if(!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+      return true;
+    }
+
+    long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+
+    if(waitNanos > 0) {
+      long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+      throw new AdmissionRejectedException("Rate limit exceeded.", HttpStatus.TOO_MANY_REQUESTS,
+          seconds);
+    }
+
+    if(!inProgress.tryAcquire()) {
+      throw new AdmissionRejectedException("The server is busy.", HttpStatus.SERVICE_UNAVAILABLE,
+          retryAfterSeconds);
+    }
+
+    request.setAttribute(ADMITTED, Boolean.TRUE);
+    return true;
+  }
+
+  /**
+   * Release the concurrency permit taken by {@link #preHandle}. When the request is processed
+   * asynchronously, this is only called once the async dispatch has written the result, so the
+   * permit is held while the request waits in its lane.
+   */
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    if(Objects.nonNull(request.getAttribute(ADMITTED))) {
+      request.removeAttribute(ADMITTED);
+      inProgress.release();
+    }
+  }
+
+  /**
+   * Remove the rate limit buckets of idle clients once a minute.
+   */
+  @Scheduled(fixedDelayString = "${scaler.admission.sweep-millis:60000}")
+  public void removeIdleClients() {
+    rateLimiter.removeIdleClients();
+  }
+
+  /**
+   * @return The number of requests that can be admitted before the concurrency limit is reached.
+   */
+  public int availablePermits() {
+    return inProgress.availablePermits();
+  }
+
+  private String clientKey(HttpServletRequest request) {
+    String apiKey = request.getHeader(apiKeyHeader);
+
+    if(Objects.nonNull(apiKey) && apiKeys.contains(apiKey)) {
+      return apiKey;
+    }
+
+    return request.getRemoteAddr();
+  }
+}
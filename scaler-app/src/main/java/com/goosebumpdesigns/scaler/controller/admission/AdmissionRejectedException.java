@@ -0,0 +1,32 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.admission;
+
+import org.springframework.http.HttpStatus;
+import com.goosebumpdesigns.scaler.controller.error.ErrorHandler;
+import lombok.Getter;
+
+/**
+ * This exception is thrown when a request is turned away by {@link AdmissionInterceptor}. It is
+ * handled by the {@link ErrorHandler}. Rejections happen most when the server is busiest, so the
+ * exception doesn't capture a stack trace.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  private final HttpStatus status;
+  private final long retryAfterSeconds;
+
+  /**
+   * @param message The exception message.
+   * @param status Either {@link HttpStatus#TOO_MANY_REQUESTS} or
+   *        {@link HttpStatus#SERVICE_UNAVAILABLE}.
+   * @param retryAfterSeconds The value of the Retry-After header.
+   */
+  public AdmissionRejectedException(String message, HttpStatus status, long retryAfterSeconds) {
+    super(message, null, false, false);
+    this.status = status;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
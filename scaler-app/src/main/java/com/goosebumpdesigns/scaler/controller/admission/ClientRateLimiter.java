@@ -0,0 +1,73 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds a {@link TokenBucket} for each client. The number of buckets is bounded. Idle
+ * buckets are removed by {@link #removeIdleClients()}, which is only called by the scheduled sweep
+ * so that a request never pays for a scan of every bucket. Until the next sweep, new clients share
+ * a single overflow bucket so that memory stays bounded and the new clients are still rate limited
+ * (together) rather than let through.
+ */
+class ClientRateLimiter {
+  private final long emissionIntervalNanos;
+  private final int burst;
+  private final int maxClients;
+  private final long idleNanos;
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final TokenBucket overflow;
+
+  /**
+   * @param ratePerSecond The sustained number of requests per second allowed for each client.
+   * @param burst The number of requests a client can make at once.
+   * @param maxClients The maximum number of clients that have their own bucket.
+   * @param idleMillis How long a client must be idle before its bucket is removed.
+   */
+  ClientRateLimiter(double ratePerSecond, int burst, int maxClients, long idleMillis) {
+    this.emissionIntervalNanos = Math.max(1, (long)(TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+    this.burst = Math.max(1, burst);
+    this.maxClients = maxClients;
+    this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+    this.overflow = new TokenBucket(emissionIntervalNanos, this.burst, System.nanoTime());
+  }
+
+  /**
+   * Take a token from the client's bucket.
+   * 
+   * @param clientKey The client key (i.e., an API key or an IP address).
+   * @return Zero if the request is admitted. Otherwise, the number of nanoseconds until the client
+   *         may try again.
+   */
+  long tryAcquire(String clientKey) {
+    long now = System.nanoTime();
+    TokenBucket bucket = buckets.get(clientKey);
+
+    if(bucket == null) {
+      bucket = buckets.size() < maxClients
+          ? buckets.computeIfAbsent(clientKey,
+              k -> new TokenBucket(emissionIntervalNanos, burst, now))
+          : overflow;
+    }
+
+    return bucket.tryAcquire(now);
+  }
+
+  /**
+   * Remove the buckets of clients that have been idle for the configured time.
+   */
+  void removeIdleClients() {
+    long now = System.nanoTime();
+    buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+  }
+
+  /**
+   * @return The number of clients that have their own bucket.
+   */
+  int clientCount() {
+    return buckets.size();
+  }
+}
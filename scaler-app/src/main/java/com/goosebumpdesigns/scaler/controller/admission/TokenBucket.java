@@ -0,0 +1,63 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket. Rather than storing a token count and a refill time, which would need
+ * a lock to update together, the bucket stores a single "theoretical arrival time" (the generic
+ * cell rate algorithm). Each admitted request pushes the time forward by one emission interval. A
+ * request is rejected if the time is further in the future than the burst allows. The whole state
+ * is one {@link AtomicLong} so a request costs a read and usually a single compare and set.
+ */
+class TokenBucket {
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final AtomicLong theoreticalArrival;
+
+  /**
+   * @param emissionIntervalNanos The time it takes to earn one token (1 / rate).
+   * @param burst The maximum number of requests that can be admitted at once.
+   * @param now The current {@link System#nanoTime()}.
+   */
+  TokenBucket(long emissionIntervalNanos, int burst, long now) {
+    this.emissionIntervalNanos = emissionIntervalNanos;
+    this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    this.theoreticalArrival = new AtomicLong(now);
+  }
+
+  /**
+   * Take a token if one is available.
+   * 
+   * @param now The current {@link System#nanoTime()}.
+   * @return Zero if the request is admitted. Otherwise, the number of nanoseconds until a token is
+   *         available.
+   */
+  long tryAcquire(long now) {
+    while(true) {
+      long current = theoreticalArrival.get();
+      long arrival = Math.max(current, now);
+      long wait = arrival - now - burstToleranceNanos;
+
+      if(wait > 0) {
+        return wait;
+      }
+
+      if(theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * A bucket is idle once it has refilled completely and hasn't been used since.
+   * 
+   * @param now The current {@link System#nanoTime()}.
+   * @param idleNanos How long the bucket must have been full.
+   * @return {@code true} if the bucket can be discarded without changing the rate limit.
+   */
+  boolean isIdle(long now, long idleNanos) {
+    return now - theoreticalArrival.get() > idleNanos;
+  }
+}
@@ -0,0 +1,177 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.clock;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import com.goosebumpdesigns.scaler.clock.ClockSubscriber;
+import com.goosebumpdesigns.scaler.clock.FastClock;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * This class streams the {@link FastClock} to one HTTP client as server-sent events. The request
+ * is put in async mode so it holds no thread between ticks, and the response is written with
+ * non-blocking I/O so a slow client can't hold up the tick thread. If the client isn't ready for
+ * a frame, the frame waits and is replaced by newer ones, and the latest is written when the
+ * container reports that the client can take more.
+ * <p>
+ * The tick thread and the container's write callback never wait for each other. Whichever gets
+ * the lock writes the waiting frame, and the other leaves it for the next tick or callback.
+ */
+public class SseClockSubscriber implements ClockSubscriber, WriteListener, AsyncListener {
+  private final HttpServletRequest request;
+  private final HttpServletResponse response;
+  private final AtomicReference<byte[]> waiting = new AtomicReference<>();
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile AsyncContext asyncContext;
+  private volatile ServletOutputStream out;
+  private volatile boolean closed;
+
+  /** A frame that was written but not flushed. Guarded by the lock. */
+  private boolean unflushed;
+
+  /**
+   * @param request The subscribing request.
+   * @param response The response the frames are written to.
+   */
+  public SseClockSubscriber(HttpServletRequest request, HttpServletResponse response) {
+    this.request = request;
+    this.response = response;
+  }
+
+  /**
+   * Start streaming. This puts the request in async mode and must be called by the request
+   * thread. Frames offered before this are kept and written first.
+   *
+   * @throws IOException Thrown if the response can't be opened.
+   */
+  public void start() throws IOException {
+    response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    /* Keep proxies like nginx from buffering the stream */
+    response.setHeader("X-Accel-Buffering", "no");
+
+    AsyncContext context = request.startAsync();
+    context.setTimeout(0);
+    context.addListener(this);
+    asyncContext = context;
+
+    /* The container calls onWritePossible when the stream is ready, which writes the first frame */
+    ServletOutputStream stream = response.getOutputStream();
+    out = stream;
+    stream.setWriteListener(this);
+  }
+
+  @Override
+  public boolean offer(byte[] frame) {
+    if(closed) {
+      return false;
+    }
+
+    waiting.set(frame);
+    drain();
+    return !closed;
+  }
+
+  @Override
+  public void onWritePossible() {
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    close();
+  }
+
+  @Override
+  public void onComplete(AsyncEvent event) {
+    closed = true;
+  }
+
+  @Override
+  public void onTimeout(AsyncEvent event) {
+    close();
+  }
+
+  @Override
+  public void onError(AsyncEvent event) {
+    close();
+  }
+
+  @Override
+  public void onStartAsync(AsyncEvent event) {
+    // Nothing to do
+  }
+
+  /**
+   * Write the waiting frame if the stream is ready. Writing before isReady() returns true is an
+   * error in non-blocking mode, so a frame that can't be written now stays waiting.
+   */
+  private void drain() {
+    ServletOutputStream stream = out;
+
+    if(Objects.isNull(stream)) {
+      return;
+    }
+
+    while(!closed && lock.tryLock()) {
+      try {
+        if(!stream.isReady()) {
+          return;
+        }
+
+        byte[] frame = waiting.getAndSet(null);
+
+        if(Objects.nonNull(frame)) {
+          stream.write(frame);
+          unflushed = true;
+        }
+
+        if(unflushed && stream.isReady()) {
+          stream.flush();
+          unflushed = false;
+        }
+      }
+      catch(IOException | IllegalStateException e) {
+        /* The client went away */
+        close();
+        return;
+      }
+      finally {
+        lock.unlock();
+      }
+
+      /* A frame may have arrived while the lock was held */
+      if(Objects.isNull(waiting.get())) {
+        return;
+      }
+    }
+  }
+
+  private void close() {
+    closed = true;
+    waiting.set(null);
+    AsyncContext context = asyncContext;
+
+    if(Objects.nonNull(context)) {
+      try {
+        context.complete();
+      }
+      catch(IllegalStateException e) {
+        /* It was already completed */
+      }
+    }
+  }
+}
@@ -0,0 +1,356 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.error;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+import com.goosebumpdesigns.scaler.controller.ScalerController;
+import com.goosebumpdesigns.scaler.controller.admission.AdmissionRejectedException;
+import com.goosebumpdesigns.scaler.dao.JobInputTooLargeException;
+import com.goosebumpdesigns.scaler.jfr.ErrorEvent;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.JobNotCompleteException;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import jdk.jfr.FlightRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class handles application errors, returning an error object along with an appropriate HTTP
+ * status code. Each error is recorded as an {@link ErrorEvent} when a Flight Recorder recording is
+ * running.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ErrorHandler {
+  private enum LogError {
+    MESSAGE, STACK_TRACE
+  }
+
+  private static final DateTimeFormatter TIMESTAMP_FORMAT =
+      DateTimeFormatter.ofPattern("EEEE, dd-MMM-yyyy HH:mm:ss");
+  private static final DateTimeFormatter ZONE_FORMAT = DateTimeFormatter.ofPattern("ZZZ");
+
+  /**
+   * The most rejection headers that are kept. There is one per status and retry time, so this is
+   * only reached if the retry times vary widely. The cache is then emptied and starts again.
+   */
+  private static final int MAX_CACHED_REJECTIONS = 64;
+
+  /**
+   * Rejected requests arrive in floods, so the timestamp and headers of a rejection are built once
+   * and reused for the rest of the second in which they were built. Only the message and URI are
+   * filled in for each request.
+   */
+  private final Map<String, CachedRejection> rejections = new ConcurrentHashMap<>();
+
+  @Value("${scaler.admission.retry-after-seconds:1}")
+  private long retryAfterSeconds;
+
+  /** A preformatted rejection timestamp and headers and the second in which they were built. */
+  private record CachedRejection(long epochSecond, String timestamp, HttpHeaders headers) {
+  }
+
+  /**
+   * Handle an {@link IllegalArgumentException}. This exception is thrown if both full size and
+   * model dimensions are supplied to the service, or when an input field is missing.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(code = HttpStatus.BAD_REQUEST)
+  public ErrorDetails handleIllegalArgumentException(IllegalArgumentException e,
+      WebRequest webRequest) {
+    return buildErrorMessage("handleIllegalArgumentException", e, HttpStatus.BAD_REQUEST,
+        webRequest);
+  }
+
+  /**
+   * Handle a {@link NoSuchElementException}. This exception is thrown when a requested resource,
+   * like a project, doesn't exist.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(NoSuchElementException.class)
+  @ResponseStatus(code = HttpStatus.NOT_FOUND)
+  public ErrorDetails handleNoSuchElementException(NoSuchElementException e,
+      WebRequest webRequest) {
+    return buildErrorMessage("handleNoSuchElementException", e, HttpStatus.NOT_FOUND, webRequest);
+  }
+
+  /**
+   * Handle a {@link NoResourceFoundException}. This exception is thrown when nothing is mapped to
+   * the request path, including actuator endpoints that aren't exposed over HTTP.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(NoResourceFoundException.class)
+  @ResponseStatus(code = HttpStatus.NOT_FOUND)
+  public ErrorDetails handleNoResourceFoundException(NoResourceFoundException e,
+      WebRequest webRequest) {
+    return buildErrorMessage("handleNoResourceFoundException", e, HttpStatus.NOT_FOUND,
+        webRequest);
+  }
+
+  /**
+   * Handle a {@link JobNotCompleteException}. This exception is thrown when the result of a job is
+   * requested before the job has completed.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(JobNotCompleteException.class)
+  @ResponseStatus(code = HttpStatus.CONFLICT)
+  public ErrorDetails handleJobNotCompleteException(JobNotCompleteException e,
+      WebRequest webRequest) {
+    return buildErrorMessage("handleJobNotCompleteException", e, HttpStatus.CONFLICT, webRequest);
+  }
+
+  /**
+   * Handle a {@link JobInputTooLargeException}. This exception is thrown when a job's input is
+   * larger than the configured limit.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(JobInputTooLargeException.class)
+  @ResponseStatus(code = HttpStatus.PAYLOAD_TOO_LARGE)
+  public ErrorDetails handleJobInputTooLargeException(JobInputTooLargeException e,
+      WebRequest webRequest) {
+    return buildErrorMessage("handleJobInputTooLargeException", e, HttpStatus.PAYLOAD_TOO_LARGE,
+        webRequest);
+  }
+
+  /**
+   * Handle the {@link HttpMessageNotReadableException}. This exception is thrown by Spring if it
+   * cannot populate the {@link ScalerData} object used in the {@link ScalerController controller}.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  @ResponseStatus(code = HttpStatus.BAD_REQUEST)
+  public ErrorDetails handleHttpMessageNotReadableException(HttpMessageNotReadableException e,
+      WebRequest webRequest) {
+    return buildErrorMessage("handleHttpMessageNotReadableException", e, HttpStatus.BAD_REQUEST,
+        webRequest);
+  }
+
+  /**
+   * Handle an {@link AdmissionRejectedException}. This exception is thrown when a client exceeds
+   * its rate limit or when too many requests are in progress. The response includes a Retry-After
+   * header. The exception is not logged, since logging every rejection would add load to a server
+   * that is already overloaded.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A response with a populated {@link ErrorDetails} object and a Retry-After header.
+   */
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<ErrorDetails> handleAdmissionRejectedException(
+      AdmissionRejectedException e, WebRequest webRequest) {
+    ErrorEvent event = beginEvent();
+
+    long t = StageTimings.start();
+    long now = System.currentTimeMillis() / 1000;
+    String uri = requestUri(webRequest);
+    String key = e.getStatus().value() + " " + e.getRetryAfterSeconds();
+    CachedRejection cached = rejections.get(key);
+
+    if(Objects.isNull(cached) || cached.epochSecond() != now) {
+      HttpHeaders headers = new HttpHeaders();
+      headers.set(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+      cached = new CachedRejection(now, timestamp(), HttpHeaders.readOnlyHttpHeaders(headers));
+
+      if(rejections.size() >= MAX_CACHED_REJECTIONS && !rejections.containsKey(key)) {
+        rejections.clear();
+      }
+
+      rejections.put(key, cached);
+    }
+
+    // @formatter:off
+    ErrorDetails details = ErrorDetails.builder()
+        .errorCode(e.getStatus().value())
+        .errorReason(e.getStatus().getReasonPhrase())
+        .message(e.getMessage())
+        .timestamp(cached.timestamp())
+        .uri(uri)
+        .build();
+    // @formatter:on
+
+    StageTimings.lap(Stage.ERROR, t);
+
+    commitEvent(event, "handleAdmissionRejectedException", e.getStatus().value(), e, uri);
+
+    return new ResponseEntity<>(details, cached.headers(), e.getStatus());
+  }
+
+  /**
+   * Handle a {@link RejectedExecutionException}. This exception is thrown when the queue of an
+   * execution lane is full. It is answered like a rejection by admission control: 503 with a
+   * Retry-After header.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A response with a populated {@link ErrorDetails} object and a Retry-After header.
+   */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<ErrorDetails> handleRejectedExecutionException(
+      RejectedExecutionException e, WebRequest webRequest) {
+    return handleAdmissionRejectedException(new AdmissionRejectedException(e.getMessage(),
+        HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds), webRequest);
+  }
+
+  /**
+   * This handler method is called when an exception is thrown that isn't handled by any of the
+   * other methods in this class. When called, this method causes the exception stack trace to be
+   * logged.
+   * 
+   * @param e The exception that was thrown.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  @ExceptionHandler(Exception.class)
+  @ResponseStatus(code = HttpStatus.INTERNAL_SERVER_ERROR)
+  public ErrorDetails handleException(Exception e, WebRequest webRequest) {
+    return buildErrorMessage("handleException", e, HttpStatus.INTERNAL_SERVER_ERROR, webRequest,
+        LogError.STACK_TRACE);
+  }
+
+  /**
+   * Populate and return an {@link ErrorDetails} object that describes the error. This method is
+   * used when the stack trace does not need to be logged.
+   * 
+   * @param handler The name of the handler method, which is recorded in the {@link ErrorEvent}.
+   * @param e The exception that was thrown.
+   * @param status The status code to document in the error object.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  private ErrorDetails buildErrorMessage(String handler, Exception e, HttpStatus status,
+      WebRequest webRequest) {
+    return buildErrorMessage(handler, e, status, webRequest, LogError.MESSAGE);
+  }
+
+  /**
+   * Populate and return an {@link ErrorDetails} object that describes the error.
+   * 
+   * @param handler The name of the handler method, which is recorded in the {@link ErrorEvent}.
+   * @param e The exception that was thrown.
+   * @param status The status code to document in the error object.
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @param logError This indicates if the entire stack trace or just the exception message is
+   *        logged.
+   * @return A populated {@link ErrorDetails} object.
+   */
+  private ErrorDetails buildErrorMessage(String handler, Exception e, HttpStatus status,
+      WebRequest webRequest, LogError logError) {
+    ErrorEvent event = beginEvent();
+
+    long t = StageTimings.start();
+    String timestamp = timestamp();
+    String uri = requestUri(webRequest);
+
+    if(logError == LogError.STACK_TRACE) {
+      log.error("Exception:", e);
+    }
+    else {
+      log.error("Exception: {}", e.toString());
+    }
+
+    // @formatter:off
+    ErrorDetails details = ErrorDetails.builder()
+        .errorCode(status.value())
+        .errorReason(status.getReasonPhrase())
+        .message(e.getMessage())
+        .timestamp(timestamp)
+        .uri(uri)
+        .build();
+    // @formatter:on
+
+    StageTimings.lap(Stage.ERROR, t);
+
+    commitEvent(event, handler, status.value(), e, uri);
+
+    return details;
+  }
+
+  /**
+   * Start an {@link ErrorEvent} if Flight Recorder has been initialized. Until then the event class
+   * isn't loaded at all, so error responses, including floods of rejections, don't pay for loading
+   * it. This is the same guard the ScalerService uses for its conversion events.
+   * 
+   * @return The started event, or {@code null} if Flight Recorder hasn't been initialized.
+   */
+  private ErrorEvent beginEvent() {
+    if(!FlightRecorder.isInitialized()) {
+      return null;
+    }
+
+    ErrorEvent event = new ErrorEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Record the error if the event was started and a recording wants it.
+   * 
+   * @param event The event returned by {@link #beginEvent()}, or {@code null}.
+   * @param handler The name of the handler method.
+   * @param status The HTTP status code of the response.
+   * @param e The exception that was handled.
+   * @param uri The request URI.
+   */
+  private void commitEvent(ErrorEvent event, String handler, int status, Exception e, String uri) {
+    if(Objects.nonNull(event) && event.shouldCommit()) {
+      event.describe(handler, status, e, uri);
+      event.commit();
+    }
+  }
+
+  /**
+   * @return The current time formatted for an {@link ErrorDetails} object.
+   */
+  private String timestamp() {
+    ZonedDateTime time = ZonedDateTime.now();
+    return time.format(TIMESTAMP_FORMAT) + " GMT" + time.format(ZONE_FORMAT);
+  }
+
+  /**
+   * @param webRequest This object is supplied by Spring Boot. It describes the HTTP request.
+   * @return The request URI or "unavailable" if it isn't a servlet request.
+   */
+  private String requestUri(WebRequest webRequest) {
+    if(webRequest instanceof ServletWebRequest swr) {
+      return swr.getRequest().getRequestURI();
+    }
+
+    return "unavailable";
+  }
+}
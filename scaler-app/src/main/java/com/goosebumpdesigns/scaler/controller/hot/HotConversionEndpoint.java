@@ -0,0 +1,31 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.hot;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.HotConversion;
+import com.goosebumpdesigns.scaler.service.HeavyHitterService;
+
+/**
+ * This actuator endpoint lists the most frequent conversion requests. GET
+ * /actuator/hotconversions returns them, most frequent first, with their estimated counts. See the
+ * {@link HeavyHitterService} for how they are counted.
+ */
+@Component
+@Endpoint(id = "hotconversions")
+public class HotConversionEndpoint {
+  @Autowired
+  private HeavyHitterService heavyHitterService;
+
+  /**
+   * @return The most frequent requests.
+   */
+  @ReadOperation
+  public List<HotConversion> top() {
+    return heavyHitterService.top();
+  }
+}
@@ -0,0 +1,212 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.jfr.ConversionEvent;
+import com.goosebumpdesigns.scaler.jfr.ErrorEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This actuator endpoint starts, stops and dumps a Flight Recorder recording on a running instance.
+ * The recording includes the JDK events of the chosen settings plus every {@link ConversionEvent}
+ * and {@link ErrorEvent}. It is only exposed over JMX (MBean
+ * org.springframework.boot:type=Endpoint,name=Flightrecorder) because a recording holds the JVM's
+ * system properties and environment.
+ * <ul>
+ * <li>state returns the state of the recording and the dump directory.</li>
+ * <li>start starts a new recording with the given JDK settings (i.e., default or profile). A blank
+ * value uses the {@code scaler.jfr.settings} property.</li>
+ * <li>stop stops the recording. It can still be dumped.</li>
+ * <li>dump writes the recording to a file in the {@code scaler.jfr.directory} directory and
+ * returns the file name. Only the newest {@code scaler.jfr.max-dumps} files are kept.</li>
+ * </ul>
+ * A dump can be summarized with ConversionReport in scaler-build.
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+@Slf4j
+public class FlightRecorderEndpoint {
+  private static final String NAME = "scaler";
+  private static final Pattern DUMP_NAME = Pattern.compile(NAME + "-[0-9-]+\\.jfr");
+  private static final DateTimeFormatter DUMP_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+  @Value("${scaler.jfr.start-on-startup:false}")
+  private boolean startOnStartup;
+
+  @Value("${scaler.jfr.settings:default}")
+  private String defaultSettings;
+
+  @Value("${scaler.jfr.max-age-minutes:30}")
+  private long maxAgeMinutes;
+
+  @Value("${scaler.jfr.directory:${java.io.tmpdir}/scaler-jfr}")
+  private Path directory;
+
+  @Value("${scaler.jfr.max-dumps:5}")
+  private int maxDumps;
+
+  private Recording recording;
+  private String recordingSettings;
+
+  @PostConstruct
+  void applyInitialState() {
+    if(startOnStartup) {
+      start("");
+    }
+  }
+
+  @PreDestroy
+  synchronized void close() {
+    if(Objects.nonNull(recording)) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  /**
+   * @return The state of the recording.
+   */
+  @ReadOperation
+  public synchronized Map<String, Object> state() {
+    Map<String, Object> state = new LinkedHashMap<>();
+
+    state.put("directory", directory.toAbsolutePath().toString());
+
+    if(Objects.isNull(recording)) {
+      state.put("state", "NONE");
+      return state;
+    }
+
+    state.put("state", recording.getState().name());
+    state.put("settings", recordingSettings);
+    state.put("startTime", Objects.toString(recording.getStartTime(), null));
+    state.put("duration", Objects.toString(recording.getDuration(), null));
+    state.put("maxAge", Objects.toString(recording.getMaxAge(), null));
+    state.put("size", recording.getSize());
+
+    return state;
+  }
+
+  /**
+   * Start a new recording. A running recording is closed first.
+   *
+   * @param settings The JDK settings (i.e., default or profile). A blank value uses the
+   *        configured settings.
+   * @return The new state.
+   */
+  @WriteOperation
+  public synchronized Map<String, Object> start(String settings) {
+    String name = settings.isBlank() ? defaultSettings : settings;
+    Configuration configuration;
+
+    try {
+      configuration = Configuration.getConfiguration(name);
+    }
+    catch(IOException | ParseException e) {
+      throw new InvalidEndpointRequestException("Unknown settings " + name,
+          "Settings must be the name of a JDK configuration, like default or profile.");
+    }
+
+    close();
+
+    recording = new Recording(configuration);
+    recording.setName(NAME);
+    recording.setToDisk(true);
+    recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+    recording.enable(ConversionEvent.NAME).withoutThreshold();
+    recording.enable(ErrorEvent.NAME).withoutThreshold();
+    recording.start();
+    recordingSettings = name;
+
+    log.info("Started a Flight Recorder recording with the {} settings", name);
+    return state();
+  }
+
+  /**
+   * Stop the recording. It can still be dumped.
+   *
+   * @return The new state.
+   */
+  @WriteOperation
+  public synchronized Map<String, Object> stop() {
+    if(Objects.nonNull(recording) && recording.getState() == RecordingState.RUNNING) {
+      recording.stop();
+      log.info("Stopped the Flight Recorder recording");
+    }
+
+    return state();
+  }
+
+  /**
+   * Write the recording to a new file and delete the oldest files over the limit.
+   *
+   * @return The state and the name of the file.
+   */
+  @WriteOperation
+  public synchronized Map<String, Object> dump() {
+    if(Objects.isNull(recording) || recording.getState() == RecordingState.NEW) {
+      throw new InvalidEndpointRequestException("No recording", "Start a recording first.");
+    }
+
+    String file = NAME + "-" + LocalDateTime.now().format(DUMP_TIMESTAMP) + ".jfr";
+
+    try {
+      Files.createDirectories(directory);
+      recording.dump(directory.resolve(file));
+      deleteOldDumps();
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    log.info("Dumped the Flight Recorder recording to {}", directory.resolve(file));
+
+    Map<String, Object> state = state();
+    state.put("file", file);
+    return state;
+  }
+
+  /**
+   * Delete the oldest dumps so that at most {@code scaler.jfr.max-dumps} are kept. The names
+   * start with a timestamp, so they sort oldest first.
+   */
+  private void deleteOldDumps() throws IOException {
+    List<Path> dumps;
+
+    try(Stream<Path> files = Files.list(directory)) {
+      dumps = files.filter(f -> DUMP_NAME.matcher(f.getFileName().toString()).matches()).sorted()
+          .toList();
+    }
+
+    for(Path dump : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+      Files.deleteIfExists(dump);
+      log.info("Deleted the old Flight Recorder dump {}", dump);
+    }
+  }
+}
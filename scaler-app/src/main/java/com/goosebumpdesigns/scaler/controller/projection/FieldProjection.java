@@ -0,0 +1,232 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.projection;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.model.StockSize;
+import com.goosebumpdesigns.scaler.model.StockSizes;
+
+/**
+ * This class is a compiled {@code fields} selector: a comma separated list of dot separated paths
+ * such as {@code modelDimensions.length,scale}. Only the selected paths are written. A path that
+ * ends at an object selects the whole object. Lists are transparent, so the same selector works for
+ * a single result and for a bulk response.
+ * <p>
+ * The selector is parsed into a tree of field names once, checked against the properties of the
+ * response type and kept by the {@link FieldProjectionAdvice}. While writing, the filter finds the
+ * tree node for the object being written by walking the generator's output context, which already
+ * holds the name of each enclosing field, so no path strings are built.
+ * <p>
+ * The response classes get the filter through a mix-in (see {@link #register(ObjectMapper)}), so
+ * the model classes stay free of serialization settings.
+ */
+public final class FieldProjection extends SimpleBeanPropertyFilter {
+  /** The id of the filter that the mix-in puts on the response classes. */
+  public static final String FILTER_ID = "fields";
+
+  /** The classes that can be projected. */
+  private static final Class<?>[] PROJECTED =
+      {ScalerData.class, CrossScaleData.class, Dimensions.class, Dimension.class, StockSizes.class,
+          StockSize.class};
+
+  /** Writes every field. This is the filter when there is no selector. */
+  private static final FilterProvider SERIALIZE_ALL =
+      new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+  /**
+   * A node of the selector tree. A node that a path ends at selects everything below it, so it
+   * never has children.
+   */
+  private static final class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private boolean selected;
+
+    Map<String, Node> children() {
+      return children;
+    }
+
+    boolean selectsAll() {
+      return selected;
+    }
+
+    void select() {
+      selected = true;
+      children.clear();
+    }
+  }
+
+  @JsonFilter(FILTER_ID)
+  private interface ProjectedMixIn {
+  }
+
+  private final String selector;
+  private final Node root;
+  private final FilterProvider filters;
+
+  private FieldProjection(String selector, Node root) {
+    this.selector = selector;
+    this.root = root;
+    this.filters = new SimpleFilterProvider().addFilter(FILTER_ID, this);
+  }
+
+  /**
+   * Put the projection filter on the response classes. Until a projection is given to a writer,
+   * every field is written.
+   *
+   * @param objectMapper The object mapper to configure.
+   */
+  public static void register(ObjectMapper objectMapper) {
+    for(Class<?> type : PROJECTED) {
+      objectMapper.addMixIn(type, ProjectedMixIn.class);
+    }
+
+    objectMapper.setFilterProvider(SERIALIZE_ALL);
+  }
+
+  /**
+   * Parse and check a selector.
+   *
+   * @param selector The selector (i.e., {@code modelDimensions.length,scale}).
+   * @param type The type of the response. For a list, the selector applies to each element.
+   * @param config The serialization configuration used to find the properties of each type.
+   * @return The compiled projection.
+   * @throws IllegalArgumentException Thrown if the selector is empty, malformed or names a field
+   *         that the response doesn't have.
+   */
+  public static FieldProjection compile(String selector, JavaType type,
+      SerializationConfig config) {
+    Node root = new Node();
+
+    for(String path : selector.split(",")) {
+      Node node = root;
+      JavaType current = type;
+      String[] names = path.strip().split("\\.", -1);
+
+      for(String name : names) {
+        current = contentType(current);
+
+        if(name.isEmpty() || !propertyNames(current, config).contains(name)) {
+          throw new IllegalArgumentException("Unknown field \"" + path.strip()
+              + "\" in fields=" + selector + ". Use dot separated property names.");
+        }
+
+        current = propertyType(current, name, config);
+
+        /* A shorter path selects everything below it, whichever order the paths are in */
+        if(!node.selectsAll()) {
+          node = node.children().computeIfAbsent(name, n -> new Node());
+        }
+      }
+
+      node.select();
+    }
+
+    return new FieldProjection(selector, root);
+  }
+
+  /**
+   * @return The selector this projection was compiled from.
+   */
+  public String selector() {
+    return selector;
+  }
+
+  /**
+   * @return The filters to give to the writer of the response.
+   */
+  public FilterProvider filters() {
+    return filters;
+  }
+
+  @Override
+  public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider,
+      PropertyWriter writer) throws Exception {
+    Node node = nodeOf(jgen.getOutputContext());
+
+    if(Objects.isNull(node) || node.selectsAll()
+        || node.children().containsKey(writer.getName())) {
+      writer.serializeAsField(pojo, jgen, provider);
+    }
+    else if(!jgen.canOmitFields()) {
+      writer.serializeAsOmittedField(pojo, jgen, provider);
+    }
+  }
+
+  /**
+   * Find the selector node of an object from the names of the fields that enclose it. Array
+   * contexts are skipped, so each element of a list gets the node of the list.
+   *
+   * @return The node, or {@code null} if everything below the context is selected.
+   */
+  private Node nodeOf(JsonStreamContext context) {
+    JsonStreamContext parent = context.getParent();
+
+    if(Objects.isNull(parent) || parent.inRoot()) {
+      return root;
+    }
+
+    Node owner = nodeOf(parent);
+
+    if(parent.inArray()) {
+      return owner;
+    }
+
+    if(Objects.isNull(owner) || owner.selectsAll()) {
+      return null;
+    }
+
+    return owner.children().get(parent.getCurrentName());
+  }
+
+  private static JavaType contentType(JavaType type) {
+    JavaType current = type;
+
+    while(current.isContainerType() && !current.isMapLikeType()) {
+      current = current.getContentType();
+    }
+
+    return current;
+  }
+
+  private static Set<String> propertyNames(JavaType type, SerializationConfig config) {
+    Set<String> names = new HashSet<>();
+
+    for(BeanPropertyDefinition property : config.introspect(type).findProperties()) {
+      if(property.couldSerialize()) {
+        names.add(property.getName());
+      }
+    }
+
+    return names;
+  }
+
+  private static JavaType propertyType(JavaType type, String name, SerializationConfig config) {
+    for(BeanPropertyDefinition property : config.introspect(type).findProperties()) {
+      if(property.getName().equals(name)) {
+        return property.getPrimaryType();
+      }
+    }
+
+    throw new IllegalStateException("No property " + name + " in " + type);
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.projection;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.controller.ScalerController;
+
+/**
+ * This advice applies the {@code fields} request parameter to the responses of the
+ * {@link ScalerController}, so that only the selected paths are written:
+ *
+ * <pre>
+ * POST /scale?fields=modelDimensions
+ * POST /scale/cross/bulk?fields=targetDimensions.length
+ * </pre>
+ *
+ * Each distinct selector is compiled into a {@link FieldProjection} once per response type and
+ * reused. At most {@code scaler.projection.max-cached} projections are kept; selectors beyond that
+ * are compiled for each request. A selector that names an unknown field gets a 400 response.
+ */
+@ControllerAdvice(assignableTypes = ScalerController.class)
+public class FieldProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+  /** The name of the request parameter that holds the selector. */
+  public static final String FIELDS = "fields";
+
+  private record Key(Type type, String selector) {
+  }
+
+  @Value("${scaler.projection.max-cached:256}")
+  private int maxCached;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final Map<Key, FieldProjection> projections = new ConcurrentHashMap<>();
+
+  @Override
+  protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+      MediaType contentType, MethodParameter returnType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+    String selector = request instanceof ServletServerHttpRequest servletRequest
+        ? servletRequest.getServletRequest().getParameter(FIELDS)
+        : null;
+
+    if(Objects.isNull(selector) || selector.isBlank()) {
+      return;
+    }
+
+    bodyContainer.setFilters(projection(returnType.getGenericParameterType(), selector).filters());
+  }
+
+  /**
+   * @return The cached projection of the selector for the type, compiling it if necessary.
+   */
+  private FieldProjection projection(Type type, String selector) {
+    Key key = new Key(type, selector);
+    FieldProjection projection = projections.get(key);
+
+    if(Objects.isNull(projection)) {
+      projection = FieldProjection.compile(selector, objectMapper.constructType(type),
+          objectMapper.getSerializationConfig());
+
+      if(projections.size() < maxCached) {
+        projections.putIfAbsent(key, projection);
+      }
+    }
+
+    return projection;
+  }
+}
@@ -0,0 +1,189 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.sampler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.timing.Stage;
+
+/**
+ * This class is a fixed-size ring of slow request samples. All of the slots, including the array
+ * of stage timings in each slot, are allocated up front, so recording a sample allocates nothing.
+ * <p>
+ * Writers never wait for each other. A writer takes the next sequence number from an
+ * {@link AtomicLong} and claims the slot it maps to by setting the slot's version to an odd number
+ * with a compare-and-set. If another writer is still filling the slot (the ring wrapped all the way
+ * around while it was writing) or a newer sample is already there, the sample is dropped rather
+ * than waited for. When the slot is filled the version is set to an even number. A reader copies a
+ * slot and keeps the copy only if the version was even and didn't change while it was copying, so
+ * a torn sample is never returned. This is a sequence lock, one per slot.
+ */
+class SampleRing {
+  /** The number of timed stages. */
+  static final int STAGES = Stage.values().length;
+
+  private static final VarHandle VERSION;
+
+  static {
+    try {
+      VERSION = MethodHandles.lookup().findVarHandle(Slot.class, "version", long.class);
+    }
+    catch(ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Slot[] slots;
+  private final int mask;
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /** Samples with a lower sequence number were cleared. */
+  private volatile long clearedBefore;
+
+  /**
+   * One sample. The fields are written only by the writer that claimed the slot and read only
+   * between two reads of the version.
+   */
+  static final class Slot {
+    /** Zero if the slot was never written, odd while it is written, 2 * (sequence + 1) after. */
+    private volatile long version;
+
+    long sequence;
+    long epochMillis;
+    long totalNanos;
+    long queueNanos;
+    long runNanos;
+    final long[] stageNanos = new long[STAGES];
+    boolean failed;
+    ScalerData input;
+    String snap;
+    String requestThread;
+    long requestThreadId;
+    String workerThread;
+    long workerThreadId;
+
+    /**
+     * Copy the fields of another slot into this one.
+     */
+    void copyFrom(Slot other) {
+      sequence = other.sequence;
+      epochMillis = other.epochMillis;
+      totalNanos = other.totalNanos;
+      queueNanos = other.queueNanos;
+      runNanos = other.runNanos;
+      System.arraycopy(other.stageNanos, 0, stageNanos, 0, STAGES);
+      failed = other.failed;
+      input = other.input;
+      snap = other.snap;
+      requestThread = other.requestThread;
+      requestThreadId = other.requestThreadId;
+      workerThread = other.workerThread;
+      workerThreadId = other.workerThreadId;
+    }
+  }
+
+  /**
+   * @param capacity The number of samples kept. This is rounded up to a power of two.
+   * @throws IllegalArgumentException Thrown if the capacity is less than one.
+   */
+  SampleRing(int capacity) {
+    if(capacity < 1) {
+      throw new IllegalArgumentException("The sample capacity must be at least 1.");
+    }
+
+    int size = Integer.highestOneBit(capacity);
+
+    if(size < capacity) {
+      size <<= 1;
+    }
+
+    slots = new Slot[size];
+    mask = size - 1;
+
+    for(int i = 0; i < size; i++) {
+      slots[i] = new Slot();
+    }
+  }
+
+  /**
+   * Claim the next slot. The caller fills in the slot and then calls {@link #publish(Slot)}.
+   * 
+   * @return The slot, or {@code null} if the sample has to be dropped.
+   */
+  Slot claim() {
+    long seq = sequence.getAndIncrement();
+    Slot slot = slots[(int)(seq & mask)];
+    long published = 2 * (seq + 1);
+    long current = slot.version;
+
+    if((current & 1) != 0 || current >= published
+        || !VERSION.compareAndSet(slot, current, published - 1)) {
+      dropped.incrementAndGet();
+      return null;
+    }
+
+    slot.sequence = seq;
+    return slot;
+  }
+
+  /**
+   * Make a filled-in slot visible to readers.
+   * 
+   * @param slot The slot returned by {@link #claim()}.
+   */
+  void publish(Slot slot) {
+    VERSION.setRelease(slot, 2 * (slot.sequence + 1));
+  }
+
+  /**
+   * Copy a slot if it holds a complete sample that hasn't been cleared.
+   * 
+   * @param index The slot index, from 0 to {@link #capacity()} - 1.
+   * @param copy The slot to copy into.
+   * @return {@code true} if the copy holds a sample.
+   */
+  boolean read(int index, Slot copy) {
+    Slot slot = slots[index];
+    long before = (long)VERSION.getAcquire(slot);
+
+    if(before == 0 || (before & 1) != 0) {
+      return false;
+    }
+
+    copy.copyFrom(slot);
+    VarHandle.loadLoadFence();
+
+    return (long)VERSION.getOpaque(slot) == before && copy.sequence >= clearedBefore;
+  }
+
+  /**
+   * Hide the samples recorded so far. The slots are reused as new samples arrive.
+   */
+  void clear() {
+    clearedBefore = sequence.get();
+  }
+
+  /**
+   * @return The number of slots.
+   */
+  int capacity() {
+    return slots.length;
+  }
+
+  /**
+   * @return The number of samples recorded or dropped since the ring was created.
+   */
+  long sequence() {
+    return sequence.get();
+  }
+
+  /**
+   * @return The number of samples dropped because their slot was busy.
+   */
+  long dropped() {
+    return dropped.get();
+  }
+}
@@ -0,0 +1,52 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.sampler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.SlowRequestDump;
+
+/**
+ * This actuator endpoint dumps the slow /scale requests captured by the
+ * {@link SlowRequestSampler}. The samples hold other clients' request bodies, so the endpoint is
+ * only exposed over JMX (org.springframework.boot:type=Endpoint,name=Slowrequests). The dump
+ * operation returns the samples, oldest first. Each sample has a {@code request} with the method,
+ * path and body needed to send it again. The setThresholdMillis operation changes the threshold
+ * at runtime and the clear operation forgets the samples captured so far.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+  @Autowired
+  private SlowRequestSampler slowRequestSampler;
+
+  /**
+   * @return The captured samples.
+   */
+  @ReadOperation
+  public SlowRequestDump dump() {
+    return slowRequestSampler.dump();
+  }
+
+  /**
+   * @param thresholdMillis Requests that take at least this long are captured from now on.
+   * @return The captured samples and the new threshold.
+   */
+  @WriteOperation
+  public SlowRequestDump setThresholdMillis(long thresholdMillis) {
+    slowRequestSampler.setThresholdMillis(thresholdMillis);
+    return slowRequestSampler.dump();
+  }
+
+  /**
+   * Forget the samples captured so far.
+   */
+  @DeleteOperation
+  public void clear() {
+    slowRequestSampler.clear();
+  }
+}
@@ -0,0 +1,57 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.sampler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import com.goosebumpdesigns.scaler.controller.sampler.SlowRequestSampler.InFlight;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * This interceptor times each /scale request for the {@link SlowRequestSampler}. The timing starts
+ * before the request body is read and ends once the response has been written. The controller
+ * picks up the timing from the {@link #IN_FLIGHT} request attribute.
+ */
+@Component
+public class SlowRequestInterceptor implements HandlerInterceptor {
+  /**
+   * The request attribute that holds the {@link InFlight} timing of the request. It is a literal so
+   * that the controller can name it in {@code @RequestAttribute}.
+   */
+  public static final String IN_FLIGHT =
+      "com.goosebumpdesigns.scaler.controller.sampler.SlowRequestInterceptor.IN_FLIGHT";
+
+  @Autowired
+  private SlowRequestSampler slowRequestSampler;
+
+  /**
+   * Start timing the request. A request that was handed to an execution lane comes back through
+   * here in an async dispatch to write its result. It is already being timed, so it isn't started
+   * again.
+   */
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    if(request.getDispatcherType() != DispatcherType.ASYNC) {
+      request.setAttribute(IN_FLIGHT, slowRequestSampler.begin());
+    }
+
+    return true;
+  }
+
+  /**
+   * Hand the timing to the sampler. When the request is processed asynchronously, this is only
+   * called once the async dispatch has written the result.
+   */
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    if(request.getAttribute(IN_FLIGHT) instanceof InFlight inFlight) {
+      request.removeAttribute(IN_FLIGHT);
+      slowRequestSampler.sample(inFlight, response.getStatus() >= 400);
+    }
+  }
+}
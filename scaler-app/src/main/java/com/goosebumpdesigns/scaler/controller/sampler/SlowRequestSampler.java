@@ -0,0 +1,253 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.sampler;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.controller.sampler.SampleRing.Slot;
+import com.goosebumpdesigns.scaler.model.ReplayRequest;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.model.SlowRequest;
+import com.goosebumpdesigns.scaler.model.SlowRequestDump;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+
+/**
+ * This class captures /scale requests that take longer than {@code scaler.sampler.threshold-millis}
+ * so that they can be reproduced. Each captured request keeps the input {@link ScalerData} as it
+ * was received, the queue and conversion times, the stage timings if stage timing is on, and the
+ * names and IDs of the request and lane threads. The most recent
+ * {@code scaler.sampler.capacity} samples are kept in a {@link SampleRing}.
+ * <p>
+ * A request is timed by the {@link SlowRequestInterceptor} from before its body is read until its
+ * response has been written, so body conversion, queueing, the conversion itself and writing the
+ * response all count towards the threshold. The controller and the lane thread fill in the parts
+ * in between (see {@link InFlight}).
+ * <p>
+ * Every request pays for one small {@link InFlight} holder, a few clock reads and one comparison. A
+ * slow request is copied into a preallocated slot, so capturing it does not allocate. The dump
+ * ({@link #dump()}) does the allocating, when it is asked for.
+ */
+@Component
+public class SlowRequestSampler {
+  private static final Stage[] STAGES = Stage.values();
+  private static final int MILLIS_SCALE = 3;
+
+  private final boolean enabled;
+  private final SampleRing ring;
+  private volatile long thresholdNanos;
+
+  /**
+   * @param enabled {@code true} to capture slow requests.
+   * @param thresholdMillis Requests that take at least this long are captured.
+   * @param capacity The number of samples to keep. This is rounded up to a power of two.
+   */
+  public SlowRequestSampler(@Value("${scaler.sampler.enabled:true}") boolean enabled,
+      @Value("${scaler.sampler.threshold-millis:250}") long thresholdMillis,
+      @Value("${scaler.sampler.capacity:256}") int capacity) {
+    this.enabled = enabled;
+    this.ring = new SampleRing(capacity);
+    setThresholdMillis(thresholdMillis);
+  }
+
+  /**
+   * @return The timing of a request that has just arrived on the current thread.
+   */
+  public InFlight begin() {
+    return new InFlight(System.nanoTime(), Thread.currentThread());
+  }
+
+  /**
+   * Capture the request if it was slow. This is called once the response has been written, whether
+   * or not the request succeeded.
+   * 
+   * @param inFlight The timing of the request.
+   * @param failed {@code true} if the response is an error.
+   */
+  public void sample(InFlight inFlight, boolean failed) {
+    if(!enabled) {
+      return;
+    }
+
+    long now = System.nanoTime();
+
+    if(now - inFlight.receivedNanos < thresholdNanos) {
+      return;
+    }
+
+    Slot slot = ring.claim();
+
+    if(Objects.isNull(slot)) {
+      return;
+    }
+
+    Thread worker = inFlight.worker;
+    StageTimings timings = StageTimings.current();
+
+    slot.epochMillis = System.currentTimeMillis();
+    slot.totalNanos = now - inFlight.receivedNanos;
+
+    if(Objects.isNull(worker)) {
+      /* The request was turned away before it reached a lane. */
+      slot.queueNanos = 0L;
+      slot.runNanos = 0L;
+    }
+    else {
+      long finished = inFlight.finishedNanos == 0L ? now : inFlight.finishedNanos;
+
+      slot.queueNanos = inFlight.startedNanos - inFlight.submittedNanos;
+      slot.runNanos = finished - inFlight.startedNanos;
+    }
+
+    for(int i = 0; i < STAGES.length; i++) {
+      slot.stageNanos[i] = Objects.isNull(timings) ? 0L : timings.nanos(STAGES[i]);
+    }
+
+    slot.failed = failed;
+    slot.input = inFlight.input;
+    slot.snap = inFlight.snap;
+    slot.requestThread = inFlight.requestThread.getName();
+    slot.requestThreadId = inFlight.requestThread.threadId();
+    slot.workerThread = Objects.isNull(worker) ? null : worker.getName();
+    slot.workerThreadId = Objects.isNull(worker) ? 0L : worker.threadId();
+
+    ring.publish(slot);
+  }
+
+  /**
+   * @return The captured samples, oldest first.
+   */
+  public SlowRequestDump dump() {
+    List<SlowRequest> samples = new ArrayList<>();
+    Slot copy = new Slot();
+
+    for(int i = 0; i < ring.capacity(); i++) {
+      if(ring.read(i, copy)) {
+        samples.add(toSlowRequest(copy));
+      }
+    }
+
+    samples.sort(Comparator.comparingLong(SlowRequest::sequence));
+
+    return new SlowRequestDump(TimeUnit.NANOSECONDS.toMillis(thresholdNanos), ring.capacity(),
+        ring.sequence(), ring.dropped(), samples);
+  }
+
+  /**
+   * Forget the samples captured so far.
+   */
+  public void clear() {
+    ring.clear();
+  }
+
+  /**
+   * @param thresholdMillis Requests that take at least this long are captured from now on.
+   * @throws IllegalArgumentException Thrown if the threshold is negative.
+   */
+  public void setThresholdMillis(long thresholdMillis) {
+    if(thresholdMillis < 0) {
+      throw new IllegalArgumentException("The slow request threshold must not be negative.");
+    }
+
+    thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+  }
+
+  private SlowRequest toSlowRequest(Slot slot) {
+    Map<String, BigDecimal> stageMillis = new LinkedHashMap<>();
+
+    for(Stage stage : STAGES) {
+      long nanos = slot.stageNanos[stage.ordinal()];
+
+      if(nanos > 0) {
+        stageMillis.put(stage.metricName(), millis(nanos));
+      }
+    }
+
+    String path = "/scale";
+
+    if(Objects.nonNull(slot.snap)) {
+      path += "?snap=" + URLEncoder.encode(slot.snap, StandardCharsets.UTF_8);
+    }
+
+    // @formatter:off
+    return new SlowRequest(
+        slot.sequence,
+        Instant.ofEpochMilli(slot.epochMillis),
+        millis(slot.totalNanos),
+        millis(slot.queueNanos),
+        millis(slot.runNanos),
+        stageMillis.isEmpty() ? null : stageMillis,
+        slot.failed,
+        slot.requestThread,
+        slot.requestThreadId,
+        slot.workerThread,
+        slot.workerThreadId,
+        new ReplayRequest("POST", path, slot.input));
+    // @formatter:on
+  }
+
+  private BigDecimal millis(long nanos) {
+    return BigDecimal.valueOf(nanos / 1000, MILLIS_SCALE);
+  }
+
+  /**
+   * The timing of one /scale request while it is in progress. The {@link SlowRequestInterceptor}
+   * creates it when the request arrives, the controller records the parsed request and the lane
+   * thread records the conversion. Each step happens before the request is handed to the next
+   * thread, so the fields need no locking.
+   */
+  public static final class InFlight {
+    private final long receivedNanos;
+    private final Thread requestThread;
+    private ScalerData input;
+    private String snap;
+    private long submittedNanos;
+    private Thread worker;
+    private long startedNanos;
+    private long finishedNanos;
+
+    private InFlight(long receivedNanos, Thread requestThread) {
+      this.receivedNanos = receivedNanos;
+      this.requestThread = requestThread;
+    }
+
+    /**
+     * Called by the controller once the request body has been read, before the request is checked
+     * and handed to a lane.
+     * 
+     * @param input The request body.
+     * @param snap The snap parameter, or {@code null}.
+     */
+    public void submitted(ScalerData input, String snap) {
+      this.input = input;
+      this.snap = snap;
+      submittedNanos = System.nanoTime();
+    }
+
+    /**
+     * Called on the lane thread before the conversion starts.
+     */
+    public void started() {
+      worker = Thread.currentThread();
+      startedNanos = System.nanoTime();
+    }
+
+    /**
+     * Called on the lane thread once the conversion is done, whether or not it succeeded.
+     */
+    public void finished() {
+      finishedNanos = System.nanoTime();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.timing;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * This actuator endpoint switches request stage timing on and off at runtime. It is exposed over
+ * JMX only (MBean org.springframework.boot:type=Endpoint,name=Servertiming), because timing
+ * buffers every /scale response body and so shouldn't be switched on by any web client. The
+ * state operation returns the current state and setEnabled switches timing on or off. The initial
+ * state comes from the {@code scaler.timing.enabled} property.
+ */
+@Component
+@Endpoint(id = "servertiming")
+public class ServerTimingEndpoint {
+  @Value("${scaler.timing.enabled:false}")
+  private boolean enabled;
+
+  @PostConstruct
+  void applyInitialState() {
+    StageTimings.setEnabled(enabled);
+  }
+
+  /**
+   * @return The current state.
+   */
+  @ReadOperation
+  public Map<String, Boolean> state() {
+    return Map.of("enabled", StageTimings.isEnabled());
+  }
+
+  /**
+   * @param enabled {@code true} to switch timing on.
+   * @return The new state.
+   */
+  @WriteOperation
+  public Map<String, Boolean> setEnabled(boolean enabled) {
+    StageTimings.setEnabled(enabled);
+    return state();
+  }
+}
@@ -0,0 +1,98 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.timing;
+
+import java.io.IOException;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * This filter times the stages of each /scale request and returns them in a Server-Timing
+ * response header. The serialize stage ends when the response body has been written, which is
+ * after the point where headers can normally be set, so the body is buffered while timing is on.
+ * When timing is off the filter passes the request straight through.
+ * <p>
+ * A request that is handed to an execution lane leaves this filter before its result is written.
+ * The timings are kept in a request attribute and finished when the result is written in the
+ * async dispatch.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+  /** The name of the response header. */
+  public static final String SERVER_TIMING = "Server-Timing";
+
+  private static final String TIMINGS = ServerTimingFilter.class.getName() + ".TIMINGS";
+
+  @Autowired
+  private StageMetrics stageMetrics;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getServletPath().startsWith("/scale");
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    StageTimings timings;
+    ContentCachingResponseWrapper wrapper;
+
+    if(isAsyncDispatch(request)) {
+      timings = (StageTimings)request.getAttribute(TIMINGS);
+
+      if(Objects.isNull(timings)) {
+        filterChain.doFilter(request, response);
+        return;
+      }
+
+      /* The wrapper from the first dispatch is still in place unless something replaced it */
+      StageTimings.bind(timings);
+      wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+
+      if(Objects.isNull(wrapper)) {
+        wrapper = new ContentCachingResponseWrapper(response);
+      }
+    }
+    else if(StageTimings.isEnabled()) {
+      timings = StageTimings.begin();
+      wrapper = new ContentCachingResponseWrapper(response);
+    }
+    else {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    try {
+      filterChain.doFilter(request, wrapper);
+    }
+    finally {
+      if(isAsyncStarted(request)) {
+        request.setAttribute(TIMINGS, timings);
+        StageTimings.end();
+      }
+      else {
+        request.removeAttribute(TIMINGS);
+        timings.lapFromMark(Stage.SERIALIZE);
+        wrapper.setHeader(SERVER_TIMING, timings.toServerTiming());
+        stageMetrics.record(timings);
+        StageTimings.end();
+        wrapper.copyBodyToResponse();
+      }
+    }
+  }
+}
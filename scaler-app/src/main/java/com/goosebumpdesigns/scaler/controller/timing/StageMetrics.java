@@ -0,0 +1,64 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.timing;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * This class aggregates request {@link StageTimings} into a histogram per stage. The histograms
+ * are published as the "scaler.request.stage" timer, tagged by stage, and can be viewed at
+ * /actuator/metrics/scaler.request.stage?tag=stage:convert.
+ */
+@Component
+public class StageMetrics {
+  private static final String METRIC_NAME = "scaler.request.stage";
+
+  private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+  private final Timer totalTimer;
+
+  /**
+   * @param meterRegistry The registry supplied by Spring Boot.
+   */
+  public StageMetrics(MeterRegistry meterRegistry) {
+    for(Stage stage : Stage.values()) {
+      stageTimers.put(stage, buildTimer(meterRegistry, stage.metricName()));
+    }
+
+    totalTimer = buildTimer(meterRegistry, "total");
+  }
+
+  /**
+   * Add the timings of a completed request to the histograms. Stages that the request didn't
+   * enter are not recorded.
+   * 
+   * @param timings The request timings.
+   */
+  public void record(StageTimings timings) {
+    for(Map.Entry<Stage, Timer> entry : stageTimers.entrySet()) {
+      long nanos = timings.nanos(entry.getKey());
+
+      if(nanos > 0) {
+        entry.getValue().record(nanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    totalTimer.record(timings.elapsedNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private Timer buildTimer(MeterRegistry meterRegistry, String stage) {
+    // @formatter:off
+    return Timer.builder(METRIC_NAME)
+        .description("Time spent in each stage of a scaler request")
+        .tag("stage", stage)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    // @formatter:on
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.timing;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+
+/**
+ * This advice marks the start and end of the parse stage (the request body is read between
+ * {@link #beforeBodyRead} and {@link #afterBodyRead}) and the start of the serialize stage (the
+ * response body is written after {@link #beforeBodyWrite}). The serialize stage is ended by the
+ * {@link ServerTimingFilter}.
+ */
+@ControllerAdvice
+public class StageTimingAdvice extends RequestBodyAdviceAdapter
+    implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter methodParameter, Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return StageTimings.isEnabled();
+  }
+
+  @Override
+  public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter,
+      Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+    StageTimings timings = StageTimings.current();
+
+    if(Objects.nonNull(timings)) {
+      timings.mark();
+    }
+
+    return inputMessage;
+  }
+
+  @Override
+  public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+      Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+    StageTimings timings = StageTimings.current();
+
+    if(Objects.nonNull(timings)) {
+      timings.lapFromMark(Stage.PARSE);
+    }
+
+    return body;
+  }
+
+  @Override
+  public boolean supports(MethodParameter returnType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return StageTimings.isEnabled();
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType,
+      MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request, ServerHttpResponse response) {
+    StageTimings timings = StageTimings.current();
+
+    if(Objects.nonNull(timings)) {
+      timings.mark();
+    }
+
+    return body;
+  }
+}
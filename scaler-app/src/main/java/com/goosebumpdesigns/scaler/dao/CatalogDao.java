@@ -0,0 +1,129 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.CatalogEntry;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class reads the prototype catalog. The catalog is a text file with one object per line:
+ * 
+ * <pre>
+ * name,length,width,height,measurement
+ * </pre>
+ * 
+ * The length, width and height are optional but at least one must be given. The measurement is a
+ * {@link Measurement} name (i.e., FOOT). Blank lines and lines that start with # are ignored. The
+ * numeric fields are read from the end of the line, so the name may contain commas.
+ */
+@Component
+@Slf4j
+public class CatalogDao {
+  private static final int FIELDS_AFTER_NAME = 4;
+
+  @Value("${scaler.catalog.location:classpath:catalog/prototypes.csv}")
+  private Resource location;
+
+  /**
+   * Load the catalog.
+   * 
+   * @return The catalog entries in file order. The list is empty if the file doesn't exist.
+   * @throws UncheckedIOException Thrown if the file can't be read.
+   * @throws IllegalArgumentException Thrown if a line is invalid.
+   */
+  public List<CatalogEntry> loadAll() {
+    List<CatalogEntry> entries = new ArrayList<>();
+
+    if(!location.exists()) {
+      log.warn("Prototype catalog {} not found", location);
+      return entries;
+    }
+
+    try(BufferedReader reader = new BufferedReader(
+        new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+
+      while((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.strip();
+
+        if(!trimmed.isEmpty() && trimmed.charAt(0) != '#') {
+          entries.add(parse(trimmed, lineNumber));
+        }
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    log.info("Loaded {} catalog entries from {}", entries.size(), location);
+    return entries;
+  }
+
+  /**
+   * Parse one catalog line.
+   * 
+   * @param line The line to parse.
+   * @param lineNumber The line number for error messages.
+   * @return The entry.
+   * @throws IllegalArgumentException Thrown if the line is invalid.
+   */
+  static CatalogEntry parse(String line, int lineNumber) {
+    String[] fields = new String[FIELDS_AFTER_NAME];
+    int end = line.length();
+
+    for(int i = FIELDS_AFTER_NAME - 1; i >= 0; i--) {
+      int comma = line.lastIndexOf(',', end - 1);
+
+      if(comma < 0) {
+        throw new IllegalArgumentException("Catalog line " + lineNumber
+            + " must have a name, length, width, height and measurement.");
+      }
+
+      fields[i] = line.substring(comma + 1, end).strip();
+      end = comma;
+    }
+
+    String name = line.substring(0, end).strip();
+
+    if(name.isEmpty()) {
+      throw new IllegalArgumentException("Catalog line " + lineNumber + " has no name.");
+    }
+
+    try {
+      Measurement measurement = Measurement.value(fields[3]);
+      Dimension length = dimension(fields[0], measurement);
+      Dimension width = dimension(fields[1], measurement);
+      Dimension height = dimension(fields[2], measurement);
+
+      if(length == null && width == null && height == null) {
+        throw new IllegalArgumentException("No length, width or height.");
+      }
+
+      return new CatalogEntry(name, new Dimensions(length, width, height), null);
+    }
+    catch(IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Catalog line " + lineNumber + " is invalid: " + e.getMessage(), e);
+    }
+  }
+
+  private static Dimension dimension(String value, Measurement measurement) {
+    return value.isEmpty() ? null : new Dimension(new BigDecimal(value), measurement);
+  }
+}
@@ -0,0 +1,251 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.JobStatus;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class stores conversion jobs in a local directory. Each job has its own directory named
+ * after the job ID that holds:
+ * <ul>
+ * <li>job.json: the {@link JobStatus}.</li>
+ * <li>input: the submitted entries, as a JSON array or as one JSON object per line.</li>
+ * <li>result.ndjson.part: the result while the job is running.</li>
+ * <li>result.ndjson: the result once the job has completed.</li>
+ * </ul>
+ * Like the {@link ProjectDao}, files are written to a temporary file first and then moved into
+ * place, so a crash never leaves a half written status or input behind. A job directory without a
+ * status is an interrupted submission and is removed when the jobs are loaded.
+ */
+@Component
+@Slf4j
+public class JobDao {
+  private static final String STATUS = "job.json";
+  private static final String INPUT = "input";
+  private static final String RESULT = "result.ndjson";
+  private static final String PARTIAL_RESULT = RESULT + ".part";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  @Value("${scaler.jobs.directory}")
+  private Path directory;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * Load the status of every stored job.
+   *
+   * @return The stored job statuses. The list is empty if the job directory doesn't exist.
+   * @throws UncheckedIOException Thrown if the directory or a status file can't be read.
+   */
+  public List<JobStatus> loadAll() {
+    List<JobStatus> jobs = new ArrayList<>();
+
+    if(!Files.isDirectory(directory)) {
+      return jobs;
+    }
+
+    try(Stream<Path> dirs = Files.list(directory)) {
+      for(Path dir : dirs.filter(Files::isDirectory).toList()) {
+        Path status = dir.resolve(STATUS);
+
+        if(Files.isRegularFile(status)) {
+          jobs.add(objectMapper.readValue(status.toFile(), JobStatus.class));
+        }
+        else {
+          log.info("Removing incomplete job submission {}", dir);
+          deleteDirectory(dir);
+        }
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return jobs;
+  }
+
+  /**
+   * Copy a job's input to disk without holding it in memory.
+   *
+   * @param id The job ID.
+   * @param in The input.
+   * @param maxBytes The largest input allowed.
+   * @return The number of bytes stored.
+   * @throws JobInputTooLargeException Thrown if the input is larger than the maximum. Nothing is
+   *         stored.
+   * @throws UncheckedIOException Thrown if the input can't be read or written.
+   */
+  public long saveInput(String id, InputStream in, long maxBytes) {
+    Path dir = jobDirectory(id);
+    long bytes = 0;
+
+    try {
+      Files.createDirectories(dir);
+      Path temp = Files.createTempFile(dir, INPUT, ".tmp");
+
+      try(OutputStream out = Files.newOutputStream(temp)) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        for(int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+          bytes += n;
+
+          if(bytes > maxBytes) {
+            throw new JobInputTooLargeException(
+                "The job input is larger than the limit of " + maxBytes + " bytes.");
+          }
+
+          out.write(buffer, 0, n);
+        }
+      }
+
+      Files.move(temp, input(id), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      return bytes;
+    }
+    catch(IOException e) {
+      delete(id);
+      throw new UncheckedIOException(e);
+    }
+    catch(JobInputTooLargeException e) {
+      delete(id);
+      throw e;
+    }
+  }
+
+  /**
+   * Save a job's status, replacing the stored status.
+   *
+   * @param status The status.
+   * @throws UncheckedIOException Thrown if the status file can't be written.
+   */
+  public void saveStatus(JobStatus status) {
+    try {
+      Path dir = Files.createDirectories(jobDirectory(status.getId()));
+      Path temp = Files.createTempFile(dir, STATUS, ".tmp");
+
+      objectMapper.writeValue(temp.toFile(), status);
+      Files.move(temp, dir.resolve(STATUS), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Move a job's partial result into place once the job has completed.
+   *
+   * @param id The job ID.
+   * @throws UncheckedIOException Thrown if the result can't be moved.
+   */
+  public void completeResult(String id) {
+    try {
+      Files.move(partialResult(id), result(id), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Delete a file of a job if it exists.
+   *
+   * @param file The file, i.e., the value of {@link #input(String)}.
+   * @throws UncheckedIOException Thrown if the file can't be deleted.
+   */
+  public void deleteFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param file A file of a job, i.e., the value of {@link #result(String)}.
+   * @return The size of the file in bytes, or 0 if it doesn't exist.
+   * @throws UncheckedIOException Thrown if the size can't be read.
+   */
+  public long size(Path file) {
+    try {
+      return Files.exists(file) ? Files.size(file) : 0;
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Delete a job and all of its files. Nothing happens if the job isn't stored.
+   *
+   * @param id The job ID.
+   * @throws UncheckedIOException Thrown if a file can't be deleted.
+   */
+  public void delete(String id) {
+    try {
+      deleteDirectory(jobDirectory(id));
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param id The job ID.
+   * @return The path of the job's input.
+   */
+  public Path input(String id) {
+    return jobDirectory(id).resolve(INPUT);
+  }
+
+  /**
+   * @param id The job ID.
+   * @return The path of the result of a running job.
+   */
+  public Path partialResult(String id) {
+    return jobDirectory(id).resolve(PARTIAL_RESULT);
+  }
+
+  /**
+   * @param id The job ID.
+   * @return The path of the result of a completed job.
+   */
+  public Path result(String id) {
+    return jobDirectory(id).resolve(RESULT);
+  }
+
+  private Path jobDirectory(String id) {
+    return directory.resolve(id);
+  }
+
+  private void deleteDirectory(Path dir) throws IOException {
+    if(!Files.isDirectory(dir)) {
+      return;
+    }
+
+    try(Stream<Path> files = Files.walk(dir)) {
+      for(Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import com.goosebumpdesigns.scaler.controller.error.ErrorHandler;
+
+/**
+ * This exception is thrown when a job's input is larger than
+ * {@code scaler.jobs.max-input-megabytes}. It is handled by the {@link ErrorHandler}, which answers
+ * with 413 (Payload Too Large) so that clients can tell a size limit from malformed input.
+ */
+public class JobInputTooLargeException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * @param message The exception message.
+   */
+  public JobInputTooLargeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class stores named objects in a local directory. Each object is kept in its own JSON file
+ * named after the object. Files are written to a temporary file first and then moved into place so
+ * that a crash in the middle of a write doesn't corrupt the stored object. The caller is
+ * responsible for making sure that the names are safe to use as file names.
+ *
+ * @param <T> The type of the stored objects.
+ */
+@Slf4j
+public abstract class JsonDirectoryDao<T> {
+  private static final String SUFFIX = ".json";
+
+  private final Path directory;
+  private final Class<T> type;
+  private final Function<T, String> nameOf;
+  private final String description;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * @param directory The directory that holds the files.
+   * @param type The type of the stored objects.
+   * @param nameOf Returns the name of an object, which is also its file name.
+   * @param description What the objects are called in the log, like "project".
+   */
+  protected JsonDirectoryDao(Path directory, Class<T> type, Function<T, String> nameOf,
+      String description) {
+    this.directory = directory;
+    this.type = type;
+    this.nameOf = nameOf;
+    this.description = description;
+  }
+
+  /**
+   * Load all of the stored objects.
+   * 
+   * @return The stored objects. The list is empty if the directory doesn't exist.
+   * @throws UncheckedIOException Thrown if the directory or a file can't be read.
+   */
+  public List<T> loadAll() {
+    List<T> stored = new ArrayList<>();
+
+    if(!Files.isDirectory(directory)) {
+      return stored;
+    }
+
+    try(Stream<Path> files = Files.list(directory)) {
+      for(Path file : files.filter(f -> f.toString().endsWith(SUFFIX)).toList()) {
+        stored.add(objectMapper.readValue(file.toFile(), type));
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    log.info("Loaded {} {}(s) from {}", stored.size(), description, directory);
+    return stored;
+  }
+
+  /**
+   * Save the given object, replacing any stored object with the same name.
+   * 
+   * @param value The object to save.
+   * @throws UncheckedIOException Thrown if the file can't be written.
+   */
+  public void save(T value) {
+    String name = nameOf.apply(value);
+
+    try {
+      Files.createDirectories(directory);
+
+      Path temp = Files.createTempFile(directory, name, ".tmp");
+
+      objectMapper.writeValue(temp.toFile(), value);
+      Files.move(temp, file(name), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Delete the stored object with the given name. Nothing happens if the object isn't stored.
+   * 
+   * @param name The object name.
+   * @throws UncheckedIOException Thrown if the file can't be deleted.
+   */
+  public void delete(String name) {
+    try {
+      Files.deleteIfExists(file(name));
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param name The object name.
+   * @return The path of the file that holds the object.
+   */
+  private Path file(String name) {
+    return directory.resolve(name + SUFFIX);
+  }
+}
@@ -0,0 +1,22 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.Project;
+
+/**
+ * This class stores projects in {@code scaler.projects.directory}, one JSON file per project (see
+ * {@link JsonDirectoryDao}). Only the item input dimensions are stored.
+ */
+@Component
+public class ProjectDao extends JsonDirectoryDao<Project> {
+  /**
+   * @param directory The directory that holds the project files.
+   */
+  public ProjectDao(@Value("${scaler.projects.directory}") Path directory) {
+    super(directory, Project.class, Project::getName, "project");
+  }
+}
@@ -0,0 +1,110 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.StockSize;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class reads the stock material sizes that model dimensions can be snapped to. The file has
+ * one line for each material and the measurement it is sold in:
+ *
+ * <pre>
+ * material,measurement,sizes
+ * </pre>
+ *
+ * The measurement is a {@link Measurement} name (i.e., INCH) and the sizes are separated by |.
+ * Blank lines and lines that start with # are ignored.
+ */
+@Component
+@Slf4j
+public class StockDao {
+  private static final int FIELDS = 3;
+
+  @Value("${scaler.stock.location:classpath:stock/stock-sizes.csv}")
+  private Resource location;
+
+  /**
+   * Load the sizes.
+   *
+   * @return Every size in file order. The error of each size is {@code null}.
+   * @throws UncheckedIOException Thrown if the file can't be read.
+   * @throws IllegalArgumentException Thrown if the file doesn't exist or a line is invalid.
+   */
+  public List<StockSize> loadAll() {
+    if(!location.exists()) {
+      throw new IllegalArgumentException("Stock file " + location + " not found");
+    }
+
+    List<StockSize> sizes = new ArrayList<>();
+
+    try(BufferedReader reader = new BufferedReader(
+        new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+
+      while((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.strip();
+
+        if(!trimmed.isEmpty() && trimmed.charAt(0) != '#') {
+          parse(trimmed, lineNumber, sizes);
+        }
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    log.info("Loaded {} stock sizes from {}", sizes.size(), location);
+    return sizes;
+  }
+
+  /**
+   * Parse one material line.
+   *
+   * @param line The line to parse.
+   * @param lineNumber The line number for error messages.
+   * @param sizes The list to add the sizes to.
+   * @throws IllegalArgumentException Thrown if the line is invalid.
+   */
+  static void parse(String line, int lineNumber, List<StockSize> sizes) {
+    String[] fields = line.split(",", FIELDS);
+
+    if(fields.length != FIELDS || fields[0].isBlank()) {
+      throw new IllegalArgumentException(
+          "Stock line " + lineNumber + " must have a material, measurement and sizes.");
+    }
+
+    try {
+      String material = fields[0].strip();
+      Measurement measurement = Measurement.value(fields[1].strip());
+
+      for(String size : fields[2].split("\\|")) {
+        BigDecimal value = new BigDecimal(size.strip());
+
+        if(value.signum() <= 0) {
+          throw new IllegalArgumentException("Sizes must be greater than zero.");
+        }
+
+        sizes.add(new StockSize(material, value, measurement, null));
+      }
+    }
+    catch(IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Stock line " + lineNumber + " is invalid: " + e.getMessage(), e);
+    }
+  }
+}
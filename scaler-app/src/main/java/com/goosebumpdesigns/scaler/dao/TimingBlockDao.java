@@ -0,0 +1,70 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.TimingBlock;
+
+/**
+ * This class stores the timing blocks used for speed telemetry in a JSON file. Like the
+ * {@link ProjectDao}, the file is written to a temporary file first and then moved into place.
+ */
+@Component
+public class TimingBlockDao {
+  private static final TypeReference<List<TimingBlock>> LIST_TYPE = new TypeReference<>() {};
+
+  @Value("${scaler.telemetry.blocks-file}")
+  private Path file;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * @return The stored blocks. The list is empty if none were stored.
+   * @throws UncheckedIOException Thrown if the file can't be read.
+   */
+  public List<TimingBlock> load() {
+    if(!Files.isRegularFile(file)) {
+      return List.of();
+    }
+
+    try {
+      return objectMapper.readValue(file.toFile(), LIST_TYPE);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param blocks The blocks to store, replacing the stored blocks.
+   * @throws UncheckedIOException Thrown if the file can't be written.
+   */
+  public void save(List<TimingBlock> blocks) {
+    try {
+      Path directory = file.toAbsolutePath().getParent();
+
+      if(Objects.nonNull(directory)) {
+        Files.createDirectories(directory);
+      }
+
+      Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      objectMapper.writeValue(temp.toFile(), blocks);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Unit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class reads the units of length that can be typed in a length string. The file has one unit
+ * per line:
+ * 
+ * <pre>
+ * name,millimeters,measurement,perScale,symbols
+ * </pre>
+ * 
+ * The measurement is a {@link Measurement} name (i.e., FOOT) and the symbols are separated by |.
+ * Blank lines and lines that start with # are ignored.
+ */
+@Component
+@Slf4j
+public class UnitDao {
+  private static final int FIELDS = 5;
+
+  @Value("${scaler.units.location:classpath:units/units.csv}")
+  private Resource location;
+
+  /**
+   * Load the units.
+   * 
+   * @return The units in file order.
+   * @throws UncheckedIOException Thrown if the file can't be read.
+   * @throws IllegalArgumentException Thrown if the file doesn't exist or a line is invalid.
+   */
+  public List<Unit> loadAll() {
+    if(!location.exists()) {
+      throw new IllegalArgumentException("Unit file " + location + " not found");
+    }
+
+    List<Unit> units = new ArrayList<>();
+
+    try(BufferedReader reader = new BufferedReader(
+        new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+
+      while((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.strip();
+
+        if(!trimmed.isEmpty() && trimmed.charAt(0) != '#') {
+          units.add(parse(trimmed, lineNumber));
+        }
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    log.info("Loaded {} units from {}", units.size(), location);
+    return units;
+  }
+
+  /**
+   * Parse one unit line.
+   * 
+   * @param line The line to parse.
+   * @param lineNumber The line number for error messages.
+   * @return The unit.
+   * @throws IllegalArgumentException Thrown if the line is invalid.
+   */
+  static Unit parse(String line, int lineNumber) {
+    String[] fields = line.split(",", FIELDS);
+
+    if(fields.length != FIELDS) {
+      throw new IllegalArgumentException("Unit line " + lineNumber
+          + " must have a name, millimeters, measurement, perScale and symbols.");
+    }
+
+    try {
+      // @formatter:off
+      return new Unit(fields[0].strip(),
+          new BigDecimal(fields[1].strip()),
+          Measurement.value(fields[2].strip()),
+          Boolean.parseBoolean(fields[3].strip()),
+          Arrays.stream(fields[4].split("\\|")).map(String::strip).toList());
+      // @formatter:on
+    }
+    catch(IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Unit line " + lineNumber + " is invalid: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.dao;
+
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.Yard;
+
+/**
+ * This class stores yards in {@code scaler.yards.directory}, one JSON file per yard (see
+ * {@link JsonDirectoryDao}). Only the full size car lengths and siding lengths are stored.
+ */
+@Component
+public class YardDao extends JsonDirectoryDao<Yard> {
+  /**
+   * @param directory The directory that holds the yard files.
+   */
+  public YardDao(@Value("${scaler.yards.directory}") Path directory) {
+    super(directory, Yard.class, Yard::getName, "yard");
+  }
+}
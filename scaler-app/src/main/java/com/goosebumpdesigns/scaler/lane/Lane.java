@@ -0,0 +1,28 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.lane;
+
+/**
+ * The execution lanes of the {@link LaneScheduler}. Each lane has its own threads and queue, so
+ * a burst of bulk work can't hold up single conversions.
+ */
+public enum Lane {
+  /** Single conversions from the web page and other interactive clients. */
+  INTERACTIVE("interactive"),
+
+  /** Bulk conversions of whole lists. Bulk work yields to interactive work. */
+  BULK("bulk");
+
+  private String metricName;
+
+  private Lane(String metricName) {
+    this.metricName = metricName;
+  }
+
+  /**
+   * @return The name used in metric tags and configuration properties.
+   */
+  public String metricName() {
+    return metricName;
+  }
+}
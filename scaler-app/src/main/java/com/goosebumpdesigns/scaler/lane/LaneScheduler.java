@@ -0,0 +1,252 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.lane;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class runs scaler work in separate execution lanes (bulkheads) so that bulk conversions
+ * don't compete with interactive requests for the same threads. Each {@link Lane} has its own
+ * fixed set of threads and its own bounded queue. A full queue rejects new work, which the
+ * controllers return as 503 (Service Unavailable).
+ * <p>
+ * Bulk work is split into chunks. Before each chunk a bulk thread checks how much interactive work
+ * is waiting or running and, if it is at least {@code scaler.lanes.bulk.yield-threshold}, parks
+ * until the interactive lane drains or {@code scaler.lanes.bulk.max-yield-millis} pass, whichever
+ * comes first. The limit keeps bulk work from starving under constant interactive load. Bulk
+ * threads also run at the lowest thread priority.
+ * <p>
+ * The request's {@link StageTimings} follow the work to the lane thread, and the time spent in the
+ * queue is added to the queue stage. The following metrics are published, tagged by lane:
+ * <ul>
+ * <li>scaler.lane.queue: the number of tasks waiting.</li>
+ * <li>scaler.lane.active: the number of tasks running.</li>
+ * <li>scaler.lane.wait: the time between submitting a task and a thread starting it.</li>
+ * <li>scaler.lane.rejected: the number of tasks turned away because the queue was full.</li>
+ * <li>scaler.lane.yields: the number of times bulk work yielded to interactive work.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class LaneScheduler {
+  private static final Lane[] LANES = Lane.values();
+
+  /** How long a yielding bulk thread parks before checking the interactive lane again. */
+  private static final long YIELD_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  @Value("${scaler.lanes.enabled:true}")
+  private boolean enabled;
+
+  @Value("${scaler.lanes.bulk.chunk-size:256}")
+  private int chunkSize;
+
+  @Value("${scaler.lanes.bulk.yield-threshold:1}")
+  private int yieldThreshold;
+
+  @Value("${scaler.lanes.bulk.max-yield-millis:20}")
+  private long maxYieldMillis;
+
+  private final Map<Lane, ThreadPoolTaskExecutor> executors = new EnumMap<>(Lane.class);
+  private final Map<Lane, Counter> rejections = new EnumMap<>(Lane.class);
+
+  /** The tasks of each lane that were submitted and haven't finished, by lane ordinal. */
+  private final AtomicInteger[] pending = new AtomicInteger[LANES.length];
+  private final Counter yields;
+
+  /**
+   * @param interactiveThreads The number of interactive threads, or 0 for one per processor.
+   * @param interactiveQueue The number of interactive tasks that can wait for a thread.
+   * @param bulkThreads The number of bulk threads, or 0 for one per two processors.
+   * @param bulkQueue The number of bulk tasks that can wait for a thread.
+   * @param meterRegistry The registry supplied by Spring Boot.
+   */
+  public LaneScheduler(@Value("${scaler.lanes.interactive.threads:0}") int interactiveThreads,
+      @Value("${scaler.lanes.interactive.queue-capacity:1000}") int interactiveQueue,
+      @Value("${scaler.lanes.bulk.threads:0}") int bulkThreads,
+      @Value("${scaler.lanes.bulk.queue-capacity:16}") int bulkQueue,
+      MeterRegistry meterRegistry) {
+    int processors = Runtime.getRuntime().availableProcessors();
+
+    createLane(Lane.INTERACTIVE, interactiveThreads > 0 ? interactiveThreads : processors,
+        interactiveQueue, Thread.NORM_PRIORITY, meterRegistry);
+    createLane(Lane.BULK, bulkThreads > 0 ? bulkThreads : Math.max(1, processors / 2), bulkQueue,
+        Thread.MIN_PRIORITY, meterRegistry);
+
+    yields = Counter.builder("scaler.lane.yields")
+        .description("The number of times bulk work yielded to interactive work")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Run a task in a lane.
+   *
+   * @param <T> The type of the result.
+   * @param lane The lane.
+   * @param task The task.
+   * @return The result, completed by a thread of the lane. If lanes are disabled the task is run
+   *         by the calling thread.
+   * @throws RejectedExecutionException Thrown if the lane's queue is full.
+   */
+  public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> task) {
+    if(!enabled) {
+      return CompletableFuture.completedFuture(task.get());
+    }
+
+    try {
+      return CompletableFuture.supplyAsync(task, executors.get(lane));
+    }
+    catch(RejectedExecutionException e) {
+      /* The task was decorated, and so counted, before the executor turned it away */
+      pending[lane.ordinal()].decrementAndGet();
+      rejections.get(lane).increment();
+      throw new RejectedExecutionException("The " + lane.metricName() + " lane is full.", e);
+    }
+  }
+
+  /**
+   * Apply a function to each item of a list in the bulk lane, yielding to interactive work
+   * between chunks.
+   *
+   * @param <T> The type of the items.
+   * @param <R> The type of the results.
+   * @param items The items.
+   * @param function The function to apply to each item.
+   * @return The results in the same order as the items.
+   * @throws RejectedExecutionException Thrown if the bulk lane's queue is full.
+   */
+  public <T, R> CompletableFuture<List<R>> submitBulk(List<T> items, Function<T, R> function) {
+    return submit(Lane.BULK, () -> {
+      List<R> results = new ArrayList<>(items.size());
+
+      for(int i = 0; i < items.size(); i++) {
+        if(i > 0 && i % chunkSize == 0) {
+          yieldToInteractive();
+        }
+
+        results.add(function.apply(items.get(i)));
+      }
+
+      return results;
+    });
+  }
+
+  /**
+   * Park the current thread while the interactive lane is busy, for at most
+   * {@code scaler.lanes.bulk.max-yield-millis}.
+   */
+  public void yieldToInteractive() {
+    AtomicInteger interactive = pending[Lane.INTERACTIVE.ordinal()];
+
+    if(interactive.get() < yieldThreshold) {
+      return;
+    }
+
+    yields.increment();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxYieldMillis);
+
+    while(interactive.get() >= yieldThreshold && System.nanoTime() - deadline < 0) {
+      LockSupport.parkNanos(YIELD_PARK_NANOS);
+    }
+  }
+
+  /**
+   * @param lane A lane.
+   * @return The number of tasks of the lane that were submitted and haven't finished.
+   */
+  public int pending(Lane lane) {
+    return pending[lane.ordinal()].get();
+  }
+
+  /**
+   * Let running tasks finish and stop the threads.
+   */
+  @PreDestroy
+  void shutdown() {
+    executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+  }
+
+  private void createLane(Lane lane, int threads, int queueCapacity, int priority,
+      MeterRegistry meterRegistry) {
+    String name = lane.metricName();
+    AtomicInteger lanePending = new AtomicInteger();
+    pending[lane.ordinal()] = lanePending;
+
+    // @formatter:off
+    Timer wait = Timer.builder("scaler.lane.wait")
+        .description("The time tasks wait for a thread in an execution lane")
+        .tag("lane", name)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    // @formatter:on
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("scaler-" + name + "-");
+    executor.setThreadPriority(priority);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(10);
+    executor.setTaskDecorator(task -> decorate(task, lanePending, wait));
+    executor.initialize();
+
+    executors.put(lane, executor);
+    rejections.put(lane, Counter.builder("scaler.lane.rejected")
+        .description("The number of tasks rejected because an execution lane was full")
+        .tag("lane", name).register(meterRegistry));
+
+    Gauge.builder("scaler.lane.queue", executor, ThreadPoolTaskExecutor::getQueueSize)
+        .description("The number of tasks waiting in an execution lane").tag("lane", name)
+        .register(meterRegistry);
+    Gauge.builder("scaler.lane.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+        .description("The number of tasks running in an execution lane").tag("lane", name)
+        .register(meterRegistry);
+
+    log.info("The {} lane has {} threads and a queue of {}", name, threads, queueCapacity);
+  }
+
+  /**
+   * Count the task as pending and carry the submitting thread's request timings to the thread
+   * that runs it. This runs on the submitting thread.
+   */
+  private Runnable decorate(Runnable task, AtomicInteger lanePending, Timer wait) {
+    StageTimings timings = StageTimings.current();
+    long submitted = System.nanoTime();
+    lanePending.incrementAndGet();
+
+    return () -> {
+      wait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+      StageTimings.bind(timings);
+
+      try {
+        StageTimings.lap(Stage.QUEUE, submitted);
+        task.run();
+      }
+      finally {
+        StageTimings.bind(null);
+        lanePending.decrementAndGet();
+      }
+    };
+  }
+}
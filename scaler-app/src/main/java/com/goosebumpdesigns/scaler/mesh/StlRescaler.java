@@ -0,0 +1,215 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.mesh;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * This class rescales binary STL meshes, i.e., a full size building to HO or an HO print to O. A
+ * binary STL file is an 80 byte header, a little-endian triangle count and 50 bytes per triangle: a
+ * normal, three vertices (three floats each) and a two byte attribute. A uniform scale doesn't
+ * change the normals, so only the nine vertex floats of each triangle are multiplied.
+ * <p>
+ * The file is copied with {@link FileChannel#transferTo transferTo}, which lets the operating
+ * system copy it without passing it through the heap. The copy is then memory-mapped a window at a
+ * time and its vertices are scaled in place, so a mesh of millions of triangles costs no objects
+ * per triangle and no more heap than a small one. The mapped pages are written back by the
+ * operating system; they aren't forced to disk.
+ *
+ * <pre>
+ * java -cp scaler.jar com.goosebumpdesigns.scaler.mesh.StlRescaler in.stl out.stl \
+ *   [sourceScale|FULL] [targetScale|FULL] [sourceMeasurement] [outputMeasurement]
+ * </pre>
+ *
+ * The scales default to full size and HO. The measurements default to millimeters, which is what
+ * slicers assume.
+ */
+public class StlRescaler {
+  /** The size of the header before the triangle count. */
+  static final int HEADER_BYTES = 80;
+
+  /** The size of the header and the triangle count. */
+  static final int PREAMBLE_BYTES = HEADER_BYTES + Integer.BYTES;
+
+  /** The size of one triangle. */
+  static final int TRIANGLE_BYTES = 50;
+
+  /** The offset of the first vertex in a triangle, after the normal. */
+  private static final int VERTEX_OFFSET = 3 * Float.BYTES;
+
+  /** The number of vertex floats in a triangle. */
+  private static final int VERTEX_FLOATS = 9;
+
+  /** The number of triangles mapped at once: about 50 MB. */
+  private static final int WINDOW_TRIANGLES = 1 << 20;
+
+  /** The name used on the command line for an unscaled (prototype) mesh. */
+  private static final String FULL_SIZE = "FULL";
+
+  private static final ScalerService SCALER_SERVICE = new ScalerService();
+
+  private StlRescaler() {
+  }
+
+  /**
+   * Calculate the factor that every coordinate is multiplied by.
+   *
+   * @param sourceScale The scale of the mesh, or {@code null} if it is full size.
+   * @param targetScale The scale to convert to, or {@code null} for full size.
+   * @param sourceMeasurement The unit of the mesh's coordinates.
+   * @param outputMeasurement The unit of the rescaled coordinates.
+   * @return The factor.
+   * @throws IllegalArgumentException Thrown if a measurement is {@code null}.
+   */
+  public static double factor(Scale sourceScale, Scale targetScale, Measurement sourceMeasurement,
+      Measurement outputMeasurement) {
+    if(Objects.isNull(sourceMeasurement) || Objects.isNull(outputMeasurement)) {
+      throw new IllegalArgumentException("The source and output measurements are required.");
+    }
+
+    BigDecimal sourceMillis =
+        SCALER_SERVICE.toMillimeters(new Dimension(BigDecimal.ONE, sourceMeasurement));
+    BigDecimal outputMillis =
+        SCALER_SERVICE.toMillimeters(new Dimension(BigDecimal.ONE, outputMeasurement));
+    BigDecimal sourceRatio = Objects.isNull(sourceScale) ? BigDecimal.ONE : sourceScale.getFactor();
+    BigDecimal targetRatio = Objects.isNull(targetScale) ? BigDecimal.ONE : targetScale.getFactor();
+
+    // @formatter:off
+    return sourceMillis.multiply(sourceRatio)
+        .divide(outputMillis.multiply(targetRatio), MathContext.DECIMAL64)
+        .doubleValue();
+    // @formatter:on
+  }
+
+  /**
+   * Write a rescaled copy of a binary STL file.
+   *
+   * @param source The mesh to rescale.
+   * @param target The file to write. It is replaced if it exists.
+   * @param factor The factor that every coordinate is multiplied by.
+   * @return The number of triangles rescaled.
+   * @throws IllegalArgumentException Thrown if the source isn't a binary STL file.
+   * @throws IOException Thrown if a file can't be read or written.
+   */
+  public static long rescale(Path source, Path target, double factor) throws IOException {
+    try(FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+      triangleCount(in);
+
+      try(FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+          StandardOpenOption.WRITE)) {
+        long size = in.size();
+
+        for(long position = 0; position < size;) {
+          position += in.transferTo(position, size - position, out);
+        }
+
+        return rescale(out, factor);
+      }
+    }
+  }
+
+  /**
+   * Rescale a binary STL file in place.
+   *
+   * @param channel The file, opened for reading and writing.
+   * @param factor The factor that every coordinate is multiplied by.
+   * @return The number of triangles rescaled.
+   * @throws IllegalArgumentException Thrown if the file isn't a binary STL file.
+   * @throws IOException Thrown if the file can't be read or written.
+   */
+  public static long rescale(FileChannel channel, double factor) throws IOException {
+    long triangles = triangleCount(channel);
+    float f = (float)factor;
+
+    for(long first = 0; first < triangles; first += WINDOW_TRIANGLES) {
+      int count = (int)Math.min(WINDOW_TRIANGLES, triangles - first);
+      MappedByteBuffer window = channel.map(MapMode.READ_WRITE,
+          PREAMBLE_BYTES + first * TRIANGLE_BYTES, (long)count * TRIANGLE_BYTES);
+      window.order(ByteOrder.LITTLE_ENDIAN);
+
+      for(int triangle = 0; triangle < count; triangle++) {
+        int vertex = triangle * TRIANGLE_BYTES + VERTEX_OFFSET;
+
+        for(int i = 0; i < VERTEX_FLOATS; i++, vertex += Float.BYTES) {
+          window.putFloat(vertex, window.getFloat(vertex) * f);
+        }
+      }
+    }
+
+    return triangles;
+  }
+
+  /**
+   * @param channel A binary STL file.
+   * @return The number of triangles in the file.
+   * @throws IllegalArgumentException Thrown if the size of the file doesn't match the triangle
+   *         count in its header, which is the case for an ASCII STL file.
+   * @throws IOException Thrown if the file can't be read.
+   */
+  static long triangleCount(FileChannel channel) throws IOException {
+    long size = channel.size();
+
+    if(size < PREAMBLE_BYTES) {
+      throw new IllegalArgumentException("The mesh is too short to be a binary STL file.");
+    }
+
+    MappedByteBuffer preamble = channel.map(MapMode.READ_ONLY, 0, PREAMBLE_BYTES);
+    long triangles = Integer.toUnsignedLong(
+        preamble.order(ByteOrder.LITTLE_ENDIAN).getInt(HEADER_BYTES));
+
+    if(PREAMBLE_BYTES + triangles * TRIANGLE_BYTES != size) {
+      throw new IllegalArgumentException("The mesh isn't a binary STL file. It has " + size
+          + " bytes but its header says it has " + triangles + " triangles.");
+    }
+
+    return triangles;
+  }
+
+  /**
+   * @param args The source file, the target file and optionally the source and target scales (or
+   *        FULL) and the source and output measurements.
+   * @throws IOException Thrown if a file can't be read or written.
+   */
+  public static void main(String[] args) throws IOException {
+    if(args.length < 2) {
+      System.err.println("Usage: StlRescaler source.stl target.stl "
+          + "[sourceScale|FULL] [targetScale|FULL] [sourceMeasurement] [outputMeasurement]");
+      System.exit(1);
+    }
+
+    Scale sourceScale = scale(args, 2, null);
+    Scale targetScale = scale(args, 3, Scale.HO);
+    Measurement sourceMeasurement = args.length > 4 ? Measurement.value(args[4]) : Measurement.MM;
+    Measurement outputMeasurement = args.length > 5 ? Measurement.value(args[5]) : Measurement.MM;
+    double factor = factor(sourceScale, targetScale, sourceMeasurement, outputMeasurement);
+
+    long start = System.nanoTime();
+    long triangles = rescale(Path.of(args[0]), Path.of(args[1]), factor);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf("Rescaled %,d triangles by %.6f in %.3f s (%,.0f triangles/s)%n", triangles,
+        factor, seconds, triangles / Math.max(seconds, 1e-9));
+  }
+
+  private static Scale scale(String[] args, int index, Scale defaultScale) {
+    if(args.length <= index) {
+      return defaultScale;
+    }
+
+    return FULL_SIZE.equalsIgnoreCase(args[index]) ? null : Scale.value(args[index]);
+  }
+}
@@ -0,0 +1,19 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a single car or locomotive in a {@link Consist}. A client supplies the full size
+ * length. The model length is calculated using the yard's scale and output measurement.
+ * 
+ * @param id The car ID. This is unique within the consist.
+ * @param description An optional description of the car (i.e., "50 ft boxcar").
+ * @param length The full size length of the car over the couplers.
+ * @param modelLength The model length of the car.
+ */
+@JsonInclude(Include.NON_NULL)
+public record Car(String id, String description, Dimension length, Dimension modelLength) {
+}
@@ -0,0 +1,18 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a named prototype object in the catalog (i.e., "40 ft boxcar"). The model
+ * dimensions are only present when a scale and output measurement were requested.
+ * 
+ * @param name The name of the prototype object.
+ * @param fullsizeDimensions The full size dimensions as given in the catalog.
+ * @param modelDimensions The model dimensions in the requested scale and output measurement.
+ */
+@JsonInclude(Include.NON_NULL)
+public record CatalogEntry(String name, Dimensions fullsizeDimensions, Dimensions modelDimensions) {
+}
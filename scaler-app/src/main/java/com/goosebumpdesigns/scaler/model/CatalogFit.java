@@ -0,0 +1,20 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.math.BigDecimal;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a catalog entry that fits in a model space.
+ * 
+ * @param name The name of the prototype object.
+ * @param fullsizeDimensions The full size dimensions as given in the catalog.
+ * @param modelDimensions The model dimensions in the requested scale and output measurement.
+ * @param fill The fraction of the space the object fills, from 0 to 1. Larger is a tighter fit.
+ */
+@JsonInclude(Include.NON_NULL)
+public record CatalogFit(String name, Dimensions fullsizeDimensions, Dimensions modelDimensions,
+    BigDecimal fill) {
+}
@@ -0,0 +1,19 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a train in a {@link Yard}. The cars are kept in the order they were added, so the
+ * first car is the head end of the train.
+ * 
+ * @param id The consist ID. This is unique within the yard.
+ * @param cars The cars in the consist.
+ * @param length The total model length of the consist.
+ */
+@JsonInclude(Include.NON_NULL)
+public record Consist(String id, List<Car> cars, Dimension length) {
+}
@@ -0,0 +1,22 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record lists the sidings that can hold a {@link Consist}.
+ * 
+ * @param consist The consist ID.
+ * @param length The total model length of the consist.
+ * @param cars The number of cars in the consist.
+ * @param sidings The IDs of the sidings that can hold the consist, shortest (tightest fit) first.
+ * @param carsThatFit If the consist doesn't fit any siding, the number of cars from the head end
+ *        that fit in the longest siding. This is {@code null} if the consist fits somewhere.
+ */
+@JsonInclude(Include.NON_NULL)
+public record ConsistFit(String consist, Dimension length, int cars, List<String> sidings,
+    Integer carsThatFit) {
+}
@@ -0,0 +1,15 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record is one train passing one track detector. Two events for the same locomotive and
+ * block at different detectors time the train through the block.
+ *
+ * @param micros The time the detector was triggered, in microseconds on the sensor's clock.
+ * @param loco The locomotive (i.e., its road number or transponder ID).
+ * @param block The timing block the detector belongs to.
+ * @param detector The detector at one end of the block (i.e., A or B).
+ */
+public record DetectorEvent(long micros, String loco, String block, String detector) {
+}
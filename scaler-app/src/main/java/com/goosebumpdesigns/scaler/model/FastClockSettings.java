@@ -0,0 +1,14 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record changes the fast clock. Fields that are left out keep their current values.
+ *
+ * @param time The scaled time of day to set (i.e., 06:00 or 13:45:30).
+ * @param ratio The number of scaled seconds that pass in each real second.
+ * @param scale The name of a scale whose ratio is used if ratio is left out (i.e., HO).
+ * @param running Whether the clock should run.
+ */
+public record FastClockSettings(String time, Double ratio, String scale, Boolean running) {
+}
@@ -0,0 +1,13 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record is a reading of the fast clock used in operating sessions.
+ *
+ * @param time The scaled time of day (HH:mm:ss).
+ * @param ratio The number of scaled seconds that pass in each real second.
+ * @param running Whether the clock is running. A stopped clock keeps showing the same time.
+ */
+public record FastClockTime(String time, double ratio, boolean running) {
+}
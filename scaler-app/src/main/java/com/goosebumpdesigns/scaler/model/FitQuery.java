@@ -0,0 +1,21 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record asks which catalog entries fit in a model space (i.e., 30 cm x 12 cm x 10 cm in N
+ * scale).
+ * 
+ * @param scale The scale of the model space.
+ * @param outputMeasurement The measurement type of the returned model dimensions.
+ * @param modelDimensions The length, width and height of the space. A missing dimension is
+ *        unlimited.
+ * @param limit The maximum number of entries to return, or {@code null} for the default.
+ */
+@JsonInclude(Include.NON_NULL)
+public record FitQuery(Scale scale, Measurement outputMeasurement, Dimensions modelDimensions,
+    Integer limit) {
+}
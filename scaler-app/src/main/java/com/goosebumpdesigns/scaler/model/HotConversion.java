@@ -0,0 +1,13 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record is one of the most frequent conversion requests.
+ *
+ * @param key The canonical form of the request (see ConversionKey).
+ * @param count The estimated number of times the request was made. Older requests count for less.
+ * @param request The request, which is replayed to fill the result cache at startup.
+ */
+public record HotConversion(String key, long count, ScalerData request) {
+}
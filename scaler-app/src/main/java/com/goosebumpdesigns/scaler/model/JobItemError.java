@@ -0,0 +1,12 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record is written to a job result in place of an entry that couldn't be converted.
+ * 
+ * @param item The position of the entry in the input, starting at zero.
+ * @param error Why the entry couldn't be converted.
+ */
+public record JobItemError(long item, String error) {
+}
@@ -0,0 +1,18 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * The states of a conversion job. A job starts QUEUED, becomes RUNNING when a worker picks it up
+ * and ends COMPLETED, FAILED or CANCELLED.
+ */
+public enum JobState {
+  QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+  /**
+   * @return {@code true} if the job has ended and will not change again.
+   */
+  public boolean isFinished() {
+    return this == COMPLETED || this == FAILED || this == CANCELLED;
+  }
+}
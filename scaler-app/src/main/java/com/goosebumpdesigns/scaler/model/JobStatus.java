@@ -0,0 +1,47 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.time.Instant;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class describes a conversion job: its state, its progress and when its result expires. It
+ * is returned when polling a job and is also what is stored on disk so that queued jobs survive a
+ * restart.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class JobStatus {
+  private String id;
+  private JobState state;
+  private Instant submitted;
+  private Instant started;
+  private Instant finished;
+
+  /** When the job and its result will be removed. Only set once the job has finished. */
+  private Instant expires;
+
+  /** The size of the input in bytes. */
+  private long inputBytes;
+
+  /** The percentage of the input that has been read, from 0 to 100. */
+  private int progress;
+
+  /** The number of entries converted. */
+  private long converted;
+
+  /** The number of entries that couldn't be converted. Each has an error line in the result. */
+  private long failed;
+
+  /** Why the job failed. */
+  private String message;
+}
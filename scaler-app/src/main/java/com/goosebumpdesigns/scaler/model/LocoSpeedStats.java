@@ -0,0 +1,20 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record summarizes the recent scale speeds of one locomotive. The mean, minimum and maximum
+ * are taken over the most recent readings only (see scaler.telemetry.window).
+ *
+ * @param loco The locomotive.
+ * @param unit The unit of the speeds.
+ * @param readings The number of times the locomotive was timed since startup.
+ * @param last The most recent speed.
+ * @param lastBlock The block of the most recent speed.
+ * @param mean The mean of the recent speeds.
+ * @param min The lowest recent speed.
+ * @param max The highest recent speed.
+ */
+public record LocoSpeedStats(String loco, SpeedUnit unit, long readings, double last,
+    String lastBlock, double mean, double min, double max) {
+}
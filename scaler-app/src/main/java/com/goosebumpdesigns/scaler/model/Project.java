@@ -0,0 +1,30 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A project is a named collection of structures, cars and other objects on a layout. All of the
+ * items in the project share a {@link Scale} and output {@link Measurement}. When a project is
+ * returned to a client the items are fully populated and the totals are included. When a project
+ * is stored only the input dimensions of each item are kept.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class Project {
+  private String name;
+  private Scale scale;
+  private Measurement outputMeasurement;
+  private List<ProjectItem> items;
+  private ProjectTotals totals;
+}
@@ -0,0 +1,30 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This is returned when a {@link Project} is changed. It contains only the items whose calculated
+ * dimensions changed, the IDs of any removed items and the updated project totals. A client
+ * applies the delta to its own copy of the project instead of fetching the whole project again.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class ProjectDelta {
+  private String name;
+  private Scale scale;
+  private Measurement outputMeasurement;
+  private List<ProjectItem> changedItems;
+  private List<String> removedItems;
+  private ProjectTotals totals;
+}
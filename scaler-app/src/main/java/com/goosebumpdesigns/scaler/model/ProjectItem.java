@@ -0,0 +1,21 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a single structure, car or other object in a {@link Project}. A client supplies
+ * either the full size or the model dimensions. The other set is calculated using the project's
+ * scale and output measurement.
+ * 
+ * @param id The item ID. This is unique within the project.
+ * @param description An optional description of the item (i.e., "40 ft boxcar").
+ * @param fullsizeDimensions The full size dimensions.
+ * @param modelDimensions The model dimensions.
+ */
+@JsonInclude(Include.NON_NULL)
+public record ProjectItem(String id, String description, Dimensions fullsizeDimensions,
+    Dimensions modelDimensions) {
+}
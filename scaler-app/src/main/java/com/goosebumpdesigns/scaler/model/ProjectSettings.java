@@ -0,0 +1,17 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record holds the project-wide settings that are applied to every item in a
+ * {@link Project}.
+ * 
+ * @param scale The scale used to calculate the missing dimensions.
+ * @param outputMeasurement The measurement type of the calculated dimensions.
+ */
+@JsonInclude(Include.NON_NULL)
+public record ProjectSettings(Scale scale, Measurement outputMeasurement) {
+}
@@ -0,0 +1,21 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.math.BigDecimal;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record contains the running totals of a {@link Project}. The totals are calculated from the
+ * model dimensions of the project items.
+ * 
+ * @param itemCount The number of items in the project.
+ * @param totalLength The sum of the model lengths (i.e., the total train length) in the project's
+ *        output measurement.
+ * @param totalFootprint The sum of the model length x width of each item in square units of the
+ *        project's output measurement. Items without both a length and a width are not included.
+ */
+@JsonInclude(Include.NON_NULL)
+public record ProjectTotals(int itemCount, Dimension totalLength, BigDecimal totalFootprint) {
+}
@@ -0,0 +1,18 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record holds what is needed to send a captured request again: send {@code body} as JSON to
+ * {@code path} with {@code method}.
+ * 
+ * @param method The HTTP method (i.e., POST).
+ * @param path The request path including any query string (i.e., /scale?snap=stripwood).
+ * @param body The request body as it was received.
+ */
+@JsonInclude(Include.NON_NULL)
+public record ReplayRequest(String method, String path, ScalerData body) {
+}
@@ -0,0 +1,17 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a siding or staging track in a {@link Yard}. Sidings are measured on the layout,
+ * so the length is a model length.
+ * 
+ * @param id The siding ID. This is unique within the yard.
+ * @param length The usable model length of the siding (clearance point to clearance point).
+ */
+@JsonInclude(Include.NON_NULL)
+public record Siding(String id, Dimension length) {
+}
@@ -0,0 +1,18 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record lists the consists that fit in a {@link Siding}.
+ * 
+ * @param siding The siding ID.
+ * @param length The model length of the siding.
+ * @param consists The IDs of the consists that fit in the siding, longest first.
+ */
+@JsonInclude(Include.NON_NULL)
+public record SidingFit(String siding, Dimension length, List<String> consists) {
+}
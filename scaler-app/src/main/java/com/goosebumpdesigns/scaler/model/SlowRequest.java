@@ -0,0 +1,37 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record is a /scale request that took longer than the slow request threshold. Times are in
+ * milliseconds.
+ * 
+ * @param sequence The sample sequence number. Gaps are samples that were overwritten or dropped.
+ * @param time When the response was written.
+ * @param totalMillis The time from the request arriving, before its body was read, to the response
+ *        being written.
+ * @param queueMillis The time the request waited for an execution lane thread, or zero if it
+ *        failed before it was handed to a lane.
+ * @param runMillis The time spent converting the request.
+ * @param stageMillis The stage timings (see Server-Timing), or {@code null} if stage timing is off.
+ * @param failed {@code true} if the response was an error.
+ * @param requestThread The name of the thread that received the request.
+ * @param requestThreadId The ID of the thread that received the request.
+ * @param workerThread The name of the thread that converted the request, or {@code null} if it
+ *        never reached a lane.
+ * @param workerThreadId The ID of the thread that converted the request.
+ * @param request The request, ready to be sent again. The body is {@code null} if it couldn't be
+ *        read.
+ */
+@JsonInclude(Include.NON_NULL)
+public record SlowRequest(long sequence, Instant time, BigDecimal totalMillis,
+    BigDecimal queueMillis, BigDecimal runMillis, Map<String, BigDecimal> stageMillis,
+    boolean failed, String requestThread, long requestThreadId, String workerThread,
+    long workerThreadId, ReplayRequest request) {
+}
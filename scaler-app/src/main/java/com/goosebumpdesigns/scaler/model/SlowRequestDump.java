@@ -0,0 +1,18 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+
+/**
+ * This record holds the captured {@link SlowRequest slow requests}, oldest first.
+ * 
+ * @param thresholdMillis Requests that take at least this long are captured.
+ * @param capacity The number of samples kept. Older samples are overwritten.
+ * @param captured The number of slow requests seen since startup, including dropped ones.
+ * @param dropped The number of slow requests that weren't kept because their slot was busy.
+ * @param samples The samples.
+ */
+public record SlowRequestDump(long thresholdMillis, int capacity, long captured, long dropped,
+    List<SlowRequest> samples) {
+}
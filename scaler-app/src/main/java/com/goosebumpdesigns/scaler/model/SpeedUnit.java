@@ -0,0 +1,42 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This enum defines the units that scale speeds are reported in.
+ */
+public enum SpeedUnit {
+  MPH(1.609344), KMH(1);
+
+  private final double kilometersPerUnit;
+
+  private SpeedUnit(double kilometersPerUnit) {
+    this.kilometersPerUnit = kilometersPerUnit;
+  }
+
+  /**
+   * @param kilometersPerHour A speed in km/h.
+   * @return The speed in this unit.
+   */
+  public double fromKilometersPerHour(double kilometersPerHour) {
+    return kilometersPerHour / kilometersPerUnit;
+  }
+
+  /**
+   * This method returns a {@link SpeedUnit} enum value given the value name.
+   *
+   * @param name The enum value name (case insensitive)
+   * @return The {@link SpeedUnit} enum value with the given name if found.
+   * @throws IllegalArgumentException Thrown if the name doesn't correspond to a {@link SpeedUnit}
+   *         value.
+   */
+  public static SpeedUnit value(String name) {
+    for(SpeedUnit unit : SpeedUnit.values()) {
+      if(unit.name().equalsIgnoreCase(name)) {
+        return unit;
+      }
+    }
+
+    throw new IllegalArgumentException(name + " is not a valid speed unit.");
+  }
+}
@@ -0,0 +1,13 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record counts what became of a batch of detector events.
+ *
+ * @param events The number of events read.
+ * @param rejected The number of events that couldn't be read or were for an unknown block.
+ * @param readings The number of speeds calculated (one for each pair of events).
+ */
+public record TelemetryResult(long events, long rejected, long readings) {
+}
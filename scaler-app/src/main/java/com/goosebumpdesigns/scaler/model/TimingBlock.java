@@ -0,0 +1,14 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * This record is a stretch of track with a detector at each end. Trains are timed between the
+ * detectors to find their scale speed.
+ *
+ * @param id The name of the block.
+ * @param distance The model distance between the detectors.
+ * @param scale The scale of the layout.
+ */
+public record TimingBlock(String id, Dimension distance, Scale scale) {
+}
@@ -0,0 +1,22 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * This record is a unit of length that can be typed in a length string (i.e., "12 ft 6 in" or
+ * "1.2 m"). Units are defined in configuration rather than code. A parsed length is converted to
+ * the unit's {@link Measurement}, since that is what the service works in.
+ * 
+ * @param name The unit name (i.e., YARD).
+ * @param millimeters The length of one unit in millimeters.
+ * @param measurement The measurement that lengths in this unit are converted to.
+ * @param perScale {@code true} if the unit is a scale unit (i.e., scale feet): one unit is the
+ *        given length divided by the scale factor.
+ * @param symbols The symbols and names that can be typed for the unit (i.e., ft, foot, feet, ').
+ */
+public record Unit(String name, BigDecimal millimeters, Measurement measurement, boolean perScale,
+    List<String> symbols) {
+}
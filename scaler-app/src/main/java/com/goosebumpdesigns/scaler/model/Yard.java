@@ -0,0 +1,30 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A yard is a named set of {@link Siding sidings} and the {@link Consist consists} that a planner
+ * wants to put in them. All of the consists share a {@link Scale} and output {@link Measurement}.
+ * When a yard is returned to a client the model lengths are included. When a yard is stored only
+ * the full size car lengths and the siding lengths are kept.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class Yard {
+  private String name;
+  private Scale scale;
+  private Measurement outputMeasurement;
+  private List<Siding> sidings;
+  private List<Consist> consists;
+}
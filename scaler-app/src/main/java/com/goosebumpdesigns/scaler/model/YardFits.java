@@ -0,0 +1,23 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record answers "which consists fit which sidings" for a whole {@link Yard}. The same answer
+ * is given from both sides: each siding with the consists it can hold and each consist with the
+ * sidings that can hold it.
+ * 
+ * @param name The yard name.
+ * @param scale The yard scale.
+ * @param outputMeasurement The measurement type of the lengths.
+ * @param sidings The sidings, shortest first.
+ * @param consists The consists, longest first.
+ */
+@JsonInclude(Include.NON_NULL)
+public record YardFits(String name, Scale scale, Measurement outputMeasurement,
+    List<SidingFit> sidings, List<ConsistFit> consists) {
+}
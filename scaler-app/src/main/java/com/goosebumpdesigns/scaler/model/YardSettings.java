@@ -0,0 +1,16 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * This record holds the settings that are applied to every consist and siding in a {@link Yard}.
+ * 
+ * @param scale The scale used to calculate the model car lengths.
+ * @param outputMeasurement The measurement type of the calculated lengths.
+ */
+@JsonInclude(Include.NON_NULL)
+public record YardSettings(Scale scale, Measurement outputMeasurement) {
+}
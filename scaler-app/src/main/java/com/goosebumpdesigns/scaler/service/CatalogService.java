@@ -0,0 +1,327 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.CatalogDao;
+import com.goosebumpdesigns.scaler.model.CatalogEntry;
+import com.goosebumpdesigns.scaler.model.CatalogFit;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service looks up prototype objects in the catalog by the start of their names. The names
+ * are kept in an array sorted without regard to case, which is the prefix index: all names that
+ * start with a prefix are next to each other, so a lookup is a binary search for the first one
+ * followed by a short scan. The dimensions of every entry are scaled for every {@link Scale} and
+ * output {@link Measurement} when the catalog is loaded and are kept off the heap in a
+ * {@link ScaledDimensionTable} in the same order as the names.
+ * <p>
+ * The service also answers the reverse question: which entries fit in a given model space. The
+ * full size dimensions of every entry are converted to millimeters and indexed in a
+ * {@link KdTree}. The model space is scaled up to full size millimeters once per query, so finding
+ * the entries that fit is a box search in the tree rather than a conversion of every entry.
+ */
+@Service
+@Slf4j
+public class CatalogService {
+  private static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER;
+  private static final int FILL_SCALE = 4;
+
+  /** Allows for rounding error when an entry is exactly the size of the space. */
+  private static final double TOLERANCE = 1 + 1e-9;
+
+  @Value("${scaler.catalog.max-results:50}")
+  private int maxResults;
+
+  @Autowired
+  private CatalogDao catalogDao;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  /** The names and their dimensions. Replaced as a unit so readers always see a matching pair. */
+  private volatile Index index =
+      new Index(new String[0], new ScaledDimensionTable(0), new KdTree(new double[0], new int[0]));
+
+  /**
+   * Load the catalog file and build the index.
+   */
+  @PostConstruct
+  void loadCatalog() {
+    long start = System.nanoTime();
+    List<CatalogEntry> entries = catalogDao.loadAll();
+
+    index(entries);
+
+    log.info("Indexed {} catalog entries in {} ms", entries.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Replace the catalog with the given entries. Only the full size dimensions of each entry are
+   * used.
+   *
+   * @param entries The catalog entries.
+   * @throws IllegalArgumentException Thrown if an entry has no full size dimensions.
+   */
+  void index(List<CatalogEntry> entries) {
+    CatalogEntry[] sorted = entries.toArray(CatalogEntry[]::new);
+    Arrays.sort(sorted, Comparator.comparing(CatalogEntry::name, NAME_ORDER));
+
+    String[] names = new String[sorted.length];
+    int[] rows = new int[sorted.length];
+    double[] millimeters = new double[sorted.length * KdTree.K];
+    ScaledDimensionTable table = new ScaledDimensionTable(sorted.length);
+
+    for(int row = 0; row < sorted.length; row++) {
+      names[row] = sorted[row].name();
+      rows[row] = row;
+    }
+
+    /*
+     * Every row is written to its own part of the buffer and arrays, so the rows can be scaled in
+     * parallel. The volatile write below publishes the finished index.
+     */
+    IntStream.range(0, sorted.length).parallel()
+        .forEach(row -> scaleEntry(table, millimeters, row, sorted[row]));
+
+    index = new Index(names, table, new KdTree(millimeters, rows));
+  }
+
+  /**
+   * Find the catalog entries whose names start with the given prefix, ignoring case. If a scale and
+   * output measurement are given, the model dimensions are included.
+   *
+   * @param prefix The start of the name. An empty prefix matches every entry.
+   * @param scale The scale of the model dimensions, or {@code null}.
+   * @param outputMeasurement The measurement type of the model dimensions, or {@code null}.
+   * @param limit The maximum number of entries to return. This is capped by the
+   *        scaler.catalog.max-results property.
+   * @return The matching entries in name order.
+   * @throws IllegalArgumentException Thrown if only one of scale and output measurement is given
+   *         or if the limit isn't positive.
+   */
+  public List<CatalogEntry> findByPrefix(String prefix, Scale scale, Measurement outputMeasurement,
+      int limit) {
+    if(Objects.isNull(scale) != Objects.isNull(outputMeasurement)) {
+      throw new IllegalArgumentException(
+          "Scale and output measurement must be supplied together.");
+    }
+
+    if(limit < 1) {
+      throw new IllegalArgumentException("Limit must be greater than zero.");
+    }
+
+    Index current = index;
+    String p = Objects.isNull(prefix) ? "" : prefix.strip();
+    int max = Math.min(limit, maxResults);
+    List<CatalogEntry> matches = new ArrayList<>(Math.min(max, 16));
+
+    for(int row = current.firstAtOrAfter(p); row < current.names.length
+        && matches.size() < max; row++) {
+      String name = current.names[row];
+
+      if(!name.regionMatches(true, 0, p, 0, p.length())) {
+        break;
+      }
+
+      matches.add(new CatalogEntry(name, current.table.fullsize(row),
+          Objects.isNull(scale) ? null : current.table.scaled(row, scale, outputMeasurement)));
+    }
+
+    return matches;
+  }
+
+  /**
+   * Find the catalog entries that fit in the given model space. An entry fits if each of its full
+   * size dimensions, scaled to the model, is no larger than the same dimension of the space. A
+   * dimension missing from the space is unlimited. A dimension missing from an entry takes no room.
+   * Entries are not rotated.
+   * <p>
+   * The entries are ranked by how much of the space they fill: the product of the entry's size
+   * divided by the space's size for each dimension of the space. An entry that is missing one of
+   * those dimensions has a fill of zero and is ranked last.
+   *
+   * @param scale The scale of the model space.
+   * @param outputMeasurement The measurement type of the returned model dimensions.
+   * @param space The length, width and height of the model space. Each may have a different
+   *        measurement type.
+   * @param limit The maximum number of entries to return. This is capped by the
+   *        scaler.catalog.max-results property.
+   * @return The entries that fit, tightest fit first.
+   * @throws IllegalArgumentException Thrown if the scale, output measurement or space is missing or
+   *         if the limit isn't positive.
+   */
+  public List<CatalogFit> findFits(Scale scale, Measurement outputMeasurement, Dimensions space,
+      int limit) {
+    if(Objects.isNull(scale) || Objects.isNull(outputMeasurement)) {
+      throw new IllegalArgumentException("Scale and output measurement must not be null.");
+    }
+
+    if(Objects.isNull(space) || (Objects.isNull(space.length()) && Objects.isNull(space.width())
+        && Objects.isNull(space.height()))) {
+      throw new IllegalArgumentException("Must supply a model length, width or height.");
+    }
+
+    if(limit < 1) {
+      throw new IllegalArgumentException("Limit must be greater than zero.");
+    }
+
+    Index current = index;
+    double factor = scale.getFactor().doubleValue();
+    double[] size = {fullsizeMillimeters(space.length(), factor),
+        fullsizeMillimeters(space.width(), factor), fullsizeMillimeters(space.height(), factor)};
+    double[] max = {size[0] * TOLERANCE, size[1] * TOLERANCE, size[2] * TOLERANCE};
+    int count = Math.min(limit, maxResults);
+
+    /* The tightest fits seen so far, loosest on top so it can be replaced */
+    PriorityQueue<Candidate> best = new PriorityQueue<>(count + 1, Candidate.LOOSEST_FIRST);
+
+    /*
+     * Fill only grows with an entry's size, so the fill of a subtree's upper corner is the best
+     * fill any entry in the subtree can have. Once there are enough results, subtrees that can't
+     * beat the loosest of them are skipped.
+     */
+    KdTree.Pruner pruner = (corners, offset) -> best.size() == count
+        && fill(size, corners, offset) <= best.peek().fill();
+
+    current.tree.search(new double[KdTree.K], max, pruner, (row, millimeters, offset) -> {
+      double fill = fill(size, millimeters, offset);
+
+      if(best.size() < count || fill > best.peek().fill()) {
+        best.add(new Candidate(row, fill));
+
+        if(best.size() > count) {
+          best.poll();
+        }
+      }
+    });
+
+    List<CatalogFit> fits = new ArrayList<>(best.size());
+    best.stream().sorted(Candidate.LOOSEST_FIRST.reversed()).forEach(c -> fits.add(
+        new CatalogFit(current.names[c.row()], current.table.fullsize(c.row()),
+            current.table.scaled(c.row(), scale, outputMeasurement),
+            BigDecimal.valueOf(c.fill()).setScale(FILL_SCALE, RoundingMode.HALF_UP))));
+
+    return fits;
+  }
+
+  /**
+   * @return The number of entries in the catalog.
+   */
+  public int size() {
+    return index.names.length;
+  }
+
+  private void scaleEntry(ScaledDimensionTable table, double[] millimeters, int row,
+      CatalogEntry entry) {
+    Dimensions fullsize = entry.fullsizeDimensions();
+
+    if(Objects.isNull(fullsize)) {
+      throw new IllegalArgumentException(
+          "Catalog entry " + entry.name() + " has no full size dimensions.");
+    }
+
+    table.putFullsize(row, fullsize);
+    millimeters[row * KdTree.K] = millimeters(fullsize.length());
+    millimeters[row * KdTree.K + 1] = millimeters(fullsize.width());
+    millimeters[row * KdTree.K + 2] = millimeters(fullsize.height());
+
+    for(Scale scale : Scale.values()) {
+      for(Measurement measurement : Measurement.values()) {
+        // @formatter:off
+        ScalerData scaled = scalerService.supplyMissingFields(ScalerData.builder()
+            .scale(scale)
+            .outputMeasurement(measurement)
+            .fullsizeDimensions(entry.fullsizeDimensions())
+            .build());
+        // @formatter:on
+
+        table.putScaled(row, scale, measurement, scaled.getModelDimensions());
+      }
+    }
+  }
+
+  /**
+   * @return The length in millimeters, or zero if the dimension is missing.
+   */
+  private double millimeters(Dimension dimension) {
+    return Objects.isNull(dimension) ? 0 : scalerService.toMillimeters(dimension).doubleValue();
+  }
+
+  /**
+   * @return The model length scaled up to full size millimeters, or infinity if the dimension is
+   *         missing.
+   */
+  private double fullsizeMillimeters(Dimension dimension, double factor) {
+    return Objects.isNull(dimension) ? Double.POSITIVE_INFINITY : millimeters(dimension) * factor;
+  }
+
+  /**
+   * @return The fraction of the space filled by the entry, at most one.
+   */
+  private double fill(double[] space, double[] millimeters, int offset) {
+    double fill = 1;
+
+    for(int axis = 0; axis < KdTree.K; axis++) {
+      if(Double.isFinite(space[axis])) {
+        fill *= space[axis] > 0 ? Math.min(millimeters[offset + axis] / space[axis], 1) : 0;
+      }
+    }
+
+    return fill;
+  }
+
+  /**
+   * An entry that fits and the fraction of the space it fills.
+   */
+  private record Candidate(int row, double fill) {
+    static final Comparator<Candidate> LOOSEST_FIRST =
+        Comparator.comparingDouble(Candidate::fill).thenComparing(Candidate::row,
+            Comparator.reverseOrder());
+  }
+
+  /**
+   * The sorted names, the dimensions in the same order and the spatial index of the rows.
+   */
+  private record Index(String[] names, ScaledDimensionTable table, KdTree tree) {
+
+    /**
+     * @return The position of the first name that sorts at or after the prefix.
+     */
+    int firstAtOrAfter(String prefix) {
+      int low = 0;
+      int high = names.length;
+
+      while(low < high) {
+        int mid = (low + high) >>> 1;
+
+        if(NAME_ORDER.compare(names[mid], prefix) < 0) {
+          low = mid + 1;
+        }
+        else {
+          high = mid;
+        }
+      }
+
+      return low;
+    }
+  }
+}
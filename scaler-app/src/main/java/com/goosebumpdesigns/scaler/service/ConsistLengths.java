@@ -0,0 +1,150 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps the running (prefix) sums of the car lengths in a consist. Each car has a slot
+ * in the order it was added. The sums are kept in a Fenwick (binary indexed) tree so that adding,
+ * replacing or removing a car and finding how many cars from the head end fit in a given length
+ * all take O(log n) time and allocate nothing. A removed car leaves an empty slot behind so that
+ * the slots of the cars after it don't move. The owner rebuilds the consist when there are more
+ * empty slots than cars (see {@link #isSparse()}).
+ * <p>
+ * Lengths are model lengths in micrometers. They are whole numbers so that the sums are exact.
+ * This class is not thread safe.
+ */
+class ConsistLengths {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private long[] lengths = new long[INITIAL_CAPACITY];
+  private long[] lengthTree = new long[INITIAL_CAPACITY + 1];
+  private int[] countTree = new int[INITIAL_CAPACITY + 1];
+  private int slots;
+  private int cars;
+  private long total;
+
+  /**
+   * Add a car after the last car.
+   * 
+   * @param length The car length in micrometers. This must be positive.
+   * @return The slot of the new car.
+   */
+  int append(long length) {
+    if(slots == lengths.length) {
+      grow();
+    }
+
+    int slot = slots++;
+
+    cars++;
+    update(slot, length, 1);
+    return slot;
+  }
+
+  /**
+   * Change the length of a car without moving it.
+   * 
+   * @param slot The slot of the car.
+   * @param length The new length in micrometers. This must be positive.
+   */
+  void set(int slot, long length) {
+    update(slot, length - lengths[slot], 0);
+  }
+
+  /**
+   * Remove a car. The cars after it keep their slots.
+   * 
+   * @param slot The slot of the car.
+   */
+  void remove(int slot) {
+    cars--;
+    update(slot, -lengths[slot], -1);
+  }
+
+  /**
+   * @return The total length of the cars in micrometers.
+   */
+  long total() {
+    return total;
+  }
+
+  /**
+   * @return The number of cars.
+   */
+  int cars() {
+    return cars;
+  }
+
+  /**
+   * @return {@code true} if more slots are empty than hold cars.
+   */
+  boolean isSparse() {
+    return slots > INITIAL_CAPACITY && slots - cars > cars;
+  }
+
+  /**
+   * Find the largest number of cars, counting from the head end, whose total length is no more
+   * than the given length. This walks down the tree one power of two at a time, so it takes
+   * O(log n) time.
+   * 
+   * @param length The available length in micrometers (i.e., the length of a siding).
+   * @return The number of cars that fit.
+   */
+  int carsThatFit(long length) {
+    int capacity = lengths.length;
+    int position = 0;
+    int fit = 0;
+    long remaining = length;
+
+    for(int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+      int next = position + step;
+
+      if(next <= capacity && lengthTree[next] <= remaining) {
+        position = next;
+        remaining -= lengthTree[next];
+        fit += countTree[next];
+      }
+    }
+
+    return fit;
+  }
+
+  /**
+   * Add the differences to the slot and to every tree node that covers it.
+   */
+  private void update(int slot, long lengthDelta, int countDelta) {
+    lengths[slot] += lengthDelta;
+    total += lengthDelta;
+
+    for(int node = slot + 1; node < lengthTree.length; node += node & -node) {
+      lengthTree[node] += lengthDelta;
+      countTree[node] += countDelta;
+    }
+  }
+
+  /**
+   * Double the capacity and rebuild the trees from the slot lengths in O(n) time. A slot with a
+   * length of zero is empty.
+   */
+  private void grow() {
+    int capacity = lengths.length * 2;
+
+    lengths = Arrays.copyOf(lengths, capacity);
+    lengthTree = new long[capacity + 1];
+    countTree = new int[capacity + 1];
+
+    for(int node = 1; node <= capacity; node++) {
+      lengthTree[node] += lengths[node - 1];
+      countTree[node] += lengths[node - 1] > 0 ? 1 : 0;
+
+      int parent = node + (node & -node);
+
+      if(parent <= capacity) {
+        lengthTree[parent] += lengthTree[node];
+        countTree[parent] += countTree[node];
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A consistent hash ring. Each member is placed on the ring at several points (virtual nodes) so
+ * that keys are spread evenly. A key is owned by the first member at or after the key's position,
+ * wrapping around at the end. When a member is added or removed only the keys next to its points
+ * move to a different member.
+ */
+class ConsistentHashRing {
+  private final TreeMap<Long, String> ring = new TreeMap<>();
+
+  /**
+   * @param members The members (i.e., peer base URIs).
+   * @param virtualNodes The number of points each member is given on the ring.
+   */
+  ConsistentHashRing(Collection<String> members, int virtualNodes) {
+    for(String member : members) {
+      for(int i = 0; i < virtualNodes; i++) {
+        ring.put(hash(member + "#" + i), member);
+      }
+    }
+  }
+
+  /**
+   * @param key The key.
+   * @return The member that owns the key or {@code null} if the ring is empty.
+   */
+  String owner(String key) {
+    if(ring.isEmpty()) {
+      return null;
+    }
+
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  /**
+   * A 64-bit FNV-1a hash of the UTF-8 bytes, finished with the MurmurHash3 mixer so that similar
+   * strings (like "peer#1" and "peer#2") land far apart on the ring.
+   */
+  static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+
+    for(byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
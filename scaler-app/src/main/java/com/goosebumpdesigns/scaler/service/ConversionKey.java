@@ -0,0 +1,62 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * This record is the canonical form of a conversion request. Two requests that produce the same
+ * result have the same key, so the key is used to look up cached results and to decide which
+ * instance owns a result. A key looks like {@code HO|cm|F|40.00 ft|12.50 ft|147.00 in}, where F
+ * means full size dimensions were supplied and M means model dimensions were supplied.
+ * 
+ * @param value The canonical key.
+ */
+public record ConversionKey(String value) {
+
+  /**
+   * Build the key for the given request. The request doesn't need to be valid.
+   * 
+   * @param data The conversion request.
+   * @return The key.
+   */
+  public static ConversionKey of(ScalerData data) {
+    StringBuilder b = new StringBuilder(64);
+
+    b.append(data.getScale()).append('|').append(data.getOutputMeasurement());
+
+    if(Objects.nonNull(data.getFullsizeDimensions())) {
+      b.append("|F");
+      append(b, data.getFullsizeDimensions());
+    }
+
+    if(Objects.nonNull(data.getModelDimensions())) {
+      b.append("|M");
+      append(b, data.getModelDimensions());
+    }
+
+    return new ConversionKey(b.toString());
+  }
+
+  private static void append(StringBuilder b, Dimensions dimensions) {
+    append(b, dimensions.length());
+    append(b, dimensions.width());
+    append(b, dimensions.height());
+  }
+
+  private static void append(StringBuilder b, Dimension dimension) {
+    b.append('|');
+
+    if(Objects.nonNull(dimension)) {
+      b.append(dimension.value().toPlainString()).append(' ').append(dimension.measurement());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
@@ -0,0 +1,103 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class estimates how often each key has been seen in a fixed amount of memory. It is a
+ * count-min sketch: {@code depth} rows of {@code width} counters, where each key increments one
+ * counter per row and its estimate is the smallest of them. Collisions only ever add to a counter,
+ * so an estimate is never below the true count and is usually close to it for frequent keys.
+ * <p>
+ * The counters are an {@link AtomicLongArray}, so adding is lock-free and allocates nothing. The
+ * row positions are derived from one hash with double hashing: the first position and the step
+ * between rows are two mixes of it, so keys that collide in one row rarely collide in the others.
+ */
+public class CountMinSketch {
+  private final int depth;
+  private final int width;
+  private final int mask;
+  private final AtomicLongArray counters;
+
+  /**
+   * @param depth The number of rows. Each row is another chance to avoid a collision.
+   * @param width The number of counters in a row. This is rounded up to a power of two.
+   * @throws IllegalArgumentException Thrown if the depth or width is less than 1.
+   */
+  public CountMinSketch(int depth, int width) {
+    if(depth < 1 || width < 1) {
+      throw new IllegalArgumentException("The depth and width must be at least 1.");
+    }
+
+    this.depth = depth;
+    this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+    this.mask = this.width - 1;
+    this.counters = new AtomicLongArray(depth * this.width);
+  }
+
+  /**
+   * Count a key.
+   *
+   * @param hash The key's hash code.
+   * @param count The number of times the key was seen.
+   * @return The key's estimated count, including this one.
+   */
+  public long add(int hash, long count) {
+    int first = mix(hash);
+    int step = mix(first + 0x9E3779B9) | 1;
+    long estimate = Long.MAX_VALUE;
+
+    for(int row = 0, h = first; row < depth; row++, h += step) {
+      estimate = Math.min(estimate, counters.addAndGet(row * width + (h & mask), count));
+    }
+
+    return estimate;
+  }
+
+  /**
+   * @param hash The key's hash code.
+   * @return The key's estimated count.
+   */
+  public long estimate(int hash) {
+    int first = mix(hash);
+    int step = mix(first + 0x9E3779B9) | 1;
+    long estimate = Long.MAX_VALUE;
+
+    for(int row = 0, h = first; row < depth; row++, h += step) {
+      estimate = Math.min(estimate, counters.get(row * width + (h & mask)));
+    }
+
+    return estimate;
+  }
+
+  /**
+   * Halve every counter so that older counts fade. Keys counted while this runs may lose part of
+   * their count, which the sketch tolerates.
+   */
+  public void halve() {
+    for(int i = 0; i < counters.length(); i++) {
+      counters.set(i, counters.get(i) >>> 1);
+    }
+  }
+
+  /**
+   * @return The number of counters in a row.
+   */
+  public int width() {
+    return width;
+  }
+
+  /**
+   * Spread every bit of a hash code over the low bits that pick a counter (the MurmurHash3
+   * finalizer). Similar keys, like lengths that differ in one digit, have similar hash codes.
+   */
+  private static int mix(int hash) {
+    int h = hash;
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    return h ^ (h >>> 16);
+  }
+}
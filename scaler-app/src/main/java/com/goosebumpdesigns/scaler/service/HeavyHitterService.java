@@ -0,0 +1,200 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.HotConversionDao;
+import com.goosebumpdesigns.scaler.model.HotConversion;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service keeps track of the most frequent conversion requests (the heavy hitters) in constant
+ * memory. Every cacheable request the {@link ScalerCacheService} sees is counted in a
+ * {@link CountMinSketch} by its {@link ConversionKey}. A request whose estimated count exceeds the
+ * smallest count in the current top {@code scaler.hot.top-k} becomes a candidate. When there are
+ * twice as many candidates as needed, whichever thread notices first trims them back to the top K;
+ * other threads carry on without waiting. Most requests only increment the sketch's atomic
+ * counters.
+ * <p>
+ * Every {@code scaler.hot.decay-millis} the counts are halved so that the list follows current
+ * traffic. The list is saved every {@code scaler.hot.persist-millis} and at shutdown, and is loaded
+ * at startup, where the CachePrewarmRunner replays it into the result cache.
+ */
+@Service
+@Slf4j
+public class HeavyHitterService {
+  @Value("${scaler.hot.enabled:true}")
+  private boolean enabled;
+
+  @Autowired
+  private HotConversionDao hotConversionDao;
+
+  private final int topK;
+  private final CountMinSketch sketch;
+  private final Map<ConversionKey, Candidate> candidates = new ConcurrentHashMap<>();
+  private final AtomicBoolean trimming = new AtomicBoolean();
+
+  /** The smallest count in the last trimmed top K. Requests counted below it are ignored. */
+  private volatile long threshold;
+
+  /** A request that may be in the top K. The count is the latest estimate from the sketch. */
+  private static final class Candidate {
+    private final ScalerData request;
+    private volatile long count;
+
+    private Candidate(ScalerData request, long count) {
+      this.request = request;
+      this.count = count;
+    }
+  }
+
+  /**
+   * @param topK The number of requests to track.
+   * @param depth The number of rows in the sketch.
+   * @param width The number of counters in each row of the sketch.
+   */
+  public HeavyHitterService(@Value("${scaler.hot.top-k:100}") int topK,
+      @Value("${scaler.hot.depth:4}") int depth, @Value("${scaler.hot.width:16384}") int width) {
+    this.topK = topK;
+    this.sketch = new CountMinSketch(depth, width);
+  }
+
+  /**
+   * Load the requests that were saved at the last shutdown with their counts, so the list carries
+   * on from where it was.
+   */
+  @PostConstruct
+  void load() {
+    if(!enabled) {
+      return;
+    }
+
+    List<HotConversion> saved = hotConversionDao.load();
+
+    for(HotConversion conversion : saved) {
+      ConversionKey key = ConversionKey.of(conversion.request());
+      long count = sketch.add(key.value().hashCode(), conversion.count());
+      candidates.put(key, new Candidate(conversion.request(), count));
+    }
+
+    trim();
+    log.info("Loaded {} frequent conversions", saved.size());
+  }
+
+  /**
+   * Count a request.
+   *
+   * @param key The request's key.
+   * @param request The request. It is kept, not copied, if the request becomes a candidate.
+   */
+  public void record(ConversionKey key, ScalerData request) {
+    if(!enabled) {
+      return;
+    }
+
+    long count = sketch.add(key.value().hashCode(), 1);
+
+    if(count < threshold) {
+      return;
+    }
+
+    Candidate candidate = candidates.get(key);
+
+    if(Objects.isNull(candidate)) {
+      /*
+       * Once the list is full, a new request has to beat the smallest count kept. Otherwise a run
+       * of distinct requests, each counted once, would keep filling and trimming the list.
+       */
+      if(count == threshold && candidates.size() >= topK) {
+        return;
+      }
+
+      candidates.putIfAbsent(key, new Candidate(request, count));
+
+      if(candidates.size() > 2 * topK) {
+        trim();
+      }
+    }
+    else if(candidate.count < count) {
+      candidate.count = count;
+    }
+  }
+
+  /**
+   * @return The most frequent requests, most frequent first.
+   */
+  public List<HotConversion> top() {
+    return top(topK);
+  }
+
+  /**
+   * Halve the counts so that requests that were frequent a while ago give way to current ones.
+   */
+  @Scheduled(fixedDelayString = "${scaler.hot.decay-millis:600000}",
+      initialDelayString = "${scaler.hot.decay-millis:600000}")
+  void decay() {
+    sketch.halve();
+    candidates.values().forEach(candidate -> candidate.count >>>= 1);
+    threshold >>>= 1;
+  }
+
+  /**
+   * Save the list so that it is loaded at the next start.
+   */
+  @Scheduled(fixedDelayString = "${scaler.hot.persist-millis:300000}",
+      initialDelayString = "${scaler.hot.persist-millis:300000}")
+  @PreDestroy
+  void save() {
+    if(enabled && !candidates.isEmpty()) {
+      hotConversionDao.save(top());
+    }
+  }
+
+  private List<HotConversion> top(int limit) {
+    // @formatter:off
+    return candidates.entrySet().stream()
+        .map(e -> new HotConversion(e.getKey().value(), e.getValue().count, e.getValue().request))
+        .sorted(Comparator.comparingLong(HotConversion::count).reversed())
+        .limit(limit)
+        .toList();
+    // @formatter:on
+  }
+
+  /**
+   * Drop all but the top K candidates and raise the threshold to the smallest count kept. Only one
+   * thread trims at a time; a thread that finds a trim in progress returns at once.
+   */
+  private void trim() {
+    if(!trimming.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      /* The counts keep changing, so they are copied before sorting */
+      List<HotConversion> sorted = top(Integer.MAX_VALUE);
+
+      for(int i = topK; i < sorted.size(); i++) {
+        candidates.remove(new ConversionKey(sorted.get(i).key()));
+      }
+
+      if(sorted.size() >= topK) {
+        threshold = sorted.get(topK - 1).count();
+      }
+    }
+    finally {
+      trimming.set(false);
+    }
+  }
+}
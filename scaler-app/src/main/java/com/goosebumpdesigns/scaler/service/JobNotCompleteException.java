@@ -0,0 +1,20 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import com.goosebumpdesigns.scaler.controller.error.ErrorHandler;
+
+/**
+ * This exception is thrown when the result of a job is requested before the job has completed. It
+ * is handled by the {@link ErrorHandler}, which answers with 409 (Conflict).
+ */
+public class JobNotCompleteException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * @param message The exception message.
+   */
+  public JobNotCompleteException(String message) {
+    super(message);
+  }
+}
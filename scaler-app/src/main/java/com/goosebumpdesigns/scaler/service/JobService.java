@@ -0,0 +1,500 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.goosebumpdesigns.scaler.dao.JobDao;
+import com.goosebumpdesigns.scaler.dao.JobInputTooLargeException;
+import com.goosebumpdesigns.scaler.lane.LaneScheduler;
+import com.goosebumpdesigns.scaler.model.JobItemError;
+import com.goosebumpdesigns.scaler.model.JobState;
+import com.goosebumpdesigns.scaler.model.JobStatus;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service runs conversion jobs: lists of {@link ScalerData} entries that are too large to
+ * convert in one request. A job's input is written to disk when it is submitted and a fixed number
+ * of worker threads convert the queued jobs in the order they were submitted.
+ * <p>
+ * A worker streams the input one entry at a time and writes each result to a file as one JSON
+ * object per line (NDJSON), so neither the input nor the result is ever held in memory. Line N of
+ * the result is the result of entry N of the input. An entry that can't be converted is written as
+ * a {@link JobItemError} and the job carries on. Every {@value #CHUNK_SIZE} entries the worker
+ * updates the job's progress, checks whether the job was cancelled and yields to interactive
+ * requests like bulk conversions do (see {@link LaneScheduler}).
+ * <p>
+ * Round numbers are looked up in the reference tables and everything else is calculated by the
+ * {@link ScalerService}. Job results don't go into the {@link ScalerCacheService}, which is kept
+ * for interactive requests.
+ * <p>
+ * The status of each job is stored with its files, so jobs that were queued or running when the
+ * application stopped are run again when it starts. Finished jobs and their results are removed
+ * {@code scaler.jobs.retention-minutes} after they finish. Until then they count towards
+ * {@code scaler.jobs.max-stored} and, with the inputs waiting to be converted,
+ * {@code scaler.jobs.max-stored-megabytes}, so finished jobs can't fill the disk.
+ */
+@Service
+@Slf4j
+public class JobService {
+  /** The number of entries converted between progress updates. */
+  static final int CHUNK_SIZE = 256;
+
+  private static final Pattern ID = Pattern.compile("[0-9a-f-]{36}");
+
+  @Value("${scaler.jobs.max-queued:100}")
+  private int maxQueued;
+
+  @Value("${scaler.jobs.max-input-megabytes:256}")
+  private long maxInputMegabytes;
+
+  @Value("${scaler.jobs.max-stored:200}")
+  private int maxStored;
+
+  @Value("${scaler.jobs.max-stored-megabytes:2048}")
+  private long maxStoredMegabytes;
+
+  @Value("${scaler.jobs.retention-minutes:60}")
+  private long retentionMinutes;
+
+  @Autowired
+  private JobDao jobDao;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  @Autowired
+  private ReferenceTableService referenceTableService;
+
+  @Autowired
+  private LaneScheduler laneScheduler;
+
+  private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+  private final ThreadPoolTaskExecutor executor;
+  private final ObjectReader reader;
+  private final ObjectWriter writer;
+
+  /**
+   * A job and the flag its worker checks to stop early. The status is guarded by the job's lock.
+   * The stored bytes are the size of the input until the job finishes and the size of the result
+   * after it completes.
+   */
+  private static final class Job {
+    private final JobStatus status;
+    private volatile boolean cancelled;
+    private volatile long storedBytes;
+
+    private Job(JobStatus status) {
+      this.status = status;
+      this.storedBytes = status.getInputBytes();
+    }
+
+    private synchronized JobStatus snapshot() {
+      return status.toBuilder().build();
+    }
+  }
+
+  /**
+   * @param threads The number of jobs that run at once.
+   * @param objectMapper The object mapper supplied by Spring Boot.
+   */
+  public JobService(@Value("${scaler.jobs.threads:2}") int threads, ObjectMapper objectMapper) {
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setThreadNamePrefix("scaler-job-");
+    executor.setThreadPriority(Thread.MIN_PRIORITY);
+    executor.initialize();
+
+    reader = objectMapper.readerFor(ScalerData.class);
+
+    // @formatter:off
+    writer = objectMapper.writer()
+        .withRootValueSeparator("\n")
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    // @formatter:on
+  }
+
+  /**
+   * Run the jobs that were queued or running when the application stopped, in the order they were
+   * submitted. Jobs that were running start again from the beginning.
+   */
+  @PostConstruct
+  void recover() {
+    List<JobStatus> stored = jobDao.loadAll();
+    stored.sort(Comparator.comparing(JobStatus::getSubmitted,
+        Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    for(JobStatus status : stored) {
+      if(jobs.containsKey(status.getId())) {
+        continue;
+      }
+
+      Job job = new Job(status);
+      jobs.put(status.getId(), job);
+
+      if(status.getState().isFinished()) {
+        job.storedBytes = jobDao.size(jobDao.result(status.getId()));
+      }
+      else {
+        log.info("Requeuing job {}, which was {}", status.getId(), status.getState());
+        jobDao.deleteFile(jobDao.partialResult(status.getId()));
+
+        status.setState(JobState.QUEUED);
+        status.setStarted(null);
+        status.setProgress(0);
+        status.setConverted(0);
+        status.setFailed(0);
+        jobDao.saveStatus(status);
+        executor.execute(() -> run(job));
+      }
+    }
+  }
+
+  /**
+   * Store a job's input and queue the job.
+   *
+   * @param in The entries to convert, as a JSON array or as one JSON object per line.
+   * @return The status of the queued job.
+   * @throws JobInputTooLargeException Thrown if the input is larger than
+   *         {@code scaler.jobs.max-input-megabytes}.
+   * @throws RejectedExecutionException Thrown if {@code scaler.jobs.max-queued} jobs are already
+   *         waiting or the stored jobs have reached {@code scaler.jobs.max-stored} or
+   *         {@code scaler.jobs.max-stored-megabytes}.
+   */
+  public JobStatus submit(InputStream in) {
+    checkCapacity(0);
+
+    String id = UUID.randomUUID().toString();
+    long bytes = jobDao.saveInput(id, in, maxInputMegabytes * 1024 * 1024);
+
+    // @formatter:off
+    JobStatus status = JobStatus.builder()
+        .id(id)
+        .state(JobState.QUEUED)
+        .submitted(Instant.now())
+        .inputBytes(bytes)
+        .build();
+    // @formatter:on
+
+    Job job = new Job(status);
+
+    synchronized(this) {
+      try {
+        checkCapacity(bytes);
+      }
+      catch(RejectedExecutionException e) {
+        jobDao.delete(id);
+        throw e;
+      }
+
+      jobs.put(id, job);
+    }
+
+    jobDao.saveStatus(status);
+    executor.execute(() -> run(job));
+
+    log.debug("Queued job {} with {} bytes of input", id, bytes);
+    return job.snapshot();
+  }
+
+  /**
+   * @return The status of every job, oldest first.
+   */
+  public List<JobStatus> retrieveJobs() {
+    // @formatter:off
+    return jobs.values().stream()
+        .map(Job::snapshot)
+        .sorted(Comparator.comparing(JobStatus::getSubmitted))
+        .toList();
+    // @formatter:on
+  }
+
+  /**
+   * @param id The job ID.
+   * @return The status of the job.
+   * @throws NoSuchElementException Thrown if there is no job with the ID.
+   */
+  public JobStatus retrieveJob(String id) {
+    return job(id).snapshot();
+  }
+
+  /**
+   * @param id The job ID.
+   * @return The result file of the job, with one JSON object per line.
+   * @throws NoSuchElementException Thrown if there is no job with the ID.
+   * @throws JobNotCompleteException Thrown if the job hasn't completed.
+   */
+  public Path retrieveResult(String id) {
+    JobStatus status = retrieveJob(id);
+
+    if(status.getState() != JobState.COMPLETED) {
+      throw new JobNotCompleteException(
+          "Job " + id + " is " + status.getState() + ". Only completed jobs have a result.");
+    }
+
+    return jobDao.result(id);
+  }
+
+  /**
+   * Cancel a job that is queued or running, or remove a finished job and its result. A cancelled
+   * job's status is kept for {@code scaler.jobs.retention-minutes}.
+   *
+   * @param id The job ID.
+   * @throws NoSuchElementException Thrown if there is no job with the ID.
+   */
+  public void cancelJob(String id) {
+    Job job = job(id);
+    JobState previous;
+
+    synchronized(job) {
+      previous = job.status.getState();
+
+      if(!previous.isFinished()) {
+        job.cancelled = true;
+        finish(job, JobState.CANCELLED, "Cancelled while " + previous);
+      }
+    }
+
+    if(previous.isFinished()) {
+      jobs.remove(id);
+      jobDao.delete(id);
+    }
+    else if(previous == JobState.QUEUED) {
+      /* A running job's worker removes the files it is using when it stops */
+      jobDao.deleteFile(jobDao.input(id));
+      job.storedBytes = 0;
+    }
+  }
+
+  /**
+   * Remove the finished jobs whose retention time has passed.
+   */
+  @Scheduled(fixedDelayString = "${scaler.jobs.sweep-millis:60000}")
+  void removeExpiredJobs() {
+    Instant now = Instant.now();
+
+    for(Job job : jobs.values()) {
+      JobStatus status = job.snapshot();
+
+      if(Objects.nonNull(status.getExpires()) && status.getExpires().isBefore(now)) {
+        log.debug("Removing expired job {}", status.getId());
+        jobs.remove(status.getId());
+        jobDao.delete(status.getId());
+      }
+    }
+  }
+
+  /**
+   * Stop the workers. Running jobs are interrupted and left as they are on disk, so they are run
+   * again at the next start.
+   */
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Convert the entries of a job and write the results.
+   */
+  private void run(Job job) {
+    String id = job.status.getId();
+
+    synchronized(job) {
+      if(job.status.getState() != JobState.QUEUED) {
+        return;
+      }
+
+      job.status.setState(JobState.RUNNING);
+      job.status.setStarted(Instant.now());
+      jobDao.saveStatus(job.status);
+    }
+
+    Path partialResult = jobDao.partialResult(id);
+    long converted = 0;
+    long failed = 0;
+
+    try(InputStream in = new BufferedInputStream(Files.newInputStream(jobDao.input(id)));
+        MappingIterator<ScalerData> items = reader.readValues(in);
+        OutputStream out = Files.newOutputStream(partialResult);
+        SequenceWriter results = writer.writeValues(out)) {
+      for(long item = 0; items.hasNextValue(); item++) {
+        if(item > 0 && item % CHUNK_SIZE == 0) {
+          if(job.cancelled || Thread.currentThread().isInterrupted()) {
+            break;
+          }
+
+          progress(job, items.getParser().currentLocation().getByteOffset(), converted, failed);
+          laneScheduler.yieldToInteractive();
+        }
+
+        try {
+          results.write(scale(items.nextValue()));
+          converted++;
+        }
+        catch(IllegalArgumentException | DatabindException e) {
+          results.write(new JobItemError(item, message(e)));
+          failed++;
+        }
+      }
+
+      results.flush();
+
+      if(converted + failed > 0) {
+        out.write('\n');
+      }
+    }
+    catch(IOException | RuntimeException e) {
+      if(!job.cancelled && !Thread.currentThread().isInterrupted()) {
+        log.warn("Job {} failed: {}", id, e.toString());
+
+        synchronized(job) {
+          finish(job, JobState.FAILED, message(e));
+        }
+
+        cleanUp(job, partialResult);
+      }
+
+      return;
+    }
+
+    if(!job.cancelled && Thread.currentThread().isInterrupted()) {
+      log.info("Job {} was interrupted and will run again at the next start", id);
+      return;
+    }
+
+    /*
+     * The result is only moved into place if the job wasn't cancelled. The check is made under the
+     * job's lock so that a cancel can't slip in between the check and the move. The input is
+     * deleted before the job is marked completed, so a completed job never has an input left.
+     */
+    synchronized(job) {
+      if(!job.cancelled) {
+        jobDao.completeResult(id);
+        jobDao.deleteFile(jobDao.input(id));
+        job.storedBytes = jobDao.size(jobDao.result(id));
+        job.status.setProgress(100);
+        job.status.setConverted(converted);
+        job.status.setFailed(failed);
+        finish(job, JobState.COMPLETED, null);
+      }
+    }
+
+    if(job.cancelled) {
+      cleanUp(job, partialResult);
+      return;
+    }
+
+    log.debug("Job {} converted {} entries and rejected {}", id, converted, failed);
+  }
+
+  /**
+   * @return The result from the reference tables if it is there, otherwise a calculated result.
+   */
+  private ScalerData scale(ScalerData data) {
+    ScalerData result = referenceTableService.lookup(data);
+
+    return Objects.nonNull(result) ? result : scalerService.supplyMissingFields(data);
+  }
+
+  private void progress(Job job, long offset, long converted, long failed) {
+    synchronized(job) {
+      long inputBytes = Math.max(1, job.status.getInputBytes());
+
+      job.status.setProgress((int)Math.min(99, offset * 100 / inputBytes));
+      job.status.setConverted(converted);
+      job.status.setFailed(failed);
+    }
+  }
+
+  /**
+   * Set the final state of a job and save its status. The caller must hold the job's lock.
+   */
+  private void finish(Job job, JobState state, String message) {
+    Instant now = Instant.now();
+
+    job.status.setState(state);
+    job.status.setFinished(now);
+    job.status.setExpires(now.plus(Duration.ofMinutes(retentionMinutes)));
+    job.status.setMessage(message);
+    jobDao.saveStatus(job.status);
+  }
+
+  private void cleanUp(Job job, Path partialResult) {
+    jobDao.deleteFile(partialResult);
+    jobDao.deleteFile(jobDao.input(job.status.getId()));
+    job.storedBytes = 0;
+  }
+
+  /**
+   * Check that another job can be stored. Jobs in every state count towards the limits on stored
+   * jobs, because finished jobs keep their results until they expire.
+   *
+   * @param bytes The size of the new job's input, or 0 if it hasn't been read yet.
+   */
+  private void checkCapacity(long bytes) {
+    long queued = 0;
+    long storedBytes = bytes;
+
+    for(Job job : jobs.values()) {
+      if(job.snapshot().getState() == JobState.QUEUED) {
+        queued++;
+      }
+
+      storedBytes += job.storedBytes;
+    }
+
+    if(queued >= maxQueued) {
+      throw new RejectedExecutionException("The job queue is full.");
+    }
+
+    if(jobs.size() >= maxStored || storedBytes > maxStoredMegabytes * 1024 * 1024) {
+      throw new RejectedExecutionException(
+          "Too many jobs are stored. Delete finished jobs or wait for them to expire.");
+    }
+  }
+
+  private Job job(String id) {
+    Job job = ID.matcher(id).matches() ? jobs.get(id) : null;
+
+    if(Objects.isNull(job)) {
+      throw new NoSuchElementException("Job with ID=" + id + " does not exist.");
+    }
+
+    return job;
+  }
+
+  private static String message(Exception e) {
+    return e instanceof DatabindException de ? de.getOriginalMessage() : e.getMessage();
+  }
+}
@@ -0,0 +1,235 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+/**
+ * A static k-d tree over points in three dimensions, used to find the catalog entries that fit in
+ * a box. The tree is stored in flat arrays with no node objects: the points of each subtree are a
+ * contiguous range with the splitting point in the middle, so the left half is at or below the
+ * split and the right half is at or above it. Values equal to the split may be on either side, so
+ * the search enters both halves when the box touches the split. The splitting axis cycles through
+ * the dimensions by depth.
+ * <p>
+ * A box query visits only the subtrees whose range on the splitting axis overlaps the box. The
+ * upper corner of every subtree is kept as well so that a search for the best few points can skip
+ * subtrees that can't contain them. Building the tree takes O(n log n) time. The tree can't be
+ * changed once built; a new catalog builds a new tree.
+ */
+class KdTree {
+  /** The number of dimensions of each point. */
+  static final int K = 3;
+
+  /**
+   * Receives the points found by a search.
+   */
+  @FunctionalInterface
+  interface Visitor {
+    /**
+     * @param id The ID of the point.
+     * @param coordinates The coordinates of all points. The point's coordinates start at the
+     *        offset. The array must not be changed.
+     * @param offset The position of the point's first coordinate.
+     */
+    void visit(int id, double[] coordinates, int offset);
+  }
+
+  /**
+   * Decides whether a subtree can be skipped during a search.
+   */
+  @FunctionalInterface
+  interface Pruner {
+    /**
+     * @param upperCorners The upper corners of all subtrees. The subtree's corner starts at the
+     *        offset. The array must not be changed.
+     * @param offset The position of the first coordinate of the subtree's upper corner. Each
+     *        coordinate is the largest value of that axis in the subtree.
+     * @return {@code true} if no point in the subtree is of interest.
+     */
+    boolean skip(double[] upperCorners, int offset);
+  }
+
+  private final double[] coordinates;
+  private final double[] upperCorners;
+  private final int[] ids;
+
+  /**
+   * @param coordinates The points, K values per point. This array is reordered in place and kept
+   *        by the tree.
+   * @param ids The ID of each point (i.e., its catalog row). This array is reordered with the
+   *        points and kept by the tree.
+   * @throws IllegalArgumentException Thrown if the arrays don't have matching lengths.
+   */
+  KdTree(double[] coordinates, int[] ids) {
+    if(coordinates.length != ids.length * K) {
+      throw new IllegalArgumentException("Expected " + K + " coordinates for each point.");
+    }
+
+    this.coordinates = coordinates;
+    this.upperCorners = new double[coordinates.length];
+    this.ids = ids;
+    build(0, ids.length, 0);
+  }
+
+  /**
+   * @return The number of points in the tree.
+   */
+  int size() {
+    return ids.length;
+  }
+
+  /**
+   * Report the ID of every point inside the box, including points on its edges.
+   *
+   * @param min The lower corner of the box.
+   * @param max The upper corner of the box.
+   * @param visitor Receives each point inside the box, in no particular order.
+   */
+  void search(double[] min, double[] max, Visitor visitor) {
+    search(min, max, (corners, offset) -> false, visitor);
+  }
+
+  /**
+   * Report the points inside the box, skipping the subtrees the pruner rejects. This allows a
+   * branch and bound search: if the best score a subtree could have can be calculated from its
+   * upper corner, the pruner can skip subtrees that can't beat the results found so far. Subtrees
+   * with larger values on the splitting axis are searched first.
+   *
+   * @param min The lower corner of the box.
+   * @param max The upper corner of the box.
+   * @param pruner Decides which subtrees to skip.
+   * @param visitor Receives each point inside the box that isn't skipped.
+   */
+  void search(double[] min, double[] max, Pruner pruner, Visitor visitor) {
+    search(0, ids.length, 0, min, max, pruner, visitor);
+  }
+
+  private void search(int from, int to, int axis, double[] min, double[] max, Pruner pruner,
+      Visitor visitor) {
+    if(from >= to) {
+      return;
+    }
+
+    int mid = (from + to) >>> 1;
+
+    if(pruner.skip(upperCorners, mid * K)) {
+      return;
+    }
+
+    double split = coordinate(mid, axis);
+    int next = (axis + 1) % K;
+
+    if(contains(mid, min, max)) {
+      visitor.visit(ids[mid], coordinates, mid * K);
+    }
+
+    if(max[axis] >= split) {
+      search(mid + 1, to, next, min, max, pruner, visitor);
+    }
+
+    if(min[axis] <= split) {
+      search(from, mid, next, min, max, pruner, visitor);
+    }
+  }
+
+  private boolean contains(int point, double[] min, double[] max) {
+    for(int axis = 0; axis < K; axis++) {
+      double value = coordinate(point, axis);
+
+      if(value < min[axis] || value > max[axis]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Arrange the points in the range so that the median on the axis is in the middle, smaller or
+   * equal values are before it and larger or equal values are after it. Then do the same for each
+   * half on the next axis. Finally, record the upper corner of the range at the median's position.
+   */
+  private void build(int from, int to, int axis) {
+    if(from >= to) {
+      return;
+    }
+
+    int mid = (from + to) >>> 1;
+    select(from, to - 1, mid, axis);
+
+    int next = (axis + 1) % K;
+    build(from, mid, next);
+    build(mid + 1, to, next);
+
+    for(int a = 0; a < K; a++) {
+      double upper = coordinate(mid, a);
+
+      if(from < mid) {
+        upper = Math.max(upper, upperCorners[((from + mid) >>> 1) * K + a]);
+      }
+
+      if(mid + 1 < to) {
+        upper = Math.max(upper, upperCorners[((mid + 1 + to) >>> 1) * K + a]);
+      }
+
+      upperCorners[mid * K + a] = upper;
+    }
+  }
+
+  /**
+   * Quickselect: put the point with the k-th smallest value on the axis at position k. Each pass
+   * splits the range three ways (below, equal to and above the pivot) so that many equal values,
+   * like the zeros of missing dimensions, don't make the selection quadratic.
+   */
+  private void select(int left, int right, int k, int axis) {
+    while(left < right) {
+      double pivot = coordinate((left + right) >>> 1, axis);
+      int lt = left;
+      int gt = right;
+      int i = left;
+
+      while(i <= gt) {
+        double value = coordinate(i, axis);
+
+        if(value < pivot) {
+          swap(lt++, i++);
+        }
+        else if(value > pivot) {
+          swap(i, gt--);
+        }
+        else {
+          i++;
+        }
+      }
+
+      if(k < lt) {
+        right = lt - 1;
+      }
+      else if(k > gt) {
+        left = gt + 1;
+      }
+      else {
+        return;
+      }
+    }
+  }
+
+  private double coordinate(int point, int axis) {
+    return coordinates[point * K + axis];
+  }
+
+  private void swap(int a, int b) {
+    if(a == b) {
+      return;
+    }
+
+    for(int axis = 0; axis < K; axis++) {
+      double t = coordinates[a * K + axis];
+      coordinates[a * K + axis] = coordinates[b * K + axis];
+      coordinates[b * K + axis] = t;
+    }
+
+    int t = ids[a];
+    ids[a] = ids[b];
+    ids[b] = t;
+  }
+}
@@ -0,0 +1,99 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * This class keeps IDs sorted by length so that the IDs no longer or no shorter than a given length
+ * can be found with one O(log n) search followed by a walk over the matches. A yard keeps one index
+ * for its sidings and one for its consists. When a length changes only that ID is moved, so the
+ * index is never rebuilt.
+ * <p>
+ * Lengths are model lengths in micrometers. This class is not thread safe.
+ */
+class LengthIndex {
+  private static final Comparator<Key> ORDER =
+      Comparator.comparingLong(Key::length).thenComparing(Key::id);
+
+  private final NavigableSet<Key> keys = new TreeSet<>(ORDER);
+  private final Map<String, Long> lengths = new HashMap<>();
+
+  /** The sort key. IDs break ties so that two entries of the same length are both kept. */
+  private record Key(long length, String id) {
+  }
+
+  /**
+   * Add an ID or move it to its new length.
+   * 
+   * @param id The ID.
+   * @param length The length in micrometers.
+   */
+  void put(String id, long length) {
+    Long previous = lengths.put(id, length);
+
+    if(Objects.nonNull(previous)) {
+      keys.remove(new Key(previous, id));
+    }
+
+    keys.add(new Key(length, id));
+  }
+
+  /**
+   * @param id The ID to remove. Nothing happens if the ID isn't in the index.
+   */
+  void remove(String id) {
+    Long previous = lengths.remove(id);
+
+    if(Objects.nonNull(previous)) {
+      keys.remove(new Key(previous, id));
+    }
+  }
+
+  /**
+   * @param length The length in micrometers.
+   * @return The IDs whose length is no more than the given length, longest first.
+   */
+  List<String> atMost(long length) {
+    return ids(keys.headSet(new Key(length + 1, ""), false).descendingSet());
+  }
+
+  /**
+   * @param length The length in micrometers.
+   * @return The IDs whose length is at least the given length, shortest first.
+   */
+  List<String> atLeast(long length) {
+    return ids(keys.tailSet(new Key(length, ""), true));
+  }
+
+  /**
+   * @return All of the IDs, shortest first.
+   */
+  List<String> ascending() {
+    return ids(keys);
+  }
+
+  /**
+   * @return The greatest length in micrometers, or -1 if the index is empty.
+   */
+  long longest() {
+    return keys.isEmpty() ? -1 : keys.last().length();
+  }
+
+  private List<String> ids(NavigableSet<Key> matches) {
+    List<String> ids = new ArrayList<>(matches.size());
+
+    for(Key key : matches) {
+      ids.add(key.id());
+    }
+
+    return ids;
+  }
+}
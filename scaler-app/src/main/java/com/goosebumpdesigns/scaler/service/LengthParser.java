@@ -0,0 +1,246 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ * This class reads lengths the way people type them, using the units in a {@link UnitRegistry}:
+ *
+ * <pre>
+ * 40 ft
+ * 12' 6 1/2"
+ * 3-5/8 in
+ * 1.2 m
+ * 6 ft 3 in
+ * 10 scale ft
+ * </pre>
+ *
+ * A length is one or more parts, each a number and a unit. A number is a whole number, a decimal
+ * (1.25), a fraction (5/8) or a whole number and a fraction separated by a space or a dash (6 1/2
+ * or 3-5/8). The result is a {@link Dimension} in the measurement of the smallest unit used, so
+ * 12' 6 1/2" is 150.50 inches and 1.2 m is 120.00 cm.
+ * <p>
+ * The text is read one character at a time with no regular expressions, substrings or boxed
+ * numbers. Numbers are accumulated in {@code long}s and only turned into {@link BigDecimal} once
+ * per part, so parsing a large file creates few objects. Instances are thread safe.
+ */
+public final class LengthParser {
+  private static final MathContext CONTEXT = MathContext.DECIMAL64;
+
+  /** More digits than this could overflow a long. */
+  private static final int MAX_DIGITS = 17;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+
+    for(int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final UnitRegistry registry;
+
+  /**
+   * @param registry The units that can be typed.
+   */
+  public LengthParser(UnitRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Parse a length that doesn't use scale units.
+   *
+   * @param text The length.
+   * @return The length as a {@link Dimension}.
+   * @throws IllegalArgumentException Thrown if the text isn't a valid length.
+   */
+  public Dimension parse(CharSequence text) {
+    return parse(text, null);
+  }
+
+  /**
+   * Parse a length.
+   *
+   * @param text The length.
+   * @param scale The scale used by scale units (i.e., scale feet), or {@code null} if scale units
+   *        aren't allowed.
+   * @return The length as a {@link Dimension}.
+   * @throws IllegalArgumentException Thrown if the text isn't a valid length or if it uses a scale
+   *         unit and there is no scale.
+   */
+  public Dimension parse(CharSequence text, Scale scale) {
+    if(Objects.isNull(text)) {
+      throw new IllegalArgumentException("The length must not be null.");
+    }
+
+    int length = text.length();
+    int i = skipSpaces(text, 0);
+
+    if(i == length) {
+      throw new IllegalArgumentException("The length must not be empty.");
+    }
+
+    BigDecimal total = null;
+    Measurement measurement = null;
+
+    while(i < length) {
+      /* The number: numerator / denominator, or numerator with the given decimal places */
+      int start = i;
+      int end = digitsEnd(text, i);
+      long numerator = digitsValue(text, i, end);
+      long denominator = 1;
+      int decimals = 0;
+      i = end;
+
+      if(i < length && text.charAt(i) == '.') {
+        end = digitsEnd(text, i + 1);
+        decimals = end - i - 1;
+
+        if(start == i && decimals == 0) {
+          throw error(text, start, "Expected a number");
+        }
+
+        checkDigits(text, (i - start) + decimals);
+        numerator = digitsValue(text, start, i) * POWERS_OF_TEN[decimals]
+            + digitsValue(text, i + 1, end);
+        i = end;
+      }
+      else if(i == start) {
+        throw error(text, start, "Expected a number");
+      }
+      else if(i < length && text.charAt(i) == '/') {
+        /* A fraction on its own */
+        end = digitsEnd(text, i + 1);
+        denominator = denominator(text, i + 1, end);
+        i = end;
+      }
+      else {
+        /* A whole number may be followed by a fraction after a space or a dash */
+        int next = i < length && text.charAt(i) == '-' ? i + 1 : skipSpaces(text, i);
+        int slash = digitsEnd(text, next);
+
+        if(next > i && slash > next && slash < length && text.charAt(slash) == '/') {
+          end = digitsEnd(text, slash + 1);
+          denominator = denominator(text, slash + 1, end);
+          numerator = Math.addExact(Math.multiplyExact(numerator, denominator),
+              digitsValue(text, next, slash));
+          i = end;
+        }
+      }
+
+      /* The unit */
+      i = skipSpaces(text, i);
+      int symbol = i < length ? registry.matchSymbol(text, i) : -1;
+
+      if(symbol < 0) {
+        throw error(text, i, i < length ? "Unknown unit" : "Missing unit");
+      }
+
+      int unit = registry.symbolUnit(symbol);
+      i = skipSpaces(text, i + registry.symbolLength(symbol));
+
+      BigDecimal value = denominator == 1 ? BigDecimal.valueOf(numerator, decimals)
+          : BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(denominator), CONTEXT);
+
+      if(registry.unit(unit).perScale()) {
+        if(Objects.isNull(scale)) {
+          throw error(text, start, "A scale unit needs a scale");
+        }
+
+        value = value.divide(scale.getFactor(), CONTEXT);
+      }
+
+      /* Add the part in the smaller of the two measurements */
+      Measurement partMeasurement = registry.unit(unit).measurement();
+
+      if(Objects.isNull(measurement)) {
+        measurement = partMeasurement;
+        total = value.multiply(registry.factor(unit, registry.unitOf(measurement)), CONTEXT);
+      }
+      else {
+        if(isSmaller(partMeasurement, measurement)) {
+          total = total.multiply(registry.factor(registry.unitOf(measurement),
+              registry.unitOf(partMeasurement)), CONTEXT);
+          measurement = partMeasurement;
+        }
+
+        total = total.add(
+            value.multiply(registry.factor(unit, registry.unitOf(measurement)), CONTEXT),
+            CONTEXT);
+      }
+    }
+
+    return new Dimension(total, measurement);
+  }
+
+  private boolean isSmaller(Measurement a, Measurement b) {
+    return registry.unit(registry.unitOf(a)).millimeters()
+        .compareTo(registry.unit(registry.unitOf(b)).millimeters()) < 0;
+  }
+
+  /**
+   * @return The position after the digits that start at the given position.
+   */
+  private static int digitsEnd(CharSequence text, int i) {
+    while(i < text.length() && isDigit(text.charAt(i))) {
+      i++;
+    }
+
+    return i;
+  }
+
+  /**
+   * @return The value of the digits from the start (inclusive) to the end (exclusive).
+   */
+  private static long digitsValue(CharSequence text, int start, int end) {
+    checkDigits(text, end - start);
+    long value = 0;
+
+    for(int i = start; i < end; i++) {
+      value = value * 10 + (text.charAt(i) - '0');
+    }
+
+    return value;
+  }
+
+  private static long denominator(CharSequence text, int start, int end) {
+    long denominator = digitsValue(text, start, end);
+
+    if(denominator == 0) {
+      throw error(text, start, "Expected a denominator greater than zero");
+    }
+
+    return denominator;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static int skipSpaces(CharSequence text, int i) {
+    while(i < text.length() && Character.isWhitespace(text.charAt(i))) {
+      i++;
+    }
+
+    return i;
+  }
+
+  private static void checkDigits(CharSequence text, int digits) {
+    if(digits > MAX_DIGITS) {
+      throw new IllegalArgumentException("Too many digits in " + text);
+    }
+  }
+
+  private static IllegalArgumentException error(CharSequence text, int position, String message) {
+    return new IllegalArgumentException(
+        message + " at position " + (position + 1) + " of \"" + text + "\".");
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.mesh.StlRescaler;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service rescales uploaded binary STL meshes with the {@link StlRescaler}. The upload is
+ * written to a temporary file in {@code scaler.mesh.directory} with channel transfers, rescaled in
+ * place through a memory mapping and transferred from the file to the response. The mesh is never
+ * read onto the heap, so its size is limited only by {@code scaler.mesh.max-megabytes}.
+ */
+@Service
+@Slf4j
+public class MeshService {
+  @Value("${scaler.mesh.directory:${java.io.tmpdir}/scaler-mesh}")
+  private Path directory;
+
+  @Value("${scaler.mesh.max-megabytes:512}")
+  private long maxMegabytes;
+
+  /**
+   * Rescale a binary STL mesh into a temporary file. The caller must delete the file, i.e., by
+   * passing it to {@link #transfer(Path, WritableByteChannel)}.
+   *
+   * @param in The mesh.
+   * @param sourceScale The scale of the mesh, or {@code null} if it is full size.
+   * @param targetScale The scale to convert to, or {@code null} for full size.
+   * @param sourceMeasurement The unit of the mesh's coordinates.
+   * @param outputMeasurement The unit of the rescaled coordinates.
+   * @return The rescaled mesh.
+   * @throws IllegalArgumentException Thrown if the mesh isn't a binary STL file or is larger than
+   *         {@code scaler.mesh.max-megabytes}.
+   * @throws UncheckedIOException Thrown if the mesh can't be read or written.
+   */
+  public Path rescale(InputStream in, Scale sourceScale, Scale targetScale,
+      Measurement sourceMeasurement, Measurement outputMeasurement) {
+    double factor = StlRescaler.factor(sourceScale, targetScale, sourceMeasurement,
+        outputMeasurement);
+    long maxBytes = maxMegabytes * 1024 * 1024;
+    Path mesh = null;
+
+    try {
+      mesh = Files.createTempFile(Files.createDirectories(directory), "mesh", ".stl");
+
+      // @formatter:off
+      try(ReadableByteChannel source = Channels.newChannel(in);
+          FileChannel channel = FileChannel.open(mesh, StandardOpenOption.READ,
+              StandardOpenOption.WRITE)) {
+        // @formatter:on
+        while(channel.transferFrom(source, channel.size(), maxBytes + 1) > 0) {
+          if(channel.size() > maxBytes) {
+            throw new IllegalArgumentException(
+                "The mesh is larger than the limit of " + maxMegabytes + " MB.");
+          }
+        }
+
+        long triangles = StlRescaler.rescale(channel, factor);
+        log.debug("Rescaled {} triangles by {}", triangles, factor);
+      }
+
+      return mesh;
+    }
+    catch(IOException e) {
+      delete(mesh);
+      throw new UncheckedIOException(e);
+    }
+    catch(RuntimeException e) {
+      delete(mesh);
+      throw e;
+    }
+  }
+
+  /**
+   * Transfer a rescaled mesh to a channel and delete it.
+   *
+   * @param mesh The mesh returned by {@link #rescale}.
+   * @param target The channel to write to.
+   * @throws UncheckedIOException Thrown if the mesh can't be read or written.
+   */
+  public void transfer(Path mesh, WritableByteChannel target) {
+    try(FileChannel channel = FileChannel.open(mesh, StandardOpenOption.READ)) {
+      long size = channel.size();
+
+      for(long position = 0; position < size;) {
+        position += channel.transferTo(position, size - position, target);
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    finally {
+      delete(mesh);
+    }
+  }
+
+  private void delete(Path mesh) {
+    try {
+      if(Objects.nonNull(mesh)) {
+        Files.deleteIfExists(mesh);
+      }
+    }
+    catch(IOException e) {
+      log.warn("Unable to delete {}: {}", mesh, e.toString());
+    }
+  }
+}
@@ -0,0 +1,413 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static com.goosebumpdesigns.scaler.model.ScalerConstants.OUTPUT_SCALE;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.ProjectDao;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Project;
+import com.goosebumpdesigns.scaler.model.ProjectDelta;
+import com.goosebumpdesigns.scaler.model.ProjectItem;
+import com.goosebumpdesigns.scaler.model.ProjectSettings;
+import com.goosebumpdesigns.scaler.model.ProjectTotals;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * This service manages layout {@link Project projects}. Each project item is scaled once when it is
+ * added. After that, only the items affected by a change are recalculated. Changing the scale or
+ * output measurement recalculates every item but only the items whose calculated dimensions
+ * actually changed are returned to the client. The project totals are adjusted by the difference
+ * between the old and new values of each recalculated item, so the project is never rescanned to
+ * calculate them.
+ */
+@Service
+public class ProjectService {
+  private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9 _-]{0,63}");
+
+  @Autowired
+  private ScalerService scalerService;
+
+  @Autowired
+  private ProjectDao projectDao;
+
+  private final Map<String, ProjectState> projects = new ConcurrentHashMap<>();
+
+  /**
+   * Load the stored projects when the service starts.
+   */
+  @PostConstruct
+  void loadProjects() {
+    for(Project stored : projectDao.loadAll()) {
+      ProjectState state = new ProjectState(stored.getName(), stored.getScale(),
+          stored.getOutputMeasurement());
+
+      if(Objects.nonNull(stored.getItems())) {
+        stored.getItems().forEach(item -> state.put(item));
+      }
+
+      projects.put(state.name, state);
+    }
+  }
+
+  /**
+   * @return The names of all projects.
+   */
+  public List<String> retrieveProjectNames() {
+    return projects.keySet().stream().sorted().toList();
+  }
+
+  /**
+   * Return a project with all of the item dimensions and the project totals.
+   *
+   * @param name The project name.
+   * @return The fully populated project.
+   * @throws NoSuchElementException Thrown if the project doesn't exist.
+   */
+  public Project retrieveProject(String name) {
+    ProjectState state = findProject(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+
+      // @formatter:off
+      return Project.builder()
+          .name(state.name)
+          .scale(state.scale)
+          .outputMeasurement(state.outputMeasurement)
+          .items(state.entries.values().stream().map(Entry::resolved).toList())
+          .totals(state.totals())
+          .build();
+      // @formatter:on
+    }
+  }
+
+  /**
+   * Create a project or change the settings of an existing project. If the settings change, the
+   * calculated dimensions of the items are recalculated.
+   *
+   * @param name The project name.
+   * @param settings The project scale and output measurement.
+   * @return The items whose calculated dimensions changed along with the new totals.
+   * @throws IllegalArgumentException Thrown if the name is invalid or a setting is missing.
+   */
+  public ProjectDelta saveSettings(String name, ProjectSettings settings) {
+    validateName(name);
+    requireNonNull(settings, "Project settings must not be null.");
+    requireNonNull(settings.scale(), "Scale must not be null.");
+    requireNonNull(settings.outputMeasurement(), "Output measurement must not be null.");
+
+    while(true) {
+      ProjectState state = projects.computeIfAbsent(name,
+          n -> new ProjectState(n, settings.scale(), settings.outputMeasurement()));
+
+      synchronized(state) {
+        /* The project was deleted while this call waited for its lock. Create it again. */
+        if(projects.get(name) != state) {
+          continue;
+        }
+
+        List<ProjectItem> changed =
+            state.changeSettings(settings.scale(), settings.outputMeasurement());
+
+        projectDao.save(state.toStoredProject());
+        return state.delta(changed, List.of());
+      }
+    }
+  }
+
+  /**
+   * Add an item to a project or replace an existing item with the same ID. Only this item is
+   * scaled.
+   *
+   * @param name The project name.
+   * @param itemId The item ID.
+   * @param item The item. Either the full size or model dimensions must be supplied.
+   * @return The changed item along with the new totals.
+   * @throws NoSuchElementException Thrown if the project doesn't exist.
+   * @throws IllegalArgumentException Thrown if the item dimensions are invalid.
+   */
+  public ProjectDelta saveItem(String name, String itemId, ProjectItem item) {
+    requireNonNull(item, "The project item must not be null.");
+    requireNonNull(itemId, "The item ID must not be null.");
+
+    ProjectState state = findProject(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      ProjectItem input = new ProjectItem(itemId, item.description(), item.fullsizeDimensions(),
+          item.modelDimensions());
+      Entry entry = state.put(input);
+
+      projectDao.save(state.toStoredProject());
+      return state.delta(List.of(entry.resolved()), List.of());
+    }
+  }
+
+  /**
+   * Remove an item from a project.
+   *
+   * @param name The project name.
+   * @param itemId The ID of the item to remove.
+   * @return The removed item ID along with the new totals.
+   * @throws NoSuchElementException Thrown if the project or the item doesn't exist.
+   */
+  public ProjectDelta deleteItem(String name, String itemId) {
+    ProjectState state = findProject(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      if(!state.remove(itemId)) {
+        throw new NoSuchElementException(
+            "Item with ID=" + itemId + " was not found in project " + name + ".");
+      }
+
+      projectDao.save(state.toStoredProject());
+      return state.delta(List.of(), List.of(itemId));
+    }
+  }
+
+  /**
+   * Delete a project.
+   *
+   * @param name The project name.
+   * @throws NoSuchElementException Thrown if the project doesn't exist.
+   */
+  public void deleteProject(String name) {
+    ProjectState state = findProject(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      projects.remove(name);
+      projectDao.delete(name);
+    }
+  }
+
+  /**
+   * @param name The project name.
+   * @return The project state.
+   * @throws NoSuchElementException Thrown if the project doesn't exist.
+   */
+  private ProjectState findProject(String name) {
+    ProjectState state = projects.get(name);
+
+    if(Objects.isNull(state)) {
+      throw new NoSuchElementException("Project with name=" + name + " was not found.");
+    }
+
+    return state;
+  }
+
+  /**
+   * Check that a project wasn't deleted while the caller waited for its lock. Without this a change
+   * that was waiting for {@link #deleteProject(String)} would save the deleted project again. The
+   * caller must hold the project's lock.
+   *
+   * @param name The project name.
+   * @param state The project state the caller locked.
+   * @throws NoSuchElementException Thrown if the project was deleted.
+   */
+  private void requireCurrent(String name, ProjectState state) {
+    if(projects.get(name) != state) {
+      throw new NoSuchElementException("Project with name=" + name + " was not found.");
+    }
+  }
+
+  /**
+   * The project name is used as a file name so it is restricted to letters, digits, spaces,
+   * underscores and dashes.
+   *
+   * @param name The project name.
+   * @throws IllegalArgumentException Thrown if the name is not valid.
+   */
+  private void validateName(String name) {
+    if(Objects.isNull(name) || !VALID_NAME.matcher(name).matches()) {
+      throw new IllegalArgumentException(name + " is not a valid project name.");
+    }
+  }
+
+  /**
+   * @param obj The object to test.
+   * @param message The message to supply to the exception, if thrown.
+   * @throws IllegalArgumentException Thrown if the required object is {@code null}.
+   */
+  private void requireNonNull(Object obj, String message) {
+    if(Objects.isNull(obj)) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  /**
+   * A project item along with its calculated values. The model length and footprint are kept in
+   * millimeters so that the totals don't depend on the output measurement.
+   */
+  private record Entry(ProjectItem input, ProjectItem resolved, BigDecimal lengthMm,
+      BigDecimal footprintMm2) {
+  }
+
+  /**
+   * The in-memory state of a project. Callers must synchronize on the state object.
+   */
+  private class ProjectState {
+    private final String name;
+    private Scale scale;
+    private Measurement outputMeasurement;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private BigDecimal totalLengthMm = BigDecimal.ZERO;
+    private BigDecimal totalFootprintMm2 = BigDecimal.ZERO;
+
+    ProjectState(String name, Scale scale, Measurement outputMeasurement) {
+      this.name = name;
+      this.scale = scale;
+      this.outputMeasurement = outputMeasurement;
+    }
+
+    /**
+     * Scale the item, add or replace it and adjust the totals.
+     */
+    Entry put(ProjectItem input) {
+      Entry entry = resolve(input);
+      Entry previous = entries.put(input.id(), entry);
+
+      adjustTotals(previous, entry);
+      return entry;
+    }
+
+    /**
+     * Remove the item and adjust the totals.
+     */
+    boolean remove(String itemId) {
+      Entry previous = entries.remove(itemId);
+
+      adjustTotals(previous, null);
+      return Objects.nonNull(previous);
+    }
+
+    /**
+     * Apply new settings and recalculate the items. Only the items whose calculated dimensions
+     * changed are returned.
+     */
+    List<ProjectItem> changeSettings(Scale newScale, Measurement newOutputMeasurement) {
+      List<ProjectItem> changed = new ArrayList<>();
+
+      if(scale == newScale && outputMeasurement == newOutputMeasurement) {
+        return changed;
+      }
+
+      scale = newScale;
+      outputMeasurement = newOutputMeasurement;
+
+      for(Map.Entry<String, Entry> e : entries.entrySet()) {
+        Entry previous = e.getValue();
+        Entry entry = resolve(previous.input());
+
+        if(!entry.resolved().equals(previous.resolved())) {
+          e.setValue(entry);
+          adjustTotals(previous, entry);
+          changed.add(entry.resolved());
+        }
+      }
+
+      return changed;
+    }
+
+    /**
+     * Fill in the missing dimensions of the item and calculate the model length and footprint.
+     */
+    private Entry resolve(ProjectItem input) {
+      // @formatter:off
+      ScalerData scaled = scalerService.supplyMissingFields(ScalerData.builder()
+          .scale(scale)
+          .outputMeasurement(outputMeasurement)
+          .fullsizeDimensions(input.fullsizeDimensions())
+          .modelDimensions(input.modelDimensions())
+          .build());
+      // @formatter:on
+
+      ProjectItem resolved = new ProjectItem(input.id(), input.description(),
+          scaled.getFullsizeDimensions(), scaled.getModelDimensions());
+
+      Dimensions model = scaled.getModelDimensions();
+      BigDecimal lengthMm = toMillimeters(model.length());
+      BigDecimal footprintMm2 = BigDecimal.ZERO;
+
+      if(Objects.nonNull(model.length()) && Objects.nonNull(model.width())) {
+        footprintMm2 = lengthMm.multiply(toMillimeters(model.width()));
+      }
+
+      return new Entry(input, resolved, lengthMm, footprintMm2);
+    }
+
+    private BigDecimal toMillimeters(Dimension dimension) {
+      return Objects.isNull(dimension) ? BigDecimal.ZERO : scalerService.toMillimeters(dimension);
+    }
+
+    private void adjustTotals(Entry previous, Entry current) {
+      if(Objects.nonNull(previous)) {
+        totalLengthMm = totalLengthMm.subtract(previous.lengthMm());
+        totalFootprintMm2 = totalFootprintMm2.subtract(previous.footprintMm2());
+      }
+
+      if(Objects.nonNull(current)) {
+        totalLengthMm = totalLengthMm.add(current.lengthMm());
+        totalFootprintMm2 = totalFootprintMm2.add(current.footprintMm2());
+      }
+    }
+
+    /**
+     * Express the totals in the output measurement.
+     */
+    ProjectTotals totals() {
+      Dimension totalLength = scalerService.fromMillimeters(totalLengthMm, outputMeasurement);
+      BigDecimal mmPerUnit =
+          scalerService.toMillimeters(new Dimension(BigDecimal.ONE, outputMeasurement));
+      BigDecimal totalFootprint = totalFootprintMm2
+          .divide(mmPerUnit.multiply(mmPerUnit), OUTPUT_SCALE, RoundingMode.HALF_UP);
+
+      return new ProjectTotals(entries.size(), totalLength, totalFootprint);
+    }
+
+    ProjectDelta delta(List<ProjectItem> changedItems, List<String> removedItems) {
+      // @formatter:off
+      return ProjectDelta.builder()
+          .name(name)
+          .scale(scale)
+          .outputMeasurement(outputMeasurement)
+          .changedItems(changedItems)
+          .removedItems(removedItems)
+          .totals(totals())
+          .build();
+      // @formatter:on
+    }
+
+    /**
+     * Only the input dimensions are stored. The calculated dimensions are recalculated when the
+     * project is loaded.
+     */
+    Project toStoredProject() {
+      // @formatter:off
+      return Project.builder()
+          .name(name)
+          .scale(scale)
+          .outputMeasurement(outputMeasurement)
+          .items(entries.values().stream().map(Entry::input).toList())
+          .build();
+      // @formatter:on
+    }
+  }
+}
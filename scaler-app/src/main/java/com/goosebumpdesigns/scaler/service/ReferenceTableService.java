@@ -0,0 +1,188 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service answers full size to model conversions of round numbers from the reference tables
+ * written at build time by the ReferenceTableGenerator in scaler-build. The tables are the same
+ * JSON files the web page reads. They are loaded once at startup into a map per scale and input
+ * measurement, keyed by the full size value, with the model {@link Dimension} for each output
+ * measurement ready to return. A lookup does no arithmetic.
+ * <p>
+ * A request is answered from the tables only if it is a full size to model conversion and every
+ * dimension it supplies is in a table. Anything else returns {@code null} and is calculated as
+ * usual. If the tables weren't built (i.e., when the application is started from an IDE) every
+ * lookup returns {@code null}.
+ */
+@Service
+@Slf4j
+public class ReferenceTableService {
+  private static final Scale[] SCALES = Scale.values();
+  private static final Measurement[] MEASUREMENTS = Measurement.values();
+
+  @Value("${scaler.tables.enabled:true}")
+  private boolean enabled;
+
+  @Value("${scaler.tables.location:public/tables}")
+  private String location;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * The tables indexed by scale ordinal * number of measurements + input measurement ordinal. Each
+   * maps a full size value to the model dimensions indexed by output measurement ordinal.
+   */
+  @SuppressWarnings("unchecked")
+  private final Map<BigDecimal, Dimension[]>[] tables =
+      new Map[SCALES.length * MEASUREMENTS.length];
+
+  /**
+   * Load the tables from the classpath.
+   */
+  @PostConstruct
+  void loadTables() {
+    if(!enabled) {
+      return;
+    }
+
+    int count = 0;
+    int rows = 0;
+
+    for(Scale scale : SCALES) {
+      for(Measurement measurement : MEASUREMENTS) {
+        Resource resource = new ClassPathResource(
+            location + "/" + scale.name() + "/" + measurement.name() + ".json");
+
+        if(resource.exists()) {
+          Map<BigDecimal, Dimension[]> table = read(resource);
+          tables[index(scale, measurement)] = table;
+          count++;
+          rows += table.size();
+        }
+      }
+    }
+
+    if(count == 0) {
+      log.warn("No reference tables found in classpath:{}. Every conversion will be calculated.",
+          location);
+    }
+    else {
+      log.info("Loaded {} reference tables ({} rows)", count, rows);
+    }
+  }
+
+  /**
+   * Look up the model dimensions of the given full size dimensions.
+   *
+   * @param data The input dimensions.
+   * @return The completely populated object, or {@code null} if the input isn't a full size to
+   *         model conversion or one of its dimensions isn't in the tables.
+   */
+  public ScalerData lookup(ScalerData data) {
+    if(Objects.isNull(data) || Objects.isNull(data.getScale())
+        || Objects.isNull(data.getOutputMeasurement()) || hasValue(data.getModelDimensions())
+        || !hasValue(data.getFullsizeDimensions())) {
+      return null;
+    }
+
+    Dimensions fullsize = data.getFullsizeDimensions();
+    int output = data.getOutputMeasurement().ordinal();
+    Dimension length = lookup(data.getScale(), fullsize.length(), output);
+    Dimension width = lookup(data.getScale(), fullsize.width(), output);
+    Dimension height = lookup(data.getScale(), fullsize.height(), output);
+
+    if((Objects.nonNull(fullsize.length()) && Objects.isNull(length))
+        || (Objects.nonNull(fullsize.width()) && Objects.isNull(width))
+        || (Objects.nonNull(fullsize.height()) && Objects.isNull(height))) {
+      return null;
+    }
+
+    // @formatter:off
+    return ScalerData.builder()
+        .scale(data.getScale())
+        .outputMeasurement(data.getOutputMeasurement())
+        .modelDimensions(new Dimensions(length, width, height))
+        .fullsizeDimensions(fullsize)
+        .build();
+    // @formatter:on
+  }
+
+  /**
+   * @return The model dimension or {@code null} if the dimension is missing or not in a table.
+   */
+  private Dimension lookup(Scale scale, Dimension fullsize, int output) {
+    if(Objects.isNull(fullsize)) {
+      return null;
+    }
+
+    Map<BigDecimal, Dimension[]> table = tables[index(scale, fullsize.measurement())];
+
+    if(Objects.isNull(table)) {
+      return null;
+    }
+
+    Dimension[] model = table.get(fullsize.value());
+    return Objects.isNull(model) ? null : model[output];
+  }
+
+  private Map<BigDecimal, Dimension[]> read(Resource resource) {
+    try(InputStream in = resource.getInputStream()) {
+      JsonNode values = objectMapper.reader()
+          .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readTree(in).get("values");
+      Map<BigDecimal, Dimension[]> table = new HashMap<>(values.size() * 2);
+      Iterator<Map.Entry<String, JsonNode>> rows = values.fields();
+
+      while(rows.hasNext()) {
+        Map.Entry<String, JsonNode> row = rows.next();
+        Dimension[] model = new Dimension[MEASUREMENTS.length];
+
+        for(Measurement measurement : MEASUREMENTS) {
+          model[measurement.ordinal()] =
+              new Dimension(row.getValue().get(measurement.name()).decimalValue(), measurement);
+        }
+
+        /* The key has two decimal places, like the value of every Dimension */
+        table.put(new BigDecimal(row.getKey()), model);
+      }
+
+      return table;
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException("Can't read reference table " + resource, e);
+    }
+  }
+
+  private int index(Scale scale, Measurement measurement) {
+    return scale.ordinal() * MEASUREMENTS.length + measurement.ordinal();
+  }
+
+  private boolean hasValue(Dimensions dimensions) {
+    return Objects.nonNull(dimensions) && (Objects.nonNull(dimensions.length())
+        || Objects.nonNull(dimensions.width()) || Objects.nonNull(dimensions.height()));
+  }
+}
@@ -0,0 +1,161 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static com.goosebumpdesigns.scaler.model.ScalerConstants.OUTPUT_SCALE;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ * This class stores the full size and scaled dimensions of catalog entries outside of the Java heap
+ * in a direct {@link ByteBuffer}. A catalog of a million entries has tens of millions of values, so
+ * keeping them as objects would give the garbage collector a lot to trace on every full
+ * collection.
+ * <p>
+ * Each entry is a fixed size row of ints. Values are stored in hundredths, which is the precision
+ * of a {@link Dimension}, so they are returned exactly as the {@link ScalerService} calculated
+ * them.
+ * The row holds the full size length, width and height, their measurement ordinals, and then the
+ * scaled length, width and height for every {@link Scale} and output {@link Measurement}. A missing
+ * value is stored as {@link #MISSING}.
+ * <p>
+ * Rows are written once while the table is built and only read after that. Reads use absolute
+ * positions, so the table can be shared between threads once it is safely published.
+ */
+class ScaledDimensionTable {
+  private static final int MISSING = Integer.MIN_VALUE;
+  private static final int AXES = 3;
+  private static final Scale[] SCALES = Scale.values();
+  private static final Measurement[] MEASUREMENTS = Measurement.values();
+
+  private static final int FULLSIZE_OFFSET = 0;
+  private static final int MEASUREMENT_OFFSET = FULLSIZE_OFFSET + AXES;
+  private static final int SCALED_OFFSET = MEASUREMENT_OFFSET + AXES;
+  private static final int INTS_PER_ROW =
+      SCALED_OFFSET + SCALES.length * MEASUREMENTS.length * AXES;
+
+  /** The number of bytes used by each entry. */
+  static final int BYTES_PER_ROW = INTS_PER_ROW * Integer.BYTES;
+
+  private final ByteBuffer buffer;
+  private final int rows;
+
+  /**
+   * @param rows The number of entries.
+   * @throws IllegalArgumentException Thrown if the table would be larger than a single buffer can
+   *         hold (about 5.9 million entries).
+   */
+  ScaledDimensionTable(int rows) {
+    if((long)rows * BYTES_PER_ROW > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The catalog is too large: " + rows + " entries.");
+    }
+
+    this.rows = rows;
+    this.buffer = ByteBuffer.allocateDirect(rows * BYTES_PER_ROW);
+  }
+
+  /**
+   * @return The number of entries.
+   */
+  int rows() {
+    return rows;
+  }
+
+  /**
+   * Store the full size dimensions of an entry.
+   * 
+   * @param row The entry.
+   * @param dimensions The full size dimensions.
+   */
+  void putFullsize(int row, Dimensions dimensions) {
+    put(row, FULLSIZE_OFFSET, dimensions);
+    putInt(row, MEASUREMENT_OFFSET, ordinal(dimensions.length()));
+    putInt(row, MEASUREMENT_OFFSET + 1, ordinal(dimensions.width()));
+    putInt(row, MEASUREMENT_OFFSET + 2, ordinal(dimensions.height()));
+  }
+
+  /**
+   * Store the scaled dimensions of an entry.
+   * 
+   * @param row The entry.
+   * @param scale The scale.
+   * @param outputMeasurement The measurement type of the dimensions.
+   * @param dimensions The scaled dimensions.
+   */
+  void putScaled(int row, Scale scale, Measurement outputMeasurement, Dimensions dimensions) {
+    put(row, scaledOffset(scale, outputMeasurement), dimensions);
+  }
+
+  /**
+   * @param row The entry.
+   * @return The full size dimensions.
+   */
+  Dimensions fullsize(int row) {
+    // @formatter:off
+    return new Dimensions(
+        dimension(getInt(row, FULLSIZE_OFFSET), getInt(row, MEASUREMENT_OFFSET)),
+        dimension(getInt(row, FULLSIZE_OFFSET + 1), getInt(row, MEASUREMENT_OFFSET + 1)),
+        dimension(getInt(row, FULLSIZE_OFFSET + 2), getInt(row, MEASUREMENT_OFFSET + 2)));
+    // @formatter:on
+  }
+
+  /**
+   * @param row The entry.
+   * @param scale The scale.
+   * @param outputMeasurement The measurement type of the dimensions.
+   * @return The scaled dimensions.
+   */
+  Dimensions scaled(int row, Scale scale, Measurement outputMeasurement) {
+    int offset = scaledOffset(scale, outputMeasurement);
+    int ordinal = outputMeasurement.ordinal();
+
+    // @formatter:off
+    return new Dimensions(
+        dimension(getInt(row, offset), ordinal),
+        dimension(getInt(row, offset + 1), ordinal),
+        dimension(getInt(row, offset + 2), ordinal));
+    // @formatter:on
+  }
+
+  private int scaledOffset(Scale scale, Measurement outputMeasurement) {
+    return SCALED_OFFSET + (scale.ordinal() * MEASUREMENTS.length + outputMeasurement.ordinal())
+        * AXES;
+  }
+
+  private void put(int row, int offset, Dimensions dimensions) {
+    putInt(row, offset, hundredths(dimensions.length()));
+    putInt(row, offset + 1, hundredths(dimensions.width()));
+    putInt(row, offset + 2, hundredths(dimensions.height()));
+  }
+
+  private void putInt(int row, int offset, int value) {
+    buffer.putInt((row * INTS_PER_ROW + offset) * Integer.BYTES, value);
+  }
+
+  private int getInt(int row, int offset) {
+    return buffer.getInt((row * INTS_PER_ROW + offset) * Integer.BYTES);
+  }
+
+  /**
+   * @throws ArithmeticException Thrown if the value doesn't fit in an int.
+   */
+  private static int hundredths(Dimension dimension) {
+    return Objects.isNull(dimension) ? MISSING
+        : dimension.value().movePointRight(OUTPUT_SCALE).intValueExact();
+  }
+
+  private static int ordinal(Dimension dimension) {
+    return Objects.isNull(dimension) ? MISSING : dimension.measurement().ordinal();
+  }
+
+  private static Dimension dimension(int hundredths, int measurementOrdinal) {
+    return hundredths == MISSING ? null
+        : new Dimension(BigDecimal.valueOf(hundredths, OUTPUT_SCALE),
+            MEASUREMENTS[measurementOrdinal]);
+  }
+}
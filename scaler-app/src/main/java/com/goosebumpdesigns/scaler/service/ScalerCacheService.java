@@ -0,0 +1,308 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service caches the results of {@link ScalerService#supplyMissingFields(ScalerData)}. When
+ * several instances run behind a load balancer they share the work of filling the cache. Each
+ * instance owns a range of {@link ConversionKey keys} on a {@link ConsistentHashRing}. On a local
+ * miss the result is fetched from the owning peer, which computes and caches it if necessary. The
+ * result is then kept in the local cache as well, so repeated requests don't leave the instance.
+ * <p>
+ * Membership comes from static configuration. Peers prove that they are members by sending the
+ * shared {@code scaler.cache.peer-secret} in the {@link #PEER_SECRET_HEADER} header. If the owning
+ * peer can't be reached it is skipped for a while and the result is computed locally, so a peer
+ * that is down only costs a cache miss. With no peers configured, this is a plain local cache.
+ * <p>
+ * Each cacheable request is counted by the {@link HeavyHitterService}, which keeps the most
+ * frequent ones so that they can be cached again at the next start.
+ * <p>
+ * Cached {@link ScalerData} objects are shared between requests and must not be modified.
+ */
+@Service
+@Slf4j
+public class ScalerCacheService {
+  /** The path of the peer endpoint. */
+  public static final String PEER_PATH = "/peer/scale";
+
+  /** The header that carries the shared secret on requests to the peer endpoint. */
+  public static final String PEER_SECRET_HEADER = "X-Scaler-Peer-Secret";
+
+  @Value("${scaler.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${scaler.cache.max-entries:100000}")
+  private int maxEntries;
+
+  @Value("${scaler.cache.self:}")
+  private String self;
+
+  @Value("${scaler.cache.peers:}")
+  private List<String> peers;
+
+  @Value("${scaler.cache.peer-secret:}")
+  private String peerSecret;
+
+  @Value("${scaler.cache.virtual-nodes:100}")
+  private int virtualNodes;
+
+  @Value("${scaler.cache.peer-timeout-millis:250}")
+  private long peerTimeoutMillis;
+
+  @Value("${scaler.cache.peer-retry-millis:5000}")
+  private long peerRetryMillis;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private HeavyHitterService heavyHitterService;
+
+  private final Map<ConversionKey, ScalerData> cache = new ConcurrentHashMap<>();
+  private final Map<String, Long> peerDownUntil = new ConcurrentHashMap<>();
+  private ConsistentHashRing ring;
+  private HttpClient httpClient;
+
+  /**
+   * Build the hash ring from the configured peers.
+   */
+  @PostConstruct
+  void initialize() {
+    Set<String> members = new LinkedHashSet<>();
+
+    if(Objects.nonNull(peers)) {
+      peers.stream().filter(p -> !p.isBlank()).map(this::normalize).forEach(members::add);
+    }
+
+    if(!members.isEmpty()) {
+      if(self.isBlank()) {
+        throw new IllegalStateException("scaler.cache.self must be set when peers are configured.");
+      }
+
+      if(peerSecret.isBlank()) {
+        throw new IllegalStateException(
+            "scaler.cache.peer-secret must be set when peers are configured.");
+      }
+
+      self = normalize(self);
+      members.add(self);
+    }
+
+    ring = new ConsistentHashRing(members, virtualNodes);
+
+    // @formatter:off
+    httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofMillis(peerTimeoutMillis))
+        .build();
+    // @formatter:on
+
+    if(members.size() > 1) {
+      log.info("Sharing the result cache with peers {}", members);
+    }
+  }
+
+  /**
+   * Return the cached result for the given input or fetch it from the owning peer. If the owner is
+   * this instance or the owner can't be reached, the result is calculated locally.
+   *
+   * @param data The input dimensions.
+   * @return The completely populated object.
+   * @throws IllegalArgumentException Thrown if the input data is invalid.
+   */
+  public ScalerData supplyMissingFields(ScalerData data) {
+    if(!isCacheable(data)) {
+      return scalerService.supplyMissingFields(data);
+    }
+
+    ConversionKey key = ConversionKey.of(data);
+    heavyHitterService.record(key, data);
+    ScalerData result = cache.get(key);
+
+    if(Objects.nonNull(result)) {
+      return result;
+    }
+
+    String owner = ring.owner(key.value());
+
+    if(Objects.nonNull(owner) && !owner.equals(self) && isPeerUp(owner)) {
+      result = fetchFromPeer(owner, data);
+    }
+
+    if(Objects.isNull(result)) {
+      result = scalerService.supplyMissingFields(data);
+    }
+
+    put(key, result);
+    return result;
+  }
+
+  /**
+   * Return the cached result or calculate it locally. This is called by peers for keys this
+   * instance owns, so it never forwards the request.
+   *
+   * @param data The input dimensions.
+   * @return The completely populated object.
+   * @throws IllegalArgumentException Thrown if the input data is invalid.
+   */
+  public ScalerData supplyMissingFieldsLocally(ScalerData data) {
+    if(!isCacheable(data)) {
+      return scalerService.supplyMissingFields(data);
+    }
+
+    return cache.computeIfAbsent(ConversionKey.of(data),
+        k -> scalerService.supplyMissingFields(data));
+  }
+
+  /**
+   * Check the secret sent to the peer endpoint. The comparison takes the same time however much of
+   * the secret matches.
+   *
+   * @param secret The value of the {@link #PEER_SECRET_HEADER} header, or {@code null}.
+   * @return {@code true} if the secret is the configured peer secret. This is always
+   *         {@code false} if no secret is configured.
+   */
+  public boolean isPeer(String secret) {
+    if(Objects.isNull(secret) || peerSecret.isBlank()) {
+      return false;
+    }
+
+    return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+        peerSecret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param data The input dimensions.
+   * @return {@code true} if the result for the given input is in the local cache.
+   */
+  public boolean isCachedLocally(ScalerData data) {
+    return cache.containsKey(ConversionKey.of(data));
+  }
+
+  /**
+   * @param data The input dimensions.
+   * @return The base URI of the instance that owns the result, or {@code null} if there are no
+   *         peers.
+   */
+  public String owner(ScalerData data) {
+    return ring.owner(ConversionKey.of(data).value());
+  }
+
+  /**
+   * Results are only cached for requests that have the fields needed to build a key. Invalid
+   * requests go straight to the service so that it can report the error.
+   */
+  private boolean isCacheable(ScalerData data) {
+    return enabled && Objects.nonNull(data) && Objects.nonNull(data.getScale())
+        && Objects.nonNull(data.getOutputMeasurement());
+  }
+
+  /**
+   * Fetch the result from the owning peer.
+   *
+   * @return The result or {@code null} if the peer couldn't supply it.
+   */
+  private ScalerData fetchFromPeer(String peer, ScalerData data) {
+    try {
+      // @formatter:off
+      HttpRequest request = HttpRequest.newBuilder(URI.create(peer + PEER_PATH))
+          .header("Content-Type", "application/json")
+          .header(PEER_SECRET_HEADER, peerSecret)
+          .timeout(Duration.ofMillis(peerTimeoutMillis))
+          .POST(BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(data)))
+          .build();
+      // @formatter:on
+
+      HttpResponse<byte[]> response = httpClient.send(request, BodyHandlers.ofByteArray());
+
+      if(response.statusCode() == 200) {
+        return objectMapper.readValue(response.body(), ScalerData.class);
+      }
+
+      if(response.statusCode() >= 500) {
+        markPeerDown(peer, "status " + response.statusCode());
+      }
+    }
+    catch(IOException e) {
+      markPeerDown(peer, e.toString());
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return null;
+  }
+
+  private boolean isPeerUp(String peer) {
+    Long downUntil = peerDownUntil.get(peer);
+
+    if(Objects.isNull(downUntil)) {
+      return true;
+    }
+
+    if(System.nanoTime() - downUntil >= 0) {
+      peerDownUntil.remove(peer);
+      return true;
+    }
+
+    return false;
+  }
+
+  private void markPeerDown(String peer, String reason) {
+    log.warn("Peer {} is unavailable ({}). Computing its results locally for {} ms.", peer,
+        reason, peerRetryMillis);
+    peerDownUntil.put(peer, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(peerRetryMillis));
+  }
+
+  /**
+   * Add a result to the cache. If the cache is full, about a tenth of the entries are dropped to
+   * make room. Dropping in batches keeps the cost of eviction off most calls.
+   */
+  private void put(ConversionKey key, ScalerData result) {
+    if(cache.size() >= maxEntries) {
+      int toRemove = Math.max(1, maxEntries / 10);
+      Iterator<ConversionKey> keys = cache.keySet().iterator();
+
+      while(toRemove-- > 0 && keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+
+    cache.put(key, result);
+  }
+
+  private String normalize(String uri) {
+    String trimmed = uri.trim();
+    return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+  }
+}
@@ -0,0 +1,174 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.StockSize;
+
+/**
+ * This class finds the stock size nearest to a length. The sizes of each material are kept in a
+ * primitive array of millimeters for each {@link Measurement} the material is sold in, sorted, with
+ * a parallel array of the {@link StockSize} objects built when the index is. There is also an array
+ * of all of the material's sizes for lengths in a measurement the material isn't sold in. A lookup
+ * is a binary search of one array and a comparison with the size on either side, done on
+ * primitives. The prebuilt sizes carry an error of zero, so a length that is a stock size returns
+ * one of them as it is. Any other length allocates only its result: the size with its error.
+ * <p>
+ * The index is immutable once built and can be shared between threads.
+ */
+class StockIndex {
+  /** The number of decimal places in an error. */
+  static final int ERROR_SCALE = 4;
+
+  private static final Measurement[] MEASUREMENTS = Measurement.values();
+  private static final double ERROR_FACTOR = Math.pow(10, ERROR_SCALE);
+  private static final BigDecimal NO_ERROR = BigDecimal.valueOf(0, ERROR_SCALE);
+
+  private final double[] unitMillimeters;
+  private final Map<String, Material> materials = new HashMap<>();
+
+  /**
+   * Sizes sorted by length, with each size's length in millimeters at the same position. The sizes
+   * have an error of zero.
+   */
+  private record Sizes(double[] millimeters, StockSize[] sizes) {
+  }
+
+  /** A material's sizes by measurement ordinal ({@code null} if not sold in it) and all sizes. */
+  private record Material(Sizes[] byMeasurement, Sizes all) {
+  }
+
+  /**
+   * @param sizes The stock sizes. Repeated sizes are kept once.
+   * @param unitMillimeters The millimeters in one unit of each {@link Measurement}, by ordinal.
+   */
+  StockIndex(List<StockSize> sizes, double[] unitMillimeters) {
+    this.unitMillimeters = unitMillimeters.clone();
+
+    Map<String, List<StockSize>> byMaterial = new HashMap<>();
+    sizes.forEach(s -> byMaterial.computeIfAbsent(s.material(), m -> new ArrayList<>()).add(s));
+
+    byMaterial.forEach((name, list) -> {
+      Sizes[] byMeasurement = new Sizes[MEASUREMENTS.length];
+
+      for(Measurement measurement : MEASUREMENTS) {
+        List<StockSize> sold = list.stream().filter(s -> s.measurement() == measurement).toList();
+
+        if(!sold.isEmpty()) {
+          byMeasurement[measurement.ordinal()] = sort(sold);
+        }
+      }
+
+      materials.put(name, new Material(byMeasurement, sort(list)));
+    });
+  }
+
+  /**
+   * @return The materials, sorted.
+   */
+  List<String> materials() {
+    return materials.keySet().stream().sorted().toList();
+  }
+
+  /**
+   * @param material The material.
+   * @return {@code true} if the material has sizes.
+   */
+  boolean contains(String material) {
+    return materials.containsKey(material);
+  }
+
+  /**
+   * Find the size of the material nearest to a length. If two sizes are equally near, the smaller
+   * one is returned.
+   *
+   * @param material The material.
+   * @param millimeters The length.
+   * @param measurement The measurement of the length. The material's sizes in this measurement are
+   *        searched if it is sold in it, otherwise all of its sizes are.
+   * @return The nearest size and its error, or {@code null} if the material is unknown.
+   */
+  StockSize nearest(String material, double millimeters, Measurement measurement) {
+    Material m = materials.get(material);
+
+    if(Objects.isNull(m)) {
+      return null;
+    }
+
+    Sizes sizes = m.byMeasurement()[measurement.ordinal()];
+
+    if(Objects.isNull(sizes)) {
+      sizes = m.all();
+    }
+
+    int i = nearest(sizes.millimeters(), millimeters);
+    StockSize size = sizes.sizes()[i];
+    double error =
+        (sizes.millimeters()[i] - millimeters) / unitMillimeters[size.measurement().ordinal()];
+    long roundedError = Math.round(error * ERROR_FACTOR);
+
+    if(roundedError == 0) {
+      return size;
+    }
+
+    return new StockSize(size.material(), size.size(), size.measurement(),
+        BigDecimal.valueOf(roundedError, ERROR_SCALE));
+  }
+
+  /**
+   * @param sorted The lengths in ascending order. There must be at least one.
+   * @param target The length to look for.
+   * @return The index of the length nearest to the target.
+   */
+  static int nearest(double[] sorted, double target) {
+    int i = Arrays.binarySearch(sorted, target);
+
+    if(i >= 0) {
+      return i;
+    }
+
+    int above = -i - 1;
+
+    if(above == 0) {
+      return 0;
+    }
+
+    if(above == sorted.length) {
+      return sorted.length - 1;
+    }
+
+    return sorted[above] - target < target - sorted[above - 1] ? above : above - 1;
+  }
+
+  private Sizes sort(List<StockSize> list) {
+    List<StockSize> sorted = new ArrayList<>(list);
+    sorted.sort(Comparator.comparingDouble(this::millimeters));
+
+    double[] millimeters = new double[sorted.size()];
+    StockSize[] sizes = new StockSize[sorted.size()];
+    int n = 0;
+
+    for(StockSize size : sorted) {
+      double mm = millimeters(size);
+
+      if(n == 0 || mm != millimeters[n - 1]) {
+        millimeters[n] = mm;
+        sizes[n++] = new StockSize(size.material(), size.size(), size.measurement(), NO_ERROR);
+      }
+    }
+
+    return new Sizes(Arrays.copyOf(millimeters, n), Arrays.copyOf(sizes, n));
+  }
+
+  private double millimeters(StockSize size) {
+    return size.size().doubleValue() * unitMillimeters[size.measurement().ordinal()];
+  }
+}
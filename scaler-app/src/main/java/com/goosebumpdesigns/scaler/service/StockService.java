@@ -0,0 +1,118 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.StockDao;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.model.StockSize;
+import com.goosebumpdesigns.scaler.model.StockSizes;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service snaps model dimensions to the nearest commercially available stock sizes (i.e.,
+ * styrene strip, stripwood or brass tube). The sizes are loaded by the {@link StockDao} into a
+ * {@link StockIndex} at startup.
+ * <p>
+ * A model dimension is rounded to hundredths of its measurement, which is coarser than the steps
+ * between thin stock sizes (0.005 inch), so the length that is snapped is recalculated from the
+ * request rather than read from the result: a model dimension in the request is used as it is,
+ * and a full size dimension is divided by the scale factor. The model dimension's measurement
+ * picks the material's sizes to search (see {@link StockIndex#nearest}).
+ */
+@Service
+@Slf4j
+public class StockService {
+  @Autowired
+  private StockDao stockDao;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  private final double[] unitMillimeters = new double[Measurement.values().length];
+  private volatile StockIndex index;
+
+  /**
+   * Load the stock sizes.
+   */
+  @PostConstruct
+  void load() {
+    for(Measurement measurement : Measurement.values()) {
+      unitMillimeters[measurement.ordinal()] = scalerService
+          .toMillimeters(new Dimension(BigDecimal.ONE, measurement)).doubleValue();
+    }
+
+    index = new StockIndex(stockDao.loadAll(), unitMillimeters);
+    log.info("Indexed stock sizes for {} materials", index.materials().size());
+  }
+
+  /**
+   * @return The materials that dimensions can be snapped to, sorted.
+   */
+  public List<String> retrieveMaterials() {
+    return index.materials();
+  }
+
+  /**
+   * @param material The material.
+   * @throws IllegalArgumentException Thrown if the material has no stock sizes.
+   */
+  public void validateMaterial(String material) {
+    if(!index.contains(material)) {
+      throw new IllegalArgumentException(
+          material + " is not a stock material. Use one of " + index.materials() + ".");
+    }
+  }
+
+  /**
+   * Add the stock sizes nearest to the model dimensions to a result. The result isn't changed (it
+   * may be shared by the result cache); a copy is returned.
+   *
+   * @param input The request that was converted.
+   * @param result The converted result.
+   * @param material The material to snap to.
+   * @return A copy of the result with the stock sizes.
+   * @throws IllegalArgumentException Thrown if the material has no stock sizes.
+   */
+  public ScalerData snap(ScalerData input, ScalerData result, String material) {
+    validateMaterial(material);
+
+    boolean fromModel = hasValue(input.getModelDimensions());
+    Dimensions source = fromModel ? input.getModelDimensions() : input.getFullsizeDimensions();
+    double divisor = fromModel ? 1 : input.getScale().getFactor().doubleValue();
+    Dimensions model = result.getModelDimensions();
+
+    // @formatter:off
+    StockSizes sizes = new StockSizes(
+        snap(material, source.length(), divisor, model.length()),
+        snap(material, source.width(), divisor, model.width()),
+        snap(material, source.height(), divisor, model.height()));
+    // @formatter:on
+
+    return result.toBuilder().stockSizes(sizes).build();
+  }
+
+  private StockSize snap(String material, Dimension source, double divisor, Dimension model) {
+    if(Objects.isNull(source) || Objects.isNull(model)) {
+      return null;
+    }
+
+    double millimeters =
+        source.value().doubleValue() * unitMillimeters[source.measurement().ordinal()] / divisor;
+
+    return index.nearest(material, millimeters, model.measurement());
+  }
+
+  private boolean hasValue(Dimensions dimensions) {
+    return Objects.nonNull(dimensions) && (Objects.nonNull(dimensions.length())
+        || Objects.nonNull(dimensions.width()) || Objects.nonNull(dimensions.height()));
+  }
+}
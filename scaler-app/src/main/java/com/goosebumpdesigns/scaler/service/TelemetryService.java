@@ -0,0 +1,276 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.TimingBlockDao;
+import com.goosebumpdesigns.scaler.model.DetectorEvent;
+import com.goosebumpdesigns.scaler.model.LocoSpeedStats;
+import com.goosebumpdesigns.scaler.model.SpeedUnit;
+import com.goosebumpdesigns.scaler.model.TelemetryResult;
+import com.goosebumpdesigns.scaler.model.TimingBlock;
+import com.goosebumpdesigns.scaler.telemetry.DetectorLines;
+import com.goosebumpdesigns.scaler.telemetry.SpeedRing;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This service turns track detector events into scale speeds. Each {@link TimingBlock} has a
+ * detector at each end. The first event for a locomotive in a block opens a transit, and the next
+ * event for the same locomotive at the other detector closes it. The block's full size length
+ * divided by the time between the two events is the scale speed. A second event at the same
+ * detector, an event out of order, or one more than {@code scaler.telemetry.max-transit-millis}
+ * after the first starts a new transit instead.
+ * <p>
+ * The full size length of each block is calculated once, with the {@link ScalerService}'s
+ * conversion factors, when the block is saved, so each speed is a single division. The most
+ * recent {@code scaler.telemetry.window} speeds of each locomotive are kept in a
+ * {@link SpeedRing}.
+ */
+@Service
+@Slf4j
+public class TelemetryService {
+  private static final double MICROS_PER_HOUR = TimeUnit.HOURS.toMicros(1);
+  private static final BigDecimal MILLIMETERS_PER_KILOMETER = BigDecimal.valueOf(1_000_000);
+
+  @Autowired
+  private ScalerService scalerService;
+
+  @Autowired
+  private TimingBlockDao timingBlockDao;
+
+  private final int window;
+  private final long maxTransitMicros;
+
+  private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+  private final Map<String, SpeedRing> rings = new ConcurrentHashMap<>();
+
+  /** The open transits by locomotive and block. Guarded by itself. */
+  private final Map<String, Transit> transits = new HashMap<>();
+
+  /** A block and its full size length. */
+  private record Block(TimingBlock block, double kilometers) {
+  }
+
+  /** The first event of a train passing through a block, and when it was received. */
+  private record Transit(long micros, String detector, long receivedNanos) {
+  }
+
+  /**
+   * @param window The number of recent speeds kept for each locomotive.
+   * @param maxTransitMillis The longest time a train can take to pass through a block.
+   */
+  public TelemetryService(@Value("${scaler.telemetry.window:32}") int window,
+      @Value("${scaler.telemetry.max-transit-millis:600000}") long maxTransitMillis) {
+    this.window = window;
+    this.maxTransitMicros = TimeUnit.MILLISECONDS.toMicros(maxTransitMillis);
+  }
+
+  /**
+   * Load the saved blocks.
+   */
+  @PostConstruct
+  void load() {
+    timingBlockDao.load().forEach(block -> blocks.put(block.id(), measure(block)));
+    log.info("Loaded {} timing blocks", blocks.size());
+  }
+
+  /**
+   * Add or replace a block.
+   *
+   * @param block The block.
+   * @return The block.
+   * @throws IllegalArgumentException Thrown if the distance or scale is missing or the distance
+   *         isn't positive.
+   */
+  public TimingBlock saveBlock(TimingBlock block) {
+    blocks.put(block.id(), measure(block));
+    timingBlockDao.save(retrieveBlocks());
+    return block;
+  }
+
+  /**
+   * @return The blocks, sorted by ID.
+   */
+  public List<TimingBlock> retrieveBlocks() {
+    // @formatter:off
+    return blocks.values().stream()
+        .map(Block::block)
+        .sorted(Comparator.comparing(TimingBlock::id))
+        .toList();
+    // @formatter:on
+  }
+
+  /**
+   * @param id The block ID.
+   * @throws NoSuchElementException Thrown if there is no block with the ID.
+   */
+  public void deleteBlock(String id) {
+    if(Objects.isNull(blocks.remove(id))) {
+      throw new NoSuchElementException("Timing block " + id + " not found.");
+    }
+
+    timingBlockDao.save(retrieveBlocks());
+  }
+
+  /**
+   * Record an event.
+   *
+   * @param event The event.
+   * @return true if the event closed a transit and a speed was recorded.
+   * @throws IllegalArgumentException Thrown if the block is unknown.
+   */
+  public boolean accept(DetectorEvent event) {
+    Block block = blocks.get(event.block());
+
+    if(Objects.isNull(block)) {
+      throw new IllegalArgumentException("Timing block " + event.block() + " not found.");
+    }
+
+    String key = event.loco() + '\u0000' + event.block();
+    long elapsed;
+
+    synchronized(transits) {
+      Transit transit = transits.get(key);
+      elapsed = Objects.isNull(transit) ? 0 : event.micros() - transit.micros();
+
+      if(Objects.isNull(transit) || transit.detector().equals(event.detector()) || elapsed <= 0
+          || elapsed > maxTransitMicros) {
+        transits.put(key, new Transit(event.micros(), event.detector(), System.nanoTime()));
+        return false;
+      }
+
+      transits.remove(key);
+    }
+
+    double kilometersPerHour = block.kilometers() * MICROS_PER_HOUR / elapsed;
+    rings.computeIfAbsent(event.loco(), loco -> new SpeedRing(loco, window))
+        .add(kilometersPerHour, event.block());
+
+    return true;
+  }
+
+  /**
+   * Record the events on each line until the end of the input. Lines that can't be read or are
+   * for an unknown block are counted and skipped.
+   *
+   * @param reader The events in the format read by {@link DetectorLines}.
+   * @return What became of the events.
+   * @throws UncheckedIOException Thrown if the input can't be read.
+   */
+  public TelemetryResult ingest(BufferedReader reader) {
+    long events = 0;
+    long rejected = 0;
+    long readings = 0;
+
+    try {
+      String line;
+
+      while((line = reader.readLine()) != null) {
+        if(DetectorLines.isSkipped(line)) {
+          continue;
+        }
+
+        events++;
+
+        try {
+          if(accept(DetectorLines.parse(line))) {
+            readings++;
+          }
+        }
+        catch(IllegalArgumentException e) {
+          rejected++;
+          log.debug("Skipping detector event: {}", e.getMessage());
+        }
+      }
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return new TelemetryResult(events, rejected, readings);
+  }
+
+  /**
+   * @param unit The unit to report the speeds in.
+   * @return The recent speeds of every locomotive that has been timed, sorted by locomotive.
+   */
+  public List<LocoSpeedStats> retrieveStats(SpeedUnit unit) {
+    List<LocoSpeedStats> stats = new ArrayList<>();
+
+    for(SpeedRing ring : rings.values()) {
+      LocoSpeedStats loco = ring.stats(unit);
+
+      if(Objects.nonNull(loco)) {
+        stats.add(loco);
+      }
+    }
+
+    stats.sort(Comparator.comparing(LocoSpeedStats::loco));
+    return stats;
+  }
+
+  /**
+   * @param loco The locomotive.
+   * @param unit The unit to report the speeds in.
+   * @return The recent speeds of the locomotive.
+   * @throws NoSuchElementException Thrown if the locomotive hasn't been timed.
+   */
+  public LocoSpeedStats retrieveStats(String loco, SpeedUnit unit) {
+    SpeedRing ring = rings.get(loco);
+    LocoSpeedStats stats = Objects.isNull(ring) ? null : ring.stats(unit);
+
+    if(Objects.isNull(stats)) {
+      throw new NoSuchElementException("Locomotive " + loco + " has not been timed.");
+    }
+
+    return stats;
+  }
+
+  /**
+   * Forget transits that were opened too long ago to be closed, like a train that was timed into
+   * a block and then backed out or was taken off the layout.
+   */
+  @Scheduled(fixedDelayString = "${scaler.telemetry.sweep-millis:60000}")
+  void removeStaleTransits() {
+    long oldest = System.nanoTime() - TimeUnit.MICROSECONDS.toNanos(maxTransitMicros);
+
+    synchronized(transits) {
+      transits.values().removeIf(transit -> transit.receivedNanos() - oldest < 0);
+    }
+  }
+
+  /**
+   * Calculate the full size length of a block.
+   */
+  private Block measure(TimingBlock block) {
+    if(Objects.isNull(block.distance()) || Objects.isNull(block.scale())) {
+      throw new IllegalArgumentException("A timing block needs a distance and a scale.");
+    }
+
+    BigDecimal millimeters =
+        scalerService.toMillimeters(block.distance()).multiply(block.scale().getFactor());
+
+    if(millimeters.signum() <= 0) {
+      throw new IllegalArgumentException("The distance must be greater than zero.");
+    }
+
+    return new Block(block, millimeters.divide(MILLIMETERS_PER_KILOMETER).doubleValue());
+  }
+}
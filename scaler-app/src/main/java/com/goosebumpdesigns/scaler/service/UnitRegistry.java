@@ -0,0 +1,188 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Unit;
+
+/**
+ * This class holds the configured {@link Unit units} of length and the factors that convert between
+ * them. The factor between every pair of units is calculated once when the registry is built, so a
+ * conversion is a single multiplication. Units are referred to by their position in the registry
+ * so that the {@link LengthParser} can look them up without creating objects.
+ * <p>
+ * The registry can't be changed once built. Every {@link Measurement} must have a unit of the same
+ * name, which is the unit lengths are converted to.
+ */
+public final class UnitRegistry {
+  private static final MathContext FACTOR_CONTEXT = MathContext.DECIMAL64;
+
+  private final Unit[] units;
+  private final int[] measurementUnits = new int[Measurement.values().length];
+
+  /** factors[from][to] converts a length in unit "from" to unit "to". */
+  private final BigDecimal[][] factors;
+
+  /** The symbols of every unit, longest first, and the unit of each. */
+  private final String[] symbols;
+  private final int[] symbolUnits;
+
+  /**
+   * @param units The units.
+   * @throws IllegalArgumentException Thrown if a unit is invalid, a symbol is used twice or a
+   *         measurement has no unit.
+   */
+  public UnitRegistry(List<Unit> units) {
+    this.units = units.toArray(Unit[]::new);
+    this.factors = new BigDecimal[this.units.length][this.units.length];
+
+    Arrays.fill(measurementUnits, -1);
+    List<String> allSymbols = new ArrayList<>();
+
+    for(int i = 0; i < this.units.length; i++) {
+      Unit unit = this.units[i];
+
+      if(unit.millimeters().signum() <= 0) {
+        throw new IllegalArgumentException(
+            "The length of unit " + unit.name() + " must be positive.");
+      }
+
+      if(unit.name().equals(unit.measurement().name())) {
+        measurementUnits[unit.measurement().ordinal()] = i;
+      }
+
+      for(String symbol : unit.symbols()) {
+        String s = symbol.strip().toLowerCase(Locale.ROOT);
+
+        if(s.isEmpty() || Character.isDigit(s.charAt(0)) || allSymbols.contains(s)) {
+          throw new IllegalArgumentException(
+              "Unit " + unit.name() + " has an empty, numeric or duplicate symbol: " + symbol);
+        }
+
+        allSymbols.add(s);
+      }
+
+      for(int j = 0; j < this.units.length; j++) {
+        factors[i][j] = unit.millimeters().divide(units.get(j).millimeters(), FACTOR_CONTEXT);
+      }
+    }
+
+    for(Measurement measurement : Measurement.values()) {
+      if(measurementUnits[measurement.ordinal()] < 0) {
+        throw new IllegalArgumentException("There is no unit named " + measurement.name() + ".");
+      }
+    }
+
+    allSymbols.sort(Comparator.comparingInt(String::length).reversed());
+    this.symbols = allSymbols.toArray(String[]::new);
+    this.symbolUnits = new int[symbols.length];
+
+    for(int s = 0; s < symbols.length; s++) {
+      symbolUnits[s] = findUnit(symbols[s]);
+    }
+  }
+
+  /**
+   * @return The units in registry order.
+   */
+  public List<Unit> units() {
+    return List.of(units);
+  }
+
+  /**
+   * @param unit The position of a unit.
+   * @return The unit.
+   */
+  public Unit unit(int unit) {
+    return units[unit];
+  }
+
+  /**
+   * @param measurement A measurement.
+   * @return The position of the unit with the same name.
+   */
+  public int unitOf(Measurement measurement) {
+    return measurementUnits[measurement.ordinal()];
+  }
+
+  /**
+   * @param from The position of the unit to convert from.
+   * @param to The position of the unit to convert to.
+   * @return The number to multiply a length in the first unit by to get the length in the second.
+   */
+  public BigDecimal factor(int from, int to) {
+    return factors[from][to];
+  }
+
+  /**
+   * Find the longest unit symbol at a position in the text, ignoring case. A symbol that ends with
+   * a letter only matches if it isn't followed by another letter, so "m" doesn't match "min".
+   *
+   * @param text The text.
+   * @param from The position of the first character of the symbol.
+   * @return The position of the symbol, or -1 if no symbol matches. Pass it to
+   *         {@link #symbolLength(int)} and {@link #symbolUnit(int)}.
+   */
+  public int matchSymbol(CharSequence text, int from) {
+    for(int s = 0; s < symbols.length; s++) {
+      String symbol = symbols[s];
+      int end = from + symbol.length();
+
+      if(end <= text.length() && regionMatches(text, from, symbol)
+          && !(Character.isLetter(symbol.charAt(symbol.length() - 1)) && end < text.length()
+              && Character.isLetter(text.charAt(end)))) {
+        return s;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * @param symbol The position of a symbol returned by {@link #matchSymbol(CharSequence, int)}.
+   * @return The number of characters in the symbol.
+   */
+  public int symbolLength(int symbol) {
+    return symbols[symbol].length();
+  }
+
+  /**
+   * @param symbol The position of a symbol returned by {@link #matchSymbol(CharSequence, int)}.
+   * @return The position of the symbol's unit.
+   */
+  public int symbolUnit(int symbol) {
+    return symbolUnits[symbol];
+  }
+
+  private int findUnit(String symbol) {
+    for(int i = 0; i < units.length; i++) {
+      for(String s : units[i].symbols()) {
+        if(s.strip().equalsIgnoreCase(symbol)) {
+          return i;
+        }
+      }
+    }
+
+    throw new IllegalStateException("No unit has the symbol " + symbol);
+  }
+
+  /**
+   * Compare without regard to case. The symbols are stored in lower case.
+   */
+  private static boolean regionMatches(CharSequence text, int from, String symbol) {
+    for(int i = 0; i < symbol.length(); i++) {
+      if(Character.toLowerCase(text.charAt(from + i)) != symbol.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,55 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.UnitDao;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.Unit;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * This service reads typed lengths (i.e., 12' 6 1/2") using the configured units of length. The
+ * units are loaded once at startup into a {@link UnitRegistry}, which also holds the conversion
+ * factors between them.
+ */
+@Service
+public class UnitService {
+  @Autowired
+  private UnitDao unitDao;
+
+  private UnitRegistry registry;
+  private LengthParser parser;
+
+  /**
+   * Load the units and build the registry.
+   */
+  @PostConstruct
+  void loadUnits() {
+    registry = new UnitRegistry(unitDao.loadAll());
+    parser = new LengthParser(registry);
+  }
+
+  /**
+   * @return The units that can be typed.
+   */
+  public List<Unit> units() {
+    return registry.units();
+  }
+
+  /**
+   * Parse a length.
+   * 
+   * @param text The length (i.e., 12' 6 1/2" or 1.2 m).
+   * @param scale The scale used by scale units (i.e., scale feet), or {@code null} if scale units
+   *        aren't allowed.
+   * @return The length in the measurement of the smallest unit used.
+   * @throws IllegalArgumentException Thrown if the text isn't a valid length.
+   */
+  public Dimension parse(CharSequence text, Scale scale) {
+    return parser.parse(text, scale);
+  }
+}
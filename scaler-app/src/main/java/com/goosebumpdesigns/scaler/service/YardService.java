@@ -0,0 +1,614 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.dao.YardDao;
+import com.goosebumpdesigns.scaler.model.Car;
+import com.goosebumpdesigns.scaler.model.Consist;
+import com.goosebumpdesigns.scaler.model.ConsistFit;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.Siding;
+import com.goosebumpdesigns.scaler.model.SidingFit;
+import com.goosebumpdesigns.scaler.model.Yard;
+import com.goosebumpdesigns.scaler.model.YardFits;
+import com.goosebumpdesigns.scaler.model.YardSettings;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * This service answers "which consists fit which sidings" for staging yards and other groups of
+ * sidings. Each car's full size length is scaled once, when the car is added, using the yard's
+ * {@link Scale} factor, and kept as a whole number of micrometers. The car lengths of each consist
+ * are kept as prefix sums ({@link ConsistLengths}) so adding or removing a car adjusts the consist
+ * total in O(log n) time, and the consist and siding totals are kept in sorted indexes
+ * ({@link LengthIndex}) so a fit query is a binary search rather than a comparison of every
+ * consist with every siding. Only changing the scale rescales every car.
+ */
+@Service
+public class YardService {
+  private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9 _-]{0,63}");
+  private static final BigDecimal MICROMETERS_PER_MM = BigDecimal.valueOf(1000);
+  private static final int MICROMETER_SCALE = 3;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  @Autowired
+  private YardDao yardDao;
+
+  private final Map<String, YardState> yards = new ConcurrentHashMap<>();
+
+  /**
+   * Load the stored yards when the service starts.
+   */
+  @PostConstruct
+  void loadYards() {
+    for(Yard stored : yardDao.loadAll()) {
+      YardState state =
+          new YardState(stored.getName(), stored.getScale(), stored.getOutputMeasurement());
+
+      if(Objects.nonNull(stored.getSidings())) {
+        stored.getSidings().forEach(siding -> state.putSiding(siding));
+      }
+
+      if(Objects.nonNull(stored.getConsists())) {
+        stored.getConsists().forEach(consist -> state.putConsist(consist.id(), consist.cars()));
+      }
+
+      yards.put(state.name, state);
+    }
+  }
+
+  /**
+   * @return The names of all yards.
+   */
+  public List<String> retrieveYardNames() {
+    return yards.keySet().stream().sorted().toList();
+  }
+
+  /**
+   * Return a yard with the model length of every car and consist.
+   *
+   * @param name The yard name.
+   * @return The fully populated yard.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   */
+  public Yard retrieveYard(String name) {
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      return state.toYard(true);
+    }
+  }
+
+  /**
+   * Create a yard or change the settings of an existing yard. Changing the scale rescales every
+   * car.
+   *
+   * @param name The yard name.
+   * @param settings The yard scale and output measurement.
+   * @return The fully populated yard.
+   * @throws IllegalArgumentException Thrown if the name is invalid or a setting is missing.
+   */
+  public Yard saveSettings(String name, YardSettings settings) {
+    validateName(name);
+    requireNonNull(settings, "Yard settings must not be null.");
+    requireNonNull(settings.scale(), "Scale must not be null.");
+    requireNonNull(settings.outputMeasurement(), "Output measurement must not be null.");
+
+    while(true) {
+      YardState state = yards.computeIfAbsent(name,
+          n -> new YardState(n, settings.scale(), settings.outputMeasurement()));
+
+      synchronized(state) {
+        /* The yard was deleted while this call waited for its lock. Create it again. */
+        if(yards.get(name) != state) {
+          continue;
+        }
+
+        state.changeSettings(settings.scale(), settings.outputMeasurement());
+
+        yardDao.save(state.toYard(false));
+        return state.toYard(true);
+      }
+    }
+  }
+
+  /**
+   * Delete a yard.
+   *
+   * @param name The yard name.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   */
+  public void deleteYard(String name) {
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      yards.remove(name);
+      yardDao.delete(name);
+    }
+  }
+
+  /**
+   * Add a siding to a yard or change the length of an existing siding.
+   *
+   * @param name The yard name.
+   * @param sidingId The siding ID.
+   * @param siding The siding. Only the length is used.
+   * @return The siding along with the consists that fit in it.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   * @throws IllegalArgumentException Thrown if the siding length is missing or not positive.
+   */
+  public SidingFit saveSiding(String name, String sidingId, Siding siding) {
+    requireNonNull(siding, "The siding must not be null.");
+    requireNonNull(sidingId, "The siding ID must not be null.");
+
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      state.putSiding(new Siding(sidingId, siding.length()));
+
+      yardDao.save(state.toYard(false));
+      return state.sidingFit(sidingId);
+    }
+  }
+
+  /**
+   * Remove a siding from a yard.
+   *
+   * @param name The yard name.
+   * @param sidingId The ID of the siding to remove.
+   * @throws NoSuchElementException Thrown if the yard or the siding doesn't exist.
+   */
+  public void deleteSiding(String name, String sidingId) {
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      if(Objects.isNull(state.sidings.remove(sidingId))) {
+        throw new NoSuchElementException(
+            "Siding with ID=" + sidingId + " was not found in yard " + name + ".");
+      }
+
+      state.sidingIndex.remove(sidingId);
+      yardDao.save(state.toYard(false));
+    }
+  }
+
+  /**
+   * Add a consist to a yard or replace all of the cars of an existing consist.
+   *
+   * @param name The yard name.
+   * @param consistId The consist ID.
+   * @param consist The consist. Only the cars are used.
+   * @return The consist along with the sidings that can hold it.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   * @throws IllegalArgumentException Thrown if a car is invalid.
+   */
+  public ConsistFit saveConsist(String name, String consistId, Consist consist) {
+    requireNonNull(consist, "The consist must not be null.");
+    requireNonNull(consistId, "The consist ID must not be null.");
+
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      ConsistState consistState = state.putConsist(consistId, consist.cars());
+
+      yardDao.save(state.toYard(false));
+      return state.consistFit(consistState);
+    }
+  }
+
+  /**
+   * Remove a consist from a yard.
+   *
+   * @param name The yard name.
+   * @param consistId The ID of the consist to remove.
+   * @throws NoSuchElementException Thrown if the yard or the consist doesn't exist.
+   */
+  public void deleteConsist(String name, String consistId) {
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      state.findConsist(consistId);
+      state.consists.remove(consistId);
+      state.consistIndex.remove(consistId);
+      yardDao.save(state.toYard(false));
+    }
+  }
+
+  /**
+   * Add a car to the end of a consist or change the length of a car already in it. Only this car
+   * is scaled. The consist is created if it doesn't exist.
+   *
+   * @param name The yard name.
+   * @param consistId The consist ID.
+   * @param carId The car ID.
+   * @param car The car. The full size length must be supplied.
+   * @return The consist along with the sidings that can hold it.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   * @throws IllegalArgumentException Thrown if the car length is missing or not positive.
+   */
+  public ConsistFit saveCar(String name, String consistId, String carId, Car car) {
+    requireNonNull(car, "The car must not be null.");
+    requireNonNull(consistId, "The consist ID must not be null.");
+    requireNonNull(carId, "The car ID must not be null.");
+
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      long micrometers = state.scaleCar(car);
+      ConsistState consistState =
+          state.consists.computeIfAbsent(consistId, id -> new ConsistState(id));
+
+      consistState.put(new Car(carId, car.description(), car.length(), null), micrometers);
+      state.consistIndex.put(consistId, consistState.lengths.total());
+
+      yardDao.save(state.toYard(false));
+      return state.consistFit(consistState);
+    }
+  }
+
+  /**
+   * Remove a car from a consist. The cars behind it move up.
+   *
+   * @param name The yard name.
+   * @param consistId The consist ID.
+   * @param carId The ID of the car to remove.
+   * @return The consist along with the sidings that can hold it.
+   * @throws NoSuchElementException Thrown if the yard, consist or car doesn't exist.
+   */
+  public ConsistFit deleteCar(String name, String consistId, String carId) {
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      ConsistState consistState = state.findConsist(consistId);
+
+      if(!consistState.remove(carId)) {
+        throw new NoSuchElementException(
+            "Car with ID=" + carId + " was not found in consist " + consistId + ".");
+      }
+
+      state.consistIndex.put(consistId, consistState.lengths.total());
+
+      yardDao.save(state.toYard(false));
+      return state.consistFit(consistState);
+    }
+  }
+
+  /**
+   * Find which consists fit which sidings in a yard.
+   *
+   * @param name The yard name.
+   * @return Each siding with the consists it can hold and each consist with the sidings that can
+   *         hold it.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   */
+  public YardFits retrieveFits(String name) {
+    YardState state = findYard(name);
+
+    synchronized(state) {
+      requireCurrent(name, state);
+      List<SidingFit> sidings = new ArrayList<>();
+      List<ConsistFit> consists = new ArrayList<>();
+
+      for(String sidingId : state.sidingIndex.ascending()) {
+        sidings.add(state.sidingFit(sidingId));
+      }
+
+      for(String consistId : state.consistIndex.ascending().reversed()) {
+        consists.add(state.consistFit(state.consists.get(consistId)));
+      }
+
+      return new YardFits(state.name, state.scale, state.outputMeasurement, sidings, consists);
+    }
+  }
+
+  /**
+   * @param name The yard name.
+   * @return The yard state.
+   * @throws NoSuchElementException Thrown if the yard doesn't exist.
+   */
+  private YardState findYard(String name) {
+    YardState state = yards.get(name);
+
+    if(Objects.isNull(state)) {
+      throw new NoSuchElementException("Yard with name=" + name + " was not found.");
+    }
+
+    return state;
+  }
+
+  /**
+   * Check that a yard wasn't deleted while the caller waited for its lock. Without this a change
+   * that was waiting for {@link #deleteYard(String)} would save the deleted yard again. The caller
+   * must hold the yard's lock.
+   *
+   * @param name The yard name.
+   * @param state The yard state the caller locked.
+   * @throws NoSuchElementException Thrown if the yard was deleted.
+   */
+  private void requireCurrent(String name, YardState state) {
+    if(yards.get(name) != state) {
+      throw new NoSuchElementException("Yard with name=" + name + " was not found.");
+    }
+  }
+
+  /**
+   * The yard name is used as a file name so it is restricted to letters, digits, spaces,
+   * underscores and dashes.
+   *
+   * @param name The yard name.
+   * @throws IllegalArgumentException Thrown if the name is not valid.
+   */
+  private void validateName(String name) {
+    if(Objects.isNull(name) || !VALID_NAME.matcher(name).matches()) {
+      throw new IllegalArgumentException(name + " is not a valid yard name.");
+    }
+  }
+
+  /**
+   * @param obj The object to test.
+   * @param message The message to supply to the exception, if thrown.
+   * @throws IllegalArgumentException Thrown if the required object is {@code null}.
+   */
+  private void requireNonNull(Object obj, String message) {
+    if(Objects.isNull(obj)) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  /**
+   * @param length The length to convert.
+   * @param what What the length belongs to, for the exception message.
+   * @return The length in micrometers.
+   * @throws IllegalArgumentException Thrown if the length is missing or not positive.
+   */
+  private long toMicrometers(Dimension length, String what) {
+    requireNonNull(length, "The " + what + " length must not be null.");
+
+    long micrometers = scalerService.toMillimeters(length).multiply(MICROMETERS_PER_MM)
+        .setScale(0, RoundingMode.HALF_UP).longValueExact();
+
+    if(micrometers <= 0) {
+      throw new IllegalArgumentException("The " + what + " length must be positive.");
+    }
+
+    return micrometers;
+  }
+
+  /**
+   * A car along with its slot in the consist's prefix sums and its model length.
+   */
+  private record CarEntry(Car input, int slot, long micrometers) {
+  }
+
+  /**
+   * The cars of a consist in order. Callers must synchronize on the yard state.
+   */
+  private static class ConsistState {
+    private final String id;
+    private final Map<String, CarEntry> cars = new LinkedHashMap<>();
+    private ConsistLengths lengths = new ConsistLengths();
+
+    ConsistState(String id) {
+      this.id = id;
+    }
+
+    /**
+     * Add the car at the end or change the length of the car in place.
+     */
+    void put(Car input, long micrometers) {
+      CarEntry previous = cars.get(input.id());
+
+      if(Objects.isNull(previous)) {
+        cars.put(input.id(), new CarEntry(input, lengths.append(micrometers), micrometers));
+      }
+      else {
+        lengths.set(previous.slot(), micrometers);
+        cars.put(input.id(), new CarEntry(input, previous.slot(), micrometers));
+      }
+    }
+
+    boolean remove(String carId) {
+      CarEntry previous = cars.remove(carId);
+
+      if(Objects.isNull(previous)) {
+        return false;
+      }
+
+      lengths.remove(previous.slot());
+
+      if(lengths.isSparse()) {
+        compact();
+      }
+
+      return true;
+    }
+
+    /**
+     * Rebuild the prefix sums without the empty slots left by removed cars.
+     */
+    private void compact() {
+      lengths = new ConsistLengths();
+      cars.replaceAll((carId, entry) -> new CarEntry(entry.input(),
+          lengths.append(entry.micrometers()), entry.micrometers()));
+    }
+  }
+
+  /**
+   * A siding along with its length in micrometers.
+   */
+  private record SidingEntry(Siding input, long micrometers) {
+  }
+
+  /**
+   * The in-memory state of a yard. Callers must synchronize on the state object.
+   */
+  private class YardState {
+    private final String name;
+    private Scale scale;
+    private Measurement outputMeasurement;
+    private final Map<String, SidingEntry> sidings = new LinkedHashMap<>();
+    private final Map<String, ConsistState> consists = new LinkedHashMap<>();
+    private final LengthIndex sidingIndex = new LengthIndex();
+    private final LengthIndex consistIndex = new LengthIndex();
+
+    YardState(String name, Scale scale, Measurement outputMeasurement) {
+      this.name = name;
+      this.scale = scale;
+      this.outputMeasurement = outputMeasurement;
+    }
+
+    void putSiding(Siding siding) {
+      long micrometers = toMicrometers(siding.length(), "siding");
+
+      sidings.put(siding.id(), new SidingEntry(siding, micrometers));
+      sidingIndex.put(siding.id(), micrometers);
+    }
+
+    /**
+     * Replace the consist with one made of the given cars. The cars are all scaled before anything
+     * is changed so that an invalid car leaves the yard as it was.
+     */
+    ConsistState putConsist(String consistId, List<Car> cars) {
+      ConsistState consist = new ConsistState(consistId);
+
+      if(Objects.nonNull(cars)) {
+        for(Car car : cars) {
+          requireNonNull(car, "The car must not be null.");
+          requireNonNull(car.id(), "The car ID must not be null.");
+          consist.put(new Car(car.id(), car.description(), car.length(), null), scaleCar(car));
+        }
+      }
+
+      consists.put(consistId, consist);
+      consistIndex.put(consistId, consist.lengths.total());
+      return consist;
+    }
+
+    ConsistState findConsist(String consistId) {
+      ConsistState consist = consists.get(consistId);
+
+      if(Objects.isNull(consist)) {
+        throw new NoSuchElementException(
+            "Consist with ID=" + consistId + " was not found in yard " + name + ".");
+      }
+
+      return consist;
+    }
+
+    /**
+     * Apply new settings. The output measurement is only applied when lengths are returned, so
+     * only a change of scale rescales the cars.
+     */
+    void changeSettings(Scale newScale, Measurement newOutputMeasurement) {
+      outputMeasurement = newOutputMeasurement;
+
+      if(scale == newScale) {
+        return;
+      }
+
+      scale = newScale;
+
+      for(ConsistState consist : consists.values()) {
+        consist.cars.replaceAll((carId, entry) -> {
+          long micrometers = scaleCar(entry.input());
+
+          consist.lengths.set(entry.slot(), micrometers);
+          return new CarEntry(entry.input(), entry.slot(), micrometers);
+        });
+
+        consistIndex.put(consist.id, consist.lengths.total());
+      }
+    }
+
+    /**
+     * Scale the full size car length to a model length in micrometers.
+     */
+    long scaleCar(Car car) {
+      long fullsize = toMicrometers(car.length(), "car");
+
+      return BigDecimal.valueOf(fullsize).divide(scale.getFactor(), 0, RoundingMode.HALF_UP)
+          .longValueExact();
+    }
+
+    SidingFit sidingFit(String sidingId) {
+      long micrometers = sidings.get(sidingId).micrometers();
+
+      return new SidingFit(sidingId, output(micrometers), consistIndex.atMost(micrometers));
+    }
+
+    ConsistFit consistFit(ConsistState consist) {
+      long total = consist.lengths.total();
+      List<String> fits = sidingIndex.atLeast(total);
+      Integer carsThatFit = null;
+
+      if(fits.isEmpty() && !sidings.isEmpty()) {
+        carsThatFit = consist.lengths.carsThatFit(sidingIndex.longest());
+      }
+
+      return new ConsistFit(consist.id, output(total), consist.lengths.cars(), fits, carsThatFit);
+    }
+
+    /**
+     * Express a length in micrometers in the output measurement.
+     */
+    private Dimension output(long micrometers) {
+      return scalerService.fromMillimeters(BigDecimal.valueOf(micrometers, MICROMETER_SCALE),
+          outputMeasurement);
+    }
+
+    /**
+     * @param resolved {@code true} to include the model lengths, {@code false} for the stored form
+     *        that only has the input lengths.
+     */
+    Yard toYard(boolean resolved) {
+      List<Consist> consistList = new ArrayList<>();
+
+      for(ConsistState consist : consists.values()) {
+        List<Car> cars = new ArrayList<>();
+
+        for(CarEntry entry : consist.cars.values()) {
+          Car input = entry.input();
+
+          cars.add(resolved ? new Car(input.id(), input.description(), input.length(),
+              output(entry.micrometers())) : input);
+        }
+
+        Dimension length = resolved ? output(consist.lengths.total()) : null;
+        consistList.add(new Consist(consist.id, cars, length));
+      }
+
+      // @formatter:off
+      return Yard.builder()
+          .name(name)
+          .scale(scale)
+          .outputMeasurement(outputMeasurement)
+          .sidings(sidings.values().stream().map(SidingEntry::input).toList())
+          .consists(consistList)
+          .build();
+      // @formatter:on
+    }
+  }
+}
@@ -0,0 +1,64 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.telemetry;
+
+import com.goosebumpdesigns.scaler.model.DetectorEvent;
+
+/**
+ * This class reads detector events in the line format written by timing sensors, the socket input
+ * and event recordings:
+ *
+ * <pre>
+ * micros,loco,block,detector
+ * 1718000000123456,4401,main-1,A
+ * </pre>
+ *
+ * Blank lines and lines starting with # are skipped. The fields are split by hand rather than with
+ * a regular expression because this runs for every event.
+ */
+public final class DetectorLines {
+  private DetectorLines() {
+  }
+
+  /**
+   * @param line A line.
+   * @return true if the line is blank or a comment.
+   */
+  public static boolean isSkipped(String line) {
+    return line.isBlank() || line.charAt(0) == '#';
+  }
+
+  /**
+   * @param line A line that is not skipped.
+   * @return The event on the line.
+   * @throws IllegalArgumentException Thrown if the line isn't a valid event.
+   */
+  public static DetectorEvent parse(String line) {
+    int first = line.indexOf(',');
+    int second = first < 0 ? -1 : line.indexOf(',', first + 1);
+    int third = second < 0 ? -1 : line.indexOf(',', second + 1);
+
+    if(third < 0 || line.indexOf(',', third + 1) >= 0) {
+      throw new IllegalArgumentException("Expected micros,loco,block,detector: " + line);
+    }
+
+    long micros;
+
+    try {
+      micros = Long.parseLong(line, 0, first, 10);
+    }
+    catch(NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid timestamp: " + line);
+    }
+
+    String loco = line.substring(first + 1, second).strip();
+    String block = line.substring(second + 1, third).strip();
+    String detector = line.substring(third + 1).strip();
+
+    if(loco.isEmpty() || block.isEmpty() || detector.isEmpty()) {
+      throw new IllegalArgumentException("Missing field: " + line);
+    }
+
+    return new DetectorEvent(micros, loco, block, detector);
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.telemetry;
+
+import com.goosebumpdesigns.scaler.model.LocoSpeedStats;
+import com.goosebumpdesigns.scaler.model.SpeedUnit;
+
+/**
+ * This class keeps the most recent scale speeds of one locomotive in a fixed size ring of
+ * primitive doubles, so recording a speed never allocates. The oldest speed is overwritten once
+ * the ring is full. The statistics are calculated when they are read.
+ */
+public class SpeedRing {
+  private final String loco;
+  private final double[] speeds;
+
+  private int next;
+  private int size;
+  private long readings;
+  private String lastBlock;
+
+  /**
+   * @param loco The locomotive.
+   * @param capacity The number of recent speeds kept.
+   */
+  public SpeedRing(String loco, int capacity) {
+    if(capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1.");
+    }
+
+    this.loco = loco;
+    this.speeds = new double[capacity];
+  }
+
+  /**
+   * @param kilometersPerHour The speed in scale km/h.
+   * @param block The block the speed was measured in.
+   */
+  public synchronized void add(double kilometersPerHour, String block) {
+    speeds[next] = kilometersPerHour;
+    next = next + 1 == speeds.length ? 0 : next + 1;
+    size = Math.min(size + 1, speeds.length);
+    readings++;
+    lastBlock = block;
+  }
+
+  /**
+   * @param unit The unit to report the speeds in.
+   * @return The statistics of the recent speeds, or null if there are none.
+   */
+  public synchronized LocoSpeedStats stats(SpeedUnit unit) {
+    if(size == 0) {
+      return null;
+    }
+
+    double sum = 0;
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+
+    for(int i = 0; i < size; i++) {
+      sum += speeds[i];
+      min = Math.min(min, speeds[i]);
+      max = Math.max(max, speeds[i]);
+    }
+
+    double last = speeds[next == 0 ? speeds.length - 1 : next - 1];
+
+    return new LocoSpeedStats(loco, unit, readings, unit.fromKilometersPerHour(last), lastBlock,
+        unit.fromKilometersPerHour(sum / size), unit.fromKilometersPerHour(min),
+        unit.fromKilometersPerHour(max));
+  }
+}
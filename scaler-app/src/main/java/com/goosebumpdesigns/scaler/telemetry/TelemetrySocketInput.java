@@ -0,0 +1,120 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.telemetry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.goosebumpdesigns.scaler.model.TelemetryResult;
+import com.goosebumpdesigns.scaler.service.TelemetryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This class reads detector events from a plain TCP socket, one event per line in the
+ * {@link DetectorLines} format. It suits sensor bridges that keep a connection open and write
+ * events as they happen, and recorded sessions can be replayed into it (i.e., with
+ * {@code nc localhost 7171 < session.csv}), as can a growing log file
+ * ({@code tail -F events.csv | nc localhost 7171}).
+ * <p>
+ * Each connection is read by its own virtual thread. The socket listens on the loopback address
+ * unless {@code scaler.telemetry.socket.address} says otherwise, since the events aren't
+ * authenticated.
+ */
+@Component
+@Slf4j
+public class TelemetrySocketInput {
+  @Value("${scaler.telemetry.socket.enabled:false}")
+  private boolean enabled;
+
+  @Value("${scaler.telemetry.socket.port:7171}")
+  private int port;
+
+  @Value("${scaler.telemetry.socket.address:127.0.0.1}")
+  private String address;
+
+  @Autowired
+  private TelemetryService telemetryService;
+
+  private volatile ServerSocket serverSocket;
+
+  /**
+   * Start listening.
+   *
+   * @throws UncheckedIOException Thrown if the socket can't be opened.
+   */
+  @PostConstruct
+  void start() {
+    if(!enabled) {
+      return;
+    }
+
+    try {
+      serverSocket = new ServerSocket(port, 50, InetAddress.getByName(address));
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    log.info("Reading detector events on {}", serverSocket.getLocalSocketAddress());
+    Thread.ofPlatform().name("telemetry-socket").daemon().start(this::acceptConnections);
+  }
+
+  /**
+   * Stop listening. Open connections are closed as they finish.
+   */
+  @PreDestroy
+  void stop() {
+    if(Objects.nonNull(serverSocket)) {
+      try {
+        serverSocket.close();
+      }
+      catch(IOException e) {
+        log.debug("Closing the telemetry socket: {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return The port the socket listens on, or -1 if it isn't listening.
+   */
+  public int getPort() {
+    return Objects.isNull(serverSocket) ? -1 : serverSocket.getLocalPort();
+  }
+
+  private void acceptConnections() {
+    while(!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread.ofVirtual().name("telemetry-client").start(() -> read(socket));
+      }
+      catch(IOException e) {
+        if(!serverSocket.isClosed()) {
+          log.warn("Accepting a telemetry connection failed: {}", e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void read(Socket socket) {
+    try(socket; BufferedReader reader = new BufferedReader(
+        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+      TelemetryResult result = telemetryService.ingest(reader);
+      log.info("Telemetry connection from {} closed: {}", socket.getRemoteSocketAddress(), result);
+    }
+    catch(IOException | UncheckedIOException e) {
+      log.debug("Telemetry connection from {} failed: {}", socket.getRemoteSocketAddress(),
+          e.getMessage());
+    }
+  }
+}
@@ -4,7 +4,17 @@
  */
 var Main = {
   POST_URL: "/scale",
+  CATALOG_URL: "/catalog",
+  CATALOG_LIMIT: 15,
+  TABLES_URL: "/tables/",
+  DIMENSION_NAMES: ["length", "width", "height"],
+  PLAIN_NUMBER: /^\s*\d*\.?\d+\s*$/,
+  HAS_UNIT: /[a-z'"\u2032\u2033]/i,
+  UNIT_SYMBOLS: { INCH: "in", FOOT: "ft", CM: "cm", MM: "mm" },
   _lengthEntered: false,
+  _catalogEntries: {},
+  _catalogPrefix: null,
+  _tables: {},
 
   /**
    * Initialize the page event handlers.
@@ -23,10 +33,80 @@ var Main = {
       Main._upatePageFields.call($form);
     });
 
-    $form.find("input").on("keyup", () => {
+    $form.find("input").not("[name=catalog]").on("keyup", () => {
       Main._lengthEntered = true;
       Main._upatePageFields.call($form);
     });
+
+    $form.find("input[name=catalog]").on("input", (event) => {
+      Main._catalogChanged.call($form, $(event.target).val());
+    });
+  },
+
+  /**
+   * Handle a change to the prototype field. If the value is a catalog name, its full size
+   * dimensions are copied to the form. Otherwise the names that start with the value are fetched
+   * for the autocomplete list.
+   */
+  _catalogChanged: function(value) {
+    const $form = this;
+    const entry = Main._catalogEntries[value];
+
+    if (entry) {
+      Main._fillFromCatalog.call($form, entry);
+      return;
+    }
+
+    const prefix = value.trim();
+
+    if (!prefix || prefix == Main._catalogPrefix) {
+      return;
+    }
+
+    Main._catalogPrefix = prefix;
+
+    $.getJSON(Main.CATALOG_URL, { prefix: prefix, limit: Main.CATALOG_LIMIT })
+    .done((entries) => {
+        /* Ignore a response to an older prefix */
+        if (prefix != Main._catalogPrefix) {
+          return;
+        }
+
+        const $list = $("#catalog-names").empty();
+
+        Main._catalogEntries = {};
+
+        entries.forEach((e) => {
+          Main._catalogEntries[e.name] = e;
+          $list.append($("<option>").attr("value", e.name));
+        });
+      });
+  },
+
+  /**
+   * Copy the full size dimensions of a catalog entry to the form and recalculate.
+   */
+  _fillFromCatalog: function(entry) {
+    const $form = this;
+    const dimensions = entry.fullsizeDimensions;
+
+    $form.find("select[name=type]").val("fullsize");
+
+    ["length", "width", "height"].forEach((name) => {
+      const $field = $form.find("input[name=" + name + "]");
+      const dimension = dimensions[name];
+
+      $field.val(dimension ? dimension.value.toFixed(2) : "");
+
+      if (dimension) {
+        $field.closest(".prompt-field").find("select").val(dimension.measurement);
+      }
+    });
+
+    $("#output-length, #output-width, #output-height").val("");
+
+    Main._lengthEntered = true;
+    Main._upatePageFields.call($form);
   },
 
   /**
@@ -48,12 +128,79 @@ var Main = {
     }
 
     const data = Main._gatherFormData.call($form);
+
+    Main._lookUpTables(data).done((model) => {
+        if (model) {
+          Main._displayData.call($form, { modelDimensions: model });
+        }
+        else {
+          Main._postData.call($form, data);
+        }
+      });
+  },
+
+  /**
+   * Look up full size dimensions in the reference tables built with the application. Only round
+   * numbers are in the tables. The tables are fetched once per scale and measurement.
+   *
+   * Returns a promise of the model dimensions, or of null if the data isn't a full size conversion
+   * or a dimension isn't in a table.
+   */
+  _lookUpTables: function(data) {
+    const dimensions = data.fullsizeDimensions;
+    const names = Main.DIMENSION_NAMES.filter((name) => dimensions && dimensions[name]);
+
+    /* Typed lengths (strings) are never in the tables */
+    if (!names.length || names.some((name) => typeof dimensions[name] === "string")) {
+      return $.Deferred().resolve(null).promise();
+    }
+
+    const requests = names.map((name) => Main._table(data.scale, dimensions[name].measurement));
+
+    return $.when.apply($, requests).then(function() {
+        const tables = arguments;
+        const model = {};
+
+        for (let i = 0; i < names.length; i++) {
+          const value = Number(dimensions[names[i]].value);
+          const row = tables[i] && !isNaN(value) ? tables[i].values[value.toFixed(2)] : null;
+
+          if (!row) {
+            return null;
+          }
+
+          model[names[i]] = {
+            value: row[data.outputMeasurement],
+            measurement: data.outputMeasurement
+          };
+        }
+
+        return model;
+      });
+  },
+
+  /**
+   * Returns a promise of the reference table for a scale and input measurement, or of null if
+   * there is no such table.
+   */
+  _table: function(scale, measurement) {
+    const url = Main.TABLES_URL + scale + "/" + measurement + ".json";
+
+    if (!Main._tables[url]) {
+      Main._tables[url] = $.getJSON(url).then((table) => table, () => $.Deferred().resolve(null));
+    }
+
+    return Main._tables[url];
+  },
+
+  /**
+   * Make the AJAX call to fill in the missing fields in the data object. For example, if full size
+   * dimensions are supplied by the user, model dimensions are returned, and vice versa.
+   */
+  _postData: function(data) {
+    const $form = this;
     const json = JSON.stringify(data);
 
-    /*
-     * Make the AJAX call to fill in the missing fields in the data object. For example, if
-     * full size dimensions are supplied by the user, model dimensions are returned, and vice versa.
-     */
     $.ajax(Main.POST_URL, {
       contentType: "application/json",
       data: json,
@@ -190,14 +337,19 @@ var Main = {
     const value = $field.val();
     const measurement = $field.closest(".prompt-field").find("select").val();
 
-    if (value) {
+    if (!value) {
+      return null;
+    }
+
+    if (Main.PLAIN_NUMBER.test(value)) {
       return {
         value: value,
         measurement: measurement
       };
     }
 
-    return null;
+    /* A typed length like 12' 6" is read by the server. One without a unit uses the select. */
+    return Main.HAS_UNIT.test(value) ? value : value + " " + Main.UNIT_SYMBOLS[measurement];
   }
 }
 
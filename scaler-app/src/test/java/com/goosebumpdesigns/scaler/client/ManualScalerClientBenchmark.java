@@ -0,0 +1,103 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.client;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * You can use this test to compare the {@link ScalerClient} with one blocking RestTemplate call
+ * per object, against a locally started server. It converts the same objects both ways and prints
+ * the objects per second and the number of HTTP requests. Run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualScalerClientBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class ManualScalerClientBenchmark {
+  private static final int OBJECTS = 20_000;
+  private static final int ROUNDS = 3;
+
+  @LocalServerPort
+  private int serverPort;
+
+  /**
+   * Run the benchmark.
+   */
+  @Test
+  void test() {
+    URI baseUri = URI.create("http://localhost:" + serverPort);
+    RestTemplate restTemplate = new RestTemplate();
+
+    try(ScalerClient client = ScalerClient.builder(baseUri).build()) {
+      for(int round = 0; round <= ROUNDS; round++) {
+        /* Round 0 warms up both sides */
+        List<ScalerData> objects = generate(round);
+
+        long start = System.nanoTime();
+
+        for(ScalerData object : objects) {
+          restTemplate.postForObject(baseUri.resolve("/scale"), object, ScalerData.class);
+        }
+
+        long restNanos = System.nanoTime() - start;
+        long requestsBefore = client.getRequestCount();
+        start = System.nanoTime();
+
+        List<CompletableFuture<ScalerData>> results = objects.stream().map(client::scale).toList();
+        results.forEach(CompletableFuture::join);
+
+        long clientNanos = System.nanoTime() - start;
+        long requests = client.getRequestCount() - requestsBefore;
+
+        if(round > 0) {
+          System.out.printf("Round %d: one call per object %,.0f objects/s (%,d requests), "
+              + "ScalerClient %,.0f objects/s (%,d requests), %.1fx%n", round,
+              OBJECTS * 1e9 / restNanos, OBJECTS, OBJECTS * 1e9 / clientNanos, requests,
+              (double)restNanos / clientNanos);
+        }
+      }
+    }
+  }
+
+  /**
+   * Distinct objects for each round so the results aren't all in the server's cache.
+   */
+  private List<ScalerData> generate(int round) {
+    List<ScalerData> objects = new ArrayList<>(OBJECTS);
+    Scale[] scales = Scale.values();
+
+    for(int i = 0; i < OBJECTS; i++) {
+      BigDecimal feet = BigDecimal.valueOf(round * OBJECTS + i + 1, 2);
+
+      // @formatter:off
+      objects.add(ScalerData.builder()
+          .scale(scales[i % scales.length])
+          .outputMeasurement(Measurement.MM)
+          .fullsizeDimensions(new Dimensions(new Dimension(feet, Measurement.FOOT), null, null))
+          .build());
+      // @formatter:on
+    }
+
+    return objects;
+  }
+}
@@ -0,0 +1,131 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class ScalerClientTest {
+  @LocalServerPort
+  private int serverPort;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatConcurrentCallsAreBatched() {
+    // Given: a client
+    try(ScalerClient client = client().linger(Duration.ofMillis(20)).build()) {
+      List<ScalerData> requests = new ArrayList<>();
+
+      for(int i = 0; i < 1000; i++) {
+        requests.add(request(Scale.values()[i % Scale.values().length], 10 + i));
+      }
+
+      // When: 1,000 calls are made at once
+      List<CompletableFuture<ScalerData>> results = requests.stream().map(client::scale).toList();
+
+      // Then: each call gets its own result
+      for(int i = 0; i < requests.size(); i++) {
+        assertThat(results.get(i).join())
+            .isEqualTo(scalerService.supplyMissingFields(requests.get(i)));
+      }
+
+      // And: the calls were sent in a few batches
+      assertThat(client.getRequestCount()).isLessThanOrEqualTo(20);
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatOnlyInvalidEntriesOfABatchFail() {
+    // Given: a client and an invalid request that has both model and full size dimensions
+    try(ScalerClient client = client().linger(Duration.ofMillis(100)).build()) {
+      ScalerData invalid = request(Scale.HO, 40);
+      invalid.setModelDimensions(invalid.getFullsizeDimensions());
+
+      // When: it is batched with two valid requests
+      CompletableFuture<ScalerData> first = client.scale(request(Scale.HO, 50));
+      CompletableFuture<ScalerData> bad = client.scale(invalid);
+      CompletableFuture<ScalerData> last = client.scale(request(Scale.N, 50));
+
+      // Then: the valid requests succeed and the invalid one fails with the server's error
+      assertThat(first.join().getModelDimensions()).isNotNull();
+      assertThat(last.join().getModelDimensions()).isNotNull();
+      assertThat(bad).failsWithin(Duration.ofSeconds(10)).withThrowableThat()
+          .havingCause().isInstanceOfSatisfying(ScalerClientException.class,
+              e -> assertThat(e.getStatus()).isEqualTo(400));
+
+      // And: the batch was sent once and then one entry at a time
+      assertThat(client.getRequestCount()).isEqualTo(4);
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatCallsAreRejectedWhenTooManyArePending() {
+    // Given: a client that allows one pending call and doesn't wait
+    try(ScalerClient client =
+        client().maxPending(1).maxWait(Duration.ZERO).linger(Duration.ofMillis(200)).build()) {
+      CompletableFuture<ScalerData> first = client.scale(request(Scale.O, 12));
+
+      // When: a second call is made while the first is waiting to be sent
+      CompletableFuture<ScalerData> second = client.scale(request(Scale.O, 13));
+
+      // Then: the second call is rejected and the first completes
+      assertThat(second).isCompletedExceptionally();
+      assertThat(second).failsWithin(Duration.ZERO).withThrowableThat()
+          .havingCause().isInstanceOf(RejectedExecutionException.class);
+      assertThat(first.join().getModelDimensions()).isNotNull();
+
+      // And: calls are accepted again
+      assertThat(client.scale(request(Scale.O, 14)).join().getModelDimensions()).isNotNull();
+    }
+  }
+
+  private ScalerClient.Builder client() {
+    return ScalerClient.builder(URI.create("http://localhost:" + serverPort));
+  }
+
+  private static ScalerData request(Scale scale, int feet) {
+    // @formatter:off
+    return ScalerData.builder()
+        .scale(scale)
+        .outputMeasurement(Measurement.INCH)
+        .fullsizeDimensions(new Dimensions(
+            new Dimension(BigDecimal.valueOf(feet), Measurement.FOOT), null, null))
+        .build();
+    // @formatter:on
+  }
+}
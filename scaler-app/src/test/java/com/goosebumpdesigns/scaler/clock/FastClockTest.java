@@ -0,0 +1,165 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.FastClockSettings;
+import com.goosebumpdesigns.scaler.model.FastClockTime;
+import com.goosebumpdesigns.scaler.model.Scale;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ *
+ */
+class FastClockTest {
+
+  /** A subscriber that keeps the frames it is sent. */
+  private static class RecordingSubscriber implements ClockSubscriber {
+    private final List<byte[]> frames = new ArrayList<>();
+    private boolean gone;
+
+    @Override
+    public boolean offer(byte[] frame) {
+      frames.add(frame);
+      return !gone;
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatEveryTickIsEncodedOnceForAllSubscribers() {
+    // Given: 5,000 subscribers
+    FastClock clock = clock("HO", 0, true, 10_000);
+    List<RecordingSubscriber> subscribers = new ArrayList<>();
+
+    for(int i = 0; i < 5000; i++) {
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      clock.subscribe(subscriber);
+      subscribers.add(subscriber);
+    }
+
+    // When: the clock ticks twice
+    clock.tick();
+    clock.tick();
+
+    // Then: each subscriber got the current time when it subscribed, then one frame per tick
+    assertThat(subscribers).allSatisfy(s -> assertThat(s.frames).hasSize(3));
+
+    // And: all subscribers were handed the same frame on each tick
+    byte[] first = subscribers.get(0).frames.get(1);
+    byte[] second = subscribers.get(0).frames.get(2);
+    assertThat(subscribers).allSatisfy(s -> {
+      assertThat(s.frames.get(1)).isSameAs(first);
+      assertThat(s.frames.get(2)).isSameAs(second);
+    });
+
+    // And: the frame is a server-sent event
+    assertThat(new String(first, StandardCharsets.UTF_8))
+        .startsWith("event: time\ndata: {\"time\":\"06:").endsWith("}\n\n");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatSubscribersThatLeaveAreDropped() {
+    // Given: two subscribers, one of which goes away
+    FastClock clock = clock("HO", 0, true, 10);
+    RecordingSubscriber staying = new RecordingSubscriber();
+    RecordingSubscriber leaving = new RecordingSubscriber();
+    clock.subscribe(staying);
+    clock.subscribe(leaving);
+    leaving.gone = true;
+
+    // When: the clock ticks twice
+    clock.tick();
+    clock.tick();
+
+    // Then: the subscriber that left was sent one more frame and then dropped
+    assertThat(clock.subscriberCount()).isEqualTo(1);
+    assertThat(leaving.frames).hasSize(2);
+    assertThat(staying.frames).hasSize(3);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatSubscribersAreLimited() {
+    // Given: a clock that allows one subscriber
+    FastClock clock = clock("HO", 0, true, 1);
+    clock.subscribe(new RecordingSubscriber());
+
+    // When/Then: a second subscriber is rejected
+    assertThatThrownBy(() -> clock.subscribe(new RecordingSubscriber()))
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTheRatioDefaultsToTheScale() {
+    // Given: an N scale clock without a configured ratio
+    FastClock clock = clock("N", 0, false, 10);
+
+    // When: the time is read
+    FastClockTime time = clock.now();
+
+    // Then: the ratio is the square root of 160
+    assertThat(time.ratio()).isCloseTo(12.649, offset(0.001));
+    assertThat(FastClock.ratioOf(Scale.HO)).isCloseTo(9.333, offset(0.001));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatScaledTimePassesAtTheRatio() throws Exception {
+    // Given: a stopped clock set to 23:59:45 at 60:1
+    FastClock clock = clock("HO", 60, false, 10);
+    clock.update(new FastClockSettings("23:59:45", null, null, null));
+    assertThat(clock.now().time()).isEqualTo("23:59:45");
+
+    // When: the clock runs for half a real second
+    clock.update(new FastClockSettings(null, null, null, true));
+    Thread.sleep(500);
+    clock.update(new FastClockSettings(null, null, null, false));
+
+    // Then: about 30 scaled seconds passed, wrapping past midnight
+    assertThat(clock.now().time()).matches("00:00:[1-5][0-9]");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatInvalidSettingsAreRejected() {
+    // Given: a clock
+    FastClock clock = clock("HO", 0, false, 10);
+
+    // When/Then: a bad ratio, time or scale is rejected
+    assertThatThrownBy(() -> clock.update(new FastClockSettings(null, 0.0, null, null)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> clock.update(new FastClockSettings("25:00", null, null, null)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> clock.update(new FastClockSettings(null, null, "G", null)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static FastClock clock(String scale, double ratio, boolean running,
+      int maxSubscribers) {
+    return new FastClock(scale, ratio, "06:00", running, 1000, maxSubscribers,
+        new ObjectMapper(), new SimpleMeterRegistry());
+  }
+}
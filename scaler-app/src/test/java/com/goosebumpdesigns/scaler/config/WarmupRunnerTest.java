@@ -0,0 +1,45 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+
+/**
+ * 
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class},
+    properties = {"scaler.warmup.enabled=true", "scaler.warmup.iterations=500"})
+@ActiveProfiles("test")
+class WarmupRunnerTest {
+
+  @Autowired
+  private WarmupRunner warmupRunner;
+
+  @Autowired
+  private ApplicationAvailability applicationAvailability;
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatWarmupCompletesBeforeTheApplicationIsReady() {
+    // Given: an application started with warm-up enabled
+
+    // When: the application has started
+    ReadinessState readiness = applicationAvailability.getReadinessState();
+
+    // Then: all of the warm-up iterations ran
+    assertThat(warmupRunner.getCompletedIterations()).isEqualTo(500);
+
+    // And: the application is ready
+    assertThat(readiness).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+  }
+}
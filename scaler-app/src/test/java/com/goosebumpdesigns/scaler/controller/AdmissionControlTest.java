@@ -0,0 +1,70 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.controller.error.ErrorDetails;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ * 
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class},
+    properties = {"scaler.admission.client-rate=0.01", "scaler.admission.client-burst=1",
+        "scaler.admission.api-keys=rate-limit-test"})
+@ActiveProfiles("test")
+class AdmissionControlTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatClientOverRateLimitIsRejectedWithRetryAfter() {
+    // Given: a client that has used its only request
+    URI uri = buildUri();
+    Dimensions fullsizeDimensions = buildDimensions("40.00", "FOOT", null, null, null, null);
+    String body = buildBody(Scale.HO, Measurement.INCH, null, fullsizeDimensions);
+    HttpHeaders headers = buildJsonHeaders();
+    headers.set("X-API-Key", "rate-limit-test");
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+
+    ResponseEntity<String> first = restTemplate.exchange(request, String.class);
+
+    // When: the client makes another request
+    ResponseEntity<ErrorDetails> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the first request was admitted and the second is rejected with 429
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+    // And: the response tells the client when to retry
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+    assertThat(response.getBody().getErrorCode()).isEqualTo(429);
+    assertThat(response.getBody().getUri()).isEqualTo("/scale");
+
+    // And: a rejection on another path reports that path, not the cached one
+    ResponseEntity<ErrorDetails> bulk = restTemplate.exchange(
+        new RequestEntity<>("[" + body + "]", headers, HttpMethod.POST, buildUri("/scale/bulk")),
+        ErrorDetails.class);
+    assertThat(bulk.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    assertThat(bulk.getBody().getUri()).isEqualTo("/scale/bulk");
+  }
+}
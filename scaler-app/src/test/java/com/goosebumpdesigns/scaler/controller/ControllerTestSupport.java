@@ -3,10 +3,15 @@
 package com.goosebumpdesigns.scaler.controller;
 
 import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Objects;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -101,8 +106,16 @@ public class ControllerTestSupport {
    * @return
    */
   protected URI buildUri() {
+    return buildUri("/scale");
+  }
+
+  /**
+   * @param path
+   * @return
+   */
+  protected URI buildUri(String path) {
     try {
-      return new URI(String.format("http://localhost:%d/scale", serverPort));
+      return new URI(String.format("http://localhost:%d%s", serverPort, path));
     }
     catch(URISyntaxException e) {
       throw new IllegalStateException(e);
@@ -119,4 +132,25 @@ public class ControllerTestSupport {
     return headers;
   }
 
+  /**
+   * Invoke an operation of an actuator endpoint that is only exposed over JMX. Spring Boot switches
+   * JMX off in tests, so the test must set spring.jmx.enabled=true.
+   *
+   * @param endpoint The endpoint name as it appears in the MBean name (i.e., Servertiming).
+   * @param operation The name of the operation.
+   * @param arguments The arguments of the operation.
+   * @return The result of the operation, converted to maps and lists.
+   * @throws JMException Thrown if the endpoint or operation doesn't exist or fails.
+   */
+  protected Object invokeJmxEndpoint(String endpoint, String operation, Object... arguments)
+      throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = server.queryNames(
+        new ObjectName("org.springframework.boot:type=Endpoint,name=" + endpoint + ",*"), null)
+        .iterator().next();
+    String[] signature =
+        Arrays.stream(arguments).map(a -> a.getClass().getName()).toArray(String[]::new);
+
+    return server.invoke(name, operation, arguments, signature);
+  }
 }
@@ -0,0 +1,147 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.clock.FastClock;
+import com.goosebumpdesigns.scaler.model.FastClockSettings;
+import com.goosebumpdesigns.scaler.model.FastClockTime;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class FastClockControllerTest extends ControllerTestSupport {
+  private static final int SUBSCRIBERS = 3000;
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private FastClock fastClock;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatThousandsOfSubscribersReceiveTicks() throws Exception {
+    // Given: several thousand clients subscribed to the clock stream
+    URI uri = buildUri("/clock/stream");
+    List<Socket> sockets = new ArrayList<>();
+    CountDownLatch received = new CountDownLatch(SUBSCRIBERS);
+    AtomicInteger failures = new AtomicInteger();
+
+    try(ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for(int i = 0; i < SUBSCRIBERS; i++) {
+        Socket socket = new Socket(uri.getHost(), uri.getPort());
+        socket.setSoTimeout(15_000);
+        sockets.add(socket);
+
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET " + uri.getPath() + " HTTP/1.1\r\nHost: localhost\r\n"
+            + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+
+        readers.execute(() -> {
+          // When: each client reads the time sent when it subscribed and two ticks
+          try {
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            int events = 0;
+            String line;
+
+            while(events < 3 && (line = in.readLine()) != null) {
+              if(line.equals("event: time")) {
+                events++;
+              }
+            }
+
+            if(events == 3) {
+              received.countDown();
+            }
+            else {
+              failures.incrementAndGet();
+            }
+          }
+          catch(Exception e) {
+            failures.incrementAndGet();
+          }
+        });
+      }
+
+      // Then: every client receives the events
+      assertThat(received.await(60, TimeUnit.SECONDS)).isTrue();
+      assertThat(failures).hasValue(0);
+      assertThat(fastClock.subscriberCount()).isGreaterThanOrEqualTo(SUBSCRIBERS);
+    }
+    finally {
+      for(Socket socket : sockets) {
+        socket.close();
+      }
+    }
+
+    // And: the clients are dropped after they disconnect
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+    while(fastClock.subscriberCount() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+    }
+
+    assertThat(fastClock.subscriberCount()).isZero();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTheClockCanBeSet() {
+    // Given: a request to stop the clock at 07:30
+    String body = "{\"time\": \"07:30\", \"running\": false}";
+    RequestEntity<String> request =
+        new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.PUT, buildUri("/clock"));
+
+    // When: the clock is set
+    ResponseEntity<FastClockTime> response = restTemplate.exchange(request, FastClockTime.class);
+
+    // Then: the clock shows the new time and keeps showing it
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody().time()).isEqualTo("07:30:00");
+    assertThat(response.getBody().running()).isFalse();
+    assertThat(restTemplate.getForObject(buildUri("/clock"), FastClockTime.class).time())
+        .isEqualTo("07:30:00");
+
+    // And: an invalid ratio is rejected
+    RequestEntity<String> invalid = new RequestEntity<>("{\"ratio\": -1}", buildJsonHeaders(),
+        HttpMethod.PUT, buildUri("/clock"));
+    assertThat(restTemplate.exchange(invalid, String.class).getStatusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST);
+
+    // And: the clock is started again for the other tests
+    fastClock.update(new FastClockSettings(null, null, null, true));
+  }
+}
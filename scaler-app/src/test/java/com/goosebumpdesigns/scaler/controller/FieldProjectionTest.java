@@ -0,0 +1,141 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class FieldProjectionTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatOnlySelectedFieldsAreReturned() throws Exception {
+    // Given: a full size to model request that selects the model dimensions
+    String body = buildBody(Scale.HO, Measurement.CM, null,
+        buildDimensions("33.30", "FOOT", "9.70", "FOOT", null, null));
+    RequestEntity<String> request = new RequestEntity<>(body, buildJsonHeaders(),
+        HttpMethod.POST, buildUri("/scale?fields=modelDimensions"));
+
+    // When: the request is made
+    ResponseEntity<String> response = restTemplate.exchange(request, String.class);
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: only the model dimensions are returned, in full
+    JsonNode json = objectMapper.readTree(response.getBody());
+    assertThat(json.fieldNames()).toIterable().containsExactly("modelDimensions");
+    assertThat(json.get("modelDimensions").fieldNames()).toIterable()
+        .containsExactly("length", "width");
+    assertThat(json.at("/modelDimensions/length/measurement").asText()).isEqualTo("CM");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatBulkResponsesAreProjected() throws Exception {
+    // Given: a parts list that selects the target length and the target scale
+    CrossScaleData part = CrossScaleData
+        .builder() // @formatter:off
+        .sourceScale(Scale.HO)
+        .targetScale(Scale.N)
+        .outputMeasurement(Measurement.MM)
+        .sourceDimensions(buildDimensions("161.00", "MM", "33.00", "MM", null, null))
+        .build(); // @formatter:on
+
+    RequestEntity<List<CrossScaleData>> request = new RequestEntity<>(List.of(part, part),
+        buildJsonHeaders(), HttpMethod.POST,
+        buildUri("/scale/cross/bulk?fields=targetDimensions.length,targetScale"));
+
+    // When: the request is made
+    ResponseEntity<String> response = restTemplate.exchange(request, String.class);
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: each entry has only the target scale and the target length
+    JsonNode json = objectMapper.readTree(response.getBody());
+    assertThat(json).hasSize(2);
+
+    for(JsonNode entry : json) {
+      assertThat(entry.fieldNames()).toIterable()
+          .containsExactlyInAnyOrder("targetScale", "targetDimensions");
+      assertThat(entry.get("targetDimensions").fieldNames()).toIterable()
+          .containsExactly("length");
+      assertThat(entry.at("/targetDimensions/length/value").decimalValue())
+          .isEqualByComparingTo("87.64");
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAShorterPathSelectsEverythingInEitherOrder() throws Exception {
+    // Given: a request
+    String body = buildBody(Scale.HO, Measurement.CM, null,
+        buildDimensions("33.30", "FOOT", "9.70", "FOOT", null, null));
+
+    for(String fields : List.of("modelDimensions.length,modelDimensions",
+        "modelDimensions,modelDimensions.length")) {
+      // When: the selector has a path and a shorter path that covers it
+      RequestEntity<String> request = new RequestEntity<>(body, buildJsonHeaders(),
+          HttpMethod.POST, buildUri("/scale?fields=" + fields));
+      ResponseEntity<String> response = restTemplate.exchange(request, String.class);
+
+      // Then: the whole of the shorter path is returned
+      JsonNode json = objectMapper.readTree(response.getBody());
+      assertThat(json.fieldNames()).toIterable().as(fields).containsExactly("modelDimensions");
+      assertThat(json.get("modelDimensions").fieldNames()).toIterable().as(fields)
+          .containsExactly("length", "width");
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatUnknownFieldsAreRejected() {
+    // Given: a selector with a misspelled field
+    String body = buildBody(Scale.HO, Measurement.CM, null,
+        buildDimensions("33.30", "FOOT", null, null, null, null));
+    RequestEntity<String> request = new RequestEntity<>(body, buildJsonHeaders(),
+        HttpMethod.POST, buildUri("/scale?fields=modelDimensions.lenght"));
+
+    // When: the request is made
+    ResponseEntity<String> response = restTemplate.exchange(request, String.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+}
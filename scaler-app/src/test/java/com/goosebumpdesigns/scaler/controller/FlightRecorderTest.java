@@ -0,0 +1,147 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.jfr.ConversionEvent;
+import com.goosebumpdesigns.scaler.build.ConversionReport;
+import com.goosebumpdesigns.scaler.build.ConversionReport.Shape;
+import com.goosebumpdesigns.scaler.jfr.ErrorEvent;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * 
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class},
+    /* Spring Boot switches JMX off in tests. The flightrecorder endpoint is only on JMX. */
+    properties = "spring.jmx.enabled=true")
+@ActiveProfiles("test")
+class FlightRecorderTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @AfterEach
+  void stopRecording() throws JMException {
+    control("stop");
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatDumpIncludesConversionAndErrorEvents() throws IOException, JMException {
+    // Given: a recording is started on the running instance
+    Map<String, Object> started = control("start", "");
+    assertThat(started).containsEntry("state", "RUNNING");
+
+    // When: conversions of two shapes and an invalid request are made
+    for(String length : List.of("41.00", "51.00", "61.00")) {
+      post(buildBody(Scale.HO, Measurement.INCH, null,
+          buildDimensions(length, "FOOT", "9.50", "FOOT", null, null)));
+    }
+
+    post(buildBody(Scale.N, Measurement.FOOT, buildDimensions("3.75", "INCH", null, null, null,
+        null), null));
+    ResponseEntity<String> error = post(buildBody(Scale.HO, Measurement.INCH, null, null));
+
+    // And: the recording is dumped
+    Map<String, Object> dumped = control("dump");
+    Path recording = Path.of((String)dumped.get("directory"), (String)dumped.get("file"));
+
+    // Then: the conversions are summarized by shape
+    assertThat(error.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(ConversionReport.summarize(recording))
+        .extracting(Shape::scale, Shape::outputMeasurement, Shape::direction,
+            Shape::inputMeasurements, Shape::inputPrecision, Shape::count)
+        .contains(tuple("HO", "INCH", ConversionEvent.TO_MODEL, "FOOT,FOOT,-", 4, 3L),
+            tuple("N", "FOOT", ConversionEvent.TO_FULLSIZE, "INCH,-,-", 3, 1L));
+
+    // And: the error is recorded with its handler, status and message
+    List<RecordedEvent> errors = RecordingFile.readAllEvents(recording).stream()
+        .filter(e -> e.getEventType().getName().equals(ErrorEvent.NAME)).toList();
+
+    assertThat(errors).anySatisfy(e -> {
+      assertThat(e.getString("handler")).isEqualTo("handleIllegalArgumentException");
+      assertThat(e.getInt("status")).isEqualTo(400);
+      assertThat(e.getString("message"))
+          .isEqualTo("Must supply either full size or model dimensions.");
+    });
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatOnlyTheNewestDumpsAreKept() throws IOException, JMException {
+    // Given: a running recording
+    control("start", "");
+
+    // When: it is dumped more times than max-dumps (2 in the test profile)
+    Path directory = null;
+    String last = null;
+
+    for(int i = 0; i < 4; i++) {
+      Map<String, Object> dumped = control("dump");
+      directory = Path.of((String)dumped.get("directory"));
+      last = (String)dumped.get("file");
+    }
+
+    // Then: only the newest dumps are left
+    try(Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(f -> f.getFileName().toString()).filter(f -> f.endsWith(".jfr")))
+          .hasSizeLessThanOrEqualTo(2).contains(last);
+    }
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatRecordingCannotBeStartedOverHttp() throws JMException {
+    // When: a web client tries to start a recording
+    ResponseEntity<String> response = restTemplate.postForEntity(
+        buildUri("/actuator/flightrecorder/start"), Map.of("settings", "profile"), String.class);
+
+    // Then: the endpoint isn't found and no recording was started
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(control("state")).containsEntry("state", "NONE");
+  }
+
+  private Map<String, Object> control(String operation, Object... arguments) throws JMException {
+    return (Map<String, Object>)invokeJmxEndpoint("Flightrecorder", operation, arguments);
+  }
+
+  private ResponseEntity<String> post(String body) {
+    URI uri = buildUri();
+    HttpHeaders headers = buildJsonHeaders();
+    return restTemplate.exchange(new RequestEntity<>(body, headers, HttpMethod.POST, uri),
+        String.class);
+  }
+}
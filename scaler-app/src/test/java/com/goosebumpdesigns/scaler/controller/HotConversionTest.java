@@ -0,0 +1,117 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.config.CachePrewarmRunner;
+import com.goosebumpdesigns.scaler.dao.HotConversionDao;
+import com.goosebumpdesigns.scaler.model.HotConversion;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.HeavyHitterService;
+import com.goosebumpdesigns.scaler.service.ScalerCacheService;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class HotConversionTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private HotConversionDao hotConversionDao;
+
+  @Autowired
+  private CachePrewarmRunner cachePrewarmRunner;
+
+  @Autowired
+  private ScalerCacheService scalerCacheService;
+
+  @Autowired
+  private HeavyHitterService heavyHitterService;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFrequentRequestsAreListed() throws Exception {
+    // Given: a request that is made 25 times
+    String body = buildBody(Scale.TT, Measurement.MM, null,
+        buildDimensions("61.37", "FOOT", "9.83", "FOOT", null, null));
+
+    for(int i = 0; i < 25; i++) {
+      RequestEntity<String> request =
+          new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.POST, buildUri());
+      assertThat(restTemplate.exchange(request, String.class).getStatusCode())
+          .isEqualTo(HttpStatus.OK);
+    }
+
+    // When: the frequent requests are listed
+    ResponseEntity<String> response =
+        restTemplate.getForEntity(buildUri("/actuator/hotconversions"), String.class);
+
+    // Then: the request is listed with its count
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    JsonNode entry = null;
+
+    for(JsonNode node : objectMapper.readTree(response.getBody())) {
+      if(node.get("key").asText().startsWith("TT|mm|F|61.37 ft|9.83 ft|")) {
+        entry = node;
+      }
+    }
+
+    assertThat(entry).isNotNull();
+    assertThat(entry.get("count").asLong()).isGreaterThanOrEqualTo(25);
+    assertThat(entry.at("/request/scale").asText()).isEqualTo("TT");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatSavedRequestsAreCachedAtStartup() throws Exception {
+    // Given: a saved list with a request that isn't cached. Earlier runs save their lists too,
+    // so the length is chosen at random.
+    ScalerData request;
+
+    do {
+      String length = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1000, 100_000), 2)
+          .toPlainString();
+      request = objectMapper.readValue(buildBody(Scale.S, Measurement.CM, null,
+          buildDimensions(length, "FOOT", null, null, null, null)), ScalerData.class);
+    } while(scalerCacheService.isCachedLocally(request));
+
+    hotConversionDao.save(List.of(new HotConversion("saved", 12, request)));
+
+    // When: the list is loaded and replayed as at startup
+    ReflectionTestUtils.invokeMethod(heavyHitterService, "load");
+    cachePrewarmRunner.run(null);
+
+    // Then: the result is in the cache
+    assertThat(scalerCacheService.isCachedLocally(request)).isTrue();
+  }
+}
@@ -0,0 +1,167 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.JobState;
+import com.goosebumpdesigns.scaler.model.JobStatus;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class JobControllerTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatJobResultHasOneLinePerEntry() throws Exception {
+    // Given: three entries, one per line, and the second has no dimensions
+    ScalerData boxcar = ScalerData
+        .builder() // @formatter:off
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .fullsizeDimensions(buildDimensions("40.25", "FOOT", "10.15", "FOOT", null, null))
+        .build(); // @formatter:on
+    ScalerData invalid = ScalerData.builder().scale(Scale.HO).build();
+    String body = String.join("\n", objectMapper.writeValueAsString(boxcar),
+        objectMapper.writeValueAsString(invalid), objectMapper.writeValueAsString(boxcar));
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.parseMediaType(JobController.APPLICATION_NDJSON));
+    RequestEntity<String> request =
+        new RequestEntity<>(body, headers, HttpMethod.POST, buildUri("/jobs"));
+
+    // When: the job is submitted
+    ResponseEntity<JobStatus> response = restTemplate.exchange(request, JobStatus.class);
+
+    // Then: the job is accepted with the location of its status
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    URI location = response.getHeaders().getLocation();
+    assertThat(location.getPath()).isEqualTo("/jobs/" + response.getBody().getId());
+
+    // And: the job completes with one entry rejected
+    JobStatus status = awaitFinished(location);
+    assertThat(status.getState()).isEqualTo(JobState.COMPLETED);
+    assertThat(status.getProgress()).isEqualTo(100);
+    assertThat(status.getConverted()).isEqualTo(2);
+    assertThat(status.getFailed()).isEqualTo(1);
+    assertThat(status.getExpires()).isAfter(status.getFinished());
+
+    // And: the result has a line for each entry in order
+    ResponseEntity<String> result =
+        restTemplate.getForEntity(location + "/result", String.class);
+    assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(result.getHeaders().getContentType().toString())
+        .isEqualTo(JobController.APPLICATION_NDJSON);
+
+    List<String> lines = result.getBody().lines().toList();
+    assertThat(lines).hasSize(3);
+
+    for(int item : new int[] {0, 2}) {
+      JsonNode line = objectMapper.readTree(lines.get(item));
+      assertThat(line.at("/modelDimensions/length/measurement").asText()).isEqualTo("INCH");
+      assertThat(line.at("/modelDimensions/length/value").decimalValue()).isPositive();
+    }
+
+    JsonNode error = objectMapper.readTree(lines.get(1));
+    assertThat(error.get("item").asLong()).isEqualTo(1);
+    assertThat(error.get("error").asText()).isNotBlank();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatUploadedFileIsConverted() throws Exception {
+    // Given: a JSON array in an uploaded file
+    String body = "[" + buildBody(Scale.N, Measurement.MM, null,
+        buildDimensions("55.35", "FOOT", null, null, null, null)) + "]";
+    MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+    parts.add("file", new ByteArrayResource(body.getBytes()) {
+      @Override
+      public String getFilename() {
+        return "parts.json";
+      }
+    });
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+    RequestEntity<MultiValueMap<String, Object>> request =
+        new RequestEntity<>(parts, headers, HttpMethod.POST, buildUri("/jobs"));
+
+    // When: the file is submitted
+    ResponseEntity<JobStatus> response = restTemplate.exchange(request, JobStatus.class);
+
+    // Then: the job is accepted and converts the entry
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    assertThat(response.getBody().getInputBytes()).isEqualTo(body.length());
+
+    JobStatus status = awaitFinished(response.getHeaders().getLocation());
+    assertThat(status.getState()).isEqualTo(JobState.COMPLETED);
+    assertThat(status.getConverted()).isEqualTo(1);
+
+    // And: removing the finished job removes its result
+    restTemplate.delete(response.getHeaders().getLocation());
+    assertThat(restTemplate.getForEntity(response.getHeaders().getLocation(), String.class)
+        .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatUnknownJobIsNotFound() {
+    // Given: a job ID that was never issued
+    URI uri = buildUri("/jobs/00000000-0000-0000-0000-000000000000");
+
+    // When: the job is polled
+    ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+
+    // Then: the result status is 404
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  private JobStatus awaitFinished(URI location) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    JobStatus status = restTemplate.getForObject(location, JobStatus.class);
+
+    while(!status.getState().isFinished() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      status = restTemplate.getForObject(location, JobStatus.class);
+    }
+
+    return status;
+  }
+}
@@ -0,0 +1,80 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class MeshControllerTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatHoMeshIsRescaledToO() {
+    // Given: an HO mesh with one triangle whose first vertex is at 48, 96, 4.8 mm
+    ByteBuffer mesh = ByteBuffer.allocate(134).order(ByteOrder.LITTLE_ENDIAN);
+    mesh.putInt(80, 1).putFloat(96, 48f).putFloat(100, 96f).putFloat(104, 4.8f);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.parseMediaType(MeshController.MODEL_STL));
+    RequestEntity<byte[]> request = new RequestEntity<>(mesh.array(), headers, HttpMethod.POST,
+        buildUri("/mesh/rescale?sourceScale=HO&targetScale=o"));
+
+    // When: the mesh is rescaled
+    ResponseEntity<byte[]> response = restTemplate.exchange(request, byte[].class);
+
+    // Then: the result status is 200 and the mesh is the same size
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getContentLength()).isEqualTo(134);
+
+    // And: the vertex is 87.1/48 times larger
+    ByteBuffer result = ByteBuffer.wrap(response.getBody()).order(ByteOrder.LITTLE_ENDIAN);
+    assertThat(result.getFloat(96)).isCloseTo(87.1f, within(1e-4f));
+    assertThat(result.getFloat(100)).isCloseTo(174.2f, within(1e-4f));
+    assertThat(result.getFloat(104)).isCloseTo(8.71f, within(1e-4f));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTruncatedMeshIsRejected() {
+    // Given: a mesh whose header claims more triangles than it has
+    ByteBuffer mesh = ByteBuffer.allocate(134).order(ByteOrder.LITTLE_ENDIAN).putInt(80, 5);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+    RequestEntity<byte[]> request = new RequestEntity<>(mesh.array(), headers, HttpMethod.POST,
+        buildUri("/mesh/rescale?targetScale=N"));
+
+    // When: the mesh is rescaled
+    ResponseEntity<String> response = restTemplate.exchange(request, String.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+}
@@ -0,0 +1,214 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerCacheService;
+
+/**
+ * This test starts three instances on localhost that share the result cache and checks that
+ * results are cached by the owning instance and that requests still succeed when an owner is down.
+ * The last test stops an instance, so the order is fixed.
+ */
+@TestMethodOrder(OrderAnnotation.class)
+class PeerCacheTest {
+  private static final int INSTANCES = 3;
+  private static final String PEER_SECRET = "peer-cache-test";
+
+  private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+  private static final List<String> baseUris = new ArrayList<>();
+
+  private final RestTemplate restTemplate = new RestTemplate();
+
+  /**
+   * Start the instances. The ports are chosen before startup because every instance needs the
+   * full list of peers. The settings are passed as arguments so that they override
+   * application.yaml.
+   */
+  @BeforeAll
+  static void startInstances() throws IOException {
+    List<Integer> ports = new ArrayList<>();
+
+    for(int i = 0; i < INSTANCES; i++) {
+      try(ServerSocket socket = new ServerSocket(0)) {
+        ports.add(socket.getLocalPort());
+      }
+    }
+
+    ports.forEach(port -> baseUris.add("http://localhost:" + port));
+    String peers = String.join(",", baseUris);
+
+    for(int i = 0; i < INSTANCES; i++) {
+      // @formatter:off
+      contexts.add(new SpringApplicationBuilder(Scaler.class)
+          .profiles("test")
+          .run(
+              "--server.port=" + ports.get(i),
+              "--scaler.cache.self=" + baseUris.get(i),
+              "--scaler.cache.peers=" + peers,
+              "--scaler.cache.peer-secret=" + PEER_SECRET,
+              "--scaler.cache.peer-timeout-millis=2000",
+              "--scaler.cache.peer-retry-millis=60000",
+              "--scaler.hot.prewarm=false"));
+      // @formatter:on
+    }
+  }
+
+  /**
+   * Stop the instances that are still running.
+   */
+  @AfterAll
+  static void stopInstances() {
+    contexts.stream().filter(Objects::nonNull).forEach(ConfigurableApplicationContext::close);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  @Order(1)
+  void assertThatResultIsCachedByOwningPeer() {
+    // Given: a request that is owned by the second instance
+    ScalerData data = findRequestOwnedBy(1, "10.5");
+
+    // When: the request is sent to the first instance
+    ResponseEntity<ScalerData> response =
+        restTemplate.postForEntity(baseUris.get(0) + "/scale", data, ScalerData.class);
+
+    // Then: the model dimensions are returned
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody().getModelDimensions().length().value()).isNotNull();
+
+    // And: the owner and the first instance cached the result but the third did not
+    assertThat(cache(1).isCachedLocally(data)).isTrue();
+    assertThat(cache(0).isCachedLocally(data)).isTrue();
+    assertThat(cache(2).isCachedLocally(data)).isFalse();
+
+    // And: the owner returns the same result
+    ResponseEntity<ScalerData> fromOwner =
+        restTemplate.postForEntity(baseUris.get(1) + "/scale", data, ScalerData.class);
+    assertThat(fromOwner.getBody()).isEqualTo(response.getBody());
+  }
+
+  /**
+   * 
+   */
+  @Test
+  @Order(2)
+  void assertThatPeerEndpointRequiresTheSecret() {
+    // Given: a request that is owned by the first instance
+    ScalerData data = findRequestOwnedBy(0, "30.5");
+    String uri = baseUris.get(0) + ScalerCacheService.PEER_PATH;
+
+    // When: the request is sent to the peer endpoint without and with a wrong secret
+    HttpStatusCode missing = postToPeer(uri, data, null);
+    HttpStatusCode wrong = postToPeer(uri, data, "wrong");
+
+    // Then: the endpoint is hidden and nothing was cached
+    assertThat(missing).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(wrong).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(cache(0).isCachedLocally(data)).isFalse();
+
+    // And: the request is answered when the secret is sent
+    assertThat(postToPeer(uri, data, PEER_SECRET)).isEqualTo(HttpStatus.OK);
+    assertThat(cache(0).isCachedLocally(data)).isTrue();
+  }
+
+  /**
+   * 
+   */
+  @Test
+  @Order(3)
+  void assertThatRequestSucceedsWhenOwnerIsDown() {
+    // Given: a request owned by the third instance, which is stopped
+    ScalerData data = findRequestOwnedBy(2, "20.5");
+    contexts.get(2).close();
+    contexts.set(2, null);
+
+    // When: the request is sent to the first instance
+    ResponseEntity<ScalerData> response =
+        restTemplate.postForEntity(baseUris.get(0) + "/scale", data, ScalerData.class);
+
+    // Then: the result is calculated locally
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody().getModelDimensions().length().value()).isNotNull();
+    assertThat(cache(0).isCachedLocally(data)).isTrue();
+  }
+
+  private HttpStatusCode postToPeer(String uri, ScalerData data, String secret) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    if(Objects.nonNull(secret)) {
+      headers.set(ScalerCacheService.PEER_SECRET_HEADER, secret);
+    }
+
+    try {
+      return restTemplate.exchange(
+          new RequestEntity<>(data, headers, HttpMethod.POST, URI.create(uri)), String.class)
+          .getStatusCode();
+    }
+    catch(HttpStatusCodeException e) {
+      return e.getStatusCode();
+    }
+  }
+
+  private ScalerCacheService cache(int instance) {
+    return contexts.get(instance).getBean(ScalerCacheService.class);
+  }
+
+  /**
+   * Look for a request whose key is owned by the given instance. The start value should not be a
+   * round number, so that the request isn't answered from the reference tables.
+   */
+  private ScalerData findRequestOwnedBy(int instance, String start) {
+    BigDecimal value = new BigDecimal(start);
+
+    while(true) {
+      // @formatter:off
+      ScalerData data = ScalerData.builder()
+          .scale(Scale.HO)
+          .outputMeasurement(Measurement.INCH)
+          .fullsizeDimensions(
+              new Dimensions(new Dimension(value, Measurement.FOOT), null, null))
+          .build();
+      // @formatter:on
+
+      if(baseUris.get(instance).equals(cache(0).owner(data))) {
+        return data;
+      }
+
+      value = value.add(BigDecimal.ONE);
+    }
+  }
+}
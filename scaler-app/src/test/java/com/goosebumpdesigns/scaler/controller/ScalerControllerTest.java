@@ -0,0 +1,397 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.controller.error.ErrorDetails;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.model.StockSize;
+import com.goosebumpdesigns.scaler.model.StockSizes;
+
+/**
+ * 
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class ScalerControllerTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatMissingScaleThrowsException() {
+    // Given: a request body
+    URI uri = buildUri();
+
+    Dimensions modelDimensions = buildDimensions("144.00", "INCH", "5.00", "FOOT", "4.50", "FOOT");
+    Dimensions fullsizeDimensions =
+        buildDimensions("400.43", "INCH", "139.05", "MM", "12.3", "CM");
+    String body = buildBody(null, Measurement.FOOT, modelDimensions, fullsizeDimensions);
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+
+    // When: the request is made
+    ResponseEntity<?> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatMissingOutputMeasurementThrowsException() {
+    // Given: a request body
+    URI uri = buildUri();
+
+    Dimensions modelDimensions = buildDimensions("144.00", "INCH", "5.00", "FOOT", "4.50", "FOOT");
+    Dimensions fullsizeDimensions =
+        buildDimensions("400.43", "INCH", "139.05", "MM", "12.3", "CM");
+    String body = buildBody(Scale.HO, null, modelDimensions, fullsizeDimensions);
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+
+    // When: the request is made
+    ResponseEntity<?> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatSupplyingBothRealAndScaleMeasurementsThrowsException() {
+    // Given: a request body
+    URI uri = buildUri();
+
+    Dimensions modelDimensions = buildDimensions("144.00", "INCH", "5.00", "FOOT", "4.50", "FOOT");
+    Dimensions fullsizeDimensions =
+        buildDimensions("400.43", "INCH", "139.05", "MM", "12.3", "CM");
+    String body = buildBody(Scale.HO, Measurement.CM, modelDimensions, fullsizeDimensions);
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+
+    // When: the request is made
+    ResponseEntity<?> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatSupplyingNeitherRealOrScaleMeasurementsThrowsException() {
+    // Given: a request body
+    URI uri = buildUri();
+    String body = buildBody(Scale.HO, Measurement.CM, null, null);
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+
+    // When: the request is made
+    ResponseEntity<?> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatModelMeasurementIsCalculatedCorrectlyGivenFullSizeMeasurement() {
+    // Given: a scaler data object with real measurements
+    Scale scale = Scale.HO;
+    Measurement outputMeasurement = Measurement.CM;
+    Dimensions fullsizeDimensions =
+        buildDimensions("40.00", "FOOT", "12.50", "FOOT", "147.00", "INCH");
+    Dimensions modelDimensions = buildDimensions("14.00", "CM", "4.37", "CM", "4.29", "CM");
+
+    ScalerData expected = ScalerData
+        .builder() // @formatter:off
+        .scale(scale)
+        .outputMeasurement(outputMeasurement)
+        .fullsizeDimensions(fullsizeDimensions)
+        .modelDimensions(modelDimensions)
+        .build(); // @formatter:on
+
+    URI uri = buildUri();
+    String body = buildBody(scale, outputMeasurement, null, fullsizeDimensions);
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+    
+    // When: the request is made
+    ResponseEntity<?> response = restTemplate.exchange(request, ScalerData.class);
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: the actual result is what is expected
+    assertThat(response.getBody()).isEqualTo(expected);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatFullSizeMeasurementIsCalculatedCorrectlyGivenModelMeasurement() {
+    // Given: a scaler data object with scale measurements
+    Scale scale = Scale.HO;
+    Measurement outputMeasurement = Measurement.FOOT;
+    Dimensions modelDimensions = buildDimensions("18.75", "CM", "4.23", "CM", "27.50", "MM");
+    Dimensions fullsizeDimensions =
+        buildDimensions("53.58", "FOOT", "12.09", "FOOT", "7.86", "FOOT");
+
+    ScalerData expected = ScalerData
+        .builder() // @formatter:off
+        .scale(scale)
+        .outputMeasurement(outputMeasurement)
+        .fullsizeDimensions(fullsizeDimensions)
+        .modelDimensions(modelDimensions)
+        .build(); // @formatter:on
+
+    URI uri = buildUri();
+    String body = buildBody(scale, outputMeasurement, modelDimensions, null);
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<String> request = new RequestEntity<>(body, headers, HttpMethod.POST, uri);
+
+    System.out.println(body);
+
+    // When: the request is made
+    ResponseEntity<?> response = restTemplate.exchange(request, ScalerData.class);
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: the actual result is what is expected
+    assertThat(response.getBody()).isEqualTo(expected);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatBulkCrossScaleConversionReturnsTargetDimensions() {
+    // Given: an HO parts list to convert to N scale
+    Dimensions sourceDimensions = buildDimensions("160.00", "MM", "32.00", "MM", null, null);
+    Dimensions targetDimensions = buildDimensions("87.10", "MM", "17.42", "MM", null, null);
+
+    CrossScaleData part = CrossScaleData
+        .builder() // @formatter:off
+        .sourceScale(Scale.HO)
+        .targetScale(Scale.N)
+        .outputMeasurement(Measurement.MM)
+        .sourceDimensions(sourceDimensions)
+        .build(); // @formatter:on
+
+    URI uri = buildUri("/scale/cross/bulk");
+    HttpHeaders headers = buildJsonHeaders();
+    RequestEntity<List<CrossScaleData>> request =
+        new RequestEntity<>(List.of(part, part), headers, HttpMethod.POST, uri);
+
+    // When: the request is made
+    ResponseEntity<List<CrossScaleData>> response =
+        restTemplate.exchange(request, new ParameterizedTypeReference<List<CrossScaleData>>() {});
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: each part has N scale dimensions
+    assertThat(response.getBody()).hasSize(2)
+        .allSatisfy(d -> assertThat(d.getTargetDimensions()).isEqualTo(targetDimensions));
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatTypedLengthsAreAccepted() {
+    // Given: a full size length typed in feet and inches
+    String body = "{\"scale\":\"HO\",\"outputMeasurement\":\"CM\","
+        + "\"fullsizeDimensions\":{\"length\":\"40' 6\\\"\"}}";
+    RequestEntity<String> request =
+        new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.POST, buildUri());
+
+    // When: the request is made
+    ResponseEntity<ScalerData> response = restTemplate.exchange(request, ScalerData.class);
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: the length was read as 486 inches and scaled
+    assertThat(response.getBody().getFullsizeDimensions())
+        .isEqualTo(buildDimensions("486.00", "INCH", null, null, null, null));
+    assertThat(response.getBody().getModelDimensions())
+        .isEqualTo(buildDimensions("14.17", "CM", null, null, null, null));
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatInvalidTypedLengthIsRejected() {
+    // Given: a length with an unknown unit
+    String body = "{\"scale\":\"HO\",\"outputMeasurement\":\"CM\","
+        + "\"fullsizeDimensions\":{\"length\":\"40 furlongs\"}}";
+    RequestEntity<String> request =
+        new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.POST, buildUri());
+
+    // When: the request is made
+    ResponseEntity<ErrorDetails> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatBulkConversionReturnsEachResultInOrder() {
+    // Given: a list with a full size and a model entry
+    ScalerData fullsize = ScalerData
+        .builder() // @formatter:off
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.CM)
+        .fullsizeDimensions(buildDimensions("40.00", "FOOT", "12.50", "FOOT", "147.00", "INCH"))
+        .build(); // @formatter:on
+    ScalerData model = ScalerData
+        .builder() // @formatter:off
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.FOOT)
+        .modelDimensions(buildDimensions("18.75", "CM", "4.23", "CM", "27.50", "MM"))
+        .build(); // @formatter:on
+
+    RequestEntity<List<ScalerData>> request = new RequestEntity<>(List.of(fullsize, model),
+        buildJsonHeaders(), HttpMethod.POST, buildUri("/scale/bulk"));
+
+    // When: the request is made
+    ResponseEntity<List<ScalerData>> response =
+        restTemplate.exchange(request, new ParameterizedTypeReference<List<ScalerData>>() {});
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: each entry is filled in, in the order sent
+    assertThat(response.getBody()).extracting(ScalerData::getModelDimensions).containsExactly(
+        buildDimensions("14.00", "CM", "4.37", "CM", "4.29", "CM"),
+        buildDimensions("18.75", "CM", "4.23", "CM", "27.50", "MM"));
+    assertThat(response.getBody()).extracting(ScalerData::getFullsizeDimensions).containsExactly(
+        buildDimensions("40.00", "FOOT", "12.50", "FOOT", "147.00", "INCH"),
+        buildDimensions("53.58", "FOOT", "12.09", "FOOT", "7.86", "FOOT"));
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatModelDimensionsAreSnappedToStockSizes() {
+    // Given: a full size 2x6 plank (1 1/2" x 5 1/2") in HO to be made from styrene strip
+    String body = buildBody(Scale.HO, Measurement.INCH, null,
+        buildDimensions("1.50", "INCH", "5.50", "INCH", null, null));
+    RequestEntity<String> request = new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.POST,
+        buildUri("/scale?snap=styrene-strip"));
+
+    // When: the request is made
+    ResponseEntity<ScalerData> response = restTemplate.exchange(request, ScalerData.class);
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: the nearest strip sizes are returned with their errors
+    assertThat(response.getBody().getStockSizes()).isEqualTo(new StockSizes(
+        new StockSize("styrene-strip", new BigDecimal("0.015"), Measurement.INCH,
+            new BigDecimal("-0.0022")),
+        new StockSize("styrene-strip", new BigDecimal("0.060"), Measurement.INCH,
+            new BigDecimal("-0.0031")),
+        null));
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatBulkEntriesAreSnappedInTheModelMeasurement() {
+    // Given: a model entry in millimeters and a full size entry converted to inches
+    ScalerData model = ScalerData
+        .builder() // @formatter:off
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.FOOT)
+        .modelDimensions(buildDimensions("1.13", "MM", "2.90", "MM", null, null))
+        .build(); // @formatter:on
+    ScalerData fullsize = ScalerData
+        .builder() // @formatter:off
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .fullsizeDimensions(buildDimensions("1.00", "FOOT", null, null, null, null))
+        .build(); // @formatter:on
+
+    RequestEntity<List<ScalerData>> request = new RequestEntity<>(List.of(model, fullsize),
+        buildJsonHeaders(), HttpMethod.POST, buildUri("/scale/bulk?snap=brass-tube"));
+
+    // When: the request is made
+    ResponseEntity<List<ScalerData>> response =
+        restTemplate.exchange(request, new ParameterizedTypeReference<List<ScalerData>>() {});
+
+    // Then: the result status is 200
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // And: the model entry is snapped to metric tube and the full size entry to inch tube
+    assertThat(response.getBody()).extracting(ScalerData::getStockSizes).containsExactly(
+        new StockSizes(
+            new StockSize("brass-tube", new BigDecimal("1.2"), Measurement.MM,
+                new BigDecimal("0.0700")),
+            new StockSize("brass-tube", new BigDecimal("3.0"), Measurement.MM,
+                new BigDecimal("0.1000")),
+            null),
+        new StockSizes(
+            new StockSize("brass-tube", new BigDecimal("0.125"), Measurement.INCH,
+                new BigDecimal("-0.0128")),
+            null, null));
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatUnknownStockMaterialIsRejected() {
+    // Given: a request to snap to a material that isn't stocked
+    String body = buildBody(Scale.HO, Measurement.INCH, null,
+        buildDimensions("1.50", "INCH", null, null, null, null));
+    RequestEntity<String> request = new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.POST,
+        buildUri("/scale?snap=balsa"));
+
+    // When: the request is made
+    ResponseEntity<ErrorDetails> response = restTemplate.exchange(request, ErrorDetails.class);
+
+    // Then: the result status is 400
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+}
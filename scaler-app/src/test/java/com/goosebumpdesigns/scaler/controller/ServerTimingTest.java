@@ -0,0 +1,127 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.net.URI;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.controller.timing.ServerTimingFilter;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class},
+    /* Spring Boot switches JMX off in tests. The servertiming endpoint is only on JMX. */
+    properties = "spring.jmx.enabled=true")
+@ActiveProfiles("test")
+class ServerTimingTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @AfterEach
+  void disableTiming() {
+    StageTimings.setEnabled(false);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatServerTimingHeaderIncludesEachStage() throws Exception {
+    // Given: timing is switched on at runtime over JMX
+    invokeJmxEndpoint("Servertiming", "setEnabled", true);
+    assertThat(StageTimings.isEnabled()).isTrue();
+
+    // When: a scaling request is made that isn't in the reference tables
+    Dimensions fullsizeDimensions = buildDimensions("40.50", "FOOT", "10.25", "FOOT", null, null);
+    ResponseEntity<String> response = post(buildBody(Scale.HO, Measurement.INCH, null,
+        fullsizeDimensions));
+
+    // Then: the Server-Timing header includes each stage of a successful request
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING))
+        .contains("parse;dur=", "queue;dur=", "validate;dur=", "convert;dur=", "serialize;dur=",
+            "total;dur=");
+
+    // And: the stages are aggregated into histograms
+    assertThat(meterRegistry.get("scaler.request.stage").tag("stage", "convert").timer().count())
+        .isPositive();
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatServerTimingHeaderIncludesErrorStage() {
+    // Given: timing is switched on
+    StageTimings.setEnabled(true);
+
+    // When: an invalid request is made
+    ResponseEntity<String> response = post(buildBody(Scale.HO, Measurement.INCH, null, null));
+
+    // Then: the Server-Timing header includes the error stage
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING))
+        .contains("error;dur=");
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatNoHeaderIsReturnedWhenTimingIsOff() {
+    // Given: timing is switched off
+    StageTimings.setEnabled(false);
+
+    // When: a scaling request is made
+    Dimensions fullsizeDimensions = buildDimensions("40.00", "FOOT", null, null, null, null);
+    ResponseEntity<String> response = post(buildBody(Scale.HO, Measurement.INCH, null,
+        fullsizeDimensions));
+
+    // Then: there is no Server-Timing header
+    assertThat(response.getHeaders().containsKey(ServerTimingFilter.SERVER_TIMING)).isFalse();
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatTimingCannotBeSwitchedOnOverHttp() {
+    // When: a web client tries to switch timing on
+    ResponseEntity<String> response = restTemplate.postForEntity(
+        buildUri("/actuator/servertiming"), Map.of("enabled", true), String.class);
+
+    // Then: the endpoint isn't found and timing stays off
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(StageTimings.isEnabled()).isFalse();
+  }
+
+  private ResponseEntity<String> post(String body) {
+    URI uri = buildUri();
+    HttpHeaders headers = buildJsonHeaders();
+    return restTemplate.exchange(new RequestEntity<>(body, headers, HttpMethod.POST, uri),
+        String.class);
+  }
+}
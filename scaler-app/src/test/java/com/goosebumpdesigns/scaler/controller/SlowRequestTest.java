@@ -0,0 +1,153 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.Map;
+import javax.management.JMException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.controller.sampler.SlowRequestSampler;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class},
+    /* Spring Boot switches JMX off in tests. The slowrequests endpoint is only on JMX. */
+    properties = "spring.jmx.enabled=true")
+@ActiveProfiles("test")
+class SlowRequestTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private SlowRequestSampler slowRequestSampler;
+
+  @AfterEach
+  void restoreThreshold() {
+    slowRequestSampler.setThresholdMillis(250);
+    slowRequestSampler.clear();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatCapturedRequestsCanBeReplayed() throws Exception {
+    // Given: every request is slow
+    invokeJmxEndpoint("Slowrequests", "setThresholdMillis", 0L);
+    invokeJmxEndpoint("Slowrequests", "clear");
+
+    // When: a request is made
+    String body = buildBody(Scale.S, Measurement.INCH, null,
+        buildDimensions("47.25", "FOOT", "9.50", "FOOT", null, null));
+    ResponseEntity<String> original = post("/scale?snap=stripwood", body);
+    assertThat(original.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    // Then: it is captured with its timings and threads
+    JsonNode dump = dump();
+    assertThat(dump.get("thresholdMillis").asLong()).isZero();
+    assertThat(dump.get("samples")).hasSize(1);
+
+    JsonNode sample = dump.get("samples").get(0);
+    assertThat(sample.get("failed").asBoolean()).isFalse();
+    assertThat(sample.get("totalMillis").decimalValue()).isGreaterThanOrEqualTo(
+        sample.get("queueMillis").decimalValue().add(sample.get("runMillis").decimalValue()));
+    assertThat(sample.get("requestThread").asText()).isNotBlank();
+    assertThat(sample.get("workerThread").asText()).isNotBlank();
+
+    // And: the request can be sent again as it was captured
+    JsonNode request = sample.get("request");
+    assertThat(request.get("method").asText()).isEqualTo("POST");
+    assertThat(request.get("path").asText()).isEqualTo("/scale?snap=stripwood");
+
+    ResponseEntity<String> replayed =
+        post(request.get("path").asText(), objectMapper.writeValueAsString(request.get("body")));
+    assertThat(objectMapper.readTree(replayed.getBody()))
+        .isEqualTo(objectMapper.readTree(original.getBody()));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFastRequestsAreNotCaptured() throws Exception {
+    // Given: a threshold no request reaches
+    slowRequestSampler.setThresholdMillis(60_000);
+    slowRequestSampler.clear();
+
+    // When: a request is made
+    post("/scale", buildBody(Scale.HO, Measurement.INCH, null,
+        buildDimensions("40", "FOOT", null, null, null, null)));
+
+    // Then: nothing is captured
+    assertThat(dump().get("samples")).isEmpty();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatRejectedRequestsAreCapturedAsFailed() throws Exception {
+    // Given: every request is slow
+    slowRequestSampler.setThresholdMillis(0);
+    slowRequestSampler.clear();
+
+    // When: a request with an unknown material is made
+    String body = buildBody(Scale.HO, Measurement.INCH, null,
+        buildDimensions("40", "FOOT", null, null, null, null));
+    ResponseEntity<String> response = post("/scale?snap=balsa", body);
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+    // Then: it is captured as failed, with its body, and never reached a lane
+    JsonNode sample = dump().get("samples").get(0);
+    assertThat(sample.get("failed").asBoolean()).isTrue();
+    assertThat(sample.has("workerThread")).isFalse();
+    assertThat(sample.get("request").get("body").get("scale").asText()).isEqualTo("HO");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatSamplesCannotBeReadOverHttp() throws Exception {
+    // When: a web client tries to read the samples or lower the threshold
+    ResponseEntity<String> read =
+        restTemplate.getForEntity(buildUri("/actuator/slowrequests"), String.class);
+    ResponseEntity<String> write = restTemplate.postForEntity(
+        buildUri("/actuator/slowrequests"), Map.of("thresholdMillis", 0), String.class);
+
+    // Then: the endpoint isn't found and the threshold is unchanged
+    assertThat(read.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(write.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(dump().get("thresholdMillis").asLong()).isEqualTo(250);
+  }
+
+  private JsonNode dump() throws JMException {
+    return objectMapper.valueToTree(invokeJmxEndpoint("Slowrequests", "dump"));
+  }
+
+  private ResponseEntity<String> post(String path, String body) {
+    RequestEntity<String> request =
+        new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.POST, buildUri(path));
+    return restTemplate.exchange(request, String.class);
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.goosebumpdesigns.scaler.Scaler;
+
+/**
+ * These tests check the files written by the asset pipeline, which runs in the process-classes
+ * phase before the tests.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class StaticAssetTest extends ControllerTestSupport {
+  private static final Pattern SCRIPT = Pattern.compile("src=\"(assets/main\\.[0-9a-f]+\\.js)\"");
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatPageUsesLocalFingerprintedAssets() {
+    // Given: the web UI
+    // When: the page is requested
+    ResponseEntity<String> response = restTemplate.getForEntity(buildUri("/"), String.class);
+
+    // Then: it refers to fingerprinted local files and must be revalidated
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).containsPattern("assets/jquery-3\\.7\\.1\\.min\\.[0-9a-f]+\\.js")
+        .containsPattern(SCRIPT).doesNotContain("code.jquery.com");
+    assertThat(response.getHeaders().getCacheControl()).contains("no-cache");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAssetIsImmutableAndPrecompressed() throws IOException {
+    // Given: the fingerprinted main.js
+    // When: it is requested by a browser that accepts gzip
+    ResponseEntity<byte[]> gzipped = requestScript("gzip");
+
+    // Then: the gzip version is returned with immutable caching
+    assertThat(gzipped.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    assertThat(gzipped.getHeaders().getCacheControl()).contains("immutable", "max-age=31536000");
+    assertThat(gzipped.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+
+    String script = new String(
+        new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody())).readAllBytes());
+    assertThat(script).contains("var Main");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatReferenceTablesAreServed() {
+    // Given: the reference tables written at build time
+    // When: the JSON and printable tables are requested
+    ResponseEntity<String> json =
+        restTemplate.getForEntity(buildUri("/tables/HO/FOOT.json"), String.class);
+    ResponseEntity<String> html =
+        restTemplate.getForEntity(buildUri("/tables/index.html"), String.class);
+
+    // Then: a 40 foot HO length is 5.51 inches
+    assertThat(json.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(json.getBody()).contains("\"40.00\": {\"INCH\": 5.51,");
+    assertThat(html.getBody()).contains("href=\"HO/FOOT.html\"");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatBrotliIsPreferredWhenAccepted() {
+    // Given: the fingerprinted main.js and a build platform with brotli support
+    assumeTrue(Brotli4jLoader.isAvailable());
+
+    // When: it is requested by a browser that accepts brotli and gzip
+    ResponseEntity<byte[]> brotli = requestScript("br, gzip");
+
+    // Then: the smaller brotli version is returned
+    assertThat(brotli.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+    assertThat(brotli.getBody().length).isLessThan(requestScript("gzip").getBody().length);
+  }
+
+  private ResponseEntity<byte[]> requestScript(String acceptEncoding) {
+    String page = restTemplate.getForObject(buildUri("/"), String.class);
+    Matcher matcher = SCRIPT.matcher(page);
+    assertThat(matcher.find()).isTrue();
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+
+    return restTemplate.exchange(
+        new RequestEntity<>(headers, HttpMethod.GET, buildUri("/" + matcher.group(1))),
+        byte[].class);
+  }
+}
@@ -0,0 +1,134 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.LocoSpeedStats;
+import com.goosebumpdesigns.scaler.model.TelemetryResult;
+import com.goosebumpdesigns.scaler.telemetry.TelemetrySocketInput;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+class TelemetryControllerTest extends ControllerTestSupport {
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+
+  @Autowired
+  private TelemetrySocketInput telemetrySocketInput;
+
+  /**
+   *
+   */
+  @BeforeEach
+  void saveBlocks() {
+    saveBlock("main-1", "{\"distance\": {\"value\": 10, \"measurement\": \"FOOT\"}, "
+        + "\"scale\": \"HO\"}");
+    saveBlock("main-2", "{\"distance\": {\"value\": 8, \"measurement\": \"FOOT\"}, "
+        + "\"scale\": \"HO\"}");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatARecordedSessionCanBePosted() throws Exception {
+    // Given: a recorded session
+    byte[] session;
+
+    try(InputStream in = getClass().getResourceAsStream("/telemetry/session.csv")) {
+      session = in.readAllBytes();
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.parseMediaType(TelemetryController.TEXT_CSV));
+
+    // When: it is posted
+    ResponseEntity<TelemetryResult> response = restTemplate.exchange(new RequestEntity<>(session,
+        headers, HttpMethod.POST, buildUri("/telemetry/events")), TelemetryResult.class);
+
+    // Then: every pass through a block is timed
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isEqualTo(new TelemetryResult(100, 2, 48));
+
+    // And: the speeds are reported
+    LocoSpeedStats stats = restTemplate.getForObject(buildUri("/telemetry/locos/844?unit=mph"),
+        LocoSpeedStats.class);
+    assertThat(stats.mean()).isCloseTo(59.8350, offset(0.001));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatEventsAreReadFromTheSocket() throws Exception {
+    // Given: a sensor bridge connected to the socket
+    try(Socket socket =
+        new Socket(InetAddress.getLoopbackAddress(), telemetrySocketInput.getPort())) {
+      OutputStream out = socket.getOutputStream();
+
+      // When: it sends a train through main-1 in 10 seconds
+      out.write("5000000,socket-1,main-1,A\n15000000,socket-1,main-1,B\n"
+          .getBytes(StandardCharsets.UTF_8));
+      out.flush();
+
+      // Then: the speed is reported
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      ResponseEntity<LocoSpeedStats> response;
+
+      do {
+        Thread.sleep(20);
+        response = restTemplate.getForEntity(buildUri("/telemetry/locos/socket-1?unit=KMH"),
+            LocoSpeedStats.class);
+      } while(response.getStatusCode() == HttpStatus.NOT_FOUND && System.nanoTime() < deadline);
+
+      assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(response.getBody().last()).isCloseTo(95.573, offset(0.001));
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatUnknownLocosAndUnitsAreRejected() {
+    // Given: a locomotive that hasn't been timed and a unit that doesn't exist
+    // When: their speeds are requested
+    // Then: they aren't found or aren't valid
+    assertThat(restTemplate.getForEntity(buildUri("/telemetry/locos/nothing"), String.class)
+        .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(restTemplate.getForEntity(buildUri("/telemetry/locos?unit=knots"), String.class)
+        .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  private void saveBlock(String id, String body) {
+    RequestEntity<String> request = new RequestEntity<>(body, buildJsonHeaders(), HttpMethod.PUT,
+        buildUri("/telemetry/blocks/" + id));
+    assertThat(restTemplate.exchange(request, String.class).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+  }
+}
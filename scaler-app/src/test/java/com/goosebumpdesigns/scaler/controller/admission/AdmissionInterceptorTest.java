@@ -0,0 +1,155 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import jakarta.servlet.DispatcherType;
+
+/**
+ * 
+ */
+class AdmissionInterceptorTest {
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatConcurrencyLimitRejectsWithServiceUnavailable() {
+    // Given: an interceptor that allows one request at a time
+    AdmissionInterceptor interceptor = interceptor(1, 1000, 1000, 100);
+    MockHttpServletRequest first = request("10.0.0.1");
+    MockHttpServletRequest second = request("10.0.0.2");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When: a second request arrives while the first is in progress
+    interceptor.preHandle(first, response, null);
+
+    // Then: the second request is rejected with 503
+    assertThatThrownBy(() -> interceptor.preHandle(second, response, null))
+        .isInstanceOfSatisfying(AdmissionRejectedException.class,
+            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+    // And: the second request is admitted once the first completes
+    interceptor.afterCompletion(first, response, null, null);
+    assertThat(interceptor.preHandle(second, response, null)).isTrue();
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatClientRateLimitRejectsWithTooManyRequests() {
+    // Given: an interceptor that allows a burst of two requests per client
+    AdmissionInterceptor interceptor = interceptor(100, 0.5, 2, 100);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When: a client sends a burst of two requests
+    interceptor.preHandle(request("10.0.0.1"), response, null);
+    interceptor.preHandle(request("10.0.0.1"), response, null);
+
+    // Then: the third request is rejected with 429 and a retry time
+    assertThatThrownBy(() -> interceptor.preHandle(request("10.0.0.1"), response, null))
+        .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+          assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+          assertThat(e.getRetryAfterSeconds()).isEqualTo(2);
+        });
+
+    // And: a different client is still admitted
+    assertThat(interceptor.preHandle(request("10.0.0.2"), response, null)).isTrue();
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatOnlyConfiguredApiKeysIdentifyAClient() {
+    // Given: an interceptor that allows one request per client and knows one API key
+    AdmissionInterceptor interceptor = interceptor(100, 0.5, 1, 100);
+    ReflectionTestUtils.setField(interceptor, "apiKeys", Set.of("known"));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When: a client uses its request with an unknown key
+    interceptor.preHandle(request("10.0.0.1", "unknown-1"), response, null);
+
+    // Then: a new unknown key from the same address is still rate limited by address
+    assertThatThrownBy(
+        () -> interceptor.preHandle(request("10.0.0.1", "unknown-2"), response, null))
+        .isInstanceOf(AdmissionRejectedException.class);
+
+    // And: the known key has its own limit
+    assertThat(interceptor.preHandle(request("10.0.0.1", "known"), response, null)).isTrue();
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatAsyncDispatchKeepsTheFirstPermit() {
+    // Given: an interceptor that allows one request at a time
+    AdmissionInterceptor interceptor = interceptor(1, 1000, 1000, 100);
+    MockHttpServletRequest request = request("10.0.0.1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When: a request is admitted and comes back in an async dispatch to write its result
+    interceptor.preHandle(request, response, null);
+    request.setDispatcherType(DispatcherType.ASYNC);
+
+    // Then: the async dispatch is let through without a second permit
+    assertThat(interceptor.preHandle(request, response, null)).isTrue();
+    assertThat(interceptor.availablePermits()).isZero();
+
+    // And: the permit is released once the async dispatch completes
+    interceptor.afterCompletion(request, response, null, null);
+    assertThat(interceptor.availablePermits()).isEqualTo(1);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatTrackedClientsAreBounded() {
+    // Given: a rate limiter that tracks at most two clients
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, 60_000);
+
+    // When: three clients make requests
+    limiter.tryAcquire("a");
+    limiter.tryAcquire("b");
+    long third = limiter.tryAcquire("c");
+    long fourth = limiter.tryAcquire("d");
+
+    // Then: only two clients are tracked and the others share the overflow bucket
+    assertThat(limiter.clientCount()).isEqualTo(2);
+    assertThat(third).isZero();
+    assertThat(fourth).isPositive();
+  }
+
+  private AdmissionInterceptor interceptor(int maxConcurrent, double rate, int burst,
+      int maxClients) {
+    AdmissionInterceptor interceptor =
+        new AdmissionInterceptor(maxConcurrent, rate, burst, maxClients, 60_000);
+
+    ReflectionTestUtils.setField(interceptor, "enabled", true);
+    ReflectionTestUtils.setField(interceptor, "apiKeyHeader", "X-API-Key");
+    ReflectionTestUtils.setField(interceptor, "retryAfterSeconds", 1L);
+    return interceptor;
+  }
+
+  private MockHttpServletRequest request(String remoteAddress) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/scale");
+    request.setRemoteAddr(remoteAddress);
+    return request;
+  }
+
+  private MockHttpServletRequest request(String remoteAddress, String apiKey) {
+    MockHttpServletRequest request = request(remoteAddress);
+    request.addHeader("X-API-Key", apiKey);
+    return request;
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.admission;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * You can use this test to measure the overhead that admission control adds to each request. It
+ * times {@link AdmissionInterceptor#preHandle} plus {@link AdmissionInterceptor#afterCompletion}
+ * for one client, for many clients and from several threads at once. The limits are set high
+ * enough that nothing is rejected, so this measures the cost on the admitted (fast) path. Run it
+ * with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualAdmissionBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualAdmissionBenchmark {
+  private static final int ITERATIONS = 5_000_000;
+
+  /**
+   * Run the benchmark and print nanoseconds per request.
+   */
+  @Test
+  void test() throws Exception {
+    for(int clients : new int[] {1, 1_000, 100_000}) {
+      measure(clients, 1);
+      measure(clients, Runtime.getRuntime().availableProcessors());
+    }
+  }
+
+  private void measure(int clients, int threads) throws Exception {
+    AdmissionInterceptor interceptor =
+        new AdmissionInterceptor(Integer.MAX_VALUE / 2, 1e12, Integer.MAX_VALUE / 2, 1_000_000,
+            60_000);
+    ReflectionTestUtils.setField(interceptor, "enabled", true);
+    ReflectionTestUtils.setField(interceptor, "apiKeyHeader", "X-API-Key");
+
+    MockHttpServletRequest[] requests = new MockHttpServletRequest[clients];
+
+    for(int i = 0; i < clients; i++) {
+      requests[i] = new MockHttpServletRequest("POST", "/scale");
+      requests[i].setRemoteAddr("10.%d.%d.%d".formatted(i >> 16 & 255, i >> 8 & 255, i & 255));
+    }
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // Warm up the JIT before timing
+    run(interceptor, requests, response, ITERATIONS);
+
+    CountDownLatch done = new CountDownLatch(threads);
+    long start = System.nanoTime();
+
+    for(int t = 0; t < threads; t++) {
+      Thread.ofPlatform().start(() -> {
+        run(interceptor, requests, response, ITERATIONS / threads);
+        done.countDown();
+      });
+    }
+
+    done.await();
+
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("clients=%7d threads=%2d: %6.1f ns/request (%,.0f requests/s)%n", clients,
+        threads, (double)elapsed * threads / ITERATIONS,
+        ITERATIONS / (elapsed / (double)TimeUnit.SECONDS.toNanos(1)));
+  }
+
+  private void run(AdmissionInterceptor interceptor, MockHttpServletRequest[] requests,
+      MockHttpServletResponse response, int iterations) {
+    for(int i = 0; i < iterations; i++) {
+      MockHttpServletRequest request = requests[i % requests.length];
+      interceptor.preHandle(request, response, null);
+      interceptor.afterCompletion(request, response, null, null);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.projection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * You can use this test to measure what a {@code fields} selector saves on a large bulk response.
+ * It converts a hundred thousand full size dimensions and then writes the results without the
+ * projection filter, in full and with a few selectors, printing the size of each response and the
+ * time to write it. Run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualFieldProjectionBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualFieldProjectionBenchmark {
+  private static final int RESULTS = 100_000;
+  private static final int ROUNDS = 20;
+  private static final String[] SELECTORS =
+      {"modelDimensions", "modelDimensions.length", "modelDimensions.length.value"};
+
+  /**
+   * A stream that only counts the bytes written to it.
+   */
+  private static class CountingStream extends OutputStream {
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+  /**
+   * Run the benchmark.
+   *
+   * @throws IOException Not thrown, the output is discarded.
+   */
+  @Test
+  void test() throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    FieldProjection.register(objectMapper);
+
+    List<ScalerData> results = generate();
+    JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class,
+        ScalerData.class);
+
+    // Warm up the JIT before timing
+    run(objectMapper, type, results, false);
+    run(objectMapper, type, results, true);
+  }
+
+  private void run(ObjectMapper objectMapper, JavaType type, List<ScalerData> results,
+      boolean print) throws IOException {
+    /* Without the mix-ins, to show what the default serialize-all filter costs */
+    Measure plain = measure(new ObjectMapper().writerFor(type), results);
+    Measure full = measure(objectMapper.writerFor(type), results);
+
+    if(print) {
+      System.out.printf("%-30s %,12d bytes %8.1f ms%n", "(no filter)", plain.bytes(),
+          plain.millis());
+      System.out.printf("%-30s %,12d bytes %8.1f ms%n", "(all fields)", full.bytes(),
+          full.millis());
+    }
+
+    for(String selector : SELECTORS) {
+      FieldProjection projection =
+          FieldProjection.compile(selector, type, objectMapper.getSerializationConfig());
+      Measure projected =
+          measure(objectMapper.writerFor(type).with(projection.filters()), results);
+
+      if(print) {
+        System.out.printf(
+            "%-30s %,12d bytes %8.1f ms (%.0f%% of the bytes, %.0f%% of the time)%n", selector,
+            projected.bytes(), projected.millis(), 100.0 * projected.bytes() / full.bytes(),
+            100.0 * projected.millis() / full.millis());
+      }
+    }
+  }
+
+  private record Measure(long bytes, double millis) {
+  }
+
+  /**
+   * Write the results several times and keep the fastest time. The first rounds warm up the JIT.
+   */
+  private Measure measure(ObjectWriter writer, List<ScalerData> results) throws IOException {
+    long best = Long.MAX_VALUE;
+    long bytes = 0;
+
+    for(int round = 0; round < ROUNDS; round++) {
+      CountingStream out = new CountingStream();
+      long start = System.nanoTime();
+
+      writer.writeValue(out, results);
+
+      best = Math.min(best, System.nanoTime() - start);
+      bytes = out.count;
+    }
+
+    return new Measure(bytes, best / 1e6);
+  }
+
+  private List<ScalerData> generate() {
+    ScalerService scalerService = new ScalerService();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<ScalerData> results = new ArrayList<>(RESULTS);
+
+    for(int i = 0; i < RESULTS; i++) {
+      // @formatter:off
+      results.add(scalerService.supplyMissingFields(ScalerData.builder()
+          .scale(Scale.HO)
+          .outputMeasurement(Measurement.INCH)
+          .fullsizeDimensions(new Dimensions(
+              new Dimension(BigDecimal.valueOf(random.nextInt(1_000, 9_000), 2), Measurement.FOOT),
+              new Dimension(BigDecimal.valueOf(random.nextInt(800, 1_200), 2), Measurement.FOOT),
+              new Dimension(BigDecimal.valueOf(random.nextInt(900, 1_600), 2), Measurement.FOOT)))
+          .build()));
+      // @formatter:on
+    }
+
+    return results;
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.controller.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import com.goosebumpdesigns.scaler.controller.sampler.SampleRing.Slot;
+
+/**
+ *
+ */
+class SampleRingTest {
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTheMostRecentSamplesAreKept() {
+    // Given: a ring with a capacity that isn't a power of two
+    SampleRing ring = new SampleRing(5);
+
+    // When: more samples are recorded than fit
+    for(int i = 0; i < 20; i++) {
+      Slot slot = ring.claim();
+      slot.totalNanos = i;
+      ring.publish(slot);
+    }
+
+    // Then: the capacity is rounded up and the last eight samples are kept
+    assertThat(ring.capacity()).isEqualTo(8);
+    assertThat(readAll(ring)).extracting(slot -> slot.sequence)
+        .containsExactlyInAnyOrder(12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L);
+
+    // When: the ring is cleared and one more sample is recorded
+    ring.clear();
+    ring.publish(ring.claim());
+
+    // Then: only the new sample is returned
+    assertThat(readAll(ring)).extracting(slot -> slot.sequence).containsExactly(20L);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatConcurrentWritersNeverProduceATornSample() throws Exception {
+    // Given: a small ring that writers wrap around constantly
+    SampleRing ring = new SampleRing(4);
+    AtomicBoolean torn = new AtomicBoolean();
+    CountDownLatch done = new CountDownLatch(4);
+    List<Thread> writers = new ArrayList<>();
+
+    // When: four threads write samples whose fields all hold the same value
+    for(int w = 0; w < 4; w++) {
+      writers.add(Thread.ofPlatform().start(() -> {
+        for(int i = 0; i < 200_000; i++) {
+          Slot slot = ring.claim();
+
+          if(Objects.nonNull(slot)) {
+            slot.totalNanos = slot.sequence;
+            slot.queueNanos = slot.sequence;
+            slot.runNanos = slot.sequence;
+            ring.publish(slot);
+          }
+        }
+
+        done.countDown();
+      }));
+    }
+
+    // And: the ring is read while they write
+    while(done.getCount() > 0) {
+      for(Slot slot : readAll(ring)) {
+        if(slot.totalNanos != slot.sequence || slot.queueNanos != slot.sequence
+            || slot.runNanos != slot.sequence) {
+          torn.set(true);
+        }
+      }
+    }
+
+    for(Thread writer : writers) {
+      writer.join();
+    }
+
+    // Then: every sample read was whole and every sequence number was either kept or dropped
+    assertThat(torn).isFalse();
+    assertThat(ring.sequence()).isEqualTo(800_000);
+    assertThat(readAll(ring)).hasSizeLessThanOrEqualTo(4);
+  }
+
+  private List<Slot> readAll(SampleRing ring) {
+    List<Slot> samples = new ArrayList<>();
+
+    for(int i = 0; i < ring.capacity(); i++) {
+      Slot copy = new Slot();
+
+      if(ring.read(i, copy)) {
+        samples.add(copy);
+      }
+    }
+
+    return samples;
+  }
+}
@@ -0,0 +1,133 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.lane;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ *
+ */
+class LaneSchedulerTest {
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private LaneScheduler laneScheduler;
+
+  @AfterEach
+  void shutdown() {
+    StageTimings.setEnabled(false);
+    StageTimings.end();
+    laneScheduler.shutdown();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatBulkWorkYieldsToInteractiveWork() throws Exception {
+    // Given: a bulk lane that checks the interactive lane before every item
+    laneScheduler = scheduler(1, 10, 1, 10, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicLong releasedAt = new AtomicLong();
+    CompletableFuture<String> interactive = laneScheduler.submit(Lane.INTERACTIVE, () -> {
+      await(release);
+      return "interactive";
+    });
+
+    // When: a bulk list is converted while the interactive work is running
+    CompletableFuture<List<Long>> bulk = laneScheduler.submitBulk(List.of(1, 2, 3),
+        i -> System.nanoTime());
+
+    Thread.sleep(50);
+    releasedAt.set(System.nanoTime());
+    release.countDown();
+
+    // Then: both finish and the bulk results are in order
+    assertThat(interactive.get(5, TimeUnit.SECONDS)).isEqualTo("interactive");
+    List<Long> times = bulk.get(5, TimeUnit.SECONDS);
+    assertThat(times).hasSize(3).isSorted();
+
+    // And: the bulk work waited for the interactive work after the first chunk
+    assertThat(times.get(1)).isGreaterThanOrEqualTo(releasedAt.get());
+    assertThat(meterRegistry.get("scaler.lane.yields").counter().count()).isPositive();
+    assertThat(meterRegistry.get("scaler.lane.wait").tag("lane", "bulk").timer().count())
+        .isEqualTo(1);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFullLaneRejectsWork() throws Exception {
+    // Given: a bulk lane with one thread and room for one waiting task
+    laneScheduler = scheduler(1, 10, 1, 1, 256);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Object> running = laneScheduler.submit(Lane.BULK, () -> await(release));
+    CompletableFuture<Object> waiting = laneScheduler.submit(Lane.BULK, () -> null);
+
+    // When: a third task is submitted
+    // Then: it is rejected
+    assertThatThrownBy(() -> laneScheduler.submit(Lane.BULK, () -> null))
+        .isInstanceOf(RejectedExecutionException.class).hasMessage("The bulk lane is full.");
+    assertThat(meterRegistry.get("scaler.lane.rejected").tag("lane", "bulk").counter().count())
+        .isEqualTo(1);
+    assertThat(laneScheduler.pending(Lane.BULK)).isEqualTo(2);
+
+    // And: the other tasks still run
+    release.countDown();
+    CompletableFuture.allOf(running, waiting).get(5, TimeUnit.SECONDS);
+    assertThat(laneScheduler.pending(Lane.BULK)).isZero();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatRequestTimingsFollowTheWork() throws Exception {
+    // Given: a request that is being timed
+    laneScheduler = scheduler(1, 10, 1, 10, 256);
+    StageTimings.setEnabled(true);
+    StageTimings timings = StageTimings.begin();
+
+    // When: work is run in a lane
+    StageTimings seen = laneScheduler.submit(Lane.INTERACTIVE, StageTimings::current)
+        .get(5, TimeUnit.SECONDS);
+
+    // Then: the lane thread sees the request's timings
+    assertThat(seen).isSameAs(timings);
+  }
+
+  private LaneScheduler scheduler(int interactiveThreads, int interactiveQueue, int bulkThreads,
+      int bulkQueue, int chunkSize) {
+    LaneScheduler scheduler = new LaneScheduler(interactiveThreads, interactiveQueue, bulkThreads,
+        bulkQueue, meterRegistry);
+
+    ReflectionTestUtils.setField(scheduler, "enabled", true);
+    ReflectionTestUtils.setField(scheduler, "chunkSize", chunkSize);
+    ReflectionTestUtils.setField(scheduler, "yieldThreshold", 1);
+    ReflectionTestUtils.setField(scheduler, "maxYieldMillis", 1_000L);
+    return scheduler;
+  }
+
+  private static Object await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return null;
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * This class writes the results of a load test. Three kinds of files are written to the report
+ * directory, each named with the run label and a timestamp so that runs can be compared:
+ * <ul>
+ * <li>A summary (.txt) with the settings and a percentile table for each payload type.</li>
+ * <li>An HdrHistogram percentile distribution (.hgrm) for each payload type. These can be plotted
+ * side by side with the HdrHistogram plotter to compare runs.</li>
+ * <li>The heap, GC and latency samples (.csv) taken at each sample interval.</li>
+ * </ul>
+ */
+public class LoadReport {
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+  private final LoadTestConfig config;
+
+  /**
+   * @param config The load test settings.
+   */
+  public LoadReport(LoadTestConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Write the report files.
+   *
+   * @param latency The latency over the whole measured period by payload type.
+   * @param errors The number of failed requests.
+   * @param monitor The samples taken during the run.
+   * @return The path of the summary file.
+   * @throws UncheckedIOException Thrown if a file can't be written.
+   */
+  public Path write(Map<PayloadType, Histogram> latency, long errors, SoakMonitor monitor) {
+    String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    String base = config.label() + "-" + stamp;
+
+    try {
+      Files.createDirectories(config.reportDirectory());
+
+      Path summary = config.reportDirectory().resolve(base + ".txt");
+
+      try(PrintStream out = new PrintStream(Files.newOutputStream(summary))) {
+        writeSummary(out, latency, errors);
+      }
+
+      for(Map.Entry<PayloadType, Histogram> entry : latency.entrySet()) {
+        if(entry.getValue().getTotalCount() > 0) {
+          Path file = config.reportDirectory().resolve(base + "-" + entry.getKey() + ".hgrm");
+
+          try(PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+          }
+        }
+      }
+
+      try(PrintStream out =
+          new PrintStream(Files.newOutputStream(config.reportDirectory().resolve(base + ".csv")))) {
+        writeSamples(out, monitor);
+      }
+
+      return summary;
+    }
+    catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeSummary(PrintStream out, Map<PayloadType, Histogram> latency, long errors) {
+    out.printf("Scaler load test: %s%n", config.label());
+    out.printf("Rate=%d/s, warm-up=%s, duration=%s, mix=%s, bulk size=%d%n", config.rate(),
+        config.warmup(), config.duration(), config.mix(), config.bulkSize());
+    out.printf("Errors=%d%n%n", errors);
+    out.printf("%-12s %10s", "Type", "Count");
+
+    for(double p : PERCENTILES) {
+      out.printf(" %10s", "p" + p);
+    }
+
+    out.printf(" %10s%n", "max");
+
+    for(Map.Entry<PayloadType, Histogram> entry : latency.entrySet()) {
+      Histogram h = entry.getValue();
+
+      if(h.getTotalCount() == 0) {
+        continue;
+      }
+
+      out.printf("%-12s %10d", entry.getKey(), h.getTotalCount());
+
+      for(double p : PERCENTILES) {
+        out.printf(" %10.3f", h.getValueAtPercentile(p) / NANOS_PER_MILLI);
+      }
+
+      out.printf(" %10.3f%n", h.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    out.println();
+    out.println("Latencies are in milliseconds, measured from the scheduled send time.");
+  }
+
+  private void writeSamples(PrintStream out, SoakMonitor monitor) {
+    out.println("elapsedSeconds,requests,p50Millis,p99Millis,maxMillis,heapUsedMb,"
+        + "heapCommittedMb,gcCount,gcMillis");
+
+    for(SoakMonitor.Sample s : monitor.samples()) {
+      out.printf("%.1f,%d,%.3f,%.3f,%.3f,%d,%d,%d,%d%n", s.elapsedSeconds(), s.requests(),
+          s.p50Millis(), s.p99Millis(), s.maxMillis(), s.heapUsedMb(), s.heapCommittedMb(),
+          s.gcCount(), s.gcMillis());
+    }
+  }
+}
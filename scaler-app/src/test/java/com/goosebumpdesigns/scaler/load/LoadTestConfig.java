@@ -0,0 +1,89 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The load test settings. Each setting is read from a system property so that the load test can be
+ * configured from the Maven command line, for example:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualLoadTest -Dscaler.load=true -Dscaler.load.rate=500 \
+ *     -Dscaler.load.mix=FULLSIZE:60,MODEL:30,CROSS:5,CROSS_BULK:5
+ * </pre>
+ *
+ * @param rate The number of requests sent per second. Requests are sent on a fixed schedule
+ *        whether or not earlier requests have completed.
+ * @param warmup The length of time requests are sent before latency is recorded.
+ * @param duration The length of time latency is recorded.
+ * @param sampleInterval How often heap and GC usage is sampled.
+ * @param mix The relative weight of each payload type.
+ * @param bulkSize The number of entries in each bulk request.
+ * @param reportDirectory The directory that receives the report files.
+ * @param label A label that is added to the report file names to make runs easy to compare.
+ */
+public record LoadTestConfig(int rate, Duration warmup, Duration duration,
+    Duration sampleInterval, Map<PayloadType, Integer> mix, int bulkSize, Path reportDirectory,
+    String label) {
+
+  private static final String PREFIX = "scaler.load.";
+
+  /**
+   * Read the settings from system properties. If the {@code scaler.load.soak} property is
+   * {@code true} the default duration is 30 minutes instead of 30 seconds.
+   *
+   * @return The load test settings.
+   */
+  public static LoadTestConfig fromSystemProperties() {
+    boolean soak = Boolean.getBoolean(PREFIX + "soak");
+    Duration defaultDuration = soak ? Duration.ofMinutes(30) : Duration.ofSeconds(30);
+    Duration defaultSample = soak ? Duration.ofMinutes(1) : Duration.ofSeconds(5);
+
+    // @formatter:off
+    return new LoadTestConfig(
+        Integer.parseInt(property("rate", "200")),
+        duration("warmup", Duration.ofSeconds(10)),
+        duration("duration", defaultDuration),
+        duration("sampleInterval", defaultSample),
+        parseMix(property("mix", "FULLSIZE:60,MODEL:30,CROSS:5,CROSS_BULK:5")),
+        Integer.parseInt(property("bulkSize", "50")),
+        Path.of(property("reportDirectory", "target/load-reports")),
+        property("label", soak ? "soak" : "load"));
+    // @formatter:on
+  }
+
+  /**
+   * Parse a mix like "FULLSIZE:60,MODEL:30".
+   */
+  static Map<PayloadType, Integer> parseMix(String value) {
+    Map<PayloadType, Integer> mix = new EnumMap<>(PayloadType.class);
+
+    for(String part : value.split(",")) {
+      String[] pair = part.trim().split(":");
+      mix.put(PayloadType.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+    }
+
+    return mix;
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty(PREFIX + name, defaultValue);
+  }
+
+  /**
+   * Durations are given in ISO-8601 form (PT90S) or as a number of seconds.
+   */
+  private static Duration duration(String name, Duration defaultValue) {
+    String value = System.getProperty(PREFIX + name);
+
+    if(value == null) {
+      return defaultValue;
+    }
+
+    return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+
+/**
+ * You can use this test to measure the service end to end. It starts the application on a random
+ * port and drives it with the {@link OpenModelLoadGenerator}. The test only runs when the
+ * {@code scaler.load} system property is {@code true}. See {@link LoadTestConfig} for the other
+ * settings. Set {@code scaler.load.target} to a URI (i.e., http://host:8080) to drive an already
+ * running server instead of the embedded one.
+ *
+ * <pre>
+ * mvn test -Dtest=ManualLoadTest -Dscaler.load=true -Dscaler.load.rate=500
+ * mvn test -Dtest=ManualLoadTest -Dscaler.load=true -Dscaler.load.soak=true
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = {Scaler.class})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "scaler.load", matches = "true")
+class ManualLoadTest {
+
+  @LocalServerPort
+  private int serverPort;
+
+  /**
+   * Run the load test and write the report.
+   */
+  @Test
+  void test() throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    URI target = URI.create(
+        System.getProperty("scaler.load.target", "http://localhost:" + serverPort));
+
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(target, config);
+    SoakMonitor monitor = new SoakMonitor();
+
+    Map<PayloadType, Histogram> latency = generator.run(monitor);
+    Path summary = new LoadReport(config).write(latency, generator.errors(), monitor);
+
+    System.out.println(Files.readString(summary));
+    System.out.println("Report written to " + summary.toAbsolutePath());
+
+    assertThat(generator.errors()).isZero();
+  }
+}
@@ -0,0 +1,175 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import com.goosebumpdesigns.scaler.load.PayloadMix.Payload;
+
+/**
+ * This load generator sends requests at a fixed rate (an "open" workload model). Request N is
+ * scheduled to start at {@code start + N / rate} whether or not earlier requests have completed.
+ * Latency is measured from the scheduled start time, not the time the request was actually sent,
+ * so a stalled server is charged for the requests that queued up behind the stall. This avoids the
+ * coordinated omission problem of closed-loop load generators that wait for each response before
+ * sending the next request.
+ */
+public class OpenModelLoadGenerator {
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private final URI baseUri;
+  private final LoadTestConfig config;
+  private final PayloadMix mix;
+  private final HttpClient client;
+  private final Map<PayloadType, Recorder> recorders = new EnumMap<>(PayloadType.class);
+  private final Map<PayloadType, Histogram> totals = new EnumMap<>(PayloadType.class);
+  private final LongAdder errors = new LongAdder();
+  private final AtomicLong outstanding = new AtomicLong();
+
+  /**
+   * @param baseUri The server URI, i.e., http://localhost:8080.
+   * @param config The load test settings.
+   */
+  public OpenModelLoadGenerator(URI baseUri, LoadTestConfig config) {
+    this.baseUri = baseUri;
+    this.config = config;
+    this.mix = new PayloadMix(config.mix(), config.bulkSize());
+
+    // @formatter:off
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    // @formatter:on
+
+    for(PayloadType type : PayloadType.values()) {
+      recorders.put(type, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+      totals.put(type, new Histogram(HIGHEST_TRACKABLE_NANOS, 3));
+    }
+  }
+
+  /**
+   * Send requests for the warm-up period and then the measured period. The monitor is called at
+   * each sample interval during the measured period.
+   *
+   * @param monitor Called with the latency recorded since the previous interval.
+   * @return The latency recorded over the whole measured period by payload type.
+   */
+  public Map<PayloadType, Histogram> run(IntervalListener monitor) {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+    long start = System.nanoTime();
+    long measureStart = start + config.warmup().toNanos();
+    long end = measureStart + config.duration().toNanos();
+    long nextSample = measureStart + config.sampleInterval().toNanos();
+
+    for(long n = 0;; n++) {
+      long intended = start + n * intervalNanos;
+
+      if(intended >= end) {
+        break;
+      }
+
+      long wait = intended - System.nanoTime();
+
+      if(wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      send(mix.next(), intended, intended >= measureStart);
+
+      if(intended >= nextSample) {
+        monitor.interval(harvest());
+        nextSample += config.sampleInterval().toNanos();
+      }
+    }
+
+    awaitOutstanding(Duration.ofSeconds(30));
+    monitor.interval(harvest());
+
+    return totals;
+  }
+
+  /**
+   * @return The number of requests that failed or returned a non 2xx status.
+   */
+  public long errors() {
+    return errors.sum();
+  }
+
+  private void send(Payload payload, long intended, boolean measured) {
+    // @formatter:off
+    HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(payload.type().path()))
+        .header("Content-Type", "application/json")
+        .timeout(Duration.ofSeconds(30))
+        .POST(BodyPublishers.ofString(payload.body()))
+        .build();
+    // @formatter:on
+
+    outstanding.incrementAndGet();
+
+    client.sendAsync(request, BodyHandlers.discarding()).whenComplete((response, e) -> {
+      long latency = System.nanoTime() - intended;
+
+      if(measured) {
+        recorders.get(payload.type()).recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+
+        if(e != null || !isSuccess(response)) {
+          errors.increment();
+        }
+      }
+
+      outstanding.decrementAndGet();
+    });
+  }
+
+  private boolean isSuccess(HttpResponse<?> response) {
+    return response.statusCode() >= 200 && response.statusCode() < 300;
+  }
+
+  /**
+   * Move the latency recorded since the last call into the totals and return it.
+   */
+  private Map<PayloadType, Histogram> harvest() {
+    Map<PayloadType, Histogram> interval = new EnumMap<>(PayloadType.class);
+
+    for(Map.Entry<PayloadType, Recorder> entry : recorders.entrySet()) {
+      Histogram histogram = entry.getValue().getIntervalHistogram();
+      totals.get(entry.getKey()).add(histogram);
+      interval.put(entry.getKey(), histogram);
+    }
+
+    return interval;
+  }
+
+  private void awaitOutstanding(Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+
+    while(outstanding.get() > 0 && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+  }
+
+  /**
+   * Receives the latency recorded during each sample interval.
+   */
+  @FunctionalInterface
+  public interface IntervalListener {
+    /**
+     * @param latency The latency recorded during the interval by payload type.
+     */
+    void interval(Map<PayloadType, Histogram> latency);
+  }
+}
@@ -0,0 +1,176 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * This class builds a pool of request bodies for each {@link PayloadType} from a list of real
+ * prototype cars and structures. The bodies are serialized up front so that building a request
+ * doesn't slow down the load generator. The type of each request is picked at random using the
+ * weights in the mix.
+ */
+public class PayloadMix {
+  private static final int POOL_SIZE = 500;
+
+  /** Length, width and height in feet. */
+  // @formatter:off
+  private static final String[][] PROTOTYPES = {
+      {"40.50", "10.67", "15.50"},  // 40 ft boxcar
+      {"50.50", "10.67", "15.50"},  // 50 ft boxcar
+      {"89.33", "10.50", "4.50"},   // 89 ft flatcar
+      {"55.00", "10.67", "15.08"},  // 50 ft reefer
+      {"85.00", "10.50", "13.50"},  // passenger car
+      {"59.00", "10.50", "16.25"},  // GP9 locomotive
+      {"120.00", "60.00", "95.00"}, // grain elevator
+      {"48.00", "22.00", "18.00"},  // depot
+      {"36.50", "10.50", "13.00"},  // caboose
+      {"70.00", "30.00", "24.00"}   // engine house
+  };
+  // @formatter:on
+
+  private final Map<PayloadType, List<String>> bodies = new EnumMap<>(PayloadType.class);
+  private final PayloadType[] weighted;
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  /**
+   * @param mix The relative weight of each payload type.
+   * @param bulkSize The number of entries in each bulk request.
+   */
+  public PayloadMix(Map<PayloadType, Integer> mix, int bulkSize) {
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.setSerializationInclusion(Include.NON_NULL);
+
+    List<PayloadType> types = new ArrayList<>();
+
+    for(Map.Entry<PayloadType, Integer> entry : mix.entrySet()) {
+      List<String> pool = new ArrayList<>();
+
+      for(int i = 0; i < POOL_SIZE; i++) {
+        pool.add(toJson(mapper, buildPayload(entry.getKey(), bulkSize)));
+      }
+
+      bodies.put(entry.getKey(), pool);
+
+      for(int i = 0; i < entry.getValue(); i++) {
+        types.add(entry.getKey());
+      }
+    }
+
+    weighted = types.toArray(PayloadType[]::new);
+  }
+
+  /**
+   * Pick the next payload. This is only called from the scheduling thread.
+   *
+   * @return The payload type and body.
+   */
+  public Payload next() {
+    PayloadType type = weighted[random.nextInt(weighted.length)];
+    List<String> pool = bodies.get(type);
+
+    return new Payload(type, pool.get(random.nextInt(pool.size())));
+  }
+
+  private Object buildPayload(PayloadType type, int bulkSize) {
+    return switch(type) {
+      case FULLSIZE -> ScalerData.builder().scale(randomScale())
+          .outputMeasurement(randomMeasurement()).fullsizeDimensions(prototype()).build();
+      case MODEL -> ScalerData.builder().scale(randomScale())
+          .outputMeasurement(Measurement.FOOT).modelDimensions(model()).build();
+      case CROSS -> crossScale();
+      case CROSS_BULK -> {
+        List<CrossScaleData> parts = new ArrayList<>();
+
+        for(int i = 0; i < bulkSize; i++) {
+          parts.add(crossScale());
+        }
+
+        yield parts;
+      }
+    };
+  }
+
+  private CrossScaleData crossScale() {
+    // @formatter:off
+    return CrossScaleData.builder()
+        .sourceScale(randomScale())
+        .targetScale(randomScale())
+        .outputMeasurement(randomMeasurement())
+        .sourceDimensions(model())
+        .build();
+    // @formatter:on
+  }
+
+  private Dimensions prototype() {
+    String[] p = PROTOTYPES[random.nextInt(PROTOTYPES.length)];
+
+    return new Dimensions(feet(p[0]), feet(p[1]), feet(p[2]));
+  }
+
+  /**
+   * A model of a random prototype in HO scale with the length in centimeters and the other
+   * dimensions in millimeters, like a modeler with a ruler would enter them.
+   */
+  private Dimensions model() {
+    String[] p = PROTOTYPES[random.nextInt(PROTOTYPES.length)];
+    BigDecimal mmPerFoot = new BigDecimal("304.8");
+    BigDecimal factor = Scale.HO.getFactor();
+
+    BigDecimal lengthMm =
+        new BigDecimal(p[0]).multiply(mmPerFoot).divide(factor, 2, RoundingMode.HALF_UP);
+    BigDecimal widthMm =
+        new BigDecimal(p[1]).multiply(mmPerFoot).divide(factor, 2, RoundingMode.HALF_UP);
+
+    return new Dimensions(new Dimension(lengthMm.movePointLeft(1), Measurement.CM),
+        new Dimension(widthMm, Measurement.MM), null);
+  }
+
+  private Dimension feet(String value) {
+    return new Dimension(new BigDecimal(value), Measurement.FOOT);
+  }
+
+  private Scale randomScale() {
+    Scale[] scales = Scale.values();
+    return scales[random.nextInt(scales.length)];
+  }
+
+  private Measurement randomMeasurement() {
+    Measurement[] measurements = Measurement.values();
+    return measurements[random.nextInt(measurements.length)];
+  }
+
+  private String toJson(ObjectMapper mapper, Object value) {
+    try {
+      return mapper.writeValueAsString(value);
+    }
+    catch(JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * A request body and its type.
+   *
+   * @param type The payload type.
+   * @param body The JSON request body.
+   */
+  public record Payload(PayloadType type, String body) {
+  }
+}
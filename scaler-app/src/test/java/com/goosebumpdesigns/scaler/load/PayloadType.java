@@ -0,0 +1,33 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+/**
+ * The kinds of requests sent by the load generator. Each type is reported separately.
+ */
+public enum PayloadType {
+  /** Full size dimensions are POSTed to /scale. */
+  FULLSIZE("/scale"),
+
+  /** Model dimensions are POSTed to /scale. */
+  MODEL("/scale"),
+
+  /** Model dimensions are POSTed to /scale/cross. */
+  CROSS("/scale/cross"),
+
+  /** A parts list is POSTed to /scale/cross/bulk. */
+  CROSS_BULK("/scale/cross/bulk");
+
+  private String path;
+
+  private PayloadType(String path) {
+    this.path = path;
+  }
+
+  /**
+   * @return The request path.
+   */
+  public String path() {
+    return path;
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * This class records heap usage, garbage collection and latency at each sample interval of a load
+ * test. Over a long (soak) run, a steadily rising heap after GC or a rising latency trend points to
+ * a leak or to a cache that grows without bound. The heap and GC numbers are for the JVM running
+ * the load test, which is also the JVM running the embedded server.
+ */
+public class SoakMonitor implements OpenModelLoadGenerator.IntervalListener {
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+  private final List<GarbageCollectorMXBean> collectors =
+      ManagementFactory.getGarbageCollectorMXBeans();
+  private final List<Sample> samples = new ArrayList<>();
+  private final long start = System.nanoTime();
+
+  @Override
+  public void interval(Map<PayloadType, Histogram> latency) {
+    Histogram combined = new Histogram(3);
+    latency.values().forEach(combined::add);
+
+    long gcCount = 0;
+    long gcMillis = 0;
+
+    for(GarbageCollectorMXBean collector : collectors) {
+      gcCount += Math.max(collector.getCollectionCount(), 0);
+      gcMillis += Math.max(collector.getCollectionTime(), 0);
+    }
+
+    // @formatter:off
+    samples.add(new Sample(
+        (System.nanoTime() - start) / 1_000_000_000.0,
+        combined.getTotalCount(),
+        combined.getValueAtPercentile(50.0) / 1_000_000.0,
+        combined.getValueAtPercentile(99.0) / 1_000_000.0,
+        combined.getMaxValue() / 1_000_000.0,
+        memory.getHeapMemoryUsage().getUsed() / (1024 * 1024),
+        memory.getHeapMemoryUsage().getCommitted() / (1024 * 1024),
+        gcCount,
+        gcMillis));
+    // @formatter:on
+  }
+
+  /**
+   * @return The samples in the order recorded.
+   */
+  public List<Sample> samples() {
+    return samples;
+  }
+
+  /**
+   * One sample interval.
+   *
+   * @param elapsedSeconds Seconds since the monitor was created.
+   * @param requests The number of requests completed in the interval.
+   * @param p50Millis The median latency in the interval.
+   * @param p99Millis The 99th percentile latency in the interval.
+   * @param maxMillis The maximum latency in the interval.
+   * @param heapUsedMb The heap in use at the end of the interval.
+   * @param heapCommittedMb The heap committed at the end of the interval.
+   * @param gcCount The total number of collections since the JVM started.
+   * @param gcMillis The total collection time since the JVM started.
+   */
+  public record Sample(double elapsedSeconds, long requests, double p50Millis, double p99Millis,
+      double maxMillis, long heapUsedMb, long heapCommittedMb, long gcCount, long gcMillis) {
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.mesh;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ * You can use this test to measure the {@link StlRescaler} on large generated meshes. For each
+ * size it prints the triangles and megabytes per second and the heap allocated while rescaling,
+ * which should not grow with the mesh. Run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualStlRescalerBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualStlRescalerBenchmark {
+  private static final int[] TRIANGLES = {1_000_000, 5_000_000, 10_000_000};
+  private static final int ROUNDS = 3;
+
+  @TempDir
+  Path directory;
+
+  /**
+   * Run the benchmark.
+   */
+  @Test
+  void test() throws IOException {
+    double factor = StlRescaler.factor(null, Scale.HO, Measurement.MM, Measurement.MM);
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+
+    for(int triangles : TRIANGLES) {
+      Path source = generate(triangles);
+      Path target = directory.resolve("target.stl");
+      double megabytes = Files.size(source) / (1024.0 * 1024);
+
+      // Warm up the JIT before timing
+      StlRescaler.rescale(source, target, factor);
+
+      for(int round = 1; round <= ROUNDS; round++) {
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        StlRescaler.rescale(source, target, factor);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%,d triangles (%.0f MB), round %d: %,.0f triangles/s, %.0f MB/s, "
+            + "%,d bytes allocated%n", triangles, megabytes, round, triangles / seconds,
+            megabytes / seconds, allocated);
+      }
+
+      Files.delete(source);
+      Files.delete(target);
+    }
+  }
+
+  /**
+   * @return A mesh of random triangles up to 10 m across, written a buffer at a time.
+   */
+  private Path generate(int triangles) throws IOException {
+    Path mesh = directory.resolve("source.stl");
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    ByteBuffer buffer = ByteBuffer.allocate(StlRescaler.TRIANGLE_BYTES * 4096)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    try(FileChannel out = FileChannel.open(mesh, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer preamble = ByteBuffer.allocate(StlRescaler.PREAMBLE_BYTES)
+          .order(ByteOrder.LITTLE_ENDIAN).putInt(StlRescaler.HEADER_BYTES, triangles);
+      out.write(preamble);
+
+      for(int t = 0; t < triangles; t++) {
+        buffer.putFloat(0).putFloat(0).putFloat(1);
+
+        for(int i = 0; i < 9; i++) {
+          buffer.putFloat(random.nextFloat() * 10_000);
+        }
+
+        buffer.putShort((short)0);
+
+        if(!buffer.hasRemaining()) {
+          out.write(buffer.flip());
+          buffer.clear();
+        }
+      }
+
+      out.write(buffer.flip());
+    }
+
+    return mesh;
+  }
+}
@@ -0,0 +1,118 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.mesh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ *
+ */
+class StlRescalerTest {
+  @TempDir
+  Path directory;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFactorCombinesScalesAndUnits() {
+    // Given: conversions between scales and units
+    // When: the factors are calculated
+    // Then: each is the source size over the target size
+    assertThat(StlRescaler.factor(Scale.HO, Scale.O, Measurement.MM, Measurement.MM))
+        .isCloseTo(87.1 / 48, within(1e-12));
+    assertThat(StlRescaler.factor(null, Scale.HO, Measurement.MM, Measurement.MM))
+        .isCloseTo(1 / 87.1, within(1e-12));
+    assertThat(StlRescaler.factor(null, Scale.N, Measurement.FOOT, Measurement.MM))
+        .isCloseTo(304.8 / 160, within(1e-12));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatOnlyVerticesAreScaled() throws Exception {
+    // Given: a mesh of two triangles
+    Path source = directory.resolve("source.stl");
+    Path target = directory.resolve("target.stl");
+    Files.write(source, mesh(2));
+
+    // When: the mesh is rescaled by two
+    long triangles = StlRescaler.rescale(source, target, 2);
+
+    // Then: every vertex coordinate is doubled
+    assertThat(triangles).isEqualTo(2);
+    ByteBuffer before = ByteBuffer.wrap(Files.readAllBytes(source)).order(ByteOrder.LITTLE_ENDIAN);
+    ByteBuffer after = ByteBuffer.wrap(Files.readAllBytes(target)).order(ByteOrder.LITTLE_ENDIAN);
+    assertThat(after.capacity()).isEqualTo(before.capacity());
+
+    for(int t = 0; t < 2; t++) {
+      int base = StlRescaler.PREAMBLE_BYTES + t * StlRescaler.TRIANGLE_BYTES;
+
+      for(int i = 0; i < 3; i++) {
+        assertThat(after.getFloat(base + i * 4)).isEqualTo(before.getFloat(base + i * 4));
+      }
+
+      for(int i = 3; i < 12; i++) {
+        assertThat(after.getFloat(base + i * 4)).isEqualTo(before.getFloat(base + i * 4) * 2);
+      }
+
+      // And: the normal and attribute are unchanged
+      assertThat(after.getShort(base + 48)).isEqualTo(before.getShort(base + 48));
+    }
+
+    // And: the header is unchanged
+    assertThat(after.slice(0, StlRescaler.PREAMBLE_BYTES))
+        .isEqualTo(before.slice(0, StlRescaler.PREAMBLE_BYTES));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAsciiStlIsRejected() throws Exception {
+    // Given: an ASCII STL file
+    Path source = directory.resolve("ascii.stl");
+    Path target = directory.resolve("target.stl");
+    Files.writeString(source, "solid cube\n" + " ".repeat(100) + "\nendsolid cube\n");
+
+    // When: the mesh is rescaled
+    // Then: it is rejected and nothing is written
+    assertThatThrownBy(() -> StlRescaler.rescale(source, target, 2))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("isn't a binary STL");
+    assertThat(target).doesNotExist();
+  }
+
+  /**
+   * @param triangles The number of triangles.
+   * @return A binary STL mesh whose floats count up from one and whose attributes are 7.
+   */
+  static byte[] mesh(int triangles) {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(StlRescaler.PREAMBLE_BYTES + triangles * StlRescaler.TRIANGLE_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put("binary test mesh".getBytes());
+    buffer.putInt(StlRescaler.HEADER_BYTES, triangles).position(StlRescaler.PREAMBLE_BYTES);
+    float value = 1;
+
+    for(int t = 0; t < triangles; t++) {
+      for(int i = 0; i < 12; i++) {
+        buffer.putFloat(value++);
+      }
+
+      buffer.putShort((short)7);
+    }
+
+    return buffer.array();
+  }
+}
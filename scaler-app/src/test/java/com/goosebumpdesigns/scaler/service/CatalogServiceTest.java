@@ -0,0 +1,208 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.CatalogEntry;
+import com.goosebumpdesigns.scaler.model.CatalogFit;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class},
+    properties = {"scaler.catalog.max-results=1000"})
+@ActiveProfiles("test")
+class CatalogServiceTest {
+  @Autowired
+  private CatalogService catalogService;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatPrefixLookupIgnoresCaseAndIsSorted() {
+    // Given: the bundled catalog
+    // When: entries starting with "40 FT" are requested
+    List<CatalogEntry> entries = catalogService.findByPrefix("40 FT", null, null, 10);
+
+    // Then: every 40 ft entry is returned in name order without model dimensions
+    assertThat(entries).extracting(CatalogEntry::name).containsExactly("40 ft boxcar",
+        "40 ft container", "40 ft hi-cube container", "40 ft reefer", "40 ft stock car");
+    assertThat(entries).allMatch(e -> e.modelDimensions() == null);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatPrecomputedDimensionsMatchScalerService() {
+    // Given: a catalog entry
+    CatalogEntry boxcar = catalogService.findByPrefix("50 ft boxcar", null, null, 1).get(0);
+
+    for(Scale scale : Scale.values()) {
+      for(Measurement measurement : Measurement.values()) {
+        // When: the entry is looked up with a scale and output measurement
+        CatalogEntry entry =
+            catalogService.findByPrefix("50 ft boxcar", scale, measurement, 1).get(0);
+
+        // Then: the model dimensions are the same as the ones calculated by the service
+        // @formatter:off
+        ScalerData expected = scalerService.supplyMissingFields(ScalerData.builder()
+            .scale(scale)
+            .outputMeasurement(measurement)
+            .fullsizeDimensions(boxcar.fullsizeDimensions())
+            .build());
+        // @formatter:on
+
+        assertThat(entry.modelDimensions()).isEqualTo(expected.getModelDimensions());
+        assertThat(entry.fullsizeDimensions()).isEqualTo(boxcar.fullsizeDimensions());
+      }
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatMissingDimensionsStayMissing() {
+    // Given: an entry that only has a width
+    // When: it is looked up with a scale
+    CatalogEntry gauge =
+        catalogService.findByPrefix("standard gauge", Scale.HO, Measurement.MM, 1).get(0);
+
+    // Then: only the width is returned
+    assertThat(gauge.fullsizeDimensions().length()).isNull();
+    assertThat(gauge.fullsizeDimensions().width().measurement()).isEqualTo(Measurement.INCH);
+    assertThat(gauge.modelDimensions().length()).isNull();
+    assertThat(gauge.modelDimensions().width().value()).isEqualByComparingTo("16.48");
+    assertThat(gauge.modelDimensions().height()).isNull();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatLimitAndUnknownPrefixAreHandled() {
+    // Given: the bundled catalog
+    // When: a limited lookup and a lookup with no matches are made
+    // Then: the limit is respected and no match returns an empty list
+    assertThat(catalogService.findByPrefix("", null, null, 3)).hasSize(3);
+    assertThat(catalogService.findByPrefix("zzz", null, null, 3)).isEmpty();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatScaleWithoutMeasurementThrowsException() {
+    // Given: a scale but no output measurement
+    // When: a lookup is made
+    // Then: an exception is thrown
+    assertThatThrownBy(() -> catalogService.findByPrefix("40", Scale.HO, null, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFitsAreWithinTheSpaceAndRankedByFill() {
+    // Given: a 30 cm x 12 cm x 10 cm space in N scale
+    Dimensions space = new Dimensions(cm("30"), cm("12"), cm("10"));
+
+    // When: the entries that fit are requested
+    List<CatalogFit> fits = catalogService.findFits(Scale.N, Measurement.CM, space, 1000);
+
+    // Then: every entry fits in the space
+    assertThat(fits).isNotEmpty();
+    assertThat(fits).allSatisfy(f -> {
+      Dimensions model = f.modelDimensions();
+      assertThat(model.length() == null || model.length().value().doubleValue() <= 30).isTrue();
+      assertThat(model.width() == null || model.width().value().doubleValue() <= 12).isTrue();
+      assertThat(model.height() == null || model.height().value().doubleValue() <= 10).isTrue();
+    });
+
+    // And: the 89 ft flatcar fits but the spine car and grain elevators don't
+    assertThat(fits).extracting(CatalogFit::name).contains("89 ft flatcar")
+        .doesNotContain("Spine car (5 unit)", "Standard grain elevator");
+
+    // And: the entries are ranked tightest fit first
+    assertThat(fits).extracting(CatalogFit::fill)
+        .isSortedAccordingTo((a, b) -> b.compareTo(a));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFitsMatchAFullScanOfTheCatalog() {
+    // Given: a space with only a length and height in mixed measurements
+    Dimensions space = new Dimensions(cm("20"), null, new Dimension(new BigDecimal("2"),
+        Measurement.INCH));
+
+    // When: the entries that fit in HO are requested
+    List<CatalogFit> fits = catalogService.findFits(Scale.HO, Measurement.MM, space, 1000);
+
+    // Then: they are the entries a scan finds by scaling every entry
+    List<String> expected = catalogService.findByPrefix("", Scale.HO, Measurement.MM, 1000).stream()
+        .filter(e -> fits(e.modelDimensions().length(), 200)
+            && fits(e.modelDimensions().height(), 50.8))
+        .map(CatalogEntry::name).toList();
+
+    assertThat(fits).extracting(CatalogFit::name).containsExactlyInAnyOrderElementsOf(expected);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatLimitedFitReturnsTheTightestFits() {
+    // Given: a 60 cm x 8 cm x 10 cm space in HO
+    Dimensions space = new Dimensions(cm("60"), cm("8"), cm("10"));
+
+    // When: the three tightest fits and all fits are requested
+    List<CatalogFit> best = catalogService.findFits(Scale.HO, Measurement.CM, space, 3);
+    List<CatalogFit> all = catalogService.findFits(Scale.HO, Measurement.CM, space, 1000);
+
+    // Then: the three tightest fits are the first three of all fits
+    assertThat(best).extracting(CatalogFit::fill)
+        .containsExactlyElementsOf(all.subList(0, 3).stream().map(CatalogFit::fill).toList());
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFitWithoutSpaceThrowsException() {
+    // Given: no space dimensions
+    // When: the entries that fit are requested
+    // Then: an exception is thrown
+    assertThatThrownBy(() -> catalogService.findFits(Scale.HO, Measurement.CM,
+        new Dimensions(null, null, null), 10)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private boolean fits(Dimension dimension, double max) {
+    return dimension == null || dimension.value().doubleValue() <= max;
+  }
+
+  private Dimension cm(String value) {
+    return new Dimension(new BigDecimal(value), Measurement.CM);
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+class ConsistLengthsTest {
+
+  /**
+   *
+   */
+  @Test
+  void assertThatPrefixSumsMatchAFullScanAsCarsAreAddedAndRemoved() {
+    // Given: a consist and a plain list of the same cars
+    Random random = new Random(42);
+    ConsistLengths lengths = new ConsistLengths();
+    List<long[]> cars = new ArrayList<>();
+
+    for(int i = 0; i < 2000; i++) {
+      // When: a car is added, replaced or removed at random
+      int action = random.nextInt(4);
+
+      if(action < 2 || cars.isEmpty()) {
+        long length = 1 + random.nextInt(300_000);
+        cars.add(new long[] {lengths.append(length), length});
+      }
+      else if(action == 2) {
+        long[] car = cars.get(random.nextInt(cars.size()));
+        car[1] = 1 + random.nextInt(300_000);
+        lengths.set((int)car[0], car[1]);
+      }
+      else {
+        long[] car = cars.remove(random.nextInt(cars.size()));
+        lengths.remove((int)car[0]);
+      }
+
+      // Then: the count, total and cars that fit match a scan of the list
+      long available = random.nextLong(cars.size() * 150_000L + 1);
+      long total = 0;
+      int fit = 0;
+
+      for(long[] car : cars) {
+        total += car[1];
+
+        if(total <= available) {
+          fit++;
+        }
+      }
+
+      assertThat(lengths.cars()).isEqualTo(cars.size());
+      assertThat(lengths.total()).isEqualTo(total);
+      assertThat(lengths.carsThatFit(available)).isEqualTo(fit);
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTheConsistIsSparseAfterMostCarsAreRemoved() {
+    // Given: a consist of 20 cars
+    ConsistLengths lengths = new ConsistLengths();
+
+    for(int i = 0; i < 20; i++) {
+      lengths.append(100);
+    }
+
+    // When: half of the cars are removed
+    for(int slot = 0; slot < 10; slot++) {
+      lengths.remove(slot);
+    }
+
+    // Then: the consist isn't sparse yet
+    assertThat(lengths.isSparse()).isFalse();
+
+    // When: one more car is removed
+    lengths.remove(10);
+
+    // Then: the consist is sparse
+    assertThat(lengths.isSparse()).isTrue();
+    assertThat(lengths.carsThatFit(250)).isEqualTo(2);
+  }
+}
@@ -0,0 +1,95 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.HotConversion;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ *
+ */
+class HeavyHitterServiceTest {
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFrequentRequestsAreFoundAmongRareOnes() {
+    // Given: five requests made 500, 400, 300, 200 and 100 times, mixed with 20,000 one-off
+    // requests, in a random order
+    HeavyHitterService service = new HeavyHitterService(5, 4, 1024);
+    ReflectionTestUtils.setField(service, "enabled", true);
+    List<ScalerData> requests = new ArrayList<>();
+
+    for(int hot = 1; hot <= 5; hot++) {
+      for(int i = 0; i < 100 * (6 - hot); i++) {
+        requests.add(request(hot));
+      }
+    }
+
+    for(int i = 0; i < 20_000; i++) {
+      requests.add(request(1000 + i));
+    }
+
+    Collections.shuffle(requests, new Random(43));
+
+    // When: the requests are counted
+    requests.forEach(request -> service.record(ConversionKey.of(request), request));
+
+    // Then: the five frequent requests are the top five, most frequent first
+    List<HotConversion> top = service.top();
+    assertThat(top).extracting(c -> c.request().getFullsizeDimensions().length().value())
+        .containsExactly(feet(1), feet(2), feet(3), feet(4), feet(5));
+
+    // And: the counts are close to the true counts and never below them
+    assertThat(top.get(0).count()).isBetween(500L, 560L);
+    assertThat(top.get(4).count()).isBetween(100L, 160L);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatDecayHalvesTheCounts() {
+    // Given: a request made 10 times
+    HeavyHitterService service = new HeavyHitterService(5, 4, 1024);
+    ReflectionTestUtils.setField(service, "enabled", true);
+    ScalerData request = request(7);
+
+    for(int i = 0; i < 10; i++) {
+      service.record(ConversionKey.of(request), request);
+    }
+
+    // When: the counts decay
+    service.decay();
+
+    // Then: the count is halved
+    assertThat(service.top()).singleElement().extracting(HotConversion::count).isEqualTo(5L);
+  }
+
+  private static ScalerData request(int n) {
+    // @formatter:off
+    return ScalerData.builder()
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .fullsizeDimensions(new Dimensions(new Dimension(feet(n), Measurement.FOOT), null, null))
+        .build();
+    // @formatter:on
+  }
+
+  private static BigDecimal feet(int n) {
+    return BigDecimal.valueOf(n * 100 + 7, 2);
+  }
+}
@@ -0,0 +1,173 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.dao.JobDao;
+import com.goosebumpdesigns.scaler.dao.JobInputTooLargeException;
+import com.goosebumpdesigns.scaler.model.JobState;
+import com.goosebumpdesigns.scaler.model.JobStatus;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class})
+@ActiveProfiles("test")
+class JobServiceTest {
+  private static final String ENTRY = """
+      {"scale":"O","outputMeasurement":"INCH",\
+      "fullsizeDimensions":{"length":{"value":50.5,"measurement":"FOOT"}}}
+      """;
+
+  @TempDir
+  static Path jobDirectory;
+
+  @Autowired
+  private JobService jobService;
+
+  @Autowired
+  private JobDao jobDao;
+
+  @DynamicPropertySource
+  static void jobProperties(DynamicPropertyRegistry registry) {
+    registry.add("scaler.jobs.directory", () -> jobDirectory.toString());
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatInterruptedJobsRunAgainAfterRestart() throws Exception {
+    // Given: a job that was running when the application stopped, with part of a result
+    String id = UUID.randomUUID().toString();
+    String input = ENTRY.repeat(3);
+    jobDao.saveInput(id, new ByteArrayInputStream(input.getBytes()), Long.MAX_VALUE);
+    jobDao.saveStatus(JobStatus.builder().id(id).state(JobState.RUNNING)
+        .submitted(Instant.now()).started(Instant.now()).inputBytes(input.length()).build());
+    Files.writeString(jobDao.partialResult(id), "{\"partial\":true}\n");
+
+    // When: the stored jobs are recovered
+    jobService.recover();
+
+    // Then: the job runs again from the start and completes
+    JobStatus status = awaitFinished(id);
+    assertThat(status.getState()).isEqualTo(JobState.COMPLETED);
+    assertThat(status.getConverted()).isEqualTo(3);
+
+    // And: the result doesn't include the old partial result
+    assertThat(Files.readAllLines(jobService.retrieveResult(id))).hasSize(3)
+        .allMatch(line -> line.contains("\"modelDimensions\""));
+    assertThat(jobDao.input(id)).doesNotExist();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatOversizedInputIsRejected() throws Exception {
+    // Given: an input limit of zero
+    ReflectionTestUtils.setField(jobService, "maxInputMegabytes", 0L);
+
+    try {
+      // When: a job is submitted
+      // Then: it is rejected
+      assertThatThrownBy(() -> jobService.submit(new ByteArrayInputStream(ENTRY.getBytes())))
+          .isInstanceOf(JobInputTooLargeException.class).hasMessageContaining("larger than");
+
+      // And: nothing is left behind
+      try(Stream<Path> dirs = Files.list(jobDirectory)) {
+        assertThat(dirs.map(dir -> dir.getFileName().toString()))
+            .allMatch(dir -> jobService.retrieveJobs().stream()
+                .anyMatch(job -> job.getId().equals(dir)));
+      }
+    }
+    finally {
+      ReflectionTestUtils.setField(jobService, "maxInputMegabytes", 256L);
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatFinishedJobsCountTowardsTheStoredLimits() throws Exception {
+    // Given: a job that has completed and still has its result
+    JobStatus completed = awaitFinished(
+        jobService.submit(new ByteArrayInputStream(ENTRY.repeat(2).getBytes())).getId());
+    assertThat(completed.getState()).isEqualTo(JobState.COMPLETED);
+
+    try {
+      // When: the stored jobs already take up the whole limit
+      ReflectionTestUtils.setField(jobService, "maxStored", jobService.retrieveJobs().size());
+
+      // Then: a new job is rejected even though nothing is queued
+      assertThatThrownBy(() -> jobService.submit(new ByteArrayInputStream(ENTRY.getBytes())))
+          .isInstanceOf(RejectedExecutionException.class).hasMessageContaining("stored");
+
+      // And: the same is true when the stored bytes are over the limit
+      ReflectionTestUtils.setField(jobService, "maxStored", Integer.MAX_VALUE);
+      ReflectionTestUtils.setField(jobService, "maxStoredMegabytes", 0L);
+      assertThatThrownBy(() -> jobService.submit(new ByteArrayInputStream(ENTRY.getBytes())))
+          .isInstanceOf(RejectedExecutionException.class).hasMessageContaining("stored");
+
+      // And: deleting the finished job makes room again
+      ReflectionTestUtils.setField(jobService, "maxStored", jobService.retrieveJobs().size());
+      ReflectionTestUtils.setField(jobService, "maxStoredMegabytes", 2048L);
+      jobService.cancelJob(completed.getId());
+      assertThat(awaitFinished(
+          jobService.submit(new ByteArrayInputStream(ENTRY.getBytes())).getId()).getState())
+              .isEqualTo(JobState.COMPLETED);
+    }
+    finally {
+      ReflectionTestUtils.setField(jobService, "maxStored", 200);
+      ReflectionTestUtils.setField(jobService, "maxStoredMegabytes", 2048L);
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatResultOfAFailedJobIsNotAvailable() {
+    // Given: a job that failed
+    String id = UUID.randomUUID().toString();
+    jobDao.saveStatus(JobStatus.builder().id(id).state(JobState.FAILED).submitted(Instant.now())
+        .finished(Instant.now()).build());
+    jobService.recover();
+
+    // When: its result is requested
+    // Then: the job isn't complete
+    assertThatThrownBy(() -> jobService.retrieveResult(id))
+        .isInstanceOf(JobNotCompleteException.class).hasMessageContaining("FAILED");
+  }
+
+  private JobStatus awaitFinished(String id) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    JobStatus status = jobService.retrieveJob(id);
+
+    while(!status.getState().isFinished() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      status = jobService.retrieveJob(id);
+    }
+
+    return status;
+  }
+}
@@ -0,0 +1,96 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+class KdTreeTest {
+
+  /**
+   *
+   */
+  @Test
+  void assertThatBoxSearchFindsTheSamePointsAsAFullScan() {
+    // Given: random points with many repeated values on each axis
+    Random random = new Random(42);
+    int n = 5_000;
+    double[] points = new double[n * KdTree.K];
+
+    for(int i = 0; i < points.length; i++) {
+      points[i] = random.nextInt(50);
+    }
+
+    double[] original = points.clone();
+    KdTree tree = new KdTree(points, ids(n));
+
+    for(int q = 0; q < 200; q++) {
+      double[] min = new double[KdTree.K];
+      double[] max = new double[KdTree.K];
+
+      for(int axis = 0; axis < KdTree.K; axis++) {
+        min[axis] = random.nextInt(50);
+        max[axis] = min[axis] + random.nextInt(25);
+      }
+
+      // When: the tree is searched
+      List<Integer> found = new ArrayList<>();
+      tree.search(min, max, (id, coordinates, offset) -> found.add(id));
+
+      // Then: it finds exactly the points a full scan finds
+      assertThat(found).containsExactlyInAnyOrderElementsOf(scan(original, min, max));
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatEmptyTreeFindsNothing() {
+    // Given: an empty tree
+    KdTree tree = new KdTree(new double[0], new int[0]);
+    List<Integer> found = new ArrayList<>();
+
+    // When: it is searched
+    tree.search(new double[KdTree.K], new double[] {1, 1, 1}, (id, c, o) -> found.add(id));
+
+    // Then: nothing is found
+    assertThat(found).isEmpty();
+    assertThat(tree.size()).isZero();
+  }
+
+  private int[] ids(int n) {
+    int[] ids = new int[n];
+
+    for(int i = 0; i < n; i++) {
+      ids[i] = i;
+    }
+
+    return ids;
+  }
+
+  private List<Integer> scan(double[] points, double[] min, double[] max) {
+    List<Integer> found = new ArrayList<>();
+
+    for(int id = 0; id < points.length / KdTree.K; id++) {
+      boolean inside = true;
+
+      for(int axis = 0; axis < KdTree.K; axis++) {
+        double value = points[id * KdTree.K + axis];
+        inside &= value >= min[axis] && value <= max[axis];
+      }
+
+      if(inside) {
+        found.add(id);
+      }
+    }
+
+    return found;
+  }
+}
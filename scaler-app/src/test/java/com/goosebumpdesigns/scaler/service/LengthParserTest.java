@@ -0,0 +1,89 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ * These tests use the units in units/units.csv.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class})
+@ActiveProfiles("test")
+class LengthParserTest {
+  @Autowired
+  private UnitService unitService;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTypedLengthsAreParsed() {
+    // Given: lengths typed the way modelers type them
+    // When: they are parsed
+    // Then: each is in the measurement of the smallest unit used
+    assertThat(unitService.parse("12' 6 1/2\"", null)).isEqualTo(dimension("150.50", "INCH"));
+    assertThat(unitService.parse("3-5/8 in", null)).isEqualTo(dimension("3.63", "INCH"));
+    assertThat(unitService.parse("1.2 m", null)).isEqualTo(dimension("120.00", "CM"));
+    assertThat(unitService.parse("6 ft 3 in", null)).isEqualTo(dimension("75.00", "INCH"));
+    assertThat(unitService.parse("2 yd", null)).isEqualTo(dimension("6.00", "FOOT"));
+    assertThat(unitService.parse("  40FT ", null)).isEqualTo(dimension("40.00", "FOOT"));
+    assertThat(unitService.parse("7/8\"", null)).isEqualTo(dimension("0.88", "INCH"));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatScaleUnitsUseTheScale() {
+    // Given: a length in scale feet
+    String text = "10 scale ft";
+
+    // When: it is parsed with the HO scale
+    Dimension result = unitService.parse(text, Scale.HO);
+
+    // Then: it is the model length in inches (10 * 12 / 87.1)
+    assertThat(result).isEqualTo(dimension("1.38", "INCH"));
+
+    // And: it can't be parsed without a scale
+    assertThatThrownBy(() -> unitService.parse(text, null))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("needs a scale");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatInvalidLengthsAreRejected() {
+    // Given: lengths without a unit, with an unknown unit or without a number
+    // When: they are parsed
+    // Then: each is rejected with the position of the problem
+    assertThatThrownBy(() -> unitService.parse("40", null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Missing unit at position 3 of \"40\".");
+    assertThatThrownBy(() -> unitService.parse("40 furlongs", null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unknown unit at position 4 of \"40 furlongs\".");
+    assertThatThrownBy(() -> unitService.parse("ft", null))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageStartingWith("Expected a number");
+    assertThatThrownBy(() -> unitService.parse("1/0 in", null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Expected a denominator");
+    assertThatThrownBy(() -> unitService.parse("12345678901234567890 mm", null))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageStartingWith("Too many digits");
+  }
+
+  private Dimension dimension(String value, String measurement) {
+    return new Dimension(new BigDecimal(value), Measurement.valueOf(measurement));
+  }
+}
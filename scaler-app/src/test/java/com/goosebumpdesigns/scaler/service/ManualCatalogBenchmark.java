@@ -0,0 +1,187 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.model.CatalogEntry;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * You can use this test to measure the catalog with a million generated entries. It prints the
+ * time to index the catalog, the heap used afterward, the latency of autocomplete lookups of one
+ * to four characters and the latency of "what fits" queries. For comparison, it also times a fit
+ * query that scales every entry with the {@link ScalerService}. Run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualCatalogBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualCatalogBenchmark {
+  private static final int ENTRIES = 1_000_000;
+  private static final int LOOKUPS = 1_000_000;
+  private static final int FIT_QUERIES = 20_000;
+  private static final String[] WORDS = {"boxcar", "reefer", "hopper", "gondola", "flatcar",
+      "tank car", "caboose", "coach", "depot", "elevator", "tower", "warehouse"};
+
+  /**
+   * Run the benchmark.
+   */
+  @Test
+  void test() {
+    CatalogService catalogService = new CatalogService();
+    ReflectionTestUtils.setField(catalogService, "scalerService", new ScalerService());
+    ReflectionTestUtils.setField(catalogService, "maxResults", 50);
+
+    List<CatalogEntry> entries = generate();
+    long heapBefore = usedHeap();
+    long start = System.nanoTime();
+
+    catalogService.index(entries);
+
+    long indexMillis = (System.nanoTime() - start) / 1_000_000;
+    long scanMillis = scanForFits(entries);
+    entries = null;
+    long heapAfter = usedHeap();
+
+    System.out.printf("Indexed %,d entries in %,d ms%n", catalogService.size(), indexMillis);
+    System.out.printf("Off-heap dimensions: %,d MB%n",
+        (long)ENTRIES * ScaledDimensionTable.BYTES_PER_ROW / (1024 * 1024));
+    System.out.printf("Heap used with the generated entries: %,d MB, after indexing: %,d MB%n",
+        heapBefore / (1024 * 1024), heapAfter / (1024 * 1024));
+
+    // Warm up the JIT before timing
+    lookups(catalogService, LOOKUPS);
+
+    Histogram latency = lookups(catalogService, LOOKUPS);
+
+    System.out.printf("Lookup (limit 10, HO/INCH) p50=%.1f us, p99=%.1f us, p99.9=%.1f us, "
+        + "max=%.1f us%n", latency.getValueAtPercentile(50) / 1000.0,
+        latency.getValueAtPercentile(99) / 1000.0, latency.getValueAtPercentile(99.9) / 1000.0,
+        latency.getMaxValue() / 1000.0);
+
+    // Warm up the JIT before timing
+    fitQueries(catalogService, FIT_QUERIES);
+
+    Histogram fitLatency = fitQueries(catalogService, FIT_QUERIES);
+
+    System.out.printf("Fit query (limit 10, N/CM) p50=%.1f us, p99=%.1f us, p99.9=%.1f us, "
+        + "max=%.1f us%n", fitLatency.getValueAtPercentile(50) / 1000.0,
+        fitLatency.getValueAtPercentile(99) / 1000.0,
+        fitLatency.getValueAtPercentile(99.9) / 1000.0, fitLatency.getMaxValue() / 1000.0);
+    System.out.printf("Fit query scaling every entry with ScalerService: %,d ms%n", scanMillis);
+  }
+
+  /**
+   * Query random spaces from 1 cm to 10 cm on each side.
+   */
+  private Histogram fitQueries(CatalogService catalogService, int count) {
+    Histogram latency = new Histogram(3);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    for(int i = 0; i < count; i++) {
+      // @formatter:off
+      Dimensions space = new Dimensions(
+          new Dimension(BigDecimal.valueOf(random.nextInt(100, 1_000), 2), Measurement.CM),
+          new Dimension(BigDecimal.valueOf(random.nextInt(100, 1_000), 2), Measurement.CM),
+          new Dimension(BigDecimal.valueOf(random.nextInt(100, 1_000), 2), Measurement.CM));
+      // @formatter:on
+
+      long start = System.nanoTime();
+      catalogService.findFits(Scale.N, Measurement.CM, space, 10);
+      latency.recordValue(System.nanoTime() - start);
+    }
+
+    return latency;
+  }
+
+  /**
+   * Time one fit query done the slow way: scale every entry and compare it with the space.
+   */
+  private long scanForFits(List<CatalogEntry> entries) {
+    ScalerService scalerService = new ScalerService();
+    BigDecimal limit = new BigDecimal("5.00");
+    long start = System.nanoTime();
+    int fits = 0;
+
+    for(CatalogEntry entry : entries) {
+      // @formatter:off
+      Dimensions model = scalerService.supplyMissingFields(ScalerData.builder()
+          .scale(Scale.N)
+          .outputMeasurement(Measurement.CM)
+          .fullsizeDimensions(entry.fullsizeDimensions())
+          .build()).getModelDimensions();
+      // @formatter:on
+
+      if(model.length().value().compareTo(limit) <= 0 && model.width().value().compareTo(limit) <= 0
+          && model.height().value().compareTo(limit) <= 0) {
+        fits++;
+      }
+    }
+
+    if(fits < 0) {
+      throw new IllegalStateException();
+    }
+
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+
+  private Histogram lookups(CatalogService catalogService, int count) {
+    Histogram latency = new Histogram(3);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long matches = 0;
+
+    for(int i = 0; i < count; i++) {
+      int length = 1 + random.nextInt(4);
+      String prefix = Integer.toString(random.nextInt(1000)) + " ft b";
+      prefix = prefix.substring(0, Math.min(length, prefix.length()));
+
+      long start = System.nanoTime();
+      matches += catalogService.findByPrefix(prefix, Scale.HO, Measurement.INCH, 10).size();
+      latency.recordValue(System.nanoTime() - start);
+    }
+
+    if(matches == 0) {
+      throw new IllegalStateException("No matches");
+    }
+
+    return latency;
+  }
+
+  private List<CatalogEntry> generate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<CatalogEntry> entries = new ArrayList<>(ENTRIES);
+
+    for(int i = 0; i < ENTRIES; i++) {
+      String name = random.nextInt(1000) + " ft " + WORDS[i % WORDS.length] + " #" + i;
+
+      // @formatter:off
+      Dimensions dimensions = new Dimensions(
+          new Dimension(BigDecimal.valueOf(random.nextInt(100, 20_000), 2), Measurement.FOOT),
+          new Dimension(BigDecimal.valueOf(random.nextInt(100, 2_000), 2), Measurement.FOOT),
+          new Dimension(BigDecimal.valueOf(random.nextInt(100, 2_000), 1), Measurement.INCH));
+      // @formatter:on
+
+      entries.add(new CatalogEntry(name, dimensions, null));
+    }
+
+    return entries;
+  }
+
+  private long usedHeap() {
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.dao.UnitDao;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ * You can use this test to measure the {@link LengthParser} with a million generated lengths in a
+ * mix of forms (feet and inches, fractions, decimals and metric). It prints the throughput, the
+ * time per length and the bytes allocated per length. Run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualLengthParserBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualLengthParserBenchmark {
+  private static final int LENGTHS = 1_000_000;
+  private static final int ROUNDS = 5;
+
+  /**
+   * Run the benchmark.
+   */
+  @Test
+  void test() {
+    UnitDao unitDao = new UnitDao();
+    ReflectionTestUtils.setField(unitDao, "location", new ClassPathResource("units/units.csv"));
+    LengthParser parser = new LengthParser(new UnitRegistry(unitDao.loadAll()));
+
+    String[] lengths = generate();
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+
+    // Warm up the JIT before timing
+    parse(parser, lengths);
+
+    for(int round = 1; round <= ROUNDS; round++) {
+      long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+
+      parse(parser, lengths);
+
+      long nanos = System.nanoTime() - start;
+      long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+      System.out.printf("Round %d: %,.0f lengths/s, %.1f ns/length, %.1f bytes/length%n", round,
+          LENGTHS * 1e9 / nanos, (double)nanos / LENGTHS, (double)allocated / LENGTHS);
+    }
+  }
+
+  private void parse(LengthParser parser, String[] lengths) {
+    long checksum = 0;
+
+    for(String length : lengths) {
+      Dimension dimension = parser.parse(length, Scale.HO);
+      checksum += dimension.value().unscaledValue().longValue();
+    }
+
+    if(checksum == 42) {
+      System.out.println("Unlikely checksum");
+    }
+  }
+
+  private String[] generate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String[] lengths = new String[LENGTHS];
+
+    for(int i = 0; i < LENGTHS; i++) {
+      int feet = random.nextInt(1, 90);
+      int inches = random.nextInt(0, 12);
+      int eighths = random.nextInt(1, 8);
+
+      lengths[i] = switch(i % 6) {
+        case 0 -> feet + "' " + inches + " " + eighths + "/8\"";
+        case 1 -> inches + "-" + eighths + "/8 in";
+        case 2 -> feet + "." + inches + " ft";
+        case 3 -> feet + " ft " + inches + " in";
+        case 4 -> random.nextInt(1, 5_000) + " mm";
+        default -> feet + " scale ft";
+      };
+    }
+
+    return lengths;
+  }
+}
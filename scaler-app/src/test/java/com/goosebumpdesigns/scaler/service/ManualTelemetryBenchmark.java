@@ -0,0 +1,95 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.dao.TimingBlockDao;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.TelemetryResult;
+import com.goosebumpdesigns.scaler.model.TimingBlock;
+
+/**
+ * You can use this test to measure how fast the {@link TelemetryService} reads detector events. It
+ * replays a million generated events for 200 locomotives in 10 blocks and prints the events per
+ * second. Run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ManualTelemetryBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualTelemetryBenchmark {
+  private static final int EVENTS = 1_000_000;
+  private static final int LOCOS = 200;
+  private static final int BLOCKS = 10;
+  private static final int ROUNDS = 5;
+
+  /**
+   * Run the benchmark.
+   */
+  @Test
+  void test() {
+    TimingBlockDao timingBlockDao = new TimingBlockDao();
+    ReflectionTestUtils.setField(timingBlockDao, "file",
+        Path.of("target/test-data/benchmark-timing-blocks.json"));
+    ReflectionTestUtils.setField(timingBlockDao, "objectMapper", new ObjectMapper());
+
+    TelemetryService service = new TelemetryService(32, 600_000);
+    ReflectionTestUtils.setField(service, "scalerService", new ScalerService());
+    ReflectionTestUtils.setField(service, "timingBlockDao", timingBlockDao);
+
+    for(int block = 0; block < BLOCKS; block++) {
+      service.saveBlock(new TimingBlock("block-" + block,
+          new Dimension(BigDecimal.valueOf(6 + block), Measurement.FOOT), Scale.HO));
+    }
+
+    String events = generate();
+
+    // Warm up the JIT before timing
+    ingest(service, events);
+
+    for(int round = 1; round <= ROUNDS; round++) {
+      long start = System.nanoTime();
+      TelemetryResult result = ingest(service, events);
+      long nanos = System.nanoTime() - start;
+
+      System.out.printf("Round %d: %,.0f events/s, %.1f ns/event, %,d speeds%n", round,
+          EVENTS * 1e9 / nanos, (double)nanos / EVENTS, result.readings());
+    }
+  }
+
+  private TelemetryResult ingest(TelemetryService service, String events) {
+    return service.ingest(new BufferedReader(new StringReader(events)));
+  }
+
+  /**
+   * Each locomotive in turn passes through the next block, entering at A and leaving at B between
+   * 2 and 12 seconds later.
+   */
+  private String generate() {
+    StringBuilder events = new StringBuilder(EVENTS * 32);
+    long micros = 1_718_000_000_000_000L;
+
+    for(int i = 0; i < EVENTS / 2; i++) {
+      String loco = String.valueOf(1000 + i % LOCOS);
+      String block = "block-" + (i / LOCOS) % BLOCKS;
+      long transit = 2_000_000 + (i * 7919L) % 10_000_000;
+
+      events.append(micros).append(',').append(loco).append(',').append(block).append(",A\n");
+      events.append(micros + transit).append(',').append(loco).append(',').append(block)
+          .append(",B\n");
+      micros += 1000;
+    }
+
+    return events.toString();
+  }
+}
@@ -0,0 +1,200 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.dao.ProjectDao;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Project;
+import com.goosebumpdesigns.scaler.model.ProjectDelta;
+import com.goosebumpdesigns.scaler.model.ProjectItem;
+import com.goosebumpdesigns.scaler.model.ProjectSettings;
+import com.goosebumpdesigns.scaler.model.Scale;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class})
+@ActiveProfiles("test")
+class ProjectServiceTest {
+  @TempDir
+  static Path projectDirectory;
+
+  @Autowired
+  private ProjectService projectService;
+
+  @Autowired
+  private ProjectDao projectDao;
+
+  @DynamicPropertySource
+  static void projectProperties(DynamicPropertyRegistry registry) {
+    registry.add("scaler.projects.directory", () -> projectDirectory.toString());
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTotalsAreMaintainedAsItemsAreAddedAndRemoved() {
+    // Given: a project with two boxcars
+    String name = "totals";
+    projectService.saveSettings(name, new ProjectSettings(Scale.HO, Measurement.INCH));
+    projectService.saveItem(name, "boxcar-40", fullsizeItem("40", "10"));
+
+    // When: a second item is added
+    ProjectDelta added = projectService.saveItem(name, "boxcar-50", fullsizeItem("50", "10"));
+
+    // Then: only the added item is returned
+    assertThat(added.getChangedItems()).extracting(ProjectItem::id).containsExactly("boxcar-50");
+
+    // And: the total length is the sum of the model lengths
+    assertThat(added.getTotals().itemCount()).isEqualTo(2);
+    assertThat(added.getTotals().totalLength())
+        .isEqualTo(new Dimension(new BigDecimal("12.40"), Measurement.INCH));
+
+    // When: an item is removed
+    ProjectDelta removed = projectService.deleteItem(name, "boxcar-40");
+
+    // Then: the total is the length of the remaining item
+    assertThat(removed.getRemovedItems()).containsExactly("boxcar-40");
+    assertThat(removed.getTotals().totalLength())
+        .isEqualTo(new Dimension(new BigDecimal("6.89"), Measurement.INCH));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatChangingTheScaleReturnsOnlyChangedItems() {
+    // Given: a project with a full size item and an item without length or width
+    String name = "scale-change";
+    projectService.saveSettings(name, new ProjectSettings(Scale.HO, Measurement.INCH));
+    projectService.saveItem(name, "boxcar", fullsizeItem("40", "10"));
+
+    // When: the settings are saved again without a change
+    ProjectDelta unchanged =
+        projectService.saveSettings(name, new ProjectSettings(Scale.HO, Measurement.INCH));
+
+    // Then: no items are returned
+    assertThat(unchanged.getChangedItems()).isEmpty();
+
+    // When: the scale is changed
+    ProjectDelta changed =
+        projectService.saveSettings(name, new ProjectSettings(Scale.N, Measurement.INCH));
+
+    // Then: the recalculated item is returned with the N scale length
+    assertThat(changed.getChangedItems()).hasSize(1);
+    assertThat(changed.getChangedItems().get(0).modelDimensions().length())
+        .isEqualTo(new Dimension(new BigDecimal("3.00"), Measurement.INCH));
+    assertThat(changed.getTotals().totalLength())
+        .isEqualTo(new Dimension(new BigDecimal("3.00"), Measurement.INCH));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatProjectsAreStoredAndReloaded() {
+    // Given: a stored project
+    String name = "stored";
+    projectService.saveSettings(name, new ProjectSettings(Scale.O, Measurement.CM));
+    projectService.saveItem(name, "station", fullsizeItem("60", "20"));
+    Project expected = projectService.retrieveProject(name);
+
+    // When: the projects are reloaded from the store
+    projectService.loadProjects();
+
+    // Then: the reloaded project matches the original
+    assertThat(projectService.retrieveProject(name)).isEqualTo(expected);
+
+    // And: only the input dimensions are stored
+    Project stored = projectDao.loadAll().stream().filter(p -> p.getName().equals(name))
+        .findFirst().orElseThrow();
+    assertThat(stored.getItems().get(0).modelDimensions()).isNull();
+    assertThat(stored.getTotals()).isNull();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatMissingProjectThrowsException() {
+    // Given: a project that doesn't exist
+    String name = "missing";
+
+    // When: an item is added
+    // Then: an exception is thrown
+    assertThatThrownBy(() -> projectService.saveItem(name, "boxcar", fullsizeItem("40", "10")))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAChangeWaitingForADeletedProjectDoesNotSaveItAgain() throws Exception {
+    // Given: a project whose lock is held while an item is being added to it
+    String name = "deleted";
+    projectService.saveSettings(name, new ProjectSettings(Scale.HO, Measurement.INCH));
+    Object state = ((Map<?, ?>)ReflectionTestUtils.getField(projectService, "projects")).get(name);
+    CompletableFuture<ProjectDelta> saved = new CompletableFuture<>();
+    Thread saver = new Thread(() -> {
+      try {
+        saved.complete(projectService.saveItem(name, "boxcar", fullsizeItem("40", "10")));
+      }
+      catch(RuntimeException e) {
+        saved.completeExceptionally(e);
+      }
+    });
+
+    synchronized(state) {
+      saver.start();
+      awaitBlocked(saver);
+
+      // When: the project is deleted before the item is added
+      projectService.deleteProject(name);
+    }
+
+    // Then: adding the item fails
+    assertThatThrownBy(saved::join).hasCauseInstanceOf(NoSuchElementException.class);
+
+    // And: the project isn't stored again
+    assertThat(projectService.retrieveProjectNames()).doesNotContain(name);
+    assertThat(projectDao.loadAll()).extracting(Project::getName).doesNotContain(name);
+  }
+
+  private void awaitBlocked(Thread thread) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+
+    while(thread.getState() != Thread.State.BLOCKED && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertThat(thread.getState()).isEqualTo(Thread.State.BLOCKED);
+  }
+
+  private ProjectItem fullsizeItem(String lengthFeet, String widthFeet) {
+    Dimension length = new Dimension(new BigDecimal(lengthFeet), Measurement.FOOT);
+    Dimension width = new Dimension(new BigDecimal(widthFeet), Measurement.FOOT);
+
+    return new ProjectItem(null, null, new Dimensions(length, width, null), null);
+  }
+}
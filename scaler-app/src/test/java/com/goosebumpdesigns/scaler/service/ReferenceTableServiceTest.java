@@ -0,0 +1,94 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * These tests use the tables written by the reference table generator, which runs in the
+ * process-classes phase before the tests.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class})
+@ActiveProfiles("test")
+class ReferenceTableServiceTest {
+  @Autowired
+  private ReferenceTableService referenceTableService;
+
+  @Autowired
+  private ScalerService scalerService;
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTableLookupsMatchScalerService() {
+    for(Scale scale : Scale.values()) {
+      for(Measurement output : Measurement.values()) {
+        // Given: round full size dimensions in a mix of measurements
+        ScalerData data = fullsize(scale, output, new Dimensions(dimension("40", Measurement.FOOT),
+            dimension("100", Measurement.INCH), dimension("250", Measurement.MM)));
+
+        // When: they are looked up in the tables
+        ScalerData result = referenceTableService.lookup(data);
+
+        // Then: the result is the same as the calculated one
+        assertThat(result).isEqualTo(scalerService.supplyMissingFields(data));
+      }
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatValuesNotInTablesAreNotLookedUp() {
+    // Given: a full size length that isn't a round number
+    ScalerData fraction = fullsize(Scale.HO, Measurement.INCH,
+        new Dimensions(dimension("40.5", Measurement.FOOT), null, null));
+
+    // And: a full size length beyond the range of its table
+    ScalerData tooLong = fullsize(Scale.HO, Measurement.INCH, new Dimensions(
+        dimension("40", Measurement.FOOT), dimension("201", Measurement.FOOT), null));
+
+    // And: model dimensions
+    // @formatter:off
+    ScalerData model = ScalerData.builder()
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .modelDimensions(new Dimensions(dimension("6", Measurement.INCH), null, null))
+        .build();
+    // @formatter:on
+
+    // When: they are looked up
+    // Then: none is found, so each is calculated instead
+    assertThat(referenceTableService.lookup(fraction)).isNull();
+    assertThat(referenceTableService.lookup(tooLong)).isNull();
+    assertThat(referenceTableService.lookup(model)).isNull();
+  }
+
+  private ScalerData fullsize(Scale scale, Measurement output, Dimensions dimensions) {
+    // @formatter:off
+    return ScalerData.builder()
+        .scale(scale)
+        .outputMeasurement(output)
+        .fullsizeDimensions(dimensions)
+        .build();
+    // @formatter:on
+  }
+
+  private Dimension dimension(String value, Measurement measurement) {
+    return new Dimension(new BigDecimal(value), measurement);
+  }
+}
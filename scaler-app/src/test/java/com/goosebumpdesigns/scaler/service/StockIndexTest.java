@@ -0,0 +1,120 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.StockSize;
+
+/**
+ *
+ */
+class StockIndexTest {
+  /** Millimeters per unit by ordinal: INCH, CM, FOOT, MM. */
+  private static final double[] UNIT_MILLIMETERS = {25.4, 10, 304.8, 1};
+
+  /**
+   *
+   */
+  @Test
+  void assertThatBinarySearchFindsTheSameSizeAsAFullScan() {
+    // Given: random sorted sizes
+    Random random = new Random(42);
+
+    for(int n = 1; n < 200; n++) {
+      double[] sizes = new double[n];
+
+      for(int i = 0; i < n; i++) {
+        sizes[i] = random.nextInt(1000) / 10.0;
+      }
+
+      Arrays.sort(sizes);
+
+      for(int q = 0; q < 50; q++) {
+        double target = random.nextDouble(-10, 110);
+
+        // When: the nearest size is found
+        int found = StockIndex.nearest(sizes, target);
+
+        // Then: no size is nearer
+        for(double size : sizes) {
+          assertThat(Math.abs(sizes[found] - target)).isLessThanOrEqualTo(Math.abs(size - target));
+        }
+      }
+    }
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatSizesInTheLengthsMeasurementArePreferred() {
+    // Given: a material sold in inches and millimeters
+    StockIndex index = new StockIndex(List.of(size("tube", "0.125", Measurement.INCH),
+        size("tube", "0.0625", Measurement.INCH), size("tube", "3.0", Measurement.MM),
+        size("tube", "3.2", Measurement.MM)), UNIT_MILLIMETERS);
+
+    // When: 3.1 mm is snapped as inches and as millimeters
+    StockSize inch = index.nearest("tube", 3.1, Measurement.INCH);
+    StockSize mm = index.nearest("tube", 3.1, Measurement.MM);
+
+    // Then: each comes from the sizes sold in that measurement, with the error in it
+    assertThat(inch).isEqualTo(
+        new StockSize("tube", new BigDecimal("0.125"), Measurement.INCH, new BigDecimal("0.0030")));
+    assertThat(mm).isEqualTo(
+        new StockSize("tube", new BigDecimal("3.0"), Measurement.MM, new BigDecimal("-0.1000")));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAllSizesAreSearchedForOtherMeasurements() {
+    // Given: a material sold in inches and millimeters
+    StockIndex index = new StockIndex(List.of(size("tube", "0.125", Measurement.INCH),
+        size("tube", "3.0", Measurement.MM), size("tube", "3.0", Measurement.MM)),
+        UNIT_MILLIMETERS);
+
+    // When: lengths are snapped as centimeters
+    StockSize small = index.nearest("tube", 2.9, Measurement.CM);
+    StockSize large = index.nearest("tube", 3.2, Measurement.CM);
+
+    // Then: the nearest of all of the sizes is found (1/8" is 3.175 mm)
+    assertThat(small.size()).isEqualByComparingTo("3.0");
+    assertThat(small.measurement()).isEqualTo(Measurement.MM);
+    assertThat(large.size()).isEqualByComparingTo("0.125");
+    assertThat(large.measurement()).isEqualTo(Measurement.INCH);
+
+    // And: unknown materials aren't found
+    assertThat(index.nearest("rod", 3.0, Measurement.MM)).isNull();
+    assertThat(index.materials()).containsExactly("tube");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAStockLengthReturnsTheSharedSize() {
+    // Given: a material sold in inches
+    StockIndex index = new StockIndex(List.of(size("strip", "0.040", Measurement.INCH),
+        size("strip", "0.060", Measurement.INCH)), UNIT_MILLIMETERS);
+
+    // When: a length that is a stock size is snapped twice
+    StockSize first = index.nearest("strip", 0.040 * 25.4, Measurement.INCH);
+    StockSize second = index.nearest("strip", 0.040 * 25.4, Measurement.INCH);
+
+    // Then: the size has no error and is the one built with the index
+    assertThat(first).isEqualTo(new StockSize("strip", new BigDecimal("0.040"), Measurement.INCH,
+        new BigDecimal("0.0000")));
+    assertThat(second).isSameAs(first);
+  }
+
+  private StockSize size(String material, String size, Measurement measurement) {
+    return new StockSize(material, new BigDecimal(size), measurement, null);
+  }
+}
@@ -0,0 +1,141 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.dao.TimingBlockDao;
+import com.goosebumpdesigns.scaler.model.DetectorEvent;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.LocoSpeedStats;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.SpeedUnit;
+import com.goosebumpdesigns.scaler.model.TelemetryResult;
+import com.goosebumpdesigns.scaler.model.TimingBlock;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class})
+@ActiveProfiles("test")
+class TelemetryServiceTest {
+  @TempDir
+  static Path telemetryDirectory;
+
+  @Autowired
+  private TelemetryService telemetryService;
+
+  @Autowired
+  private TimingBlockDao timingBlockDao;
+
+  @DynamicPropertySource
+  static void telemetryProperties(DynamicPropertyRegistry registry) {
+    registry.add("scaler.telemetry.blocks-file",
+        () -> telemetryDirectory.resolve("timing-blocks.json").toString());
+  }
+
+  /**
+   *
+   */
+  @BeforeEach
+  void saveBlocks() {
+    telemetryService.saveBlock(block("main-1", "10", Measurement.FOOT, Scale.HO));
+    telemetryService.saveBlock(block("main-2", "8", Measurement.FOOT, Scale.HO));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatARecordedSessionIsReplayed() throws Exception {
+    // Given: a recorded session of three trains running eight laps of two blocks. It includes a
+    // detector that triggered twice, an event for an unknown block, a line that isn't an event and
+    // a train that entered a block at the end of the recording.
+    TelemetryResult result;
+
+    // When: the session is replayed
+    try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+        getClass().getResourceAsStream("/telemetry/session.csv"), StandardCharsets.UTF_8))) {
+      result = telemetryService.ingest(reader);
+    }
+
+    // Then: every pass through a block is timed and the bad events are rejected
+    assertThat(result).isEqualTo(new TelemetryResult(100, 2, 48));
+
+    // And: the speeds match the ones the session was recorded at
+    LocoSpeedStats stats = telemetryService.retrieveStats("844", SpeedUnit.MPH);
+    assertThat(stats.readings()).isEqualTo(16);
+    assertThat(stats.lastBlock()).isEqualTo("main-2");
+    assertThat(stats.last()).isCloseTo(65.5521, offset(0.001));
+    assertThat(stats.mean()).isCloseTo(59.8350, offset(0.001));
+    assertThat(stats.min()).isCloseTo(54.7996, offset(0.001));
+    assertThat(stats.max()).isCloseTo(65.5521, offset(0.001));
+
+    // And: the second trigger of the repeated detector is the one that counts
+    assertThat(telemetryService.retrieveStats("4449", SpeedUnit.MPH).mean()).isCloseTo(45.9450,
+        offset(0.001));
+    assertThat(telemetryService.retrieveStats("9700", SpeedUnit.KMH).mean())
+        .isCloseTo(29.6194 * 1.609344, offset(0.001));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatTrainsAreTimedInEitherDirection() {
+    // Given: a train that enters main-1 at B
+    telemetryService.accept(new DetectorEvent(1_000_000, "reverse", "main-1", "B"));
+
+    // When: it leaves at A 10 seconds later
+    boolean timed =
+        telemetryService.accept(new DetectorEvent(11_000_000, "reverse", "main-1", "A"));
+
+    // Then: 10 HO feet in 10 seconds is 265.48 full size meters in 10 seconds, or 59.39 mph
+    assertThat(timed).isTrue();
+    assertThat(telemetryService.retrieveStats("reverse", SpeedUnit.MPH).last()).isCloseTo(59.3864,
+        offset(0.001));
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatBlocksAreSavedAndValidated() {
+    // Given: the saved blocks
+    // When: they are loaded
+    // Then: both are there with their distances
+    assertThat(timingBlockDao.load()).extracting(TimingBlock::id).contains("main-1", "main-2");
+
+    // And: a block without a positive distance is rejected
+    assertThatThrownBy(
+        () -> telemetryService.saveBlock(block("bad", "0", Measurement.FOOT, Scale.HO)))
+            .isInstanceOf(IllegalArgumentException.class);
+
+    // And: an event for an unknown block is rejected
+    assertThatThrownBy(
+        () -> telemetryService.accept(new DetectorEvent(1, "844", "nowhere", "A")))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static TimingBlock block(String id, String distance, Measurement measurement,
+      Scale scale) {
+    return new TimingBlock(id, new Dimension(new BigDecimal(distance), measurement), scale);
+  }
+}
@@ -0,0 +1,251 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.goosebumpdesigns.scaler.Scaler;
+import com.goosebumpdesigns.scaler.dao.YardDao;
+import com.goosebumpdesigns.scaler.model.Car;
+import com.goosebumpdesigns.scaler.model.Consist;
+import com.goosebumpdesigns.scaler.model.ConsistFit;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.Siding;
+import com.goosebumpdesigns.scaler.model.SidingFit;
+import com.goosebumpdesigns.scaler.model.Yard;
+import com.goosebumpdesigns.scaler.model.YardFits;
+import com.goosebumpdesigns.scaler.model.YardSettings;
+
+/**
+ *
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.NONE, classes = {Scaler.class})
+@ActiveProfiles("test")
+class YardServiceTest {
+  @TempDir
+  static Path yardDirectory;
+
+  @Autowired
+  private YardService yardService;
+
+  @Autowired
+  private YardDao yardDao;
+
+  @DynamicPropertySource
+  static void yardProperties(DynamicPropertyRegistry registry) {
+    registry.add("scaler.yards.directory", () -> yardDirectory.toString());
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatConsistsAreMatchedWithTheSidingsTheyFit() {
+    // Given: an HO yard with a 12 inch and a 24 inch siding
+    String name = "staging";
+    yardService.saveSettings(name, new YardSettings(Scale.HO, Measurement.INCH));
+    yardService.saveSiding(name, "short", siding("12"));
+    yardService.saveSiding(name, "long", siding("24"));
+
+    // When: a local of two 40 ft cars and a through train of four 50 ft cars are added
+    yardService.saveConsist(name, "local", consist("40", "40"));
+    yardService.saveConsist(name, "through", consist("50", "50", "50", "50"));
+    YardFits fits = yardService.retrieveFits(name);
+
+    // Then: both sidings hold only the local
+    assertThat(fits.sidings()).extracting(SidingFit::siding).containsExactly("short", "long");
+    assertThat(fits.sidings()).extracting(SidingFit::consists)
+        .containsExactly(List.of("local"), List.of("local"));
+
+    // And: the through train fits nowhere but three of its cars fit in the long siding
+    ConsistFit through = fits.consists().get(0);
+    assertThat(through.consist()).isEqualTo("through");
+    assertThat(through.length())
+        .isEqualTo(new Dimension(new BigDecimal("27.55"), Measurement.INCH));
+    assertThat(through.sidings()).isEmpty();
+    assertThat(through.carsThatFit()).isEqualTo(3);
+    assertThat(fits.consists().get(1).sidings()).containsExactly("short", "long");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAddingAndRemovingCarsUpdatesTheFit() {
+    // Given: a yard with a 20 inch siding and a train of three 50 ft cars
+    String name = "incremental";
+    yardService.saveSettings(name, new YardSettings(Scale.HO, Measurement.INCH));
+    yardService.saveSiding(name, "main", siding("20"));
+    yardService.saveConsist(name, "freight", consist("50", "50"));
+    ConsistFit added = yardService.saveCar(name, "freight", "car-3", car("50"));
+
+    // Then: the train doesn't fit
+    assertThat(added.cars()).isEqualTo(3);
+    assertThat(added.sidings()).isEmpty();
+    assertThat(added.carsThatFit()).isEqualTo(2);
+
+    // When: a car is removed
+    ConsistFit removed = yardService.deleteCar(name, "freight", "car-1");
+
+    // Then: the train fits
+    assertThat(removed.cars()).isEqualTo(2);
+    assertThat(removed.length())
+        .isEqualTo(new Dimension(new BigDecimal("13.78"), Measurement.INCH));
+    assertThat(removed.sidings()).containsExactly("main");
+    assertThat(removed.carsThatFit()).isNull();
+
+    // And: the remaining cars keep their order
+    assertThat(yardService.retrieveYard(name).getConsists().get(0).cars()).extracting(Car::id)
+        .containsExactly("car-2", "car-3");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatChangingTheScaleRescalesTheCars() {
+    // Given: an HO yard with a 10 inch siding and a train of two 40 ft cars
+    String name = "rescale";
+    yardService.saveSettings(name, new YardSettings(Scale.HO, Measurement.INCH));
+    yardService.saveSiding(name, "main", siding("10"));
+    yardService.saveConsist(name, "local", consist("40", "40"));
+    assertThat(yardService.retrieveFits(name).sidings().get(0).consists()).isEmpty();
+
+    // When: the scale is changed to N
+    Yard yard = yardService.saveSettings(name, new YardSettings(Scale.N, Measurement.INCH));
+
+    // Then: the cars are rescaled and the train fits
+    assertThat(yard.getConsists().get(0).length())
+        .isEqualTo(new Dimension(new BigDecimal("6.00"), Measurement.INCH));
+    assertThat(yardService.retrieveFits(name).sidings().get(0).consists())
+        .containsExactly("local");
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatYardsAreStoredAndReloaded() {
+    // Given: a stored yard
+    String name = "stored";
+    yardService.saveSettings(name, new YardSettings(Scale.O, Measurement.CM));
+    yardService.saveSiding(name, "main", siding("30"));
+    yardService.saveConsist(name, "local", consist("40", "50"));
+    Yard expected = yardService.retrieveYard(name);
+
+    // When: the yards are reloaded from the store
+    yardService.loadYards();
+
+    // Then: the reloaded yard matches the original
+    assertThat(yardService.retrieveYard(name)).isEqualTo(expected);
+
+    // And: only the input lengths are stored
+    Yard stored = yardDao.loadAll().stream().filter(y -> y.getName().equals(name)).findFirst()
+        .orElseThrow();
+    assertThat(stored.getConsists().get(0).length()).isNull();
+    assertThat(stored.getConsists().get(0).cars().get(0).modelLength()).isNull();
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatInvalidRequestsThrowExceptions() {
+    // Given: a yard
+    String name = "invalid";
+    yardService.saveSettings(name, new YardSettings(Scale.HO, Measurement.INCH));
+
+    // When: a car without a length is added
+    // Then: an exception is thrown and no consist is created
+    assertThatThrownBy(() -> yardService.saveCar(name, "local", "car", new Car(null, null, null,
+        null))).isInstanceOf(IllegalArgumentException.class);
+    assertThat(yardService.retrieveYard(name).getConsists()).isEmpty();
+
+    // When: a car is removed from a yard that doesn't exist
+    // Then: an exception is thrown
+    assertThatThrownBy(() -> yardService.deleteCar("missing", "local", "car"))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  /**
+   *
+   */
+  @Test
+  void assertThatAChangeWaitingForADeletedYardDoesNotSaveItAgain() throws Exception {
+    // Given: a yard whose lock is held while a siding is being added to it
+    String name = "deleted";
+    yardService.saveSettings(name, new YardSettings(Scale.HO, Measurement.INCH));
+    Object state = ((Map<?, ?>)ReflectionTestUtils.getField(yardService, "yards")).get(name);
+    CompletableFuture<SidingFit> saved = new CompletableFuture<>();
+    Thread saver = new Thread(() -> {
+      try {
+        saved.complete(yardService.saveSiding(name, "main", siding("30")));
+      }
+      catch(RuntimeException e) {
+        saved.completeExceptionally(e);
+      }
+    });
+
+    synchronized(state) {
+      saver.start();
+      awaitBlocked(saver);
+
+      // When: the yard is deleted before the siding is added
+      yardService.deleteYard(name);
+    }
+
+    // Then: adding the siding fails
+    assertThatThrownBy(saved::join).hasCauseInstanceOf(NoSuchElementException.class);
+
+    // And: the yard isn't stored again
+    assertThat(yardService.retrieveYardNames()).doesNotContain(name);
+    assertThat(yardDao.loadAll()).extracting(Yard::getName).doesNotContain(name);
+  }
+
+  private void awaitBlocked(Thread thread) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+
+    while(thread.getState() != Thread.State.BLOCKED && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertThat(thread.getState()).isEqualTo(Thread.State.BLOCKED);
+  }
+
+  private Siding siding(String lengthInches) {
+    return new Siding(null, new Dimension(new BigDecimal(lengthInches), Measurement.INCH));
+  }
+
+  private Car car(String lengthFeet) {
+    return new Car(null, null, new Dimension(new BigDecimal(lengthFeet), Measurement.FOOT), null);
+  }
+
+  private Consist consist(String... lengthsFeet) {
+    List<Car> cars = new ArrayList<>();
+
+    for(String lengthFeet : lengthsFeet) {
+      Car car = car(lengthFeet);
+      cars.add(new Car("car-" + (cars.size() + 1), null, car.length(), null));
+    }
+
+    return new Consist(null, cars, null);
+  }
+}
@@ -0,0 +1,233 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+/**
+ * This build step prepares the web UI's static files for long-lived caching. It runs after the
+ * resources are copied (see the exec-maven-plugin in scaler-app/pom.xml) and:
+ * <ol>
+ * <li>Copies each stylesheet, script and icon referenced by index.html to the assets directory with
+ * a hash of its content in the name (i.e., assets/main.1a2b3c4d5e.css). A changed file gets a new
+ * name, so the old one can be cached forever.</li>
+ * <li>Rewrites index.html to use the new names.</li>
+ * <li>Writes gzip (.gz) and brotli (.br) versions of each file next to it so that nothing is
+ * compressed while serving. A compressed file is only kept if it is smaller. If the brotli native
+ * library isn't available for the build platform, only gzip files are written.</li>
+ * <li>Writes assets/manifest.json, which maps each original path to its fingerprinted path.</li>
+ * </ol>
+ * The original files are left in place so that the page still works if this step doesn't run (i.e.,
+ * when the application is started from an IDE).
+ *
+ * <pre>
+ * java com.goosebumpdesigns.scaler.build.AssetPipeline sourceDirectory outputDirectory
+ * </pre>
+ */
+public class AssetPipeline {
+  /** The directory (under the output directory) that holds the fingerprinted files. */
+  public static final String ASSETS = "assets";
+
+  private static final String INDEX = "index.html";
+  private static final int HASH_LENGTH = 10;
+  private static final int BROTLI_QUALITY = 11;
+  private static final Pattern REFERENCE = Pattern.compile("(src|href)=\"([^\"]+)\"");
+  private static final List<String> COMPRESSIBLE = List.of(".html", ".css", ".js", ".ico", ".svg");
+
+  private final Path source;
+  private final Path output;
+  private final boolean brotli;
+
+  /**
+   * @param source The directory that holds the original files (i.e., src/main/resources/public).
+   * @param output The directory the files are served from (i.e., target/classes/public).
+   */
+  public AssetPipeline(Path source, Path output) {
+    this.source = source;
+    this.output = output;
+    this.brotli = Brotli4jLoader.isAvailable();
+  }
+
+  /**
+   * @param args The source and output directories.
+   * @throws IOException Thrown if a file can't be read or written.
+   */
+  public static void main(String[] args) throws IOException {
+    if(args.length != 2) {
+      System.err.println("Usage: AssetPipeline sourceDirectory outputDirectory");
+      System.exit(1);
+    }
+
+    new AssetPipeline(Path.of(args[0]), Path.of(args[1])).run();
+  }
+
+  /**
+   * Fingerprint, rewrite and compress the files.
+   *
+   * @return The fingerprinted path of each referenced file, keyed by its original path.
+   * @throws IOException Thrown if a file can't be read or written.
+   */
+  public Map<String, String> run() throws IOException {
+    Path assets = output.resolve(ASSETS);
+    deleteDirectory(assets);
+    Files.createDirectories(assets);
+
+    String html = Files.readString(source.resolve(INDEX));
+    Map<String, String> manifest = new LinkedHashMap<>();
+    Matcher matcher = REFERENCE.matcher(html);
+    StringBuilder rewritten = new StringBuilder(html.length());
+
+    while(matcher.find()) {
+      String reference = matcher.group(2);
+      String fingerprinted = manifest.get(reference);
+
+      if(fingerprinted == null && isLocal(reference)) {
+        fingerprinted = fingerprint(reference, assets);
+        manifest.put(reference, fingerprinted);
+      }
+
+      String replacement = fingerprinted == null ? matcher.group()
+          : matcher.group(1) + "=\"" + fingerprinted + "\"";
+      matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
+    }
+
+    matcher.appendTail(rewritten);
+
+    Path index = output.resolve(INDEX);
+    Files.writeString(index, rewritten);
+    compress(index);
+
+    writeManifest(assets.resolve("manifest.json"), manifest);
+
+    System.out.printf("Fingerprinted %d assets into %s (gzip%s)%n", manifest.size(), assets,
+        brotli ? ", brotli" : "; brotli is not available on this platform");
+
+    return manifest;
+  }
+
+  /**
+   * Copy a file to the assets directory with a hash of its content in the name.
+   *
+   * @return The path of the copy relative to the output directory.
+   */
+  private String fingerprint(String reference, Path assets) throws IOException {
+    Path file = source.resolve(reference);
+
+    if(!Files.isRegularFile(file)) {
+      throw new IOException(INDEX + " refers to " + reference + ", which doesn't exist.");
+    }
+
+    byte[] content = Files.readAllBytes(file);
+    String name = file.getFileName().toString();
+    int dot = name.lastIndexOf('.');
+    String hashed = name.substring(0, dot) + "." + hash(content) + name.substring(dot);
+    Path target = assets.resolve(hashed);
+
+    Files.write(target, content);
+    compress(target);
+
+    return ASSETS + "/" + hashed;
+  }
+
+  /**
+   * Write the compressed versions of a file if they are smaller than the original.
+   */
+  private void compress(Path file) throws IOException {
+    String name = file.getFileName().toString();
+
+    if(COMPRESSIBLE.stream().noneMatch(name::endsWith)) {
+      return;
+    }
+
+    byte[] content = Files.readAllBytes(file);
+    writeIfSmaller(file.resolveSibling(name + ".gz"), gzip(content), content.length);
+
+    if(brotli) {
+      Encoder.Parameters parameters = new Encoder.Parameters().setQuality(BROTLI_QUALITY);
+      writeIfSmaller(file.resolveSibling(name + ".br"), Encoder.compress(content, parameters),
+          content.length);
+    }
+  }
+
+  private void writeIfSmaller(Path file, byte[] compressed, int originalLength)
+      throws IOException {
+    if(compressed.length < originalLength) {
+      Files.write(file, compressed);
+    }
+  }
+
+  private byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length);
+
+    try(GZIPOutputStream out = new GZIPOutputStream(bytes) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      out.write(content);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private String hash(byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+      return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+    }
+    catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return {@code true} if the reference is a relative path to a file in the source directory.
+   */
+  private boolean isLocal(String reference) {
+    return !reference.contains(":") && !reference.startsWith("/") && !reference.startsWith("#");
+  }
+
+  private void writeManifest(Path file, Map<String, String> manifest) throws IOException {
+    StringBuilder json = new StringBuilder("{\n");
+    String separator = "";
+
+    for(Map.Entry<String, String> entry : manifest.entrySet()) {
+      json.append(separator).append("  \"").append(entry.getKey()).append("\": \"")
+          .append(entry.getValue()).append('"');
+      separator = ",\n";
+    }
+
+    json.append("\n}\n");
+    Files.writeString(file, json, StandardCharsets.UTF_8);
+  }
+
+  private void deleteDirectory(Path directory) throws IOException {
+    if(!Files.isDirectory(directory)) {
+      return;
+    }
+
+    try(Stream<Path> files = Files.walk(directory)) {
+      for(Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.build;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.goosebumpdesigns.scaler.jfr.ConversionEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * This tool reads a Flight Recorder dump and summarizes the {@link ConversionEvent conversions} in
+ * it by shape: the scale, output measurement, direction, input measurements and input precision
+ * (significant digits). The shapes that took the most time in total are listed first. These are the
+ * candidates for caching or precalculation. Like the other tools in scaler-build, it isn't part of
+ * the application or of scaler-core. It runs with the scaler-build and scaler-core JARs:
+ *
+ * <pre>
+ * java -cp scaler-build.jar:scaler-core.jar com.goosebumpdesigns.scaler.build.ConversionReport \
+ *   recording.jfr [limit]
+ * </pre>
+ */
+public class ConversionReport {
+  private static final int DEFAULT_LIMIT = 20;
+
+  /**
+   * The calls of one conversion shape.
+   *
+   * @param scale The scale.
+   * @param outputMeasurement The output measurement.
+   * @param direction {@link ConversionEvent#TO_MODEL} or {@link ConversionEvent#TO_FULLSIZE}.
+   * @param inputMeasurements The measurements of the input length, width and height.
+   * @param inputPrecision The most significant digits in an input value.
+   * @param count The number of calls.
+   * @param total The total time taken by the calls.
+   * @param max The time taken by the slowest call.
+   */
+  public record Shape(String scale, String outputMeasurement, String direction,
+      String inputMeasurements, int inputPrecision, long count, Duration total, Duration max) {
+
+    /**
+     * @return The average time taken by a call.
+     */
+    public Duration mean() {
+      return total.dividedBy(count);
+    }
+
+    private Shape add(Duration duration) {
+      return new Shape(scale, outputMeasurement, direction, inputMeasurements, inputPrecision,
+          count + 1, total.plus(duration), max.compareTo(duration) >= 0 ? max : duration);
+    }
+  }
+
+  /**
+   * @param args The dump file and, optionally, the number of shapes to list.
+   * @throws IOException Thrown if the file can't be read.
+   */
+  public static void main(String[] args) throws IOException {
+    if(args.length < 1 || args.length > 2) {
+      System.err.println("Usage: ConversionReport recording.jfr [limit]");
+      System.exit(1);
+    }
+
+    int limit = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LIMIT;
+    List<Shape> shapes = summarize(Path.of(args[0]));
+    long calls = shapes.stream().mapToLong(Shape::count).sum();
+
+    System.out.printf("%d conversions in %d shapes%n%n", calls, shapes.size());
+    System.out.printf("%-6s %-6s %-11s %-17s %5s %9s %11s %10s %10s%n", "Scale", "Output",
+        "Direction", "Inputs", "Prec", "Count", "Total ms", "Mean us", "Max us");
+
+    for(Shape shape : shapes.subList(0, Math.min(limit, shapes.size()))) {
+      System.out.printf("%-6s %-6s %-11s %-17s %5d %9d %11.3f %10.3f %10.3f%n", shape.scale(),
+          shape.outputMeasurement(), shape.direction(), shape.inputMeasurements(),
+          shape.inputPrecision(), shape.count(), shape.total().toNanos() / 1e6,
+          shape.mean().toNanos() / 1e3, shape.max().toNanos() / 1e3);
+    }
+  }
+
+  /**
+   * Read the conversion events in a dump and group them by shape.
+   *
+   * @param recording The dump file.
+   * @return The shapes, the most total time first.
+   * @throws IOException Thrown if the file can't be read.
+   */
+  public static List<Shape> summarize(Path recording) throws IOException {
+    Map<List<Object>, Shape> shapes = new HashMap<>();
+
+    try(RecordingFile file = new RecordingFile(recording)) {
+      while(file.hasMoreEvents()) {
+        RecordedEvent event = file.readEvent();
+
+        if(!event.getEventType().getName().equals(ConversionEvent.NAME)) {
+          continue;
+        }
+
+        String scale = event.getString("scale");
+        String output = event.getString("outputMeasurement");
+        String direction = event.getString("direction");
+        String inputs = event.getString("inputMeasurements");
+        int inputPrecision = event.getInt("inputPrecision");
+
+        shapes.merge(List.of(scale, output, direction, inputs, inputPrecision),
+            new Shape(scale, output, direction, inputs, inputPrecision, 1, event.getDuration(),
+                event.getDuration()),
+            (existing, added) -> existing.add(added.total()));
+      }
+    }
+
+    List<Shape> sorted = new ArrayList<>(shapes.values());
+    sorted.sort(Comparator.comparing(Shape::total).reversed());
+    return sorted;
+  }
+}
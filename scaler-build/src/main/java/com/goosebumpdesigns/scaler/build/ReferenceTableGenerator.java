@@ -0,0 +1,345 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.build;
+
+import static com.goosebumpdesigns.scaler.model.ScalerConstants.OUTPUT_SCALE;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * This build step writes ready-reckoner tables: the model size of round full size lengths (i.e., 1
+ * to 200 feet) in every {@link Scale}, converted to every output {@link Measurement}. The values
+ * are calculated by the {@link ScalerService}, so they are exactly what /scale returns. It runs
+ * after scaler-app's classes are compiled (see the exec-maven-plugin in scaler-app/pom.xml) and
+ * writes, for each scale and input measurement:
+ * <ul>
+ * <li>tables/{scale}/{measurement}.html, a printable page.</li>
+ * <li>tables/{scale}/{measurement}.csv, for spreadsheets.</li>
+ * <li>tables/{scale}/{measurement}.json, which the web page and the ReferenceTableService use to
+ * answer lookups without calculating.</li>
+ * </ul>
+ * plus tables/index.html, which links to all of them.
+ * <p>
+ * Each range is given as {@code MEASUREMENT:from..to} or {@code MEASUREMENT:from..to:step}. The
+ * step defaults to 1. Only the measurements that have a range get tables.
+ *
+ * <pre>
+ * java com.goosebumpdesigns.scaler.build.ReferenceTableGenerator outputDirectory \
+ *   FOOT:1..200 INCH:1..100
+ * </pre>
+ */
+public class ReferenceTableGenerator {
+  /** The directory (under the output directory) that holds the tables. */
+  public static final String TABLES = "tables";
+
+  /** The most rows in one table. This keeps a mistyped range from filling the disk. */
+  private static final int MAX_ROWS = 10_000;
+
+  private static final Measurement[] OUTPUTS = Measurement.values();
+
+  private static final String STYLE = """
+          body { font-family: sans-serif; }
+          table { border-collapse: collapse; }
+          th, td { border: 1px solid #999; padding: 2px 8px; text-align: right; }
+          thead { display: table-header-group; }
+          tr { break-inside: avoid; }
+          @media print { .links { display: none; } }
+      """;
+
+  private static final String FOOTER = "</body>\n</html>\n";
+
+  /**
+   * The full size lengths of one input measurement.
+   *
+   * @param measurement The measurement of the lengths.
+   * @param from The first length.
+   * @param to The last length.
+   * @param step The difference between lengths.
+   */
+  record Range(Measurement measurement, BigDecimal from, BigDecimal to, BigDecimal step) {
+
+    /**
+     * @param spec The range as MEASUREMENT:from..to or MEASUREMENT:from..to:step.
+     * @return The parsed range.
+     * @throws IllegalArgumentException Thrown if the range can't be parsed or is empty.
+     */
+    static Range parse(String spec) {
+      String[] parts = spec.trim().split(":");
+      int dots = parts.length < 2 ? -1 : parts[1].indexOf("..");
+
+      if(parts.length < 2 || parts.length > 3 || dots < 0) {
+        throw new IllegalArgumentException(
+            "Expected MEASUREMENT:from..to or MEASUREMENT:from..to:step but got " + spec);
+      }
+
+      Range range = new Range(Measurement.value(parts[0]),
+          new BigDecimal(parts[1].substring(0, dots)), new BigDecimal(parts[1].substring(dots + 2)),
+          parts.length == 3 ? new BigDecimal(parts[2]) : BigDecimal.ONE);
+
+      if(range.step.signum() <= 0 || range.from.compareTo(range.to) > 0) {
+        throw new IllegalArgumentException("The range " + spec + " is empty.");
+      }
+
+      return range;
+    }
+
+    /**
+     * @return Each length in the range, rounded as a {@link Dimension} is.
+     */
+    List<BigDecimal> values() {
+      List<BigDecimal> values = new ArrayList<>();
+
+      for(BigDecimal v = from; v.compareTo(to) <= 0; v = v.add(step)) {
+        if(values.size() == MAX_ROWS) {
+          throw new IllegalArgumentException(
+              "The range for " + measurement + " has more than " + MAX_ROWS + " values.");
+        }
+
+        values.add(v.setScale(OUTPUT_SCALE, RoundingMode.HALF_UP));
+      }
+
+      return values;
+    }
+  }
+
+  private final Path output;
+  private final List<Range> ranges;
+  private final ScalerService scalerService = new ScalerService();
+
+  /**
+   * @param output The directory the files are served from (i.e., target/classes/public).
+   * @param ranges The full size lengths to tabulate.
+   */
+  public ReferenceTableGenerator(Path output, List<Range> ranges) {
+    this.output = output;
+    this.ranges = ranges;
+  }
+
+  /**
+   * @param args The output directory followed by one or more ranges.
+   * @throws IOException Thrown if a file can't be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if(args.length < 2) {
+      System.err.println(
+          "Usage: ReferenceTableGenerator outputDirectory MEASUREMENT:from..to[:step] ...");
+      System.exit(1);
+    }
+
+    List<Range> ranges = new ArrayList<>();
+
+    for(int i = 1; i < args.length; i++) {
+      for(String spec : args[i].split(",")) {
+        if(!spec.isBlank()) {
+          ranges.add(Range.parse(spec));
+        }
+      }
+    }
+
+    new ReferenceTableGenerator(Path.of(args[0]), ranges).run();
+  }
+
+  /**
+   * Write the tables and the index page.
+   *
+   * @return The number of tables written (one per scale and range).
+   * @throws IOException Thrown if a file can't be written.
+   */
+  public int run() throws IOException {
+    Path tables = output.resolve(TABLES);
+    int count = 0;
+    int rows = 0;
+
+    for(Scale scale : Scale.values()) {
+      Path directory = Files.createDirectories(tables.resolve(scale.name()));
+
+      for(Range range : ranges) {
+        Map<BigDecimal, Map<Measurement, BigDecimal>> table = calculate(scale, range);
+        String name = range.measurement().name();
+
+        Files.writeString(directory.resolve(name + ".json"), json(scale, range, table),
+            StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve(name + ".csv"), csv(range, table),
+            StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve(name + ".html"), html(scale, range, table),
+            StandardCharsets.UTF_8);
+
+        count++;
+        rows += table.size();
+      }
+    }
+
+    Files.writeString(tables.resolve("index.html"), index(), StandardCharsets.UTF_8);
+
+    System.out.printf("Wrote %d reference tables (%d rows) to %s%n", count, rows, tables);
+    return count;
+  }
+
+  /**
+   * Scale each full size length in the range to every output measurement.
+   *
+   * @return The model lengths keyed by full size length and then output measurement.
+   */
+  private Map<BigDecimal, Map<Measurement, BigDecimal>> calculate(Scale scale, Range range) {
+    Map<BigDecimal, Map<Measurement, BigDecimal>> table = new LinkedHashMap<>();
+
+    for(BigDecimal value : range.values()) {
+      Map<Measurement, BigDecimal> row = new EnumMap<>(Measurement.class);
+
+      for(Measurement output : OUTPUTS) {
+        // @formatter:off
+        ScalerData result = scalerService.supplyMissingFields(ScalerData.builder()
+            .scale(scale)
+            .outputMeasurement(output)
+            .fullsizeDimensions(new Dimensions(new Dimension(value, range.measurement()), null,
+                null))
+            .build());
+        // @formatter:on
+
+        row.put(output, result.getModelDimensions().length().value());
+      }
+
+      table.put(value, row);
+    }
+
+    return table;
+  }
+
+  /**
+   * The JSON table is keyed by the full size length with two decimal places so that a lookup is a
+   * single property access.
+   */
+  private String json(Scale scale, Range range,
+      Map<BigDecimal, Map<Measurement, BigDecimal>> table) {
+    StringBuilder json = new StringBuilder(table.size() * 80);
+    json.append("{\n  \"scale\": \"").append(scale.name()).append("\",\n  \"factor\": ")
+        .append(scale.getFactor().toPlainString()).append(",\n  \"inputMeasurement\": \"")
+        .append(range.measurement().name()).append("\",\n  \"values\": {");
+
+    String separator = "\n";
+
+    for(Map.Entry<BigDecimal, Map<Measurement, BigDecimal>> row : table.entrySet()) {
+      json.append(separator).append("    \"").append(row.getKey().toPlainString())
+          .append("\": {");
+
+      String inner = "";
+
+      for(Map.Entry<Measurement, BigDecimal> cell : row.getValue().entrySet()) {
+        json.append(inner).append('"').append(cell.getKey().name()).append("\": ")
+            .append(cell.getValue().toPlainString());
+        inner = ", ";
+      }
+
+      json.append('}');
+      separator = ",\n";
+    }
+
+    return json.append("\n  }\n}\n").toString();
+  }
+
+  private String csv(Range range, Map<BigDecimal, Map<Measurement, BigDecimal>> table) {
+    StringBuilder csv = new StringBuilder(table.size() * 40);
+    csv.append("fullsize_").append(range.measurement());
+
+    for(Measurement output : OUTPUTS) {
+      csv.append(",model_").append(output);
+    }
+
+    csv.append('\n');
+
+    for(Map.Entry<BigDecimal, Map<Measurement, BigDecimal>> row : table.entrySet()) {
+      csv.append(row.getKey().toPlainString());
+
+      for(Measurement output : OUTPUTS) {
+        csv.append(',').append(row.getValue().get(output).toPlainString());
+      }
+
+      csv.append('\n');
+    }
+
+    return csv.toString();
+  }
+
+  private String html(Scale scale, Range range,
+      Map<BigDecimal, Map<Measurement, BigDecimal>> table) {
+    String title = scale.name() + " scale (1:" + scale.getFactor().toPlainString() + "): full size "
+        + range.measurement() + " to model";
+    StringBuilder html = new StringBuilder(table.size() * 120);
+
+    html.append(header(title)).append("  <table>\n    <thead>\n      <tr><th>Full size (")
+        .append(range.measurement()).append(")</th>");
+
+    for(Measurement output : OUTPUTS) {
+      html.append("<th>Model (").append(output).append(")</th>");
+    }
+
+    html.append("</tr>\n    </thead>\n    <tbody>\n");
+
+    for(Map.Entry<BigDecimal, Map<Measurement, BigDecimal>> row : table.entrySet()) {
+      html.append("      <tr><td>").append(row.getKey().toPlainString()).append("</td>");
+
+      for(Measurement output : OUTPUTS) {
+        html.append("<td>").append(row.getValue().get(output).toPlainString()).append("</td>");
+      }
+
+      html.append("</tr>\n");
+    }
+
+    String name = range.measurement().name();
+    html.append("    </tbody>\n  </table>\n  <p class=\"links\"><a href=\"").append(name)
+        .append(".csv\">CSV</a> | <a href=\"").append(name)
+        .append(".json\">JSON</a> | <a href=\"../index.html\">All tables</a></p>\n");
+
+    return html.append(FOOTER).toString();
+  }
+
+  private String index() {
+    StringBuilder html = new StringBuilder(header("Reference tables"));
+    html.append("  <p>Model sizes of round full size lengths, calculated when the application was"
+        + " built.</p>\n  <table>\n    <thead>\n      <tr><th>Scale</th>");
+
+    for(Range range : ranges) {
+      html.append("<th>Full size ").append(range.measurement()).append("</th>");
+    }
+
+    html.append("</tr>\n    </thead>\n    <tbody>\n");
+
+    for(Scale scale : Scale.values()) {
+      html.append("      <tr><td>").append(scale.name()).append(" (1:")
+          .append(scale.getFactor().toPlainString()).append(")</td>");
+
+      for(Range range : ranges) {
+        String path = scale.name() + "/" + range.measurement().name();
+        html.append("<td><a href=\"").append(path).append(".html\">")
+            .append(range.from().toPlainString()).append(" to ").append(range.to().toPlainString())
+            .append("</a></td>");
+      }
+
+      html.append("</tr>\n");
+    }
+
+    html.append("    </tbody>\n  </table>\n");
+    return html.append(FOOTER).toString();
+  }
+
+  private String header(String title) {
+    return "<!DOCTYPE html>\n<html>\n<head>\n  <meta charset=\"utf-8\"/>\n  <title>" + title
+        + "</title>\n  <style>\n" + STYLE + "  </style>\n</head>\n<body>\n  <h1>" + title
+        + "</h1>\n";
+  }
+}
@@ -0,0 +1,44 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.model.StockSize;
+import com.goosebumpdesigns.scaler.model.StockSizes;
+
+/**
+ * This Jackson module gives the scaler-core model the JSON shape it had when it was annotated:
+ * {@code null} fields are left out. The core library can't carry Jackson annotations, so the
+ * setting is made here as a per type override (rather than a mix-in, which would displace the
+ * application's FieldProjection mix-in). The {@link ScalerClient} registers it with its own
+ * ObjectMapper and the application registers it with Spring's, so both sides write the same JSON.
+ */
+public class CoreModelModule extends SimpleModule {
+  private static final long serialVersionUID = 1L;
+
+  private static final Class<?>[] CORE_MODEL =
+      {ScalerData.class, CrossScaleData.class, Dimensions.class, Dimension.class, StockSizes.class,
+          StockSize.class};
+
+  /**
+   * Name the module.
+   */
+  public CoreModelModule() {
+    super(CoreModelModule.class.getSimpleName());
+  }
+
+  @Override
+  public void setupModule(SetupContext context) {
+    super.setupModule(context);
+
+    for(Class<?> type : CORE_MODEL) {
+      context.configOverride(type).setInclude(JsonInclude.Value.construct(Include.NON_NULL, null));
+    }
+  }
+}
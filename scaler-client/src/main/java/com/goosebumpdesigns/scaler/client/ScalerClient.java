@@ -0,0 +1,516 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * This class calls a scaler server's /scale endpoints for Java programs. Each call to
+ * {@link #scale(ScalerData)} returns right away with a future. Calls made within
+ * {@code linger} of each other are merged into one /scale/bulk request of up to
+ * {@code maxBatchSize} entries, and a batch of one is sent to /scale. All requests share one
+ * {@link HttpClient}, which keeps its connections open between requests.
+ * <p>
+ * Backpressure: at most {@code maxConcurrentRequests} requests are sent at once, and batches that
+ * are ready beyond that wait their turn in the client. At most {@code maxPending} calls can be
+ * waiting for a result. A call beyond that waits up to {@code maxWait} for an earlier call to
+ * finish and then fails with a {@link RejectedExecutionException}.
+ * <p>
+ * A batch the server rejects with 400 (Bad Request) is sent again one entry at a time, so only the
+ * entries that are invalid fail. Other errors fail every entry of the batch with a
+ * {@link ScalerClientException}.
+ *
+ * <pre>
+ * try(ScalerClient client = ScalerClient.builder(URI.create("http://localhost:8080")).build()) {
+ *   CompletableFuture&lt;ScalerData&gt; result = client.scale(data);
+ * }
+ * </pre>
+ */
+public class ScalerClient implements AutoCloseable {
+  private static final TypeReference<List<ScalerData>> LIST_TYPE = new TypeReference<>() {};
+  private static final int BAD_REQUEST = 400;
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader listReader;
+  private final URI singleUri;
+  private final URI bulkUri;
+  private final String apiKey;
+  private final int maxBatchSize;
+  private final int maxConcurrentRequests;
+  private final long lingerNanos;
+  private final long maxWaitNanos;
+  private final Duration requestTimeout;
+  private final Semaphore pendingPermits;
+  private final ScheduledExecutorService batcher;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder entries = new LongAdder();
+
+  /** The calls waiting to be sent. Guarded by this. */
+  private List<Pending> batch = new ArrayList<>();
+
+  /** The task that sends the batch when the linger time is up. Guarded by this. */
+  private ScheduledFuture<?> lingerTask;
+
+  /** Batches waiting for a request in flight to finish. Guarded by this. */
+  private final Queue<List<Pending>> queued = new ArrayDeque<>();
+
+  /** The number of requests in flight. Guarded by this. */
+  private int inFlight;
+
+  /** A call and the future that its result completes. */
+  private record Pending(ScalerData data, CompletableFuture<ScalerData> result) {
+  }
+
+  private ScalerClient(Builder builder) {
+    this.objectMapper = builder.objectMapper;
+    this.listReader = objectMapper.readerFor(LIST_TYPE);
+    String base = builder.baseUri.toString().replaceAll("/+$", "");
+    this.singleUri = URI.create(base + "/scale");
+    this.bulkUri = URI.create(base + "/scale/bulk");
+    this.apiKey = builder.apiKey;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.maxConcurrentRequests = builder.maxConcurrentRequests;
+    this.lingerNanos = builder.linger.toNanos();
+    this.maxWaitNanos = builder.maxWait.toNanos();
+    this.requestTimeout = builder.requestTimeout;
+    this.pendingPermits = new Semaphore(builder.maxPending);
+
+    // @formatter:off
+    this.httpClient = HttpClient.newBuilder()
+        .version(builder.version)
+        .connectTimeout(builder.connectTimeout)
+        .build();
+    // @formatter:on
+
+    this.batcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "scaler-client-batcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @param baseUri The server's base URI (i.e., http://localhost:8080).
+   * @return A builder for a client of the server.
+   */
+  public static Builder builder(URI baseUri) {
+    return new Builder(baseUri);
+  }
+
+  /**
+   * Fill in the missing fields of a request on the server.
+   *
+   * @param data The request.
+   * @return The request with the missing fields filled in. The future fails with a
+   *         {@link ScalerClientException} if the server returned an error, or with a
+   *         {@link RejectedExecutionException} if too many calls were waiting.
+   */
+  public CompletableFuture<ScalerData> scale(ScalerData data) {
+    Objects.requireNonNull(data, "The request must not be null.");
+
+    try {
+      if(!pendingPermits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+        return CompletableFuture.failedFuture(
+            new RejectedExecutionException("Too many scaler requests are waiting."));
+      }
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    }
+
+    CompletableFuture<ScalerData> result = new CompletableFuture<>();
+    List<Pending> full = null;
+
+    synchronized(this) {
+      batch.add(new Pending(data, result));
+
+      if(batch.size() >= maxBatchSize) {
+        full = takeBatch();
+      }
+      else if(batch.size() == 1) {
+        lingerTask = batcher.schedule(this::sendLingering, lingerNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    if(Objects.nonNull(full)) {
+      send(full);
+    }
+
+    /* The caller sees the result only after the permit is released */
+    return result.whenComplete((value, error) -> pendingPermits.release());
+  }
+
+  /**
+   * @return The number of HTTP requests sent to the server.
+   */
+  public long getRequestCount() {
+    return requests.sum();
+  }
+
+  /**
+   * @return The number of entries sent to the server. Entries of a batch that was rejected and sent
+   *         again one at a time are counted again.
+   */
+  public long getEntryCount() {
+    return entries.sum();
+  }
+
+  /**
+   * Send the calls that are waiting and release the client's threads. This waits, for at most the
+   * request timeout, for every call to complete.
+   */
+  @Override
+  public void close() {
+    List<Pending> last;
+
+    synchronized(this) {
+      last = takeBatch();
+    }
+
+    if(!last.isEmpty()) {
+      send(last);
+    }
+
+    long deadline = System.nanoTime() + requestTimeout.toNanos();
+
+    synchronized(this) {
+      try {
+        while((inFlight > 0 || !queued.isEmpty()) && deadline - System.nanoTime() > 0) {
+          TimeUnit.NANOSECONDS.timedWait(this, deadline - System.nanoTime());
+        }
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    batcher.shutdownNow();
+    httpClient.close();
+  }
+
+  /**
+   * Send the batch when its linger time is up. This runs on the batcher thread.
+   */
+  private void sendLingering() {
+    List<Pending> lingering;
+
+    synchronized(this) {
+      lingering = takeBatch();
+    }
+
+    if(!lingering.isEmpty()) {
+      send(lingering);
+    }
+  }
+
+  /**
+   * Must be called while holding this object's lock.
+   */
+  private List<Pending> takeBatch() {
+    List<Pending> taken = batch;
+    batch = new ArrayList<>(Math.min(maxBatchSize, 1024));
+
+    if(Objects.nonNull(lingerTask)) {
+      lingerTask.cancel(false);
+      lingerTask = null;
+    }
+
+    return taken;
+  }
+
+  /**
+   * Send a batch now if fewer than maxConcurrentRequests are in flight, otherwise queue it until
+   * one finishes.
+   */
+  private void send(List<Pending> calls) {
+    synchronized(this) {
+      if(inFlight >= maxConcurrentRequests) {
+        queued.add(calls);
+        return;
+      }
+
+      inFlight++;
+    }
+
+    dispatch(calls);
+  }
+
+  /**
+   * Send the next queued batch, if any, in place of a request that finished.
+   */
+  private void requestFinished() {
+    List<Pending> next;
+
+    synchronized(this) {
+      next = queued.poll();
+
+      if(Objects.isNull(next)) {
+        inFlight--;
+        notifyAll();
+        return;
+      }
+    }
+
+    dispatch(next);
+  }
+
+  private void dispatch(List<Pending> calls) {
+    byte[] body;
+
+    try {
+      body = calls.size() == 1 ? objectMapper.writeValueAsBytes(calls.get(0).data())
+          : objectMapper.writeValueAsBytes(calls.stream().map(Pending::data).toList());
+    }
+    catch(IOException e) {
+      calls.forEach(call -> call.result().completeExceptionally(e));
+      requestFinished();
+      return;
+    }
+
+    // @formatter:off
+    HttpRequest.Builder request = HttpRequest.newBuilder(calls.size() == 1 ? singleUri : bulkUri)
+        .timeout(requestTimeout)
+        .header("Content-Type", "application/json")
+        .header("Accept", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+    // @formatter:on
+
+    if(Objects.nonNull(apiKey)) {
+      request.header("X-API-Key", apiKey);
+    }
+
+    requests.increment();
+    entries.add(calls.size());
+
+    httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+        .whenComplete((response, error) -> {
+          try {
+            if(Objects.nonNull(error)) {
+              calls.forEach(call -> call.result().completeExceptionally(error));
+            }
+            else {
+              complete(calls, response);
+            }
+          }
+          finally {
+            requestFinished();
+          }
+        });
+  }
+
+  private void complete(List<Pending> calls, HttpResponse<byte[]> response) {
+    int status = response.statusCode();
+
+    if(status == BAD_REQUEST && calls.size() > 1) {
+      /* One bad entry fails the whole batch, so find it by sending the entries on their own */
+      calls.forEach(call -> send(List.of(call)));
+      return;
+    }
+
+    try {
+      if(status / 100 != 2) {
+        ScalerClientException e = error(response);
+        calls.forEach(call -> call.result().completeExceptionally(e));
+      }
+      else if(calls.size() == 1) {
+        calls.get(0).result()
+            .complete(objectMapper.readValue(response.body(), ScalerData.class));
+      }
+      else {
+        List<ScalerData> results = listReader.readValue(response.body());
+
+        if(results.size() != calls.size()) {
+          throw new IOException("Expected " + calls.size() + " results but got " + results.size());
+        }
+
+        for(int i = 0; i < calls.size(); i++) {
+          calls.get(i).result().complete(results.get(i));
+        }
+      }
+    }
+    catch(IOException | RuntimeException e) {
+      calls.forEach(call -> call.result().completeExceptionally(e));
+    }
+  }
+
+  /**
+   * @return An exception with the message from the server's error details if it sent them.
+   */
+  private ScalerClientException error(HttpResponse<byte[]> response) {
+    String message = "HTTP " + response.statusCode();
+
+    try {
+      JsonNode details = objectMapper.readTree(response.body());
+
+      if(Objects.nonNull(details) && details.hasNonNull("message")) {
+        message = details.get("message").asText();
+      }
+    }
+    catch(IOException e) {
+      /* Not an error details object. Keep the status. */
+    }
+
+    long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+    return new ScalerClientException(message, response.statusCode(), retryAfter);
+  }
+
+  /**
+   * This class builds a {@link ScalerClient}. Every setting has a default.
+   */
+  public static class Builder {
+    private final URI baseUri;
+    private ObjectMapper objectMapper =
+        new ObjectMapper().findAndRegisterModules().registerModule(new CoreModelModule());
+    private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+    private String apiKey;
+    private int maxBatchSize = 256;
+    private int maxConcurrentRequests = 4;
+    private Duration linger = Duration.ofMillis(2);
+    private int maxPending = 10_000;
+    private Duration maxWait = Duration.ofSeconds(1);
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration requestTimeout = Duration.ofSeconds(30);
+
+    private Builder(URI baseUri) {
+      this.baseUri = Objects.requireNonNull(baseUri, "The base URI must not be null.");
+    }
+
+    /**
+     * @param objectMapper The mapper used to read and write the JSON.
+     * @return This builder.
+     */
+    public Builder objectMapper(ObjectMapper objectMapper) {
+      this.objectMapper = objectMapper;
+      return this;
+    }
+
+    /**
+     * @param version HTTP_1_1 (the default) or HTTP_2. HTTP/2 is only used if the server offers it.
+     * @return This builder.
+     */
+    public Builder version(HttpClient.Version version) {
+      this.version = version;
+      return this;
+    }
+
+    /**
+     * @param apiKey A key sent in the X-API-Key header, which the server's rate limits use to tell
+     *        clients apart.
+     * @return This builder.
+     */
+    public Builder apiKey(String apiKey) {
+      this.apiKey = apiKey;
+      return this;
+    }
+
+    /**
+     * @param maxBatchSize The most entries sent in one request. A full batch is sent right away.
+     * @return This builder.
+     */
+    public Builder maxBatchSize(int maxBatchSize) {
+      if(maxBatchSize < 1) {
+        throw new IllegalArgumentException("The batch size must be at least 1.");
+      }
+
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * @param maxConcurrentRequests The most requests sent to the server at once. Batches that are
+     *        ready while this many are in flight wait their turn, which keeps a burst of calls
+     *        from overflowing the server's bulk lane (see scaler.lanes.bulk.queue-capacity).
+     * @return This builder.
+     */
+    public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+      if(maxConcurrentRequests < 1) {
+        throw new IllegalArgumentException("The concurrent request limit must be at least 1.");
+      }
+
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    /**
+     * @param linger How long the first call of a batch waits for others to join it.
+     * @return This builder.
+     */
+    public Builder linger(Duration linger) {
+      this.linger = linger;
+      return this;
+    }
+
+    /**
+     * @param maxPending The most calls that can be waiting for a result.
+     * @return This builder.
+     */
+    public Builder maxPending(int maxPending) {
+      if(maxPending < 1) {
+        throw new IllegalArgumentException("The pending limit must be at least 1.");
+      }
+
+      this.maxPending = maxPending;
+      return this;
+    }
+
+    /**
+     * @param maxWait How long a call waits when too many calls are pending before it is rejected.
+     * @return This builder.
+     */
+    public Builder maxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    /**
+     * @param connectTimeout How long to wait for a connection to the server.
+     * @return This builder.
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * @param requestTimeout How long to wait for the server to answer a request.
+     * @return This builder.
+     */
+    public Builder requestTimeout(Duration requestTimeout) {
+      this.requestTimeout = requestTimeout;
+      return this;
+    }
+
+    /**
+     * @return The client.
+     */
+    public ScalerClient build() {
+      return new ScalerClient(this);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.client;
+
+/**
+ * This exception is thrown (as the cause of a failed future) when the scaler server returns an
+ * error for a request made by the {@link ScalerClient}.
+ */
+public class ScalerClientException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  private final int status;
+  private final long retryAfterSeconds;
+
+  /**
+   * @param message The error message returned by the server, or a description of the failure.
+   * @param status The HTTP status.
+   * @param retryAfterSeconds The Retry-After header (sent with 429 and 503), or 0 if there was
+   *        none.
+   */
+  public ScalerClientException(String message, int status, long retryAfterSeconds) {
+    super(message);
+    this.status = status;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * @return The HTTP status.
+   */
+  public int getStatus() {
+    return status;
+  }
+
+  /**
+   * @return How long the server asked the client to wait before trying again, or 0.
+   */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
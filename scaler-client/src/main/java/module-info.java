@@ -0,0 +1,20 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+/**
+ * The Java client of the scaler's web API. It batches concurrent calls into /scale/bulk requests
+ * (see {@link com.goosebumpdesigns.scaler.client.ScalerClient ScalerClient}). It needs only
+ * scaler-core and Jackson, so a program can call a scaler server without Spring:
+ *
+ * <pre>
+ * try(ScalerClient client = ScalerClient.builder(URI.create("http://localhost:8080")).build()) {
+ *   ScalerData result = client.scale(data).join();
+ * }
+ * </pre>
+ */
+module com.goosebumpdesigns.scaler.client {
+  requires transitive com.goosebumpdesigns.scaler.core;
+  requires transitive com.fasterxml.jackson.databind;
+  requires transitive java.net.http;
+
+  exports com.goosebumpdesigns.scaler.client;
+}
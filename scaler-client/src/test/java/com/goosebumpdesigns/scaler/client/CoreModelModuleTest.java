@@ -0,0 +1,47 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+
+/**
+ * 
+ */
+class CoreModelModuleTest {
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().registerModule(new CoreModelModule());
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatNullFieldsAreLeftOut() throws JsonProcessingException {
+    // Given: a request with only a full size length
+    ScalerData data = ScalerData
+        .builder() // @formatter:off
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .fullsizeDimensions(new Dimensions(new Dimension(new BigDecimal("40.5"), Measurement.FOOT),
+            null, null))
+        .build(); // @formatter:on
+
+    // When: it is written as JSON
+    String json = objectMapper.writeValueAsString(data);
+
+    // Then: the fields that aren't set are left out
+    assertThat(json).contains("\"scale\":\"HO\"", "\"length\":")
+        .doesNotContain("null", "modelDimensions", "width");
+
+    // And: it reads back as the same request
+    assertThat(objectMapper.readValue(json, ScalerData.class)).isEqualTo(data);
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.jfr;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for one call to the scaling service. The event's duration is the time
+ * taken by the call. The fields describe the shape of the conversion rather than the values, so
+ * that a recording can show which shapes are the most common or the slowest (see ConversionReport
+ * in scaler-build).
+ * <p>
+ * When no recording is running the event costs a check of a flag and the fields are not filled
+ * in. A typical use is:
+ *
+ * <pre>
+ * ConversionEvent event = new ConversionEvent();
+ * event.begin();
+ * ...
+ * if(event.shouldCommit()) {
+ *   event.describe(input, true, result);
+ *   event.commit();
+ * }
+ * </pre>
+ */
+@Name(ConversionEvent.NAME)
+@Label("Conversion")
+@Category("Scaler")
+@Description("A conversion between full size and model dimensions")
+@StackTrace(false)
+public class ConversionEvent extends Event {
+  /** The name of the event type in a recording. */
+  public static final String NAME = "com.goosebumpdesigns.scaler.Conversion";
+
+  /** The direction of a conversion from full size to model dimensions. */
+  public static final String TO_MODEL = "TO_MODEL";
+
+  /** The direction of a conversion from model to full size dimensions. */
+  public static final String TO_FULLSIZE = "TO_FULLSIZE";
+
+  @Label("Scale")
+  String scale;
+
+  @Label("Output Measurement")
+  String outputMeasurement;
+
+  @Label("Input Measurements")
+  @Description("The measurement of the input length, width and height. A missing one is \"-\".")
+  String inputMeasurements;
+
+  @Label("Direction")
+  @Description(TO_MODEL + " or " + TO_FULLSIZE)
+  String direction;
+
+  /* Dimension values always have two decimal places, so the precision shows their magnitude. */
+  @Label("Input Precision")
+  @Description("The most significant digits in an input value")
+  int inputPrecision;
+
+  @Label("Output Precision")
+  @Description("The most significant digits in an output value")
+  int outputPrecision;
+
+  /**
+   * Fill in the fields from the input and result of the conversion. This should only be called if
+   * {@link #shouldCommit()} returns {@code true}.
+   *
+   * @param input The data passed to the service.
+   * @param toModel {@code true} if full size dimensions were converted to model dimensions.
+   * @param result The data returned by the service.
+   */
+  public void describe(ScalerData input, boolean toModel, ScalerData result) {
+    Dimensions in = toModel ? input.getFullsizeDimensions() : input.getModelDimensions();
+    Dimensions out = toModel ? result.getModelDimensions() : result.getFullsizeDimensions();
+
+    scale = input.getScale().name();
+    outputMeasurement = input.getOutputMeasurement().name();
+    direction = toModel ? TO_MODEL : TO_FULLSIZE;
+    inputMeasurements = measurement(in.length()) + "," + measurement(in.width()) + ","
+        + measurement(in.height());
+    inputPrecision = maxPrecision(in);
+    outputPrecision = maxPrecision(out);
+  }
+
+  private static String measurement(Dimension dimension) {
+    return Objects.isNull(dimension) ? "-" : dimension.measurement().name();
+  }
+
+  private static int maxPrecision(Dimensions dimensions) {
+    return Math.max(precision(dimensions.length()),
+        Math.max(precision(dimensions.width()), precision(dimensions.height())));
+  }
+
+  private static int precision(Dimension dimension) {
+    BigDecimal value = Objects.isNull(dimension) ? null : dimension.value();
+    return Objects.isNull(value) ? 0 : value.precision();
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for one error response. The event's duration is the time taken to build
+ * the response. The stack trace is left out: it would be the stack of the error handler, not of the
+ * code that threw the exception.
+ */
+@Name(ErrorEvent.NAME)
+@Label("Error Response")
+@Category("Scaler")
+@Description("An exception turned into an error response")
+@StackTrace(false)
+public class ErrorEvent extends Event {
+  /** The name of the event type in a recording. */
+  public static final String NAME = "com.goosebumpdesigns.scaler.Error";
+
+  @Label("Handler")
+  @Description("The error handler method that built the response")
+  String handler;
+
+  @Label("Status")
+  @Description("The HTTP status code of the response")
+  int status;
+
+  @Label("Exception")
+  String exception;
+
+  @Label("Message")
+  String message;
+
+  @Label("URI")
+  String uri;
+
+  /**
+   * Fill in the fields. This should only be called if {@link #shouldCommit()} returns
+   * {@code true}.
+   *
+   * @param handler The name of the error handler method.
+   * @param status The HTTP status code of the response.
+   * @param e The exception that was handled.
+   * @param uri The request URI.
+   */
+  public void describe(String handler, int status, Exception e, String uri) {
+    this.handler = handler;
+    this.status = status;
+    this.exception = e.getClass().getName();
+    this.message = e.getMessage();
+    this.uri = uri;
+  }
+}
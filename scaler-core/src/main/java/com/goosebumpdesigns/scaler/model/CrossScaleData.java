@@ -0,0 +1,178 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * This DTO is used to convert model dimensions in one scale directly to model dimensions in another
+ * scale (i.e., HO to N). A client sends the source scale, target scale, output measurement and
+ * source dimensions. The {@link ScalerService} fills in the target dimensions.
+ * <p>
+ * Like {@link ScalerData}, the class is written out by hand so that the core library needs nothing
+ * but the JDK.
+ */
+public class CrossScaleData {
+  private Scale sourceScale;
+  private Scale targetScale;
+  private Measurement outputMeasurement;
+  private Dimensions sourceDimensions;
+  private Dimensions targetDimensions;
+
+  /**
+   * Create an empty object to be filled in with the setters.
+   */
+  public CrossScaleData() {
+  }
+
+  /**
+   * @param sourceScale The scale of the source dimensions.
+   * @param targetScale The scale to convert to.
+   * @param outputMeasurement The measurement type of the target dimensions.
+   * @param sourceDimensions The model dimensions in the source scale.
+   * @param targetDimensions The model dimensions in the target scale, or {@code null} to calculate
+   *        them.
+   */
+  public CrossScaleData(Scale sourceScale, Scale targetScale, Measurement outputMeasurement,
+      Dimensions sourceDimensions, Dimensions targetDimensions) {
+    this.sourceScale = sourceScale;
+    this.targetScale = targetScale;
+    this.outputMeasurement = outputMeasurement;
+    this.sourceDimensions = sourceDimensions;
+    this.targetDimensions = targetDimensions;
+  }
+
+  /**
+   * @return A builder for a new object.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public Scale getSourceScale() {
+    return sourceScale;
+  }
+
+  public void setSourceScale(Scale sourceScale) {
+    this.sourceScale = sourceScale;
+  }
+
+  public Scale getTargetScale() {
+    return targetScale;
+  }
+
+  public void setTargetScale(Scale targetScale) {
+    this.targetScale = targetScale;
+  }
+
+  public Measurement getOutputMeasurement() {
+    return outputMeasurement;
+  }
+
+  public void setOutputMeasurement(Measurement outputMeasurement) {
+    this.outputMeasurement = outputMeasurement;
+  }
+
+  public Dimensions getSourceDimensions() {
+    return sourceDimensions;
+  }
+
+  public void setSourceDimensions(Dimensions sourceDimensions) {
+    this.sourceDimensions = sourceDimensions;
+  }
+
+  public Dimensions getTargetDimensions() {
+    return targetDimensions;
+  }
+
+  public void setTargetDimensions(Dimensions targetDimensions) {
+    this.targetDimensions = targetDimensions;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if(this == obj) {
+      return true;
+    }
+
+    if(!(obj instanceof CrossScaleData other)) {
+      return false;
+    }
+
+    return sourceScale == other.sourceScale && targetScale == other.targetScale
+        && outputMeasurement == other.outputMeasurement
+        && Objects.equals(sourceDimensions, other.sourceDimensions)
+        && Objects.equals(targetDimensions, other.targetDimensions);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(sourceScale, targetScale, outputMeasurement, sourceDimensions,
+        targetDimensions);
+  }
+
+  /**
+   * This toString method separates the fields with linefeeds for a more readable result.
+   */
+  @Override
+  public String toString() {
+    StringBuilder b = new StringBuilder();
+
+    b.append(getClass().getSimpleName()).append(":\n");
+    b.append("   Source Scale=").append(sourceScale).append("\n");
+    b.append("   Target Scale=").append(targetScale).append("\n");
+    b.append("   Output=").append(outputMeasurement).append("\n");
+    b.append("   Source ").append(sourceDimensions).append("\n");
+    b.append("   Target ").append(targetDimensions).append("\n");
+
+    return b.toString();
+  }
+
+  /**
+   * This class builds a {@link CrossScaleData} object one field at a time.
+   */
+  public static class Builder {
+    private Scale sourceScale;
+    private Scale targetScale;
+    private Measurement outputMeasurement;
+    private Dimensions sourceDimensions;
+    private Dimensions targetDimensions;
+
+    private Builder() {
+    }
+
+    public Builder sourceScale(Scale sourceScale) {
+      this.sourceScale = sourceScale;
+      return this;
+    }
+
+    public Builder targetScale(Scale targetScale) {
+      this.targetScale = targetScale;
+      return this;
+    }
+
+    public Builder outputMeasurement(Measurement outputMeasurement) {
+      this.outputMeasurement = outputMeasurement;
+      return this;
+    }
+
+    public Builder sourceDimensions(Dimensions sourceDimensions) {
+      this.sourceDimensions = sourceDimensions;
+      return this;
+    }
+
+    public Builder targetDimensions(Dimensions targetDimensions) {
+      this.targetDimensions = targetDimensions;
+      return this;
+    }
+
+    /**
+     * @return A new object with the fields set so far.
+     */
+    public CrossScaleData build() {
+      return new CrossScaleData(sourceScale, targetScale, outputMeasurement, sourceDimensions,
+          targetDimensions);
+    }
+  }
+}
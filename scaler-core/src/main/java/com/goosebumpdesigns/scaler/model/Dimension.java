@@ -6,14 +6,11 @@ import static com.goosebumpdesigns.scaler.model.ScalerConstants.OUTPUT_SCALE;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 /**
  * This class associates measurement type with a value. Each dimension (length, width or height) can
  * have a separate measurement type.
  */
-@JsonInclude(Include.NON_NULL)
 public record Dimension(BigDecimal value, Measurement measurement) {
   /**
    * Custom constructor that validates and rounds the value.
@@ -3,7 +3,6 @@
 package com.goosebumpdesigns.scaler.model;
 
 import java.math.BigDecimal;
-import lombok.Getter;
 
 /**
  * This enum defines the various scales recognized by the application.
@@ -19,13 +18,19 @@ public enum Scale {
   Z(new BigDecimal(220));
   // @formatter:on
 
-  @Getter
-  private BigDecimal factor;
+  private final BigDecimal factor;
 
   private Scale(BigDecimal factor) {
     this.factor = factor;
   }
 
+  /**
+   * @return The scale factor (i.e., 87.1 for HO, which is 1:87.1).
+   */
+  public BigDecimal getFactor() {
+    return factor;
+  }
+
   /**
    * This method returns a {@link Scale} enum value given the value name. I can't overload the
    * static {@link #valueOf(String) valueOf} method to allow for case insensitive lookups, so I
@@ -0,0 +1,200 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.util.Objects;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * This class is a Data Transfer Object (DTO) that shuttles data back and forth between the layers.
+ * It determines the shape of the JSON that is passed into and returned from the Scaler application.
+ * A client sends a POST request with either the model or prototype dimensions filled in. The
+ * {@link ScalerService} then fills in the rest of the data and returns the completed
+ * {@link ScalerData} object. For example, if a client passes in the prototype dimensions, the
+ * service will fill in the model dimensions.
+ * <p>
+ * The class is written out by hand rather than generated so that the core library needs nothing
+ * but the JDK. The application leaves out {@code null} fields when it writes the JSON.
+ */
+public class ScalerData {
+  private Scale scale;
+  private Measurement outputMeasurement;
+  private Dimensions modelDimensions;
+  private Dimensions fullsizeDimensions;
+  private StockSizes stockSizes;
+
+  /**
+   * Create an empty object to be filled in with the setters.
+   */
+  public ScalerData() {
+  }
+
+  /**
+   * @param scale The scale.
+   * @param outputMeasurement The measurement type of the calculated dimensions.
+   * @param modelDimensions The model dimensions, or {@code null} to calculate them.
+   * @param fullsizeDimensions The full size dimensions, or {@code null} to calculate them.
+   */
+  public ScalerData(Scale scale, Measurement outputMeasurement, Dimensions modelDimensions,
+      Dimensions fullsizeDimensions) {
+    this.scale = scale;
+    this.outputMeasurement = outputMeasurement;
+    this.modelDimensions = modelDimensions;
+    this.fullsizeDimensions = fullsizeDimensions;
+  }
+
+  /**
+   * @return A builder for a new object.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return A builder that starts with the fields of this object.
+   */
+  public Builder toBuilder() {
+    // @formatter:off
+    return new Builder()
+        .scale(scale)
+        .outputMeasurement(outputMeasurement)
+        .modelDimensions(modelDimensions)
+        .fullsizeDimensions(fullsizeDimensions)
+        .stockSizes(stockSizes);
+    // @formatter:on
+  }
+
+  public Scale getScale() {
+    return scale;
+  }
+
+  public void setScale(Scale scale) {
+    this.scale = scale;
+  }
+
+  public Measurement getOutputMeasurement() {
+    return outputMeasurement;
+  }
+
+  public void setOutputMeasurement(Measurement outputMeasurement) {
+    this.outputMeasurement = outputMeasurement;
+  }
+
+  public Dimensions getModelDimensions() {
+    return modelDimensions;
+  }
+
+  public void setModelDimensions(Dimensions modelDimensions) {
+    this.modelDimensions = modelDimensions;
+  }
+
+  public Dimensions getFullsizeDimensions() {
+    return fullsizeDimensions;
+  }
+
+  public void setFullsizeDimensions(Dimensions fullsizeDimensions) {
+    this.fullsizeDimensions = fullsizeDimensions;
+  }
+
+  /**
+   * @return The stock sizes nearest to the model dimensions, or {@code null} if they weren't asked
+   *         for.
+   */
+  public StockSizes getStockSizes() {
+    return stockSizes;
+  }
+
+  public void setStockSizes(StockSizes stockSizes) {
+    this.stockSizes = stockSizes;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if(this == obj) {
+      return true;
+    }
+
+    if(!(obj instanceof ScalerData other)) {
+      return false;
+    }
+
+    return scale == other.scale && outputMeasurement == other.outputMeasurement
+        && Objects.equals(modelDimensions, other.modelDimensions)
+        && Objects.equals(fullsizeDimensions, other.fullsizeDimensions)
+        && Objects.equals(stockSizes, other.stockSizes);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(scale, outputMeasurement, modelDimensions, fullsizeDimensions, stockSizes);
+  }
+
+  /**
+   * This toString method separates the fields with linefeeds for a more readable result.
+   */
+  @Override
+  public String toString() {
+    StringBuilder b = new StringBuilder();
+
+    b.append(getClass().getSimpleName()).append(":\n");
+    b.append("   Scale=").append(scale).append("\n");
+    b.append("   Output=").append(outputMeasurement).append("\n");
+    b.append("   Model ").append(modelDimensions).append("\n");
+    b.append("   Full Size ").append(fullsizeDimensions).append("\n");
+
+    if(Objects.nonNull(stockSizes)) {
+      b.append("   Stock ").append(stockSizes).append("\n");
+    }
+
+    return b.toString();
+  }
+
+  /**
+   * This class builds a {@link ScalerData} object one field at a time.
+   */
+  public static class Builder {
+    private Scale scale;
+    private Measurement outputMeasurement;
+    private Dimensions modelDimensions;
+    private Dimensions fullsizeDimensions;
+    private StockSizes stockSizes;
+
+    private Builder() {
+    }
+
+    public Builder scale(Scale scale) {
+      this.scale = scale;
+      return this;
+    }
+
+    public Builder outputMeasurement(Measurement outputMeasurement) {
+      this.outputMeasurement = outputMeasurement;
+      return this;
+    }
+
+    public Builder modelDimensions(Dimensions modelDimensions) {
+      this.modelDimensions = modelDimensions;
+      return this;
+    }
+
+    public Builder fullsizeDimensions(Dimensions fullsizeDimensions) {
+      this.fullsizeDimensions = fullsizeDimensions;
+      return this;
+    }
+
+    public Builder stockSizes(StockSizes stockSizes) {
+      this.stockSizes = stockSizes;
+      return this;
+    }
+
+    /**
+     * @return A new object with the fields set so far.
+     */
+    public ScalerData build() {
+      ScalerData data =
+          new ScalerData(scale, outputMeasurement, modelDimensions, fullsizeDimensions);
+      data.stockSizes = stockSizes;
+      return data;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A size of commercially available stock material (i.e., 0.040 inch styrene strip) that is nearest
+ * to a model dimension.
+ *
+ * @param material The material (i.e., styrene-strip).
+ * @param size The stock size, as it is sold.
+ * @param measurement The measurement the size is sold in.
+ * @param error The stock size less the model dimension, in the same measurement. A positive error
+ *        means the stock is larger than the model dimension.
+ */
+public record StockSize(String material, BigDecimal size, Measurement measurement,
+    BigDecimal error) {
+}
@@ -0,0 +1,10 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.model;
+
+/**
+ * The nearest stock sizes to the length, width and height of the model dimensions. A size is
+ * {@code null} if the model dimension is missing.
+ */
+public record StockSizes(StockSize length, StockSize width, StockSize height) {
+}
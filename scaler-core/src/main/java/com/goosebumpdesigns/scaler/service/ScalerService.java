@@ -4,22 +4,39 @@ package com.goosebumpdesigns.scaler.service;
 
 import static com.goosebumpdesigns.scaler.model.ScalerConstants.INTERMEDIATE_SCALE;
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import org.springframework.stereotype.Service;
+import com.goosebumpdesigns.scaler.jfr.ConversionEvent;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
 import com.goosebumpdesigns.scaler.model.Dimension;
 import com.goosebumpdesigns.scaler.model.Dimensions;
 import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
 import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.timing.Stage;
+import com.goosebumpdesigns.scaler.timing.StageTimings;
+import jdk.jfr.FlightRecorder;
 
 /**
  * This service takes input dimensions and generates scaled output dimensions. Since each dimension
  * may have a different {@link Measurement measurement} type, the input dimensions are converted to
  * millimeters prior to scaling them. Once scaled they are converted to the output measurement.
+ * <p>
+ * Each call to {@link #supplyMissingFields(ScalerData)} is recorded as a {@link ConversionEvent}
+ * when a Flight Recorder recording is running. The event class isn't loaded until the Flight
+ * Recorder has been started, since loading the first event class sets up the recorder's event
+ * machinery (hundreds of classes and a couple of hundred milliseconds), which a program that
+ * embeds the service and never records shouldn't pay for on its first call.
+ * <p>
+ * The service has no state and depends only on the JDK, so one instance can be shared by any
+ * number of threads and it can be used without the Spring application.
  */
-@Service
 public class ScalerService {
   /** Shortcut for BiFunction that takes a BigDecimal type. */
   private interface MathOp extends BiFunction<BigDecimal, BigDecimal, BigDecimal> {
@@ -33,6 +50,13 @@ public class ScalerService {
   private static final BigDecimal MILLIMETERS_PER_INCH = new BigDecimal("25.40");
   private static final BigDecimal MILLIMETERS_PER_FOOT = new BigDecimal("304.80");
 
+  /**
+   * The ratio between each pair of scales (source scale factor / target scale factor). Model
+   * dimensions in the source scale are multiplied by the ratio to get model dimensions in the
+   * target scale. The ratios are calculated once so that a cross scale conversion only rounds once.
+   */
+  private static final Map<Scale, Map<Scale, BigDecimal>> SCALE_RATIOS = buildScaleRatios();
+
   /** These functions convert from the input measurement to millimeters. */
   private ConversionOp cmToMm = cm -> cm.multiply(MILLIMETERS_PER_CENTIMETER);
   private ConversionOp inToMm = in -> in.multiply(MILLIMETERS_PER_INCH);
@@ -59,12 +83,21 @@ public class ScalerService {
    *         {@code null}.
    */
   public ScalerData supplyMissingFields(ScalerData data) {
+    ConversionEvent event = FlightRecorder.isInitialized() ? new ConversionEvent() : null;
+
+    if(Objects.nonNull(event)) {
+      event.begin();
+    }
+
+    long t = StageTimings.start();
     validateInputData(data);
+    t = StageTimings.lap(Stage.VALIDATE, t);
 
     Dimensions fullsizeDimensions;
     Dimensions modelDimensions;
+    boolean toModel = hasFullsizeDimensions(data);
 
-    if(hasFullsizeDimensions(data)) {
+    if(toModel) {
       fullsizeDimensions = data.getFullsizeDimensions();
 
       modelDimensions = scaleDimensions(data.getOutputMeasurement(), data.getScale().getFactor(),
@@ -77,14 +110,102 @@ public class ScalerService {
           modelDimensions, multByScale);
     }
 
+    StageTimings.lap(Stage.CONVERT, t);
+
     // @formatter:off
-    return ScalerData.builder()
+    ScalerData result = ScalerData.builder()
         .scale(data.getScale())
         .outputMeasurement(data.getOutputMeasurement())
         .modelDimensions(modelDimensions)
         .fullsizeDimensions(fullsizeDimensions)
         .build();
     // @formatter:on
+
+    if(Objects.nonNull(event) && event.shouldCommit()) {
+      event.describe(data, toModel, result);
+      event.commit();
+    }
+
+    return result;
+  }
+
+  /**
+   * This method validates the input {@link CrossScaleData} object. It then converts the source
+   * model dimensions directly to model dimensions in the target scale using the precalculated ratio
+   * between the two scales. This gives the same result (within the output scale) as converting the
+   * model dimensions to full size in the source scale and then back to model dimensions in the
+   * target scale, but with a single rounding step.
+   * 
+   * @param data The source dimensions and scales.
+   * @return The completely populated object.
+   * @throws IllegalArgumentException Thrown if a scale, the output measurement or the source
+   *         dimensions are missing.
+   */
+  public CrossScaleData convertBetweenScales(CrossScaleData data) {
+    long t = StageTimings.start();
+    requireNonNull(data, "The input object must not be null.");
+    requireNonNull(data.getSourceScale(), "Source scale must not be null.");
+    requireNonNull(data.getTargetScale(), "Target scale must not be null.");
+    requireNonNull(data.getOutputMeasurement(), "Output measurement must not be null.");
+
+    if(!hasValue(data.getSourceDimensions())) {
+      throw new IllegalArgumentException("Must supply source dimensions.");
+    }
+
+    t = StageTimings.lap(Stage.VALIDATE, t);
+
+    BigDecimal ratio = SCALE_RATIOS.get(data.getSourceScale()).get(data.getTargetScale());
+    Dimensions targetDimensions = scaleDimensions(data.getOutputMeasurement(), ratio,
+        data.getSourceDimensions(), multByScale);
+
+    StageTimings.lap(Stage.CONVERT, t);
+
+    // @formatter:off
+    return CrossScaleData.builder()
+        .sourceScale(data.getSourceScale())
+        .targetScale(data.getTargetScale())
+        .outputMeasurement(data.getOutputMeasurement())
+        .sourceDimensions(data.getSourceDimensions())
+        .targetDimensions(targetDimensions)
+        .build();
+    // @formatter:on
+  }
+
+  /**
+   * Convert a list of source model dimensions (i.e., a parts list) to the target scales. Each entry
+   * is converted as in {@link #convertBetweenScales(CrossScaleData)}.
+   * 
+   * @param data The entries to convert.
+   * @return The converted entries in the same order as the input.
+   * @throws IllegalArgumentException Thrown if the list is {@code null} or if any entry is invalid.
+   */
+  public List<CrossScaleData> convertBetweenScales(List<CrossScaleData> data) {
+    requireNonNull(data, "The input list must not be null.");
+
+    return data.stream().map(this::convertBetweenScales).toList();
+  }
+
+  /**
+   * Convert the given dimension to millimeters without scaling it. This lets callers keep running
+   * totals in a single unit regardless of the measurement types that were entered.
+   * 
+   * @param dimension The dimension to convert.
+   * @return The length in millimeters.
+   */
+  public BigDecimal toMillimeters(Dimension dimension) {
+    return toMillis(dimension);
+  }
+
+  /**
+   * Convert a length in millimeters to a {@link Dimension} in the given measurement without
+   * scaling it. This is the inverse of {@link #toMillimeters(Dimension)}.
+   * 
+   * @param millimeters The length in millimeters.
+   * @param outputMeasurement The measurement type of the returned dimension.
+   * @return The length in the output measurement.
+   */
+  public Dimension fromMillimeters(BigDecimal millimeters, Measurement outputMeasurement) {
+    return toOutputDimension(millimeters, outputMeasurement);
   }
 
   /**
@@ -227,6 +348,27 @@ public class ScalerService {
     return dividend.divide(divisor, INTERMEDIATE_SCALE, RoundingMode.HALF_UP);
   }
 
+  /**
+   * Calculate the ratio between every pair of scales.
+   * 
+   * @return The ratios keyed by source scale and then target scale.
+   */
+  private static Map<Scale, Map<Scale, BigDecimal>> buildScaleRatios() {
+    Map<Scale, Map<Scale, BigDecimal>> ratios = new EnumMap<>(Scale.class);
+
+    for(Scale source : Scale.values()) {
+      Map<Scale, BigDecimal> targets = new EnumMap<>(Scale.class);
+
+      for(Scale target : Scale.values()) {
+        targets.put(target, source.getFactor().divide(target.getFactor(), MathContext.DECIMAL64));
+      }
+
+      ratios.put(source, targets);
+    }
+
+    return ratios;
+  }
+
   /**
    * @param dimensions The dimensions (length, width, and height) to examine.
    * @return {@code true} if there is a length, width or height.
@@ -0,0 +1,39 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.timing;
+
+/**
+ * The stages of a request that are timed by {@link StageTimings}.
+ */
+public enum Stage {
+  /** Reading and deserializing the request body. */
+  PARSE("parse"),
+
+  /** Waiting for a thread in an execution lane. */
+  QUEUE("queue"),
+
+  /** Validating the input data in the service. */
+  VALIDATE("validate"),
+
+  /** Converting and scaling the dimensions in the service. */
+  CONVERT("convert"),
+
+  /** Serializing and writing the response body. */
+  SERIALIZE("serialize"),
+
+  /** Building an error response. */
+  ERROR("error");
+
+  private String metricName;
+
+  private Stage(String metricName) {
+    this.metricName = metricName;
+  }
+
+  /**
+   * @return The name used in the Server-Timing header and in metric tags.
+   */
+  public String metricName() {
+    return metricName;
+  }
+}
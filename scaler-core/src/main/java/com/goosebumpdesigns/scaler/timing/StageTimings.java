@@ -0,0 +1,197 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.timing;
+
+import java.util.Objects;
+
+/**
+ * This class accumulates the time spent in each {@link Stage} of a single request. The timings of
+ * the request being processed are bound to the current thread so that code deep in the call stack
+ * (like the service) can record a stage without having the timings passed to it.
+ * <p>
+ * Timing is switched on and off at runtime with {@link #setEnabled(boolean)}. When it is off,
+ * {@link #start()} and {@link #lap(Stage, long)} cost a single volatile read and don't read the
+ * clock. A typical use is:
+ * 
+ * <pre>
+ * long t = StageTimings.start();
+ * validateInputData(data);
+ * t = StageTimings.lap(Stage.VALIDATE, t);
+ * </pre>
+ */
+public final class StageTimings {
+  private static final Stage[] STAGES = Stage.values();
+  private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+  private static volatile boolean enabled;
+
+  private final long[] stageNanos = new long[STAGES.length];
+  private final long startNanos = System.nanoTime();
+  private long markNanos;
+
+  private StageTimings() {}
+
+  /**
+   * @param enabled {@code true} to time requests that start from now on.
+   */
+  public static void setEnabled(boolean enabled) {
+    StageTimings.enabled = enabled;
+  }
+
+  /**
+   * @return {@code true} if requests are being timed.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Create timings for a new request and bind them to the current thread.
+   * 
+   * @return The new timings.
+   */
+  public static StageTimings begin() {
+    StageTimings timings = new StageTimings();
+    CURRENT.set(timings);
+    return timings;
+  }
+
+  /**
+   * Bind timings that began on another thread to the current thread, i.e., when a request is
+   * handed to a worker thread or resumed after asynchronous processing.
+   * 
+   * @param timings The timings, or {@code null} to unbind any timings from the current thread.
+   */
+  public static void bind(StageTimings timings) {
+    if(Objects.isNull(timings)) {
+      CURRENT.remove();
+    }
+    else {
+      CURRENT.set(timings);
+    }
+  }
+
+  /**
+   * Unbind the timings from the current thread.
+   */
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  /**
+   * @return The timings bound to the current thread, or {@code null} if timing is disabled or no
+   *         request is being timed on this thread.
+   */
+  public static StageTimings current() {
+    return enabled ? CURRENT.get() : null;
+  }
+
+  /**
+   * Start timing a stage.
+   * 
+   * @return The current time, or zero if the current thread isn't timing a request.
+   */
+  public static long start() {
+    return Objects.nonNull(current()) ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Add the time since {@code startNanos} to the given stage.
+   * 
+   * @param stage The stage that just finished.
+   * @param startNanos The value returned by {@link #start()} or by a previous lap.
+   * @return The current time, to be passed to the next lap, or zero if not timing.
+   */
+  public static long lap(Stage stage, long startNanos) {
+    if(startNanos == 0L) {
+      return 0L;
+    }
+
+    StageTimings timings = CURRENT.get();
+
+    if(Objects.isNull(timings)) {
+      return 0L;
+    }
+
+    long now = System.nanoTime();
+    timings.stageNanos[stage.ordinal()] += now - startNanos;
+    return now;
+  }
+
+  /**
+   * Remember the current time. Used when a stage starts in one callback and ends in another.
+   */
+  public void mark() {
+    markNanos = System.nanoTime();
+  }
+
+  /**
+   * Add the time since the last {@link #mark()} to the given stage. Nothing is added if there was
+   * no mark.
+   * 
+   * @param stage The stage that just finished.
+   */
+  public void lapFromMark(Stage stage) {
+    if(markNanos != 0L) {
+      stageNanos[stage.ordinal()] += System.nanoTime() - markNanos;
+      markNanos = 0L;
+    }
+  }
+
+  /**
+   * @param stage The stage.
+   * @return The time spent in the stage in nanoseconds.
+   */
+  public long nanos(Stage stage) {
+    return stageNanos[stage.ordinal()];
+  }
+
+  /**
+   * @return The time since the request timings began in nanoseconds.
+   */
+  public long elapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  /**
+   * Format the timings as a Server-Timing header value, i.e.,
+   * "parse;dur=0.052, validate;dur=0.003, convert;dur=0.031, total;dur=0.412". Stages that weren't
+   * entered are left out. Durations are in milliseconds.
+   * 
+   * @return The header value.
+   */
+  public String toServerTiming() {
+    StringBuilder b = new StringBuilder(128);
+
+    for(Stage stage : STAGES) {
+      long nanos = stageNanos[stage.ordinal()];
+
+      if(nanos > 0) {
+        appendMetric(b, stage.metricName(), nanos);
+      }
+    }
+
+    appendMetric(b, "total", elapsedNanos());
+    return b.toString();
+  }
+
+  private void appendMetric(StringBuilder b, String name, long nanos) {
+    if(!b.isEmpty()) {
+      b.append(", ");
+    }
+
+    long micros = nanos / 1000;
+    b.append(name).append(";dur=").append(micros / 1000).append('.');
+
+    long fraction = micros % 1000;
+
+    if(fraction < 100) {
+      b.append('0');
+    }
+
+    if(fraction < 10) {
+      b.append('0');
+    }
+
+    b.append(fraction);
+  }
+}
@@ -0,0 +1,20 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+/**
+ * The scaler's model and conversion engine. It needs nothing but the JDK (and jdk.jfr for the
+ * Flight Recorder events), so it can be embedded in any program:
+ *
+ * <pre>
+ * ScalerData result = new ScalerService().supplyMissingFields(data);
+ * </pre>
+ *
+ * The Spring Boot application adds the web API, caching and everything else on top of it.
+ */
+module com.goosebumpdesigns.scaler.core {
+  requires transitive jdk.jfr;
+
+  exports com.goosebumpdesigns.scaler.jfr;
+  exports com.goosebumpdesigns.scaler.model;
+  exports com.goosebumpdesigns.scaler.service;
+  exports com.goosebumpdesigns.scaler.timing;
+}
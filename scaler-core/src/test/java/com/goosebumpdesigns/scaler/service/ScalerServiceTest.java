@@ -4,12 +4,16 @@ package com.goosebumpdesigns.scaler.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import java.math.BigDecimal;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import com.goosebumpdesigns.scaler.model.CrossScaleData;
 import com.goosebumpdesigns.scaler.model.Dimension;
 import com.goosebumpdesigns.scaler.model.Dimensions;
 import com.goosebumpdesigns.scaler.model.Measurement;
 import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerConstants;
 import com.goosebumpdesigns.scaler.model.ScalerData;
 
 /**
@@ -197,4 +201,115 @@ class ScalerServiceTest {
     // Then: the fields are calculated correctly
     assertThat(actual).isEqualTo(expected);
   }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatMissingTargetScaleThrowsException() {
+    // Given: a cross scale data object without a target scale
+    Dimension modelLength = new Dimension(new BigDecimal("6.20"), Measurement.INCH);
+
+    CrossScaleData data = CrossScaleData
+        .builder() // @formatter:off
+        .sourceScale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .sourceDimensions(new Dimensions(modelLength, null, null))
+        .build(); // @formatter:on
+
+    // When: the target dimensions are calculated
+    // Then: an exception is thrown
+    assertThatThrownBy(() -> scalerService.convertBetweenScales(data))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatCrossScaleConversionMatchesTwoStepConversion() {
+    // Given: model dimensions in mixed measurements
+    Dimension modelLength = new Dimension(new BigDecimal("18.75"), Measurement.CM);
+    Dimension modelWidth = new Dimension(new BigDecimal("1.67"), Measurement.INCH);
+    Dimension modelHeight = new Dimension(new BigDecimal("27.50"), Measurement.MM);
+    Dimensions modelDimensions = new Dimensions(modelLength, modelWidth, modelHeight);
+    BigDecimal tolerance = BigDecimal.ONE.movePointLeft(ScalerConstants.OUTPUT_SCALE);
+
+    for(Scale source : Scale.values()) {
+      for(Scale target : Scale.values()) {
+        for(Measurement output : Measurement.values()) {
+          // When: the dimensions are converted in one step
+          CrossScaleData data = CrossScaleData
+              .builder() // @formatter:off
+              .sourceScale(source)
+              .targetScale(target)
+              .outputMeasurement(output)
+              .sourceDimensions(modelDimensions)
+              .build(); // @formatter:on
+          Dimensions actual = scalerService.convertBetweenScales(data).getTargetDimensions();
+
+          // And: the dimensions are converted to full size and back
+          Dimensions expected = twoStep(modelDimensions, source, target, output);
+
+          // Then: the results match within the output scale
+          assertThat(actual.length().value())
+              .isCloseTo(expected.length().value(), within(tolerance));
+          assertThat(actual.width().value())
+              .isCloseTo(expected.width().value(), within(tolerance));
+          assertThat(actual.height().value())
+              .isCloseTo(expected.height().value(), within(tolerance));
+          assertThat(actual.length().measurement()).isEqualTo(output);
+        }
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  @Test
+  void assertThatBulkCrossScaleConversionKeepsInputOrder() {
+    // Given: a parts list in HO scale
+    Dimension part1 = new Dimension(new BigDecimal("160.00"), Measurement.MM);
+    Dimension part2 = new Dimension(new BigDecimal("87.10"), Measurement.MM);
+
+    List<CrossScaleData> parts = List.of(crossScale(Scale.HO, Scale.N, part1),
+        crossScale(Scale.HO, Scale.HO, part2));
+
+    // When: the parts list is converted
+    List<CrossScaleData> actual = scalerService.convertBetweenScales(parts);
+
+    // Then: each part is converted in the order given
+    assertThat(actual).extracting(d -> d.getTargetDimensions().length()).containsExactly(
+        new Dimension(new BigDecimal("87.10"), Measurement.MM),
+        new Dimension(new BigDecimal("87.10"), Measurement.MM));
+  }
+
+  private CrossScaleData crossScale(Scale source, Scale target, Dimension length) {
+    // @formatter:off
+    return CrossScaleData.builder()
+        .sourceScale(source)
+        .targetScale(target)
+        .outputMeasurement(Measurement.MM)
+        .sourceDimensions(new Dimensions(length, null, null))
+        .build();
+    // @formatter:on
+  }
+
+  private Dimensions twoStep(Dimensions modelDimensions, Scale source, Scale target,
+      Measurement output) {
+    // @formatter:off
+    ScalerData fullsize = scalerService.supplyMissingFields(ScalerData.builder()
+        .scale(source)
+        .outputMeasurement(Measurement.MM)
+        .modelDimensions(modelDimensions)
+        .build());
+
+    return scalerService.supplyMissingFields(ScalerData.builder()
+        .scale(target)
+        .outputMeasurement(output)
+        .fullsizeDimensions(fullsize.getFullsizeDimensions())
+        .build()).getModelDimensions();
+    // @formatter:on
+  }
 }
@@ -0,0 +1,71 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.startup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import com.goosebumpdesigns.scaler.model.Dimension;
+import com.goosebumpdesigns.scaler.model.Dimensions;
+import com.goosebumpdesigns.scaler.model.Measurement;
+import com.goosebumpdesigns.scaler.model.Scale;
+import com.goosebumpdesigns.scaler.model.ScalerData;
+import com.goosebumpdesigns.scaler.service.ScalerService;
+
+/**
+ * This program is run in a fresh JVM by {@link ManualCoreStartupBenchmark}. It times what an
+ * embedding program pays the first time it uses scaler-core: loading and initializing the service
+ * (which builds the scale ratio table), the first conversion (which loads the model classes) and
+ * the second. It prints one line of {@code name=value} pairs. Nothing else is touched before the
+ * measurements, so the classes are loaded by the measured code.
+ */
+public final class CoreStartupProbe {
+  private static final int STEADY_CALLS = 20_000;
+
+  private CoreStartupProbe() {
+  }
+
+  /**
+   * @param args Not used.
+   * @throws Exception Thrown if the service class can't be loaded.
+   */
+  public static void main(String[] args) throws Exception {
+    long start = System.nanoTime();
+    Class<?> type = Class.forName("com.goosebumpdesigns.scaler.service.ScalerService");
+    ScalerService service = (ScalerService)type.getDeclaredConstructor().newInstance();
+    long loaded = System.nanoTime();
+
+    service.supplyMissingFields(request(40));
+    long first = System.nanoTime();
+
+    service.supplyMissingFields(request(41));
+    long second = System.nanoTime();
+
+    long[] steady = new long[STEADY_CALLS];
+
+    for(int i = 0; i < STEADY_CALLS; i++) {
+      long t = System.nanoTime();
+      service.supplyMissingFields(request(i % 500 + 1));
+      steady[i] = System.nanoTime() - t;
+    }
+
+    Arrays.sort(steady);
+
+    /* Formatting loads classes, which are logged, so the line is printed in one piece */
+    String line = String.format("load=%d first=%d second=%d steady=%d module=%s", loaded - start,
+        first - loaded, second - first, steady[STEADY_CALLS / 2],
+        ScalerService.class.getModule().isNamed());
+    System.out.println(line);
+  }
+
+  private static ScalerData request(int feet) {
+    // @formatter:off
+    return ScalerData.builder()
+        .scale(Scale.HO)
+        .outputMeasurement(Measurement.INCH)
+        .fullsizeDimensions(new Dimensions(
+            new Dimension(BigDecimal.valueOf(feet), Measurement.FOOT),
+            new Dimension(new BigDecimal("10.5"), Measurement.FOOT), null))
+        .build();
+    // @formatter:on
+  }
+}
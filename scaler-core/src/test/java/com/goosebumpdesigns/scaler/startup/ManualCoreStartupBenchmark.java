@@ -0,0 +1,130 @@
+// Copyright (c) 2024 Goosebump Designs LLC
+
+package com.goosebumpdesigns.scaler.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * You can use this test to measure the cost of scaler-core to a program that embeds it: the classes
+ * it loads and the latency of the first calls. Each run starts a fresh JVM with
+ * {@link CoreStartupProbe}, once with the library on the class path and once on the module path
+ * (which also checks the module descriptor). It prints the median of each measurement. Run it with:
+ *
+ * <pre>
+ * mvn test -pl scaler-core -Dtest=ManualCoreStartupBenchmark -Dscaler.benchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "scaler.benchmark", matches = "true")
+class ManualCoreStartupBenchmark {
+  private static final int RUNS = 10;
+  private static final String MODULE = "com.goosebumpdesigns.scaler.core";
+  private static final String PROBE = CoreStartupProbe.class.getName();
+  private static final String CORE_PACKAGE = "com.goosebumpdesigns.scaler.";
+  private static final String PROBE_PACKAGE = CoreStartupProbe.class.getPackageName();
+
+  /**
+   * Run the benchmark.
+   */
+  @Test
+  void test() throws Exception {
+    String classes = new File("target/classes").getAbsolutePath();
+    String testClasses = new File("target/test-classes").getAbsolutePath();
+
+    measure("class path", List.of("-cp", classes + File.pathSeparator + testClasses, PROBE));
+    measure("module path",
+        List.of("-p", classes, "--add-modules", MODULE, "-cp", testClasses, PROBE));
+  }
+
+  private void measure(String mode, List<String> args) throws Exception {
+    Map<String, long[]> samples = new HashMap<>();
+
+    for(int run = 0; run < RUNS; run++) {
+      for(Map.Entry<String, Long> e : runProbe(args).entrySet()) {
+        samples.computeIfAbsent(e.getKey(), k -> new long[RUNS])[run] = e.getValue();
+      }
+    }
+
+    System.out.printf(
+        "%s: JVM run %.0f ms, load and initialize %.2f ms, first call %.2f ms, second call %.1f us,"
+            + " steady %.1f us, %d classes loaded by the probe (%d scaler-core)%n",
+        mode, median(samples, "jvm") / 1e6, median(samples, "load") / 1e6,
+        median(samples, "first") / 1e6, median(samples, "second") / 1e3,
+        median(samples, "steady") / 1e3, median(samples, "classes"),
+        median(samples, "coreClasses"));
+  }
+
+  /**
+   * Start a JVM with the probe and read its output. Class loading is logged to standard output, so
+   * the classes loaded from the time the probe was loaded can be counted.
+   */
+  private Map<String, Long> runProbe(List<String> args) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.add("-Xshare:auto");
+    command.add("-Xlog:class+load=info:stdout");
+    command.addAll(args);
+
+    Map<String, Long> values = new HashMap<>();
+    long start = System.nanoTime();
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    boolean probeLoaded = false;
+    long classes = 0;
+    long coreClasses = 0;
+
+    try(BufferedReader reader = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+
+      while((line = reader.readLine()) != null) {
+        if(line.contains("[class,load]")) {
+          String name = line.substring(line.indexOf("] ", line.indexOf("[class,load]")) + 2);
+
+          if(name.startsWith(PROBE)) {
+            probeLoaded = true;
+          }
+          else if(probeLoaded) {
+            classes++;
+
+            if(name.startsWith(CORE_PACKAGE) && !name.startsWith(PROBE_PACKAGE)) {
+              coreClasses++;
+            }
+          }
+        }
+        else if(line.startsWith("load=")) {
+          for(String pair : line.split(" ")) {
+            String[] nameValue = pair.split("=");
+
+            if(!"module".equals(nameValue[0])) {
+              values.put(nameValue[0], Long.parseLong(nameValue[1]));
+            }
+          }
+        }
+      }
+    }
+
+    assertThat(process.waitFor()).isZero();
+    values.put("jvm", System.nanoTime() - start);
+    values.put("classes", classes);
+    values.put("coreClasses", coreClasses);
+
+    return values;
+  }
+
+  private long median(Map<String, long[]> samples, String name) {
+    long[] values = samples.get(name).clone();
+    Arrays.sort(values);
+    return values[values.length / 2];
+  }
+}